@@ -0,0 +1,3 @@
+#!/bin/bash
+# Allows DukeOps to read the replication lag using SHOW REPLICA STATUS.
+docker_process_sql --database=mysql <<< "GRANT REPLICA MONITOR ON *.* TO '${MARIADB_USER}'@'%';"
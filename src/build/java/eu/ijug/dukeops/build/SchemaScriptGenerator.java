@@ -0,0 +1,100 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.build;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Build-time generator for the database schema script used by the jOOQ code generator.</p>
+ *
+ * <p>The jOOQ code generator reads the schema from a temporary database which is initialized with a
+ * single script. This program concatenates all versioned Flyway migrations of the given directory,
+ * ordered by their version like Flyway applies them, so the generated code always matches the schema
+ * after the last migration.</p>
+ *
+ * <p>This program is executed with the source-file launcher of the JDK during the
+ * {@code generate-sources} phase, so it must not depend on anything but the JDK.</p>
+ */
+public final class SchemaScriptGenerator {
+
+    private static final Pattern MIGRATION_PATTERN = Pattern.compile("^V(\\d+(?:[._]\\d+)*)__.+\\.sql$");
+
+    /**
+     * <p>Entry point of the generator.</p>
+     *
+     * @param args the migration directory and the output file for the schema script
+     * @throws IOException if reading a migration or writing the schema script fails
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: SchemaScriptGenerator <migration-directory> <output-file>");
+        }
+        final var migrationDirectory = Path.of(args[0]);
+        final var outputFile = Path.of(args[1]);
+
+        final var script = new StringBuilder();
+        for (final var migration : findMigrations(migrationDirectory)) {
+            script.append("-- ").append(migration.getFileName()).append('\n');
+            script.append(Files.readString(migration, StandardCharsets.UTF_8).strip()).append("\n\n");
+        }
+
+        Files.createDirectories(outputFile.toAbsolutePath().getParent());
+        Files.writeString(outputFile, script.toString(), StandardCharsets.UTF_8);
+    }
+
+    private static List<Path> findMigrations(final Path migrationDirectory) throws IOException {
+        try (var files = Files.list(migrationDirectory)) {
+            return files
+                    .filter(file -> MIGRATION_PATTERN.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparing(SchemaScriptGenerator::version, SchemaScriptGenerator::compareVersions))
+                    .toList();
+        }
+    }
+
+    private static long[] version(final Path migration) {
+        final var matcher = MIGRATION_PATTERN.matcher(migration.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalStateException("Not a versioned migration: " + migration);
+        }
+        return Arrays.stream(matcher.group(1).split("[._]"))
+                .mapToLong(Long::parseLong)
+                .toArray();
+    }
+
+    private static int compareVersions(final long[] first, final long[] second) {
+        for (int i = 0; i < Math.max(first.length, second.length); i++) {
+            final var result = Long.compare(i < first.length ? first[i] : 0, i < second.length ? second[i] : 0);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private SchemaScriptGenerator() {
+        throw new IllegalStateException("Utility class");
+    }
+
+}
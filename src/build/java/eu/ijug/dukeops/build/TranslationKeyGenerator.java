@@ -0,0 +1,220 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.build;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * <p>Build-time generator for the typed {@code TranslationKey} enum.</p>
+ *
+ * <p>The generator reads the base bundle {@code translations.properties} and all locale specific
+ * {@code translations_*.properties} files from the given directory and writes one enum constant per
+ * translation key. The ordinal of each constant is used by the {@code TranslationProvider} as index
+ * into its per-locale lookup tables.</p>
+ *
+ * <p>The build fails if a locale specific bundle is missing a key of the base bundle, contains a key
+ * that does not exist in the base bundle, or if two keys map to the same constant name.</p>
+ *
+ * <p>The keys are written as escaped Java string literals, so keys containing quotes, backslashes or
+ * other special characters still produce a compilable enum.</p>
+ *
+ * <p>This program is executed with the source-file launcher of the JDK during the
+ * {@code generate-sources} phase, so it must not depend on anything but the JDK.</p>
+ */
+public final class TranslationKeyGenerator {
+
+    private static final String BASE_BUNDLE = "translations.properties";
+    private static final String BUNDLE_PREFIX = "translations_";
+    private static final String BUNDLE_SUFFIX = ".properties";
+
+    private static final String PACKAGE_NAME = "eu.ijug.dukeops.infra.ui.vaadin.i18n";
+    private static final String CLASS_NAME = "TranslationKey";
+
+    /**
+     * <p>Entry point of the generator.</p>
+     *
+     * @param args the bundle directory and the output directory for generated sources
+     * @throws IOException if reading a bundle or writing the generated source fails
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: TranslationKeyGenerator <bundle-directory> <output-directory>");
+        }
+        final var bundleDirectory = Path.of(args[0]);
+        final var outputDirectory = Path.of(args[1]);
+
+        final var baseKeys = loadKeys(bundleDirectory.resolve(BASE_BUNDLE));
+        final var errors = new ArrayList<String>();
+        for (final var localeBundle : findLocaleBundles(bundleDirectory)) {
+            final var localeKeys = loadKeys(localeBundle);
+            final var missing = new TreeSet<>(baseKeys);
+            missing.removeAll(localeKeys);
+            missing.forEach(key -> errors.add("Missing translation in %s: %s".formatted(localeBundle.getFileName(), key)));
+            final var unknown = new TreeSet<>(localeKeys);
+            unknown.removeAll(baseKeys);
+            unknown.forEach(key -> errors.add("Unknown translation in %s: %s".formatted(localeBundle.getFileName(), key)));
+        }
+
+        final var constants = new TreeMap<String, String>();
+        final var constantNames = new HashMap<String, String>();
+        for (final var key : baseKeys) {
+            final var constantName = toConstantName(key);
+            final var duplicate = constantNames.putIfAbsent(constantName, key);
+            if (duplicate != null) {
+                errors.add("Translation keys '%s' and '%s' map to the same constant %s".formatted(duplicate, key, constantName));
+            }
+            constants.put(key, constantName);
+        }
+
+        if (!errors.isEmpty()) {
+            errors.forEach(System.err::println);
+            System.exit(1);
+        }
+
+        final var packageDirectory = outputDirectory.resolve(PACKAGE_NAME.replace('.', '/'));
+        Files.createDirectories(packageDirectory);
+        Files.writeString(packageDirectory.resolve(CLASS_NAME + ".java"), generateSource(constants), StandardCharsets.UTF_8);
+    }
+
+    private static List<Path> findLocaleBundles(final Path bundleDirectory) throws IOException {
+        try (var files = Files.list(bundleDirectory)) {
+            return files
+                    .filter(file -> {
+                        final var fileName = file.getFileName().toString();
+                        return fileName.startsWith(BUNDLE_PREFIX) && fileName.endsWith(BUNDLE_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static Set<String> loadKeys(final Path bundle) throws IOException {
+        final var properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(bundle, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return new TreeSet<>(properties.stringPropertyNames());
+    }
+
+    static String toConstantName(final String key) {
+        final var name = new StringBuilder();
+        for (int i = 0; i < key.length(); i++) {
+            final var current = key.charAt(i);
+            if (!Character.isLetterOrDigit(current)) {
+                name.append('_');
+            } else {
+                if (Character.isUpperCase(current) && i > 0 && Character.isLowerCase(key.charAt(i - 1))) {
+                    name.append('_');
+                }
+                name.append(Character.toUpperCase(current));
+            }
+        }
+        return name.toString();
+    }
+
+    static String toStringLiteral(final String value) {
+        final var literal = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final var current = value.charAt(i);
+            switch (current) {
+                case '"' -> literal.append("\\\"");
+                case '\\' -> literal.append("\\\\");
+                default -> {
+                    // control characters as octal escapes, unicode escapes of line breaks would end the literal
+                    if (current < ' ') {
+                        literal.append("\\%03o".formatted((int) current));
+                    } else if (current > '~') {
+                        literal.append("\\u%04x".formatted((int) current));
+                    } else {
+                        literal.append(current);
+                    }
+                }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    private static String generateSource(final Map<String, String> constants) {
+        final var source = new StringBuilder();
+        source.append("package ").append(PACKAGE_NAME).append(";\n\n");
+        source.append("import java.util.HashMap;\n");
+        source.append("import java.util.Map;\n\n");
+        source.append("/**\n");
+        source.append(" * <p>Typed translation keys, generated from {@code vaadin-i18n/translations*.properties}.</p>\n");
+        source.append(" *\n");
+        source.append(" * <p>Do not edit, this file is generated by {@code TranslationKeyGenerator}.</p>\n");
+        source.append(" */\n");
+        source.append("public enum ").append(CLASS_NAME).append(" {\n\n");
+        final var iterator = constants.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final var entry = iterator.next();
+            source.append("    ").append(entry.getValue()).append('(').append(toStringLiteral(entry.getKey())).append(')')
+                    .append(iterator.hasNext() ? ",\n" : ";\n\n");
+        }
+        source.append("    private static final Map<String, TranslationKey> BY_KEY = new HashMap<>();\n\n");
+        source.append("    static {\n");
+        source.append("        for (final var translationKey : values()) {\n");
+        source.append("            BY_KEY.put(translationKey.key, translationKey);\n");
+        source.append("        }\n");
+        source.append("    }\n\n");
+        source.append("    private final String key;\n\n");
+        source.append("    TranslationKey(final String key) {\n");
+        source.append("        this.key = key;\n");
+        source.append("    }\n\n");
+        source.append("    /**\n");
+        source.append("     * <p>Returns the key as used in the resource bundles.</p>\n");
+        source.append("     *\n");
+        source.append("     * @return the translation key\n");
+        source.append("     */\n");
+        source.append("    public String key() {\n");
+        source.append("        return key;\n");
+        source.append("    }\n\n");
+        source.append("    /**\n");
+        source.append("     * <p>Looks up the typed key for a translation key string.</p>\n");
+        source.append("     *\n");
+        source.append("     * @param key the translation key as used in the resource bundles\n");
+        source.append("     * @return the typed key, or {@code null} if the key does not exist\n");
+        source.append("     */\n");
+        source.append("    public static TranslationKey fromKey(final String key) {\n");
+        source.append("        return BY_KEY.get(key);\n");
+        source.append("    }\n\n");
+        source.append("    @Override\n");
+        source.append("    public String toString() {\n");
+        source.append("        return key;\n");
+        source.append("    }\n\n");
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private TranslationKeyGenerator() {
+        throw new IllegalStateException("Utility class");
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>Compares the JSON results of a JMH run with the results of an earlier run and writes a Markdown report.</p>
+ *
+ * <p>The report lists every benchmark with its score, the score of the baseline and the change in percent.
+ * Changes of more than {@value #REGRESSION_THRESHOLD_PERCENT} percent in the wrong direction are marked as
+ * regressions. If no baseline exists yet, the report only lists the scores.</p>
+ *
+ * <p>Usage: {@code BenchmarkReport <baseline.json> <results.json> <report.md>}</p>
+ */
+public final class BenchmarkReport {
+
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(BenchmarkReport.class);
+    private static final int REGRESSION_THRESHOLD_PERCENT = 10;
+
+    private BenchmarkReport() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * <p>Creates the report.</p>
+     *
+     * @param args the paths of the baseline, the results and the report
+     * @throws IOException if a file can't be read or written
+     */
+    public static void main(final @NotNull String[] args) throws IOException {
+        if (args.length != 3) {
+            throw new IllegalArgumentException("Usage: BenchmarkReport <baseline.json> <results.json> <report.md>");
+        }
+        final var baselineFile = Path.of(args[0]);
+        final var baseline = Files.exists(baselineFile) ? readScores(baselineFile) : Map.<String, Score>of();
+        final var results = readScores(Path.of(args[1]));
+
+        final var report = new StringBuilder();
+        report.append("# DukeOps Benchmark Report\n\n");
+        if (baseline.isEmpty()) {
+            report.append("No baseline found at `").append(baselineFile)
+                    .append("`, copy the results to this file to create one.\n\n");
+        }
+        report.append("| Benchmark | Score | Baseline | Change |\n");
+        report.append("|-----------|------:|---------:|-------:|\n");
+        var regressions = 0;
+        for (final var entry : results.entrySet()) {
+            final var score = entry.getValue();
+            final var reference = baseline.get(entry.getKey());
+            report.append("| ").append(entry.getKey())
+                    .append(" | ").append(score.format())
+                    .append(" | ").append(reference == null ? "–" : reference.format())
+                    .append(" | ");
+            if (reference == null) {
+                report.append("new");
+            } else {
+                final var change = score.changeTo(reference);
+                final var regression = score.isRegressionOf(reference, change);
+                report.append("%+.1f %%".formatted(change)).append(regression ? " ⚠" : "");
+                regressions += regression ? 1 : 0;
+            }
+            report.append(" |\n");
+        }
+        report.append("\n").append(regressions).append(" regression(s) of more than ")
+                .append(REGRESSION_THRESHOLD_PERCENT).append(" %.\n");
+
+        final var reportFile = Path.of(args[2]);
+        Files.writeString(reportFile, report, StandardCharsets.UTF_8);
+        LOGGER.info("Benchmark report written to {}:\n{}", reportFile, report);
+    }
+
+    private static @NotNull Map<String, Score> readScores(final @NotNull Path file) throws IOException {
+        final var scores = new TreeMap<String, Score>();
+        final var benchmarks = new JSONArray(Files.readString(file, StandardCharsets.UTF_8));
+        for (int index = 0; index < benchmarks.length(); index++) {
+            final var benchmark = benchmarks.getJSONObject(index);
+            final var metric = benchmark.getJSONObject("primaryMetric");
+            final var name = benchmark.getString("benchmark").replace("eu.ijug.dukeops.", "")
+                    + formatParams(benchmark.optJSONObject("params"));
+            scores.put(name, new Score(benchmark.getString("mode"), metric.getDouble("score"),
+                    metric.getDouble("scoreError"), metric.getString("scoreUnit")));
+        }
+        return scores;
+    }
+
+    private static @NotNull String formatParams(final @Nullable JSONObject params) {
+        if (params == null || params.isEmpty()) {
+            return "";
+        }
+        final var text = new StringBuilder();
+        new TreeMap<>(params.toMap()).forEach((key, value) -> text.append(text.isEmpty() ? " (" : ", ").append(key).append('=').append(value));
+        return text.append(')').toString();
+    }
+
+    private record Score(@NotNull String mode, double score, double error, @NotNull String unit) {
+
+        @NotNull String format() {
+            return "%.3f ± %.3f %s".formatted(score, Double.isNaN(error) ? 0 : error, unit);
+        }
+
+        double changeTo(final @NotNull Score baseline) {
+            return (score - baseline.score()) / baseline.score() * 100;
+        }
+
+        boolean isRegressionOf(final @NotNull Score baseline, final double change) {
+            if (!mode.equals(baseline.mode()) || !unit.equals(baseline.unit())) {
+                return false;
+            }
+            // throughput gets worse when it drops, all other modes report times which get worse when they rise
+            return "thrpt".equals(mode)
+                    ? change < -REGRESSION_THRESHOLD_PERCENT
+                    : change > REGRESSION_THRESHOLD_PERCENT;
+        }
+
+    }
+
+}
@@ -0,0 +1,423 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.benchmark;
+
+import eu.ijug.dukeops.domain.clubdesk.entity.Country;
+import eu.ijug.dukeops.domain.clubdesk.entity.ImportRecord;
+import eu.ijug.dukeops.domain.user.control.FullNameBuilder;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.QuoteMode;
+import org.iban4j.CountryCode;
+import org.iban4j.Iban;
+import org.jetbrains.annotations.NotNull;
+import org.jooq.BatchBindStep;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.CLUBDESK;
+import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.USER;
+
+/**
+ * <p>Generates a reproducible set of synthetic ClubDesk members for capacity tests and benchmarks.</p>
+ *
+ * <p>The members live in Germany, Austria and Switzerland, with real city names and ZIP codes, local
+ * Java User Groups, and valid IBAN/BIC pairs of real banks for members with SEPA direct debit. Larger
+ * cities, groups and banks are picked more often than smaller ones. Like in the real exports, some
+ * members have no address, and some members appear a second time with a new address.</p>
+ *
+ * <p>The same seed always generates the same members, so all benchmarks and capacity tests using the
+ * same seed and number of rows work on the same data. Only the last {@value #DUPLICATE_WINDOW} members
+ * are kept in memory, so even a million rows can be generated in constant memory.</p>
+ *
+ * <p>Usage: {@code ClubDeskDataGenerator <rows> <export.csv|jdbc-url> [<seed>]}. A file is written in the
+ * ClubDesk export format. With a JDBC URL, the members are inserted into the {@code user} and
+ * {@code clubdesk} tables directly, using the credentials from {@code DUKEOPS_DB_USER} and
+ * {@code DUKEOPS_DB_PASS}.</p>
+ */
+public final class ClubDeskDataGenerator {
+
+    /**
+     * <p>The seed used if none is specified.</p>
+     */
+    public static final long DEFAULT_SEED = 20_260_101L;
+
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(ClubDeskDataGenerator.class);
+
+    private static final int DUPLICATE_WINDOW = 1024;
+    private static final int BATCH_SIZE = 1000;
+    private static final @NotNull LocalDateTime FIRST_CREATED = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private static final @NotNull String[] HEADERS = {"E-Mail", "Vorname", "Nachname", "Adresse", "Adress-Zusatz",
+            "PLZ", "Ort", "Land", "E-Mail Alternativ", "Matrix", "Mastodon", "LinkedIn",
+            "SEPA-Lastschrift erlauben", "Kontoinhaber", "Mandatsreferenz", "IBAN", "BIC", "Java User Group"};
+
+    private static final @NotNull String[] FIRSTNAMES = {"Lukas", "Anna", "Michael", "Julia", "Thomas", "Laura",
+            "Andreas", "Sophie", "Stefan", "Lena", "Markus", "Katharina", "Jürgen", "Sabine", "Matthias", "Maria",
+            "Florian", "Sarah", "Tobias", "Lea", "Daniel", "Hannah", "Sebastian", "Marie", "René", "Jana", "Björn",
+            "Chloé", "Jörg", "Zoë"};
+    private static final @NotNull String[] LASTNAMES = {"Müller", "Schmidt", "Schneider", "Fischer", "Weber",
+            "Meyer", "Wagner", "Becker", "Hoffmann", "Schulz", "Gruber", "Huber", "Bauer", "Hofer", "Pichler",
+            "Steiner", "Moser", "Meier", "Keller", "Brunner", "Frei", "Baumann", "Zimmermann", "Weiß", "Krüger",
+            "Köhler", "Schäfer", "Groß", "Lehmann", "Böhm"};
+    private static final @NotNull String[] STREETS = {"Hauptstraße", "Bahnhofstraße", "Schulstraße",
+            "Gartenstraße", "Dorfstraße", "Kirchgasse", "Lindenweg", "Am Markt", "Bergstraße", "Mühlweg",
+            "Rosenweg", "Seestrasse", "Ringstraße", "Waldweg", "Feldgasse"};
+    private static final @NotNull String[] ADDRESS_ADDITIONS = {"c/o Firma", "2. OG", "Hinterhaus", "Top 4",
+            "Postfach 12", "Appartement 3"};
+    private static final @NotNull String[] MAIL_DOMAINS = {"example.com", "example.org", "example.net"};
+
+    private static final @NotNull Region GERMANY = new Region(Country.ofIso2("DE"), CountryCode.DE, 5,
+            new City[] {
+                    new City("Berlin", 10115, 2000), new City("Hamburg", 20095, 1500),
+                    new City("München", 80331, 1500), new City("Köln", 50667, 100),
+                    new City("Frankfurt am Main", 60311, 300), new City("Stuttgart", 70173, 400),
+                    new City("Düsseldorf", 40210, 400), new City("Leipzig", 4103, 200),
+                    new City("Dortmund", 44135, 200), new City("Karlsruhe", 76131, 100),
+                    new City("Nürnberg", 90402, 100), new City("Dresden", 1067, 200)},
+            new String[] {"Java User Group Berlin Brandenburg", "Java User Group München",
+                    "Java User Group Hamburg", "Java User Group Köln", "Java User Group Stuttgart",
+                    "Java User Group Karlsruhe", "Java User Group Darmstadt", "Java User Group Dortmund",
+                    "Java User Group Saxony", "Java User Group Nürnberg"},
+            new Bank[] {new Bank("37040044", 10, "COBADEFFXXX"), new Bank("10010010", 10, "PBNKDEFFXXX"),
+                    new Bank("50010517", 10, "INGDDEFFXXX"), new Bank("12030000", 10, "BYLADEM1001"),
+                    new Bank("70150000", 10, "SSKMDEMMXXX"), new Bank("20050550", 10, "HASPDEHHXXX")});
+    private static final @NotNull Region AUSTRIA = new Region(Country.ofIso2("AT"), CountryCode.AT, 4,
+            new City[] {
+                    new City("Wien", 1010, 220), new City("Graz", 8010, 50), new City("Linz", 4020, 40),
+                    new City("Salzburg", 5020, 60), new City("Innsbruck", 6020, 60),
+                    new City("Klagenfurt", 9020, 40)},
+            new String[] {"Java User Group Austria", "Java User Group Graz", "Java User Group Linz"},
+            new Bank[] {new Bank("12000", 11, "BKAUATWWXXX"), new Bank("20111", 11, "GIBAATWWXXX"),
+                    new Bank("32000", 11, "RLNWATWWXXX"), new Bank("60000", 11, "BAWAATWWXXX")});
+    private static final @NotNull Region SWITZERLAND = new Region(Country.ofIso2("CH"), CountryCode.CH, 4,
+            new City[] {
+                    new City("Zürich", 8001, 60), new City("Bern", 3011, 20), new City("Basel", 4051, 10),
+                    new City("Luzern", 6003, 10), new City("St. Gallen", 9000, 20),
+                    new City("Lausanne", 1003, 10), new City("Genève", 1201, 10)},
+            new String[] {"Java User Group Switzerland", "Java User Group Basel", "Java User Group Bern"},
+            new Bank[] {new Bank("00230", 12, "UBSWCHZH80A"), new Bank("00700", 12, "ZKBKCHZZ80A"),
+                    new Bank("09000", 12, "POFICHBEXXX")});
+
+    private final @NotNull Random random;
+    private final @NotNull Clock clock;
+    private final @NotNull ImportRecord[] recentMembers = new ImportRecord[DUPLICATE_WINDOW];
+    private int members;
+
+    /**
+     * <p>Creates a generator for the given seed.</p>
+     *
+     * @param seed the seed of the random numbers; the same seed generates the same members
+     */
+    public ClubDeskDataGenerator(final long seed) {
+        this(seed, Clock.systemDefaultZone());
+    }
+
+    /**
+     * <p>Creates a generator for the given seed and clock.</p>
+     *
+     * @param seed the seed of the random numbers; the same seed generates the same members
+     * @param clock the clock limiting the timestamps of the seeded rows, no row is created or updated in the future
+     */
+    public ClubDeskDataGenerator(final long seed,
+                                 final @NotNull Clock clock) {
+        super();
+        this.random = new Random(seed);
+        this.clock = clock;
+    }
+
+    /**
+     * <p>Generates the export or seeds the database.</p>
+     *
+     * @param args the number of rows, the export file or JDBC URL, and an optional seed
+     * @throws IOException if the export can't be written
+     */
+    public static void main(final @NotNull String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            throw new IllegalArgumentException("Usage: ClubDeskDataGenerator <rows> <export.csv|jdbc-url> [<seed>]");
+        }
+        final var rows = Integer.parseInt(args[0]);
+        final var target = args[1];
+        final var generator = new ClubDeskDataGenerator(args.length == 3 ? Long.parseLong(args[2]) : DEFAULT_SEED);
+        if (target.startsWith("jdbc:")) {
+            try (var dsl = DSL.using(target, System.getenv("DUKEOPS_DB_USER"), System.getenv("DUKEOPS_DB_PASS"))) {
+                final var inserted = generator.seed(rows, dsl);
+                LOGGER.info("Inserted {} of {} generated ClubDesk rows into {}", inserted, rows, target);
+            }
+        } else {
+            try (var writer = Files.newBufferedWriter(Path.of(target), StandardCharsets.ISO_8859_1)) {
+                generator.writeCsv(rows, writer);
+            }
+            LOGGER.info("Wrote {} ClubDesk rows to {}", rows, target);
+        }
+    }
+
+    /**
+     * <p>Generates the next row of the export.</p>
+     *
+     * <p>Two percent of the rows repeat one of the recently generated members with the same email address
+     * and a new address, all other rows are new members.</p>
+     *
+     * @return the generated row; never {@code null}
+     */
+    public @NotNull ImportRecord next() {
+        if (members > DUPLICATE_WINDOW && random.nextInt(100) < 2) {
+            return moved(recentMembers[random.nextInt(DUPLICATE_WINDOW)]);
+        }
+        final var member = newMember(members);
+        recentMembers[members % DUPLICATE_WINDOW] = member;
+        members++;
+        return member;
+    }
+
+    /**
+     * <p>Writes the given number of rows in the ClubDesk export format: semicolon separated, all values
+     * quoted, with the German column headers of the ClubDesk export.</p>
+     *
+     * <p>The writer should encode the content as ISO-8859-1, like the exports of ClubDesk.</p>
+     *
+     * @param rows the number of rows to write
+     * @param writer the writer to write the export to; not closed by this method
+     * @throws IOException if the export can't be written
+     */
+    public void writeCsv(final int rows,
+                         final @NotNull Writer writer) throws IOException {
+        final var format = CSVFormat.Builder.create()
+                .setDelimiter(';')
+                .setQuote('"')
+                .setQuoteMode(QuoteMode.ALL)
+                .setRecordSeparator("\r\n")
+                .setHeader(HEADERS)
+                .get();
+        final var printer = format.print(writer);
+        for (int row = 0; row < rows; row++) {
+            final var member = next();
+            printer.printRecord(member.email(), member.firstname(), member.lastname(), member.address(),
+                    member.addressAddition(), member.zipCode(), member.city(),
+                    member.country() == null ? "" : member.country().displayName(Locale.GERMAN),
+                    member.emailAlternative(), member.matrix(), member.mastodon(), member.linkedin(),
+                    member.sepaEnabled() ? "Ja" : "Nein", member.sepaAccountHolder(), member.sepaMandateReference(),
+                    member.sepaIban(), member.sepaBic(), member.jug());
+        }
+        printer.flush();
+    }
+
+    /**
+     * <p>Inserts the given number of rows into the {@code user} and {@code clubdesk} tables using batches of
+     * {@value #BATCH_SIZE} rows.</p>
+     *
+     * <p>The IDs are derived from the email addresses, so repeated members and members already stored are
+     * inserted only once, with the data of their first row. The {@code created} and {@code updated} timestamps
+     * are spread over the years since 2020, but never later than the current time of the clock. The tables are
+     * written directly, bypassing the application and its caches, so seed the database before starting the
+     * application.</p>
+     *
+     * @param rows the number of rows to generate
+     * @param dsl the jOOQ context of the database to seed
+     * @return the number of ClubDesk rows actually inserted
+     */
+    public int seed(final int rows,
+                    final @NotNull DSLContext dsl) {
+        final var now = LocalDateTime.now(clock);
+        final var existingRows = dsl.fetchCount(CLUBDESK);
+        final var insertUser = dsl.insertInto(USER).columns(USER.fields())
+                .values(new Object[USER.fields().length])
+                .onDuplicateKeyIgnore();
+        final var insertClubDesk = dsl.insertInto(CLUBDESK).columns(CLUBDESK.fields())
+                .values(new Object[CLUBDESK.fields().length])
+                .onDuplicateKeyIgnore();
+
+        BatchBindStep users = dsl.batch(insertUser);
+        BatchBindStep clubDesks = dsl.batch(insertClubDesk);
+        for (int row = 0; row < rows; row++) {
+            final var member = next();
+            final var id = UUID.nameUUIDFromBytes(member.email().getBytes(StandardCharsets.UTF_8));
+            final var created = min(FIRST_CREATED.plusMinutes(random.nextInt(6 * 365 * 24 * 60)), now);
+            final var updated = min(created.plusMinutes(random.nextInt(365 * 24 * 60)), now);
+
+            final var user = dsl.newRecord(USER);
+            user.setId(id);
+            user.setCreated(created);
+            user.setUpdated(updated);
+            user.setName(FullNameBuilder.buildFullName(member.firstname(), member.lastname(), ""));
+            user.setEmail(member.email());
+            user.setRole("USER");
+            users = users.bind(user.intoArray());
+
+            final var clubDesk = dsl.newRecord(CLUBDESK);
+            clubDesk.from(member);
+            clubDesk.setId(id);
+            clubDesk.setCreated(created);
+            clubDesk.setUpdated(updated);
+            clubDesk.setNewsletter(random.nextInt(10) < 7);
+            clubDesks = clubDesks.bind(clubDesk.intoArray());
+
+            if ((row + 1) % BATCH_SIZE == 0 || row == rows - 1) {
+                users.execute();
+                clubDesks.execute();
+                users = dsl.batch(insertUser);
+                clubDesks = dsl.batch(insertClubDesk);
+            }
+        }
+
+        // the update counts of a batch are not reliable with all drivers, so the rows are counted instead
+        return dsl.fetchCount(CLUBDESK) - existingRows;
+    }
+
+    private static @NotNull LocalDateTime min(final @NotNull LocalDateTime dateTime,
+                                              final @NotNull LocalDateTime limit) {
+        return dateTime.isAfter(limit) ? limit : dateTime;
+    }
+
+    private @NotNull ImportRecord newMember(final int number) {
+        final var region = pickRegion();
+        final var firstname = FIRSTNAMES[random.nextInt(FIRSTNAMES.length)];
+        final var lastname = LASTNAMES[random.nextInt(LASTNAMES.length)];
+        final var mailName = toMailName(firstname) + "." + toMailName(lastname);
+        final var email = "%s.%d@%s".formatted(mailName, number, pick(MAIL_DOMAINS));
+
+        final var hasAddress = random.nextInt(100) >= 5;
+        final var city = pick(region.cities());
+
+        final var sepaEnabled = random.nextInt(100) < (region == SWITZERLAND ? 25 : 45);
+        final var bank = pick(region.banks());
+        final var accountHolder = random.nextInt(100) < 5
+                ? pick(FIRSTNAMES) + " " + lastname
+                : firstname + " " + lastname;
+
+        final var jug = random.nextInt(100);
+        return new ImportRecord(
+                firstname,
+                lastname,
+                hasAddress ? pick(STREETS) + " " + houseNumber() : "",
+                hasAddress && random.nextInt(100) < 7 ? pick(ADDRESS_ADDITIONS) : "",
+                hasAddress ? zipCode(region, city) : "",
+                hasAddress ? city.name() : "",
+                hasAddress ? region.country() : null,
+                email,
+                random.nextInt(100) < 10 ? mailName + "@" + pick(MAIL_DOMAINS) : "",
+                random.nextInt(100) < 6 ? "@" + mailName + ":matrix.org" : "",
+                random.nextInt(100) < 10 ? "@" + mailName.replace(".", "") + "@mastodon.social" : "",
+                random.nextInt(100) < 30 ? "https://www.linkedin.com/in/" + mailName.replace('.', '-') + "-" + number : "",
+                sepaEnabled,
+                sepaEnabled ? accountHolder : "",
+                sepaEnabled ? "IJUG-" + mandateReference() : "",
+                sepaEnabled ? iban(region, bank) : "",
+                sepaEnabled ? bank.bic() : "",
+                jug < 12 ? "" : pick(jug < 17 ? pickRegion().jugs() : region.jugs())
+        );
+    }
+
+    private @NotNull ImportRecord moved(final @NotNull ImportRecord member) {
+        final var region = pickRegion();
+        final var city = pick(region.cities());
+        return new ImportRecord(member.firstname(), member.lastname(), pick(STREETS) + " " + houseNumber(), "",
+                zipCode(region, city), city.name(), region.country(), member.email(), member.emailAlternative(),
+                member.matrix(), member.mastodon(), member.linkedin(), member.sepaEnabled(),
+                member.sepaAccountHolder(), member.sepaMandateReference(), member.sepaIban(), member.sepaBic(),
+                member.jug());
+    }
+
+    private @NotNull Region pickRegion() {
+        final var region = random.nextInt(100);
+        if (region < 72) {
+            return GERMANY;
+        }
+        return region < 86 ? AUSTRIA : SWITZERLAND;
+    }
+
+    /**
+     * <p>Picks a random element, preferring the first elements: the first element of six is picked about
+     * five times as often as the last one.</p>
+     */
+    private <T> @NotNull T pick(final @NotNull T[] values) {
+        final var value = random.nextDouble();
+        return values[(int) (values.length * value * value)];
+    }
+
+    private @NotNull String houseNumber() {
+        final var number = 1 + random.nextInt(150);
+        return random.nextInt(100) < 8 ? number + "a" : Integer.toString(number);
+    }
+
+    private @NotNull String zipCode(final @NotNull Region region,
+                                    final @NotNull City city) {
+        final var zipCode = city.zipCode() + random.nextInt(city.zipCodeRange());
+        return ("%0" + region.zipCodeLength() + "d").formatted(zipCode);
+    }
+
+    private @NotNull String mandateReference() {
+        final var alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567";
+        final var reference = new StringBuilder(12);
+        for (int index = 0; index < 12; index++) {
+            reference.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return reference.toString();
+    }
+
+    private @NotNull String iban(final @NotNull Region region,
+                                 final @NotNull Bank bank) {
+        final var accountNumber = new StringBuilder(bank.accountNumberLength());
+        for (int index = 0; index < bank.accountNumberLength(); index++) {
+            accountNumber.append(random.nextInt(10));
+        }
+        return new Iban.Builder()
+                .countryCode(region.countryCode())
+                .bankCode(bank.bankCode())
+                .accountNumber(accountNumber.toString())
+                .build()
+                .toString();
+    }
+
+    private static @NotNull String toMailName(final @NotNull String name) {
+        return name.toLowerCase(Locale.ROOT)
+                .replace("ä", "ae").replace("ö", "oe").replace("ü", "ue").replace("ß", "ss")
+                .replace("é", "e").replace("ë", "e");
+    }
+
+    private record Region(@NotNull Country country,
+                          @NotNull CountryCode countryCode,
+                          int zipCodeLength,
+                          @NotNull City[] cities,
+                          @NotNull String[] jugs,
+                          @NotNull Bank[] banks) {
+    }
+
+    private record City(@NotNull String name,
+                        int zipCode,
+                        int zipCodeRange) {
+    }
+
+    private record Bank(@NotNull String bankCode,
+                        int accountNumberLength,
+                        @NotNull String bic) {
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.control;
+
+import eu.ijug.dukeops.benchmark.ClubDeskDataGenerator;
+import eu.ijug.dukeops.domain.authentication.control.AuthenticationService;
+import eu.ijug.dukeops.domain.clubdesk.entity.ImportRecord;
+import eu.ijug.dukeops.domain.user.control.UserService;
+import eu.ijug.dukeops.infra.communication.mail.MailService;
+import eu.ijug.dukeops.infra.persistence.jooq.UniqueIdGenerator;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * <p>Measures the throughput of storing a ClubDesk import with {@link ClubDeskService#saveImportRecords(List)}.</p>
+ *
+ * <p>The user service and the ClubDesk repository are the real implementations, backed by a jOOQ
+ * {@link MockConnection} which finds no existing rows, so every import creates all users and ClubDesk records.
+ * The benchmark measures resolving the users in bulk, rendering the batches and the bookkeeping per record
+ * without the latency of a database. One operation is a whole import, multiply the score with {@code rows} to
+ * get the records per second.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClubDeskImportBenchmark {
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private ClubDeskService clubDeskService;
+    private List<ImportRecord> importRecords;
+
+    /**
+     * <p>Creates the service on the mocked database and parses the import with the configured number of rows.</p>
+     *
+     * @throws IOException if the import can't be generated
+     */
+    @Setup(Level.Trial)
+    public void createService() throws IOException {
+        final var emptyResult = DSL.using(SQLDialect.MARIADB).newResult(DSL.one());
+        final var connection = new MockConnection(context -> {
+            final var select = context.sql() != null && context.sql().startsWith("select");
+            final var results = new MockResult[Math.max(1, Math.max(context.batchSQL().length, context.batchBindings().length))];
+            Arrays.fill(results, select ? new MockResult(0, emptyResult) : new MockResult(1));
+            return results;
+        });
+        final var dsl = DSL.using(connection, SQLDialect.MARIADB);
+
+        final var userService = new UserService(dsl, new UniqueIdGenerator(dsl), stub(ApplicationEventPublisher.class));
+        final var clubDeskRepository = new JooqClubDeskRepository(dsl, Clock.systemUTC());
+        clubDeskService = new ClubDeskService(clubDeskRepository, stub(ClubDeskImporter.class),
+                userService, stub(AuthenticationService.class), stub(MailService.class),
+                new TranslationProvider(), dsl, new SimpleMeterRegistry(), ObservationRegistry.NOOP);
+
+        final var csv = new StringWriter(rows * 250);
+        new ClubDeskDataGenerator(ClubDeskDataGenerator.DEFAULT_SEED).writeCsv(rows, csv);
+        importRecords = new ApacheCommonsClubDeskImporter().parse(new StringReader(csv.toString()));
+    }
+
+    private static <T> @NotNull T stub(final @NotNull Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+
+    /**
+     * <p>Stores the whole import.</p>
+     *
+     * @return the number of stored records
+     */
+    @Benchmark
+    public int saveImportRecords() {
+        return clubDeskService.saveImportRecords(importRecords);
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.control;
+
+import eu.ijug.dukeops.benchmark.ClubDeskDataGenerator;
+import eu.ijug.dukeops.domain.clubdesk.entity.ImportRecord;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures parsing a ClubDesk export with the {@link ApacheCommonsClubDeskImporter}.</p>
+ *
+ * <p>The exports are generated in memory by the {@link ClubDeskDataGenerator} with its default seed, so every
+ * run parses the same content.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClubDeskImporterBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    private final @NotNull ApacheCommonsClubDeskImporter importer = new ApacheCommonsClubDeskImporter();
+    private String export;
+
+    /**
+     * <p>Generates the export with the configured number of rows.</p>
+     *
+     * @throws IOException if the export can't be written
+     */
+    @Setup(Level.Trial)
+    public void generateExport() throws IOException {
+        final var csv = new StringWriter(rows * 250);
+        new ClubDeskDataGenerator(ClubDeskDataGenerator.DEFAULT_SEED).writeCsv(rows, csv);
+        export = csv.toString();
+    }
+
+    /**
+     * <p>Parses the whole export.</p>
+     *
+     * @return the parsed records
+     * @throws IOException if the export can't be read
+     */
+    @Benchmark
+    public @NotNull List<ImportRecord> parse() throws IOException {
+        return importer.parse(new StringReader(export));
+    }
+
+}
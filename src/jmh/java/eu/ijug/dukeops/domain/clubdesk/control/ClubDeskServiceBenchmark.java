@@ -0,0 +1,139 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.control;
+
+import eu.ijug.dukeops.domain.authentication.control.AuthenticationService;
+import eu.ijug.dukeops.domain.clubdesk.entity.ClubDeskDto;
+import eu.ijug.dukeops.domain.clubdesk.entity.Country;
+import eu.ijug.dukeops.domain.user.control.UserService;
+import eu.ijug.dukeops.infra.communication.mail.MailService;
+import eu.ijug.dukeops.infra.diff.ChangeSet;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.jooq.DSLContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * <p>Measures the change detection of the ClubDesk edit view and the generation of SEPA mandate
+ * references.</p>
+ *
+ * <p>The collaborators of the service are stubs which don't record their invocations, so they neither
+ * touch a database nor fill up the heap while the benchmark runs.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClubDeskServiceBenchmark {
+
+    private ClubDeskService clubDeskService;
+    private ClubDeskDto original;
+    private ClubDeskDto unchanged;
+    private ClubDeskDto updated;
+
+    /**
+     * <p>Creates the service with stubbed collaborators and the ClubDesk records to compare.</p>
+     */
+    @Setup
+    public void createService() {
+        clubDeskService = new ClubDeskService(stub(ClubDeskRepository.class), stub(ClubDeskImporter.class),
+                stub(UserService.class), stub(AuthenticationService.class), stub(MailService.class),
+                new TranslationProvider(), stub(DSLContext.class), new SimpleMeterRegistry(), ObservationRegistry.NOOP);
+
+        final var id = UUID.nameUUIDFromBytes("benchmark".getBytes(StandardCharsets.UTF_8));
+        original = new ClubDeskDto(id, null, null,
+                "Anna", "Müller", "Hauptstraße 1", "", "10115", "Berlin", Country.ofIso2("DE"),
+                "anna.mueller@example.com", "", "", "", "",
+                true, "Anna Müller", "IJUG-ABCDEFGHIJKL", "DE89370400440532013000", "COBADEFFXXX",
+                "JUG Berlin-Brandenburg", true);
+        unchanged = new ClubDeskDto(id, null, null,
+                "Anna", "Müller", "Hauptstraße 1", "", "10115", "Berlin", Country.ofIso2("DE"),
+                "anna.mueller@example.com", "", "", "", "",
+                true, "Anna Müller", "IJUG-ABCDEFGHIJKL", "DE89370400440532013000", "COBADEFFXXX",
+                "JUG Berlin-Brandenburg", true);
+        updated = new ClubDeskDto(id, null, null,
+                "Anna", "Schmidt", "Seestraße 5", "", "8002", "Zürich", Country.ofIso2("CH"),
+                "anna.schmidt@example.com", "", "", "", "",
+                true, "Anna Schmidt", "IJUG-ABCDEFGHIJKL", "CH9300762011623852957", "POFICHBEXXX",
+                "JUG Schweiz", false);
+    }
+
+    private static <T> @NotNull T stub(final @NotNull Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+
+    /**
+     * <p>Checks unchanged records, which has to compare all fields.</p>
+     *
+     * @return {@code false}
+     */
+    @Benchmark
+    public boolean hasChangesUnchanged() {
+        return clubDeskService.hasChanges(original, unchanged);
+    }
+
+    /**
+     * <p>Collects all changed fields of a member who moved to another country.</p>
+     *
+     * @return the changed fields
+     */
+    @Benchmark
+    public @NotNull ChangeSet compare() {
+        return clubDeskService.compare(original, updated);
+    }
+
+    /**
+     * <p>Renders the changes for the office and the member and hands the mails to the stubbed mail service.</p>
+     */
+    @Benchmark
+    public void notifyOffice() {
+        clubDeskService.notifyOffice(original, updated, Locale.ENGLISH);
+    }
+
+    /**
+     * <p>Generates the SEPA mandate reference of a member.</p>
+     *
+     * @return the mandate reference
+     */
+    @Benchmark
+    public @NotNull String generateSepaMandateReference() {
+        return ClubDeskService.generateSepaMandateReference(original);
+    }
+
+}
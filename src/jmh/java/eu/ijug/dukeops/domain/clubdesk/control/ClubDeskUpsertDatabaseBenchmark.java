@@ -0,0 +1,186 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.control;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import eu.ijug.dukeops.benchmark.ClubDeskDataGenerator;
+import eu.ijug.dukeops.domain.clubdesk.entity.ClubDeskDto;
+import org.jetbrains.annotations.NotNull;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.CLUBDESK;
+
+/**
+ * <p>Compares storing ClubDesk records one by one with {@link JooqClubDeskRepository#upsert(ClubDeskDto)} with
+ * storing them in batches with {@link JooqClubDeskRepository#upsertAll(List)}, on a real MariaDB database.</p>
+ *
+ * <p>Both variants run on {@value #THREADS} threads sharing one connection pool of {@value #THREADS}
+ * connections, so they are compared at equal pool size. Every thread stores its own members, and every
+ * operation changes all of them, so no record is skipped as unchanged. One operation stores {@code rows}
+ * records on one thread, multiply the score with {@code rows} to get the records per second.</p>
+ *
+ * <p>The JDBC URL of the database is read from {@code DUKEOPS_BENCHMARK_DB_URL}, the credentials from
+ * {@code DUKEOPS_DB_USER} and {@code DUKEOPS_DB_PASS}. The database needs the schema of <em>DukeOps</em>. The
+ * benchmark seeds the members it needs with the {@link ClubDeskDataGenerator} and changes them, so never run
+ * it on a database with real data. It is excluded from the regular benchmark run.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(ClubDeskUpsertDatabaseBenchmark.THREADS)
+@Fork(1)
+public class ClubDeskUpsertDatabaseBenchmark {
+
+    static final int THREADS = 4;
+
+    @Param({"100", "1000"})
+    private int rows;
+
+    private HikariDataSource dataSource;
+    private DSLContext dsl;
+    private JooqClubDeskRepository repository;
+    private List<ClubDeskDto> members;
+
+    /**
+     * <p>Connects to the database and seeds the members of all threads.</p>
+     */
+    @Setup(Level.Trial)
+    public void connect() {
+        final var url = System.getenv("DUKEOPS_BENCHMARK_DB_URL");
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("Set DUKEOPS_BENCHMARK_DB_URL to the JDBC URL of a MariaDB database.");
+        }
+        final var config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(System.getenv("DUKEOPS_DB_USER"));
+        config.setPassword(System.getenv("DUKEOPS_DB_PASS"));
+        config.setMaximumPoolSize(THREADS);
+        config.setMinimumIdle(THREADS);
+        dataSource = new HikariDataSource(config);
+        dsl = DSL.using(dataSource, SQLDialect.MARIADB);
+
+        // the generator repeats some members, seed more rows than needed
+        final var needed = rows * THREADS;
+        new ClubDeskDataGenerator(ClubDeskDataGenerator.DEFAULT_SEED).seed(needed * 2, dsl);
+        members = dsl.selectFrom(CLUBDESK)
+                .orderBy(CLUBDESK.ID)
+                .limit(needed)
+                .fetchInto(ClubDeskDto.class);
+        if (members.size() < needed) {
+            throw new IllegalStateException("Only %d of %d members could be seeded.".formatted(members.size(), needed));
+        }
+        repository = new JooqClubDeskRepository(dsl, Clock.systemUTC());
+    }
+
+    /**
+     * <p>Closes the connection pool.</p>
+     */
+    @TearDown(Level.Trial)
+    public void disconnect() {
+        dataSource.close();
+    }
+
+    /**
+     * <p>The members stored by one thread, in two versions which are stored alternately.</p>
+     */
+    @State(Scope.Thread)
+    public static class Members {
+
+        private List<ClubDeskDto> original;
+        private List<ClubDeskDto> changed;
+        private boolean flip;
+
+        /**
+         * <p>Takes the members of this thread and creates a changed version of each of them.</p>
+         *
+         * @param benchmark the benchmark holding the members of all threads
+         * @param threadParams the parameters of this thread
+         */
+        @Setup(Level.Trial)
+        public void split(final @NotNull ClubDeskUpsertDatabaseBenchmark benchmark,
+                          final @NotNull ThreadParams threadParams) {
+            final var from = threadParams.getThreadIndex() * benchmark.rows;
+            original = List.copyOf(benchmark.members.subList(from, from + benchmark.rows));
+            changed = original.stream()
+                    .map(clubDesk -> {
+                        final var clubDeskRecord = benchmark.dsl.newRecord(CLUBDESK, clubDesk);
+                        clubDeskRecord.setNewsletter(!clubDeskRecord.getNewsletter());
+                        return clubDeskRecord.into(ClubDeskDto.class);
+                    })
+                    .toList();
+        }
+
+        @NotNull List<ClubDeskDto> next() {
+            flip = !flip;
+            return flip ? changed : original;
+        }
+
+    }
+
+    /**
+     * <p>Stores the members of this thread one by one, with a read and a write per record.</p>
+     *
+     * @param members the members of this thread
+     * @return the number of stored records
+     */
+    @Benchmark
+    public int upsertOneByOne(final @NotNull Members members) {
+        var stored = 0;
+        for (final var clubDesk : members.next()) {
+            repository.upsert(clubDesk);
+            stored++;
+        }
+        return stored;
+    }
+
+    /**
+     * <p>Stores the members of this thread in batches.</p>
+     *
+     * @param members the members of this thread
+     * @return the number of stored records
+     */
+    @Benchmark
+    public int upsertAll(final @NotNull Members members) {
+        return repository.upsertAll(members.next()).size();
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.entity;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures the country lookups used by the import and the country selection of the edit view.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CountryBenchmark {
+
+    private final @NotNull Country country = Country.ofIso2("AT");
+
+    /**
+     * <p>Resolves a country from its German name, like the import does for every row.</p>
+     *
+     * @return the country
+     */
+    @Benchmark
+    public @Nullable Country fromName() {
+        return Country.fromName("Österreich", Locale.GERMAN);
+    }
+
+    /**
+     * <p>Lists all countries sorted by their German name, like the country selection does.</p>
+     *
+     * @return all countries
+     */
+    @Benchmark
+    public @NotNull List<Country> all() {
+        return Country.all(Locale.GERMAN);
+    }
+
+    /**
+     * <p>Renders the name of a country.</p>
+     *
+     * @return the German name of the country
+     */
+    @Benchmark
+    public @NotNull String displayName() {
+        return country.displayName(Locale.GERMAN);
+    }
+
+}
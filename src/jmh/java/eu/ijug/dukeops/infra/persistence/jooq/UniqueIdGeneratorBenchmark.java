@@ -0,0 +1,90 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.persistence.jooq;
+
+import org.jetbrains.annotations.NotNull;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.USER;
+
+/**
+ * <p>Measures the {@link UniqueIdGenerator} without a database.</p>
+ *
+ * <p>The DSL context is backed by a jOOQ {@link MockConnection} which reports every ID as unused, so the
+ * benchmark measures the lock per table, the ID cache and rendering the query. The contended variant shows
+ * the cost of the fair lock when several threads create IDs for the same table.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UniqueIdGeneratorBenchmark {
+
+    private UniqueIdGenerator uniqueIdGenerator;
+
+    /**
+     * <p>Creates the generator with a stubbed DSL context.</p>
+     */
+    @Setup
+    public void createGenerator() {
+        final var emptyResult = DSL.using(SQLDialect.MARIADB).newResult(DSL.one());
+        final var connection = new MockConnection(_ -> new MockResult[] {new MockResult(0, emptyResult)});
+        uniqueIdGenerator = new UniqueIdGenerator(DSL.using(connection, SQLDialect.MARIADB));
+    }
+
+    /**
+     * <p>Creates an ID on a single thread.</p>
+     *
+     * @return the unique ID
+     */
+    @Benchmark
+    public @NotNull UUID getUniqueId() {
+        return uniqueIdGenerator.getUniqueID(USER);
+    }
+
+    /**
+     * <p>Creates IDs for the same table on four threads.</p>
+     *
+     * @return the unique ID
+     */
+    @Benchmark
+    @Threads(4)
+    public @NotNull UUID getUniqueIdContended() {
+        return uniqueIdGenerator.getUniqueID(USER);
+    }
+
+}
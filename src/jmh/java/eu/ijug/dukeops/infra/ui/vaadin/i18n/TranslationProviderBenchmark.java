@@ -0,0 +1,93 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.ui.vaadin.i18n;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures the translation lookups of the {@link TranslationProvider}, with and without parameters.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TranslationProviderBenchmark {
+
+    @Param({"en", "de", "de-CH"})
+    private String languageTag;
+
+    private final @NotNull TranslationProvider translationProvider = new TranslationProvider();
+    private Locale locale;
+
+    /**
+     * <p>Resolves the locale of the benchmark run.</p>
+     */
+    @Setup
+    public void resolveLocale() {
+        locale = Locale.forLanguageTag(languageTag);
+    }
+
+    /**
+     * <p>Looks up a translation without parameters.</p>
+     *
+     * @return the translation
+     */
+    @Benchmark
+    public @NotNull String plain() {
+        return translationProvider.getTranslation(
+                TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_FIRSTNAME, locale);
+    }
+
+    /**
+     * <p>Looks up a translation with two parameters.</p>
+     *
+     * @return the formatted translation
+     */
+    @Benchmark
+    public @NotNull String formatted() {
+        return translationProvider.getTranslation(
+                TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_SERVICE_EMAIL_OFFICE_SUBJECT, locale, "Anna", "Müller");
+    }
+
+    /**
+     * <p>Looks up a key which has no translation.</p>
+     *
+     * @return the fallback text
+     */
+    @Benchmark
+    public @NotNull String missing() {
+        return translationProvider.getTranslation("benchmark.missingTranslation", locale);
+    }
+
+}
@@ -19,12 +19,14 @@ package eu.ijug.dukeops;
 
 import com.vaadin.flow.component.dependency.StyleSheet;
 import com.vaadin.flow.component.page.AppShellConfigurator;
+import com.vaadin.flow.component.page.Inline;
 import com.vaadin.flow.component.page.Push;
 import com.vaadin.flow.component.page.Viewport;
 import com.vaadin.flow.server.AppShellSettings;
 import com.vaadin.flow.server.PWA;
 import com.vaadin.flow.theme.aura.Aura;
 import eu.ijug.dukeops.infra.config.AppConfig;
+import eu.ijug.dukeops.infra.ui.vaadin.control.ThemeUtil;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -55,7 +57,8 @@ public class Application extends SpringBootServletInitializer implements AppShel
      * <p>This method is invoked by Vaadin during application bootstrap and is used to
      * customize the generated HTML document head. It registers metadata such as the
      * author information, multiple favicon variants for different devices and resolutions,
-     * and a legacy shortcut icon for broad browser compatibility.</p>
+     * and a legacy shortcut icon for broad browser compatibility. It also inlines a small script
+     * that applies the stored dark-mode preference before the first paint.</p>
      *
      * <p>The configuration defined here applies to all views of the application and is
      * independent of individual UI components or layouts.</p>
@@ -73,6 +76,7 @@ public class Application extends SpringBootServletInitializer implements AppShel
         settings.addFavIcon("icon", "icons/favicon-32x32.png", "32x32");
         settings.addFavIcon("icon", "icons/favicon-16x16.png", "16x16");
         settings.addLink("shortcut icon", "icons/favicon.ico");
+        settings.addInlineWithContents(Inline.Position.PREPEND, ThemeUtil.BOOTSTRAP_SCRIPT, Inline.Wrapping.JAVASCRIPT);
     }
 
 }
@@ -18,7 +18,8 @@
 package eu.ijug.dukeops;
 
 import com.vaadin.flow.spring.security.VaadinSecurityConfigurer;
-import eu.ijug.dukeops.domain.authentication.boundary.LoginView;
+import eu.ijug.dukeops.domain.authentication.control.RememberMeService;
+import eu.ijug.dukeops.infra.monitoring.PrometheusAuthorizationManager;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -27,6 +28,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
 
 /**
@@ -45,6 +47,16 @@ public class SecurityConfig {
      */
     public static final @NotNull String LOGIN_URL = "/login";
 
+    /**
+     * <p>The URL the login form is posted to in order to request a login link.</p>
+     */
+    public static final @NotNull String LOGIN_LINK_URL = "/login/link";
+
+    /**
+     * <p>The URL of the login confirmation page, used in the links sent by email.</p>
+     */
+    public static final @NotNull String CONFIRM_URL = "/confirm";
+
     /**
      * <p>The URL of the logout page.</p>
      */
@@ -59,17 +71,40 @@ public class SecurityConfig {
      * <p>Defines the Spring Security filter chain for the application.</p>
      *
      * <p>This bean applies Vaadin's {@link VaadinSecurityConfigurer} and configures
-     * application-specific authorization rules for public endpoints. All remaining
+     * application-specific authorization rules for public and administrative endpoints. All remaining
      * requests are secured by Vaadin's view-based access control annotations.</p>
      *
+     * <p>The Prometheus scrape endpoint is only available to a monitoring system sending the configured bearer
+     * token and to administrators, see {@link PrometheusAuthorizationManager}.</p>
+     *
+     * <p>The login and confirmation pages are plain Spring MVC endpoints. Sessions are only created when
+     * they are required, so anonymous requests to these pages, e.g. from crawlers or from mail gateways
+     * prefetching confirmation links, stay stateless until the login has been confirmed.</p>
+     *
+     * <p>A request without a session but with the cookie of a remembered device is logged in by the
+     * {@link RememberMeService}, without sending a new login link.</p>
+     *
      * @param http the {@link HttpSecurity} to modify
+     * @param rememberMeService the service logging in remembered devices
+     * @param prometheusAuthorizationManager the authorization of the Prometheus scrape endpoint
      * @return the built {@link SecurityFilterChain}
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(final HttpSecurity http) {
-        // Always create a session
+    public SecurityFilterChain securityFilterChain(final HttpSecurity http,
+                                                   final RememberMeService rememberMeService,
+                                                   final PrometheusAuthorizationManager prometheusAuthorizationManager) {
+        // Only create a session when it is required, e.g. after a successful login
         http.sessionManagement(configurer -> configurer
-                .sessionCreationPolicy(SessionCreationPolicy.ALWAYS)
+                .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
+        );
+
+        // The CSRF token is kept in a cookie instead of the session, so the confirmation form can carry a token
+        // without creating a session for every anonymous request. The check on the confirmation prevents login
+        // CSRF: a foreign page can't post a login link of another account to log the browser in with it.
+        // Requesting a link carries no ambient authority, it only sends a rate-limited mail to the given address.
+        http.csrf(csrf -> csrf
+                .csrfTokenRepository(new CookieCsrfTokenRepository())
+                .ignoringRequestMatchers(PathPatternRequestMatcher.pathPattern(HttpMethod.POST, LOGIN_LINK_URL))
         );
 
         // Allow selected public endpoints first; do NOT call anyRequest() here
@@ -77,15 +112,27 @@ public class SecurityConfig {
                 .requestMatchers(
                         "/.well-known/**",
                         "/actuator/health",
+                        "/actuator/health/**",
                         "/css/**",
                         "/icons/**",
-                        "/images/**"
+                        "/images/**",
+                        LOGIN_URL,
+                        LOGIN_LINK_URL,
+                        CONFIRM_URL
                 ).permitAll()
+                .requestMatchers("/actuator/prometheus").access(prometheusAuthorizationManager)
+                .requestMatchers("/actuator/sessions").hasRole("ADMIN")
         );
 
         // Apply Vaadin security defaults and set the login view and logout success URL
         http.with(VaadinSecurityConfigurer.vaadin(), configurer ->
-                configurer.loginView(LoginView.class, LOGOUT_SUCCESS_URL)
+                configurer.loginView(LOGIN_URL, LOGOUT_SUCCESS_URL)
+        );
+
+        // Log in remembered devices, the logout deletes the token of the device
+        http.rememberMe(rememberMe -> rememberMe
+                .rememberMeServices(rememberMeService)
+                .key(rememberMeService.getKey())
         );
 
         // Allow logout with GET requests to support logout via anchor links in the UI
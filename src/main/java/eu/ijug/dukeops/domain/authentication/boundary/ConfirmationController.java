@@ -0,0 +1,240 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.boundary;
+
+import eu.ijug.dukeops.SecurityConfig;
+import eu.ijug.dukeops.domain.authentication.control.ConfirmationService;
+import eu.ijug.dukeops.domain.authentication.control.RememberMeService;
+import eu.ijug.dukeops.infra.ui.html.HtmlPageRenderer;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationKey;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationProvider;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.util.HtmlUtils;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * <p>Confirms the login links sent by email.</p>
+ *
+ * <p>Opening a login link only shows a form to confirm the login, the link is used up when the form is
+ * posted. Mail gateways and link scanners prefetching the link therefore neither use it up nor log in,
+ * and as the page is served by Spring MVC, they do not create an HTTP session or a Vaadin UI either. The form
+ * carries a CSRF token, which is stored in a cookie, so a foreign page can't log the browser in with the login
+ * link of another account.</p>
+ *
+ * <p>After a successful confirmation, the session is created and the browser is redirected to the dashboard.
+ * If the member chose to remember the device, a remember-me cookie is set as well, so the next login on this
+ * device does not need a login link.</p>
+ *
+ * <p>The success page counts down until the redirect. All countdown messages are rendered on the server in
+ * advance, because the translations use plural forms, and a small script shows the next one every second.
+ * The redirect itself is done by the {@code Refresh} header, so it works without JavaScript as well. The
+ * header only supports whole seconds, so the timeout must be a whole number of seconds of at most
+ * one minute.</p>
+ */
+@Controller
+public class ConfirmationController {
+
+    private static final @NotNull String DASHBOARD_URL = "/";
+    private static final @NotNull String REFRESH_HEADER = "Refresh";
+    private static final @NotNull Duration MAX_REDIRECT_TIMEOUT = Duration.ofMinutes(1);
+
+    private static final @NotNull String CONFIRMATION_FORM = """
+            <form method="post" action="%s">
+            <input type="hidden" name="%s" value="%s">
+            <input type="hidden" name="id" value="%s">
+            <label><input type="checkbox" name="%s"> %s</label>
+            <button type="submit">%s</button>
+            </form>
+            """;
+
+    private static final @NotNull String COUNTDOWN_MESSAGE = """
+            <div class="countdown"%s>%s</div>
+            """;
+
+    private static final @NotNull String COUNTDOWN_SCRIPT = """
+            <script>
+            (() => {
+                const messages = document.querySelectorAll(".countdown");
+                let index = 0;
+                const timer = setInterval(() => {
+                    if (index >= messages.length - 1) {
+                        clearInterval(timer);
+                        return;
+                    }
+                    messages[index].hidden = true;
+                    index++;
+                    messages[index].hidden = false;
+                }, 1000);
+            })();
+            </script>
+            """;
+
+    private final @NotNull ConfirmationService confirmationService;
+    private final @NotNull RememberMeService rememberMeService;
+    private final @NotNull TranslationProvider translationProvider;
+    private final @NotNull HtmlPageRenderer pageRenderer;
+    private final @NotNull Duration redirectTimeout;
+
+    /**
+     * <p>Creates the confirmation controller.</p>
+     *
+     * @param confirmationService the service verifying the login links
+     * @param rememberMeService the service remembering the device on request
+     * @param translationProvider the translation provider for the page texts
+     * @param pageRenderer the renderer for the HTML page
+     * @param redirectTimeout the time to show the success message before redirecting to the dashboard;
+     *                        whole seconds, at most one minute
+     * @throws IllegalArgumentException if the redirect timeout is negative, too long or not a whole number
+     *                                  of seconds
+     */
+    public ConfirmationController(final @NotNull ConfirmationService confirmationService,
+                                  final @NotNull RememberMeService rememberMeService,
+                                  final @NotNull TranslationProvider translationProvider,
+                                  final @NotNull HtmlPageRenderer pageRenderer,
+                                  @Value("${dukeops.confirm.redirect.timeout}") final @NotNull Duration redirectTimeout) {
+        super();
+
+        if (redirectTimeout.isNegative()) {
+            throw new IllegalArgumentException("'dukeops.confirm.redirect.timeout' must be >= 0");
+        }
+        if (redirectTimeout.compareTo(MAX_REDIRECT_TIMEOUT) > 0) {
+            throw new IllegalArgumentException("'dukeops.confirm.redirect.timeout' must be <= 60s");
+        }
+        if (redirectTimeout.toNanosPart() != 0) {
+            throw new IllegalArgumentException("'dukeops.confirm.redirect.timeout' must be a whole number of seconds");
+        }
+
+        this.confirmationService = confirmationService;
+        this.rememberMeService = rememberMeService;
+        this.translationProvider = translationProvider;
+        this.pageRenderer = pageRenderer;
+        this.redirectTimeout = redirectTimeout;
+    }
+
+    /**
+     * <p>Shows the form to confirm the login. The login link is not used up yet.</p>
+     *
+     * @param confirmationId the signed token of the login link
+     * @param locale the locale of the client
+     * @param csrfToken the CSRF token the form has to be posted with
+     * @return the confirmation page, or an error page if the login link has no token
+     */
+    @GetMapping(SecurityConfig.CONFIRM_URL)
+    public @NotNull ResponseEntity<String> showConfirmationForm(@RequestParam(name = "id", defaultValue = "") final @NotNull String confirmationId,
+                                                                final @NotNull Locale locale,
+                                                                final @NotNull CsrfToken csrfToken) {
+        if (confirmationId.isBlank()) {
+            return createErrorPage(locale);
+        }
+
+        final var form = CONFIRMATION_FORM.formatted(
+                SecurityConfig.CONFIRM_URL,
+                HtmlUtils.htmlEscape(csrfToken.getParameterName()),
+                HtmlUtils.htmlEscape(csrfToken.getToken()),
+                HtmlUtils.htmlEscape(confirmationId),
+                RememberMeService.PARAMETER_NAME,
+                HtmlUtils.htmlEscape(translate(TranslationKey.WEB_CONTROLLER_CONFIRMATION_CONTROLLER_CONFIRM_REMEMBER_ME, locale)),
+                HtmlUtils.htmlEscape(translate(TranslationKey.WEB_CONTROLLER_CONFIRMATION_CONTROLLER_CONFIRM_BUTTON, locale)));
+        return page(HttpStatus.OK, locale,
+                pageRenderer.message(translate(TranslationKey.WEB_CONTROLLER_CONFIRMATION_CONTROLLER_CONFIRM_TITLE, locale),
+                        translate(TranslationKey.WEB_CONTROLLER_CONFIRMATION_CONTROLLER_CONFIRM_MESSAGE, locale)) + form);
+    }
+
+    /**
+     * <p>Confirms the login and logs the user in, which creates the HTTP session. If requested, the device
+     * is remembered.</p>
+     *
+     * @param confirmationId the signed token of the login link
+     * @param locale the locale of the client
+     * @param request the current request
+     * @param response the current response, used to set the remember-me cookie
+     * @return the success page redirecting to the dashboard after the configured timeout, a direct redirect
+     *         if the timeout is zero, or an error page if the login link is invalid, expired or already used
+     */
+    @PostMapping(SecurityConfig.CONFIRM_URL)
+    public @NotNull ResponseEntity<String> confirm(@RequestParam(name = "id", defaultValue = "") final @NotNull String confirmationId,
+                                                   final @NotNull Locale locale,
+                                                   final @NotNull HttpServletRequest request,
+                                                   final @NotNull HttpServletResponse response) {
+        if (!confirmationService.confirmAndLogin(confirmationId)) {
+            return createErrorPage(locale);
+        }
+        rememberMeService.rememberLogin(request, response);
+
+        if (redirectTimeout.isZero()) {
+            return ResponseEntity.status(HttpStatus.SEE_OTHER)
+                    .location(URI.create(DASHBOARD_URL))
+                    .build();
+        }
+
+        final var seconds = redirectTimeout.toSeconds();
+        final var title = translate(TranslationKey.WEB_CONTROLLER_CONFIRMATION_CONTROLLER_SUCCESS_TITLE, locale);
+        return ResponseEntity.ok()
+                .header(REFRESH_HEADER, seconds + "; url=" + DASHBOARD_URL)
+                .contentType(HtmlPageRenderer.TEXT_HTML_UTF8)
+                .body(render(locale, pageRenderer.message(title, "") + createCountdown(seconds, locale)));
+    }
+
+    private @NotNull String createCountdown(final long seconds, final @NotNull Locale locale) {
+        final var countdown = new StringBuilder();
+        for (var secondsLeft = seconds; secondsLeft >= 0; secondsLeft--) {
+            final var message = translationProvider.getTranslation(TranslationKey.WEB_CONTROLLER_CONFIRMATION_CONTROLLER_SUCCESS_MESSAGE,
+                    locale, Map.of("timeout", secondsLeft));
+            countdown.append(COUNTDOWN_MESSAGE.formatted(secondsLeft == seconds ? "" : " hidden", pageRenderer.markdown(message)));
+        }
+        return countdown.append(COUNTDOWN_SCRIPT).toString();
+    }
+
+    private @NotNull ResponseEntity<String> createErrorPage(final @NotNull Locale locale) {
+        return page(HttpStatus.BAD_REQUEST, locale,
+                pageRenderer.message(translate(TranslationKey.WEB_CONTROLLER_CONFIRMATION_CONTROLLER_ERROR_TITLE, locale),
+                        translate(TranslationKey.WEB_CONTROLLER_CONFIRMATION_CONTROLLER_ERROR_MESSAGE, locale)));
+    }
+
+    private @NotNull String translate(final @NotNull TranslationKey key, final @NotNull Locale locale) {
+        return translationProvider.getTranslation(key, locale);
+    }
+
+    private @NotNull ResponseEntity<String> page(final @NotNull HttpStatus status,
+                                                 final @NotNull Locale locale,
+                                                 final @NotNull String content) {
+        return ResponseEntity.status(status)
+                .contentType(HtmlPageRenderer.TEXT_HTML_UTF8)
+                .body(render(locale, content));
+    }
+
+    private @NotNull String render(final @NotNull Locale locale, final @NotNull String content) {
+        final var title = translate(TranslationKey.WEB_CONTROLLER_CONFIRMATION_CONTROLLER_TITLE, locale);
+        return pageRenderer.render(locale, "confirmation-view", title, content);
+    }
+
+}
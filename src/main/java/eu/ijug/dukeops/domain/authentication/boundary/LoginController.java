@@ -0,0 +1,155 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.boundary;
+
+import eu.ijug.dukeops.SecurityConfig;
+import eu.ijug.dukeops.domain.authentication.control.ConfirmationService;
+import eu.ijug.dukeops.domain.authentication.control.LoginRateLimiter;
+import eu.ijug.dukeops.infra.ui.html.HtmlPageRenderer;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationKey;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationProvider;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.Locale;
+
+/**
+ * <p>Serves the login page and sends the login links.</p>
+ *
+ * <p>The login page is a plain HTML form handled by Spring MVC instead of a Vaadin view, so anonymous
+ * visitors get neither an HTTP session nor a Vaadin UI. The session is created when the login link is
+ * confirmed by the {@link ConfirmationController}.</p>
+ */
+@Controller
+public class LoginController {
+
+    private static final @NotNull String LOGIN_FORM = """
+            <h3>%s</h3>
+            <form method="post" action="%s">
+            <input type="email" name="email" value="%s" placeholder="%s" aria-label="%s" autocomplete="email" required autofocus>
+            <button type="submit">%s</button>
+            </form>
+            """;
+
+    private final @NotNull ConfirmationService confirmationService;
+    private final @NotNull LoginRateLimiter loginRateLimiter;
+    private final @NotNull TranslationProvider translationProvider;
+    private final @NotNull HtmlPageRenderer pageRenderer;
+
+    /**
+     * <p>Creates the login controller.</p>
+     *
+     * @param confirmationService the service sending the login links
+     * @param loginRateLimiter the rate limiter protecting the mail server
+     * @param translationProvider the translation provider for the page texts
+     * @param pageRenderer the renderer for the HTML page
+     */
+    public LoginController(final @NotNull ConfirmationService confirmationService,
+                           final @NotNull LoginRateLimiter loginRateLimiter,
+                           final @NotNull TranslationProvider translationProvider,
+                           final @NotNull HtmlPageRenderer pageRenderer) {
+        super();
+        this.confirmationService = confirmationService;
+        this.loginRateLimiter = loginRateLimiter;
+        this.translationProvider = translationProvider;
+        this.pageRenderer = pageRenderer;
+    }
+
+    /**
+     * <p>Shows the login form.</p>
+     *
+     * @param locale the locale of the client
+     * @return the login page
+     */
+    @GetMapping(SecurityConfig.LOGIN_URL)
+    public @NotNull ResponseEntity<String> showLoginForm(final @NotNull Locale locale) {
+        return page(HttpStatus.OK, locale, createLoginForm(locale, ""));
+    }
+
+    /**
+     * <p>Sends a login link to the email address entered in the login form.</p>
+     *
+     * <p>For privacy reasons, the response does not reveal whether an account with the email address exists.</p>
+     *
+     * @param loginRequest the posted login form
+     * @param bindingResult the validation result of the login form
+     * @param locale the locale of the client
+     * @param request the current request, used to rate limit per client address
+     * @return the page asking to check the mailbox, or the login form if the email address is invalid,
+     *         or a page asking to try again later if too many login links have been requested
+     */
+    @PostMapping(SecurityConfig.LOGIN_LINK_URL)
+    public @NotNull ResponseEntity<String> requestLoginLink(@Valid final @NotNull LoginRequest loginRequest,
+                                                            final @NotNull BindingResult bindingResult,
+                                                            final @NotNull Locale locale,
+                                                            final @NotNull HttpServletRequest request) {
+        final var email = loginRequest.email();
+        if (bindingResult.hasErrors()) {
+            final var error = translate(TranslationKey.WEB_CONTROLLER_LOGIN_CONTROLLER_LOGIN_EMAIL_VALIDATION_ERROR, locale);
+            return page(HttpStatus.BAD_REQUEST, locale,
+                    createLoginForm(locale, email) + "<p class=\"error\">" + HtmlUtils.htmlEscape(error) + "</p>");
+        }
+
+        if (!loginRateLimiter.tryAcquire(email, request.getRemoteAddr())) {
+            return page(HttpStatus.TOO_MANY_REQUESTS, locale,
+                    pageRenderer.message(translate(TranslationKey.WEB_CONTROLLER_LOGIN_CONTROLLER_THROTTLED_TITLE, locale),
+                            translate(TranslationKey.WEB_CONTROLLER_LOGIN_CONTROLLER_THROTTLED_DESCRIPTION, locale)));
+        }
+
+        final var timeout = confirmationService.getConfirmationTimeoutText(locale);
+        confirmationService.sendConfirmationMail(locale, email);
+
+        final var description = translationProvider.getTranslation(TranslationKey.WEB_CONTROLLER_LOGIN_CONTROLLER_CONFIRM_DESCRIPTION,
+                locale, HtmlPageRenderer.escapeMarkdown(email), timeout);
+        return page(HttpStatus.OK, locale,
+                pageRenderer.message(translate(TranslationKey.WEB_CONTROLLER_LOGIN_CONTROLLER_CONFIRM_TITLE, locale), description));
+    }
+
+    private @NotNull String createLoginForm(final @NotNull Locale locale, final @NotNull String email) {
+        final var placeholder = HtmlUtils.htmlEscape(translate(TranslationKey.WEB_CONTROLLER_LOGIN_CONTROLLER_LOGIN_EMAIL_PLACEHOLDER, locale));
+        return LOGIN_FORM.formatted(
+                HtmlUtils.htmlEscape(translate(TranslationKey.WEB_CONTROLLER_LOGIN_CONTROLLER_LOGIN_TITLE, locale)),
+                SecurityConfig.LOGIN_LINK_URL,
+                HtmlUtils.htmlEscape(email),
+                placeholder,
+                placeholder,
+                HtmlUtils.htmlEscape(translate(TranslationKey.WEB_CONTROLLER_LOGIN_CONTROLLER_LOGIN_BUTTON, locale)));
+    }
+
+    private @NotNull String translate(final @NotNull TranslationKey key, final @NotNull Locale locale) {
+        return translationProvider.getTranslation(key, locale);
+    }
+
+    private @NotNull ResponseEntity<String> page(final @NotNull HttpStatus status,
+                                                 final @NotNull Locale locale,
+                                                 final @NotNull String content) {
+        final var title = translate(TranslationKey.WEB_CONTROLLER_LOGIN_CONTROLLER_TITLE, locale);
+        return ResponseEntity.status(status)
+                .contentType(HtmlPageRenderer.TEXT_HTML_UTF8)
+                .body(pageRenderer.render(locale, "login-view", title, content));
+    }
+
+}
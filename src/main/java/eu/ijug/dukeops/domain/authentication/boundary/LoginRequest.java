@@ -0,0 +1,41 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.boundary;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <p>The login form posted to request a login link.</p>
+ *
+ * @param email the email address to send the login link to; surrounding whitespace is removed
+ */
+record LoginRequest(@NotBlank @Email @NotNull String email) {
+
+    /**
+     * <p>Creates the login form, treating a missing email address as empty.</p>
+     *
+     * @param email the email address as entered in the form; may be {@code null}
+     */
+    LoginRequest(final @Nullable String email) {
+        this.email = email == null ? "" : email.strip();
+    }
+
+}
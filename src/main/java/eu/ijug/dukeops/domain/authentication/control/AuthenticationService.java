@@ -17,14 +17,13 @@
  */
 package eu.ijug.dukeops.domain.authentication.control;
 
-import com.vaadin.flow.server.VaadinService;
-import com.vaadin.flow.server.VaadinServletRequest;
-import com.vaadin.flow.server.VaadinServletResponse;
-import eu.ijug.dukeops.domain.authentication.entity.AuthenticationSignal;
 import eu.ijug.dukeops.domain.authentication.entity.UserPrincipal;
 import eu.ijug.dukeops.domain.user.control.UserService;
 import eu.ijug.dukeops.domain.user.entity.UserDto;
 import eu.ijug.dukeops.domain.user.entity.UserRole;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -36,45 +35,62 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
 import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Optional;
 
 /**
- * <p>Spring-managed service responsible for authentication and session handling within the Vaadin application.</p>
+ * <p>Spring-managed service responsible for authentication and session handling within the application.</p>
  *
  * <p>The service performs passwordless login based on a user's email address, stores the resulting
- * {@link Authentication} in the Spring Security context, and persists it to the HTTP session when
- * running in a Vaadin servlet request/response context.</p>
+ * {@link Authentication} in the Spring Security context, and persists it to the HTTP session of the
+ * current servlet request. The session is created at this point, anonymous requests stay stateless.</p>
+ *
+ * <p>Login attempts are counted in the metric {@code dukeops.login}, tagged with the result {@code success}
+ * or {@code unknown-user}.</p>
  */
 @Service
 public class AuthenticationService {
 
     private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(AuthenticationService.class);
+    private static final @NotNull String LOGIN_METRIC = "dukeops.login";
 
     private final @NotNull UserService userService;
-    private final @NotNull AuthenticationSignal authenticationSignal;
+    private final @NotNull Counter successfulLogins;
+    private final @NotNull Counter unknownUserLogins;
 
     /**
      * <p>Creates a new authentication service using the required collaborators.</p>
      *
      * @param userService the user service used to resolve users by email address
-     * @param authenticationSignal the signal used to update the UI about authentication state changes
+     * @param meterRegistry the registry for the login metrics
      */
     public AuthenticationService(final @NotNull UserService userService,
-                                 final @NotNull AuthenticationSignal authenticationSignal) {
+                                 final @NotNull MeterRegistry meterRegistry) {
         super();
         this.userService = userService;
-        this.authenticationSignal = authenticationSignal;
+        this.successfulLogins = Counter.builder(LOGIN_METRIC)
+                .description("Number of login attempts")
+                .tag("result", "success")
+                .register(meterRegistry);
+        this.unknownUserLogins = Counter.builder(LOGIN_METRIC)
+                .description("Number of login attempts")
+                .tag("result", "unknown-user")
+                .register(meterRegistry);
     }
 
     /**
      * <p>Logs in the user identified by the given email address using a passwordless authentication token.</p>
      *
      * <p>If the user exists, a {@link UserPrincipal} is created with the user's authorities, the Spring Security
-     * context is populated, and the context is persisted to the HTTP session when a Vaadin servlet request and
-     * response are available.</p>
+     * context is populated, and the context is persisted to the HTTP session when a servlet request and
+     * response are available. An already existing session gets a new ID to prevent session fixation.</p>
+     *
+     * <p>The Vaadin UI picks up the new authentication state when it is initialized after the login. Later
+     * changes to the user are applied to the principal by the {@link UserPrincipalRefresher}.</p>
      *
      * @param email the email address of the user to authenticate
      * @return {@code true} if the user was found and logged in successfully, {@code false} otherwise
@@ -82,48 +98,66 @@ public class AuthenticationService {
     public boolean login(final @NotNull String email) {
         final var optUser = userService.getUserByEmail(email);
         if (optUser.isEmpty()) {
+            unknownUserLogins.increment();
             LOGGER.warn("User with email '{}' not found.", email);
             return false;
         }
 
-        final var user = optUser.orElseThrow();
-        final var roles = new ArrayList<GrantedAuthority>();
-        roles.add(new SimpleGrantedAuthority(UserRole.USER.getRole()));
-        if (user.role().equals(UserRole.ADMIN)) {
-            roles.add(new SimpleGrantedAuthority(UserRole.ADMIN.getRole()));
-        }
-
-        final var authorities = Collections.unmodifiableList(roles);
-        final var principal = new UserPrincipal(user, authorities);
-
-
-        // Authentication-Token without password (passwordless)
-        final var authentication = new PreAuthenticatedAuthenticationToken(principal, null, authorities);
-
         // create and set SecurityContext
         final var context = SecurityContextHolder.createEmptyContext();
-        context.setAuthentication(authentication);
+        context.setAuthentication(createAuthentication(optUser.orElseThrow()));
         SecurityContextHolder.setContext(context);
 
         // persist in HTTP session
-        final var request = VaadinService.getCurrentRequest();
-        final var response = VaadinService.getCurrentResponse();
-        if (request instanceof VaadinServletRequest vaadinServletRequest
-                && response instanceof VaadinServletResponse vaadinServletResponse) {
-            final var httpServletRequest = vaadinServletRequest.getHttpServletRequest();
-            final var httpServletResponse = vaadinServletResponse.getHttpServletResponse();
-            new HttpSessionSecurityContextRepository().saveContext(context, httpServletRequest, httpServletResponse);
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && attributes.getResponse() instanceof HttpServletResponse response) {
+            final var request = attributes.getRequest();
+            if (request.getSession(false) != null) {
+                request.changeSessionId();
+            }
+            new HttpSessionSecurityContextRepository().saveContext(context, request, response);
         } else {
-            // fallback: should never happen in Vaadin UI context
-            LOGGER.warn("No Vaadin servlet request/response available; SecurityContext not saved to session.");
+            // fallback: should never happen when called from a web request
+            LOGGER.warn("No servlet request/response available; SecurityContext not saved to session.");
         }
 
+        successfulLogins.increment();
         LOGGER.info("User with email '{}' successfully logged in.", email);
-        authenticationSignal.setAuthenticated(true, UserRole.ADMIN.equals(user.role()));
 
         return true;
     }
 
+    /**
+     * <p>Creates a passwordless authentication token for the given user.</p>
+     *
+     * <p>The token holds a {@link UserPrincipal} with a snapshot of the user data, see
+     * {@link #createPrincipal(UserDto)}.</p>
+     *
+     * @param user the user to authenticate
+     * @return the authentication token for the user
+     */
+    static @NotNull Authentication createAuthentication(final @NotNull UserDto user) {
+        final var principal = createPrincipal(user);
+
+        // Authentication-Token without password (passwordless)
+        return new PreAuthenticatedAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    /**
+     * <p>Creates a {@link UserPrincipal} for the given user with the authorities derived from the user's role.</p>
+     *
+     * @param user the user to create the principal for
+     * @return the principal holding a snapshot of the user data
+     */
+    static @NotNull UserPrincipal createPrincipal(final @NotNull UserDto user) {
+        final var roles = new ArrayList<GrantedAuthority>();
+        roles.add(new SimpleGrantedAuthority(UserRole.USER.getRole()));
+        if (user.role().equals(UserRole.ADMIN)) {
+            roles.add(new SimpleGrantedAuthority(UserRole.ADMIN.getRole()));
+        }
+        return new UserPrincipal(user, Collections.unmodifiableList(roles));
+    }
+
     /**
      * <p>Returns the current {@link Authentication} object if the user is authenticated.</p>
      *
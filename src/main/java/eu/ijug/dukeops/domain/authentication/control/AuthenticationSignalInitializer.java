@@ -0,0 +1,61 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.control;
+
+import com.vaadin.flow.component.UI;
+import eu.ijug.dukeops.domain.authentication.entity.AuthenticationSignal;
+import eu.ijug.dukeops.infra.ui.vaadin.init.UIInitializer;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>Restores the {@link AuthenticationSignal} from the Spring Security context when a Vaadin {@link UI} is created.</p>
+ *
+ * <p>The signal lives in the Vaadin session, the security context in the HTTP session. With a shared session
+ * store, a user can be authenticated while the Vaadin session is new, e.g. after a restart or when the request
+ * is served by another node. In this case the signal is set from the security context, so the UI reflects the
+ * existing login.</p>
+ */
+@Component
+public class AuthenticationSignalInitializer implements UIInitializer {
+
+    private final @NotNull AuthenticationSignal authenticationSignal;
+
+    /**
+     * <p>Creates a new initializer for the session scoped authentication signal.</p>
+     *
+     * @param authenticationSignal the signal to restore
+     */
+    public AuthenticationSignalInitializer(final @NotNull AuthenticationSignal authenticationSignal) {
+        super();
+        this.authenticationSignal = authenticationSignal;
+    }
+
+    /**
+     * <p>Marks the signal as authenticated if the security context contains a logged-in user.</p>
+     *
+     * @param ui the Vaadin UI instance being initialized
+     */
+    @Override
+    public void initialize(final @NotNull UI ui) {
+        if (!authenticationSignal.isAuthenticated() && SecurityUtil.getUserPrincipal().isPresent()) {
+            authenticationSignal.setAuthenticated(true, SecurityUtil.isAdmin());
+        }
+    }
+
+}
@@ -17,21 +17,28 @@
  */
 package eu.ijug.dukeops.domain.authentication.control;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.ijug.dukeops.SecurityConfig;
 import eu.ijug.dukeops.domain.user.control.UserService;
 import eu.ijug.dukeops.infra.communication.mail.MailService;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationKey;
 import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationProvider;
 import eu.ijug.dukeops.infra.ui.vaadin.control.LinkUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Clock;
 import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
@@ -41,18 +48,33 @@ import java.util.UUID;
  *
  * <p>The service generates time-limited confirmation links, sends localized confirmation emails,
  * and validates confirmation requests to authenticate users.</p>
+ *
+ * <p>The confirmation links contain a token signed with HMAC-SHA256, so pending confirmations do not use
+ * any memory and can be confirmed on every node sharing the same secret. A token can only be used once,
+ * this is enforced by recording its nonce in the shared database until the token expires.</p>
+ *
+ * <p>Confirmation attempts are counted in the metric {@code dukeops.login.confirmations}, tagged with the
+ * result {@code accepted}, {@code invalid}, {@code expired} or {@code used}.</p>
  */
 @Service
 public class ConfirmationService {
 
     private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(ConfirmationService.class);
     private static final @NotNull Duration CONFIRMATION_TIMEOUT = Duration.ofMinutes(5);
-    private static final @NotNull String CONFIRMATION_PATH = "/confirm";
+    private static final int GENERATED_SECRET_LENGTH = ConfirmationTokenCodec.MIN_SECRET_LENGTH;
+    private static final @NotNull String CONFIRMATIONS_METRIC = "dukeops.login.confirmations";
 
     private final @NotNull MailService mailService;
     private final @NotNull AuthenticationService authenticationService;
     private final @NotNull UserService userService;
     private final @NotNull TranslationProvider translationProvider;
+    private final @NotNull Clock clock;
+    private final @NotNull ConfirmationTokenCodec tokenCodec;
+    private final @NotNull UsedConfirmationTokenRepository usedTokenRepository;
+    private final @NotNull Counter acceptedConfirmations;
+    private final @NotNull Counter invalidConfirmations;
+    private final @NotNull Counter expiredConfirmations;
+    private final @NotNull Counter usedConfirmations;
 
     /**
      * <p>Creates a new confirmation service using the required collaborators.</p>
@@ -61,28 +83,52 @@ public class ConfirmationService {
      * @param authenticationService the authentication service used to log in users
      * @param userService the user service used to resolve users by email address
      * @param translationProvider the translation provider used to localize email content
+     * @param clock the clock used to calculate and check the expiry of confirmation links
+     * @param usedTokenRepository the repository recording the used confirmation tokens
+     * @param meterRegistry the registry for the confirmation metrics
+     * @param secret the secret used to sign confirmation links, at least 32 bytes in UTF-8; if blank, a random
+     *               secret is generated
+     * @throws IllegalArgumentException if the secret is not blank but too short
      */
     public ConfirmationService(final @NotNull MailService mailService,
                                final @NotNull AuthenticationService authenticationService,
                                final @NotNull UserService userService,
-                               final @NotNull TranslationProvider translationProvider) {
+                               final @NotNull TranslationProvider translationProvider,
+                               final @NotNull Clock clock,
+                               final @NotNull UsedConfirmationTokenRepository usedTokenRepository,
+                               final @NotNull MeterRegistry meterRegistry,
+                               @Value("${dukeops.confirm.secret:}") final @NotNull String secret) {
         super();
         this.mailService = mailService;
         this.authenticationService = authenticationService;
         this.userService = userService;
         this.translationProvider = translationProvider;
+        this.clock = clock;
+        this.usedTokenRepository = usedTokenRepository;
+        this.tokenCodec = new ConfirmationTokenCodec(createSecretKey(secret));
+        this.acceptedConfirmations = createConfirmationsCounter(meterRegistry, "accepted");
+        this.invalidConfirmations = createConfirmationsCounter(meterRegistry, "invalid");
+        this.expiredConfirmations = createConfirmationsCounter(meterRegistry, "expired");
+        this.usedConfirmations = createConfirmationsCounter(meterRegistry, "used");
     }
 
-    /**
-     * <p>In-memory cache storing confirmation data for pending login confirmations.</p>
-     *
-     * <p>Entries expire automatically after a fixed timeout to limit the validity of confirmation
-     * links and to protect against abuse.</p>
-     */
-    private final @NotNull Cache<@NotNull String, @NotNull ConfirmationData> confirmationCache = Caffeine.newBuilder()
-            .expireAfterWrite(CONFIRMATION_TIMEOUT)
-            .maximumSize(1_000) // prevent memory overflow (DDOS attack)
-            .build();
+    private static @NotNull Counter createConfirmationsCounter(final @NotNull MeterRegistry meterRegistry,
+                                                               final @NotNull String result) {
+        return Counter.builder(CONFIRMATIONS_METRIC)
+                .description("Number of login confirmation attempts")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static byte @NotNull [] createSecretKey(final @NotNull String secret) {
+        if (!secret.isBlank()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        LOGGER.warn("No confirmation secret configured, confirmation links are only valid on this node until it is restarted.");
+        final var key = new byte[GENERATED_SECRET_LENGTH];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
 
     /**
      * <p>Sends a login confirmation email to the specified user.</p>
@@ -100,30 +146,27 @@ public class ConfirmationService {
             return;
         }
 
-        final var confirmationId = UUID.randomUUID().toString();
-        final var confirmationData = new ConfirmationData(confirmationId, email);
-        confirmationCache.put(confirmationId, confirmationData);
-
-        final var confirmationLink = generateConfirmationLink(confirmationData);
+        final var token = new ConfirmationToken(email, clock.instant().plus(CONFIRMATION_TIMEOUT), UUID.randomUUID());
+        final var confirmationLink = generateConfirmationLink(tokenCodec.encode(token));
         final var confirmationTimeout = getConfirmationTimeoutText(locale);
 
-        final var subject = translationProvider.getTranslation("service.ConfirmationService.email.subject", locale);
-        final var message = translationProvider.getTranslation("service.ConfirmationService.email.message", locale,
+        final var subject = translationProvider.getTranslation(TranslationKey.SERVICE_CONFIRMATION_SERVICE_EMAIL_SUBJECT, locale);
+        final var message = translationProvider.getTranslation(TranslationKey.SERVICE_CONFIRMATION_SERVICE_EMAIL_MESSAGE, locale,
                 confirmationLink, confirmationTimeout);
 
         mailService.sendMail(email, subject, message);
     }
 
     /**
-     * <p>Generates an absolute confirmation link for the given confirmation data.</p>
+     * <p>Generates an absolute confirmation link for the given signed token.</p>
      *
-     * @param confirmationData the confirmation data containing the identifier
+     * @param confirmationId the signed confirmation token
      * @return a URL pointing to the confirmation endpoint
      */
-    private @NotNull String generateConfirmationLink(final @NotNull ConfirmationData confirmationData) {
+    private @NotNull String generateConfirmationLink(final @NotNull String confirmationId) {
         return UriComponentsBuilder.fromUriString(LinkUtil.getBaseUrl())
-                .path(CONFIRMATION_PATH)
-                .queryParam("id", confirmationData.id())
+                .path(SecurityConfig.CONFIRM_URL)
+                .queryParam("id", confirmationId)
                 .encode(StandardCharsets.UTF_8)
                 .build()
                 .toUriString();
@@ -140,35 +183,46 @@ public class ConfirmationService {
     public @NotNull String getConfirmationTimeoutText(final @Nullable Locale locale) {
         final var params = Map.of("timeout", CONFIRMATION_TIMEOUT.toMinutes());
         return translationProvider.getTranslation(
-                "service.ConfirmationService.timeout", locale, params);
+                TranslationKey.SERVICE_CONFIRMATION_SERVICE_TIMEOUT, locale, params);
     }
 
     /**
      * <p>Validates the given confirmation identifier and logs in the associated user.</p>
      *
-     * <p>If the confirmation identifier is valid and the login succeeds, the confirmation entry
-     * is removed from the cache to prevent reuse.</p>
+     * <p>The confirmation identifier is a signed token. It is only accepted if the signature is valid,
+     * it has not expired and it has not been used before. The token is used up by the first attempt,
+     * even if the login fails.</p>
      *
      * @param confirmationId the confirmation identifier received from the confirmation link
      * @return {@code true} if the confirmation was valid and the user was logged in successfully,
      *         {@code false} otherwise
      */
     public boolean confirmAndLogin(final @NotNull String confirmationId) {
-        final var confirmationData = confirmationCache.getIfPresent(confirmationId);
-        if (confirmationData != null) {
-            final var email = confirmationData.email();
-            if (authenticationService.login(email)) {
-                confirmationCache.invalidate(confirmationId);
-                return true;
-            }
+        final var token = tokenCodec.decode(confirmationId);
+        if (token == null) {
+            invalidConfirmations.increment();
+            return false;
+        }
+        if (!clock.instant().isBefore(token.expiry())) {
+            expiredConfirmations.increment();
+            return false;
         }
-        return false;
+        if (!usedTokenRepository.markUsed(token.nonce(), LocalDateTime.ofInstant(token.expiry(), clock.getZone()))) {
+            usedConfirmations.increment();
+            LOGGER.warn("Confirmation link for '{}' has already been used.", token.email());
+            return false;
+        }
+        acceptedConfirmations.increment();
+        return authenticationService.login(token.email());
     }
 
     /**
-     * <p>Internal data structure holding confirmation identifiers and associated email addresses.</p>
+     * <p>Deletes the records of used confirmation tokens which have expired.</p>
      */
-    private record ConfirmationData(
-            @NotNull String id,
-            @NotNull String email) { }
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT1H")
+    public void deleteExpiredTokens() {
+        final var count = usedTokenRepository.deleteExpired(LocalDateTime.now(clock));
+        LOGGER.debug("Deleted {} expired confirmation tokens.", count);
+    }
+
 }
@@ -0,0 +1,144 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.control;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * <p>Encodes confirmation tokens into URL safe strings authenticated with HMAC-SHA256, and decodes them again.</p>
+ *
+ * <p>An encoded token has the form {@code <payload>.<signature>}, both parts Base64URL encoded without
+ * padding. The payload contains the expiry in epoch seconds, the nonce and the UTF-8 encoded email
+ * address. Every node configured with the same secret can verify a token without any server state.</p>
+ *
+ * <p>The secret must be at least as long as the 32 byte output of SHA-256, a shorter secret would weaken
+ * the signature. A short secret is rejected when the codec is created, so a misconfigured node fails on
+ * startup instead of issuing weakly signed links.</p>
+ */
+final class ConfirmationTokenCodec {
+
+    private static final @NotNull String ALGORITHM = "HmacSHA256";
+    private static final int HEADER_LENGTH = 3 * Long.BYTES;
+
+    /**
+     * <p>The minimum length of the secret in bytes.</p>
+     */
+    static final int MIN_SECRET_LENGTH = 32;
+
+    private final @NotNull SecretKeySpec key;
+
+    /**
+     * <p>Creates a codec signing the tokens with the given secret.</p>
+     *
+     * @param secret the secret key; must be at least {@value #MIN_SECRET_LENGTH} bytes long
+     * @throws IllegalArgumentException if the secret is too short
+     */
+    ConfirmationTokenCodec(final byte @NotNull [] secret) {
+        if (secret.length < MIN_SECRET_LENGTH) {
+            throw new IllegalArgumentException("The confirmation secret must be at least %d bytes long, but has %d bytes"
+                    .formatted(MIN_SECRET_LENGTH, secret.length));
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+    }
+
+    /**
+     * <p>Encodes and signs the token.</p>
+     *
+     * @param token the token to encode
+     * @return the signed token; never {@code null}
+     */
+    @NotNull String encode(final @NotNull ConfirmationToken token) {
+        final var email = token.email().getBytes(StandardCharsets.UTF_8);
+        final var payload = ByteBuffer.allocate(HEADER_LENGTH + email.length)
+                .putLong(token.expiry().getEpochSecond())
+                .putLong(token.nonce().getMostSignificantBits())
+                .putLong(token.nonce().getLeastSignificantBits())
+                .put(email)
+                .array();
+        return sign(payload);
+    }
+
+    /**
+     * <p>Signs the raw payload.</p>
+     *
+     * @param payload the payload to sign
+     * @return the payload and its signature; never {@code null}
+     */
+    @NotNull String sign(final byte @NotNull [] payload) {
+        final var encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + '.' + encoder.encodeToString(mac(payload));
+    }
+
+    /**
+     * <p>Verifies the signature and decodes the token.</p>
+     *
+     * <p>The expiry is not checked, this is up to the caller.</p>
+     *
+     * @param value the signed token
+     * @return the decoded token, or {@code null} if the value is malformed or the signature is invalid
+     */
+    @Nullable ConfirmationToken decode(final @NotNull String value) {
+        final var separator = value.indexOf('.');
+        if (separator < 0) {
+            return null;
+        }
+
+        final byte[] payload;
+        final byte[] signature;
+        try {
+            final var decoder = Base64.getUrlDecoder();
+            payload = decoder.decode(value.substring(0, separator));
+            signature = decoder.decode(value.substring(separator + 1));
+        } catch (final IllegalArgumentException _) {
+            return null;
+        }
+
+        if (!MessageDigest.isEqual(mac(payload), signature) || payload.length < HEADER_LENGTH) {
+            return null;
+        }
+
+        final var buffer = ByteBuffer.wrap(payload);
+        final var expiry = Instant.ofEpochSecond(buffer.getLong());
+        final var nonce = new UUID(buffer.getLong(), buffer.getLong());
+        final var email = new String(payload, HEADER_LENGTH, payload.length - HEADER_LENGTH, StandardCharsets.UTF_8);
+        return new ConfirmationToken(email, expiry, nonce);
+    }
+
+    private byte @NotNull [] mac(final byte @NotNull [] payload) {
+        try {
+            final var mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (final NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HmacSHA256 algorithm is not available.", e);
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.control;
+
+import eu.ijug.dukeops.domain.authentication.entity.RememberMeTokenDto;
+import eu.ijug.dukeops.infra.persistence.jooq.generated.tables.records.RememberMeTokenRecord;
+import org.jetbrains.annotations.NotNull;
+import org.jooq.DSLContext;
+import org.springframework.stereotype.Repository;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.REMEMBER_ME_TOKEN;
+
+/**
+ * <p>jOOQ-based {@link RememberMeTokenRepository} implementation for persisting {@link RememberMeTokenDto} entities.</p>
+ *
+ * <p>The repository manages the {@code created} and {@code updated} timestamps using an injected {@link Clock}.</p>
+ */
+@Repository
+public class JooqRememberMeTokenRepository implements RememberMeTokenRepository {
+
+    private final @NotNull DSLContext dsl;
+    private final @NotNull Clock clock;
+
+    /**
+     * <p>Creates a new repository using the provided jOOQ DSL context and clock.</p>
+     *
+     * @param dsl the jOOQ DSL context used to execute database operations
+     * @param clock the clock used to determine creation and update timestamps
+     */
+    public JooqRememberMeTokenRepository(final @NotNull DSLContext dsl,
+                                         final @NotNull Clock clock) {
+        super();
+        this.dsl = dsl;
+        this.clock = clock;
+    }
+
+    /**
+     * <p>Retrieves a token by the given ID.</p>
+     *
+     * @param id the ID of the token
+     * @return an optional containing the token if found, or empty otherwise
+     */
+    @Override
+    public @NotNull Optional<RememberMeTokenDto> findById(final @NotNull UUID id) {
+        return dsl.fetchOptional(REMEMBER_ME_TOKEN, REMEMBER_ME_TOKEN.ID.eq(id))
+                .map(JooqRememberMeTokenRepository::toDto);
+    }
+
+    /**
+     * <p>Creates or updates a token based on its ID.</p>
+     *
+     * <p>If no existing record is found, a new record is created and both {@code created} and
+     * {@code updated} timestamps are set. If a record already exists, only the {@code updated}
+     * timestamp is modified.</p>
+     *
+     * @param token the token to persist
+     */
+    @Override
+    public void upsert(final @NotNull RememberMeTokenDto token) {
+        final var tokenRecord = dsl.fetchOptional(REMEMBER_ME_TOKEN, REMEMBER_ME_TOKEN.ID.eq(token.id()))
+                .orElseGet(() -> dsl.newRecord(REMEMBER_ME_TOKEN));
+
+        final var now = LocalDateTime.now(clock);
+        if (tokenRecord.getCreated() == null) {
+            tokenRecord.setId(token.id());
+            tokenRecord.setCreated(now);
+        }
+        tokenRecord.setUpdated(now);
+        tokenRecord.setUserId(token.userId());
+        tokenRecord.setTokenHash(token.tokenHash());
+        tokenRecord.setExpires(token.expires());
+        tokenRecord.setPreviousTokenHash(token.previousTokenHash());
+        tokenRecord.setRotated(token.rotated());
+        tokenRecord.store();
+    }
+
+    /**
+     * <p>Replaces the value of a token, but only if the stored token hash is still the expected one.</p>
+     *
+     * <p>The check and the update are a single statement, so of several parallel rotations of the same
+     * token value only one succeeds.</p>
+     *
+     * @param token the rotated token
+     * @param expectedTokenHash the token hash which has been read before the rotation
+     * @return {@code true} if the token was rotated, {@code false} if the token has been rotated or deleted
+     *         in the meantime
+     */
+    @Override
+    public boolean rotate(final @NotNull RememberMeTokenDto token,
+                          final @NotNull String expectedTokenHash) {
+        return dsl.update(REMEMBER_ME_TOKEN)
+                .set(REMEMBER_ME_TOKEN.TOKEN_HASH, token.tokenHash())
+                .set(REMEMBER_ME_TOKEN.PREVIOUS_TOKEN_HASH, token.previousTokenHash())
+                .set(REMEMBER_ME_TOKEN.EXPIRES, token.expires())
+                .set(REMEMBER_ME_TOKEN.ROTATED, token.rotated())
+                .set(REMEMBER_ME_TOKEN.UPDATED, LocalDateTime.now(clock))
+                .where(REMEMBER_ME_TOKEN.ID.eq(token.id()))
+                .and(REMEMBER_ME_TOKEN.TOKEN_HASH.eq(expectedTokenHash))
+                .execute() > 0;
+    }
+
+    /**
+     * <p>Deletes the token with the given ID.</p>
+     *
+     * @param id the ID of the token
+     * @return {@code true} if a token was deleted, {@code false} otherwise
+     */
+    @Override
+    public boolean deleteById(final @NotNull UUID id) {
+        return dsl.deleteFrom(REMEMBER_ME_TOKEN)
+                .where(REMEMBER_ME_TOKEN.ID.eq(id))
+                .execute() > 0;
+    }
+
+    /**
+     * <p>Deletes all tokens of the given user.</p>
+     *
+     * @param userId the ID of the user
+     * @return the number of deleted tokens
+     */
+    @Override
+    public int deleteByUserId(final @NotNull UUID userId) {
+        return dsl.deleteFrom(REMEMBER_ME_TOKEN)
+                .where(REMEMBER_ME_TOKEN.USER_ID.eq(userId))
+                .execute();
+    }
+
+    /**
+     * <p>Deletes all tokens which expired before the given time.</p>
+     *
+     * @param now the current time
+     * @return the number of deleted tokens
+     */
+    @Override
+    public int deleteExpired(final @NotNull LocalDateTime now) {
+        return dsl.deleteFrom(REMEMBER_ME_TOKEN)
+                .where(REMEMBER_ME_TOKEN.EXPIRES.lt(now))
+                .execute();
+    }
+
+    private static @NotNull RememberMeTokenDto toDto(final @NotNull RememberMeTokenRecord tokenRecord) {
+        return new RememberMeTokenDto(tokenRecord.getId(), tokenRecord.getUserId(),
+                tokenRecord.getTokenHash(), tokenRecord.getExpires(),
+                tokenRecord.getPreviousTokenHash(), tokenRecord.getRotated());
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.control;
+
+import org.jetbrains.annotations.NotNull;
+import org.jooq.DSLContext;
+import org.springframework.stereotype.Repository;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.USED_CONFIRMATION_TOKEN;
+
+/**
+ * <p>jOOQ-based {@link UsedConfirmationTokenRepository} implementation which records the nonces of used
+ * confirmation tokens.</p>
+ *
+ * <p>The nonce is the primary key, so the database decides atomically which request uses a token first,
+ * even if the same link is opened on several nodes at the same time.</p>
+ */
+@Repository
+public class JooqUsedConfirmationTokenRepository implements UsedConfirmationTokenRepository {
+
+    private final @NotNull DSLContext dsl;
+    private final @NotNull Clock clock;
+
+    /**
+     * <p>Creates a new repository using the provided jOOQ DSL context and clock.</p>
+     *
+     * @param dsl the jOOQ DSL context used to execute database operations
+     * @param clock the clock used to determine the creation timestamps
+     */
+    public JooqUsedConfirmationTokenRepository(final @NotNull DSLContext dsl,
+                                               final @NotNull Clock clock) {
+        super();
+        this.dsl = dsl;
+        this.clock = clock;
+    }
+
+    /**
+     * <p>Records the nonce of a confirmation token as used.</p>
+     *
+     * @param nonce the nonce of the token
+     * @param expires the expiry of the token, after which the record can be deleted
+     * @return {@code true} if the token was not used before, {@code false} if it has already been used
+     */
+    @Override
+    public boolean markUsed(final @NotNull UUID nonce,
+                            final @NotNull LocalDateTime expires) {
+        return dsl.insertInto(USED_CONFIRMATION_TOKEN)
+                .set(USED_CONFIRMATION_TOKEN.ID, nonce)
+                .set(USED_CONFIRMATION_TOKEN.CREATED, LocalDateTime.now(clock))
+                .set(USED_CONFIRMATION_TOKEN.EXPIRES, expires)
+                .onDuplicateKeyIgnore()
+                .execute() > 0;
+    }
+
+    /**
+     * <p>Deletes the records of all tokens which expired before the given time.</p>
+     *
+     * <p>An expired token is rejected anyway, so its record is no longer needed.</p>
+     *
+     * @param now the current time
+     * @return the number of deleted records
+     */
+    @Override
+    public int deleteExpired(final @NotNull LocalDateTime now) {
+        return dsl.deleteFrom(USED_CONFIRMATION_TOKEN)
+                .where(USED_CONFIRMATION_TOKEN.EXPIRES.lt(now))
+                .execute();
+    }
+
+}
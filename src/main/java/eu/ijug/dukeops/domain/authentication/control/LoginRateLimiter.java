@@ -0,0 +1,103 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.control;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * <p>Limits the number of login links which can be requested per email address and per client address.</p>
+ *
+ * <p>Every request takes a token from the bucket of the client address and from the bucket of the email
+ * address. The check is done in memory before any database lookup or mail delivery, so rejected requests
+ * are cheap. Throttled requests are counted in the metric {@code dukeops.login.throttled}, tagged with the
+ * limit which was exceeded.</p>
+ */
+@Service
+public class LoginRateLimiter {
+
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(LoginRateLimiter.class);
+    private static final @NotNull String THROTTLED_METRIC = "dukeops.login.throttled";
+
+    private final @NotNull TokenBuckets emailBuckets;
+    private final @NotNull TokenBuckets addressBuckets;
+    private final @NotNull Counter throttledByEmail;
+    private final @NotNull Counter throttledByAddress;
+
+    /**
+     * <p>Creates a rate limiter with the configured limits.</p>
+     *
+     * @param meterRegistry the registry for the throttling metrics
+     * @param clock the clock used to refill the token buckets
+     * @param emailCapacity the number of login links which can be requested for one email address at once
+     * @param emailPeriod the time until an email address can request the full number of login links again
+     * @param addressCapacity the number of login links which can be requested from one client address at once
+     * @param addressPeriod the time until a client address can request the full number of login links again
+     */
+    public LoginRateLimiter(final @NotNull MeterRegistry meterRegistry,
+                            final @NotNull Clock clock,
+                            @Value("${dukeops.login.rate-limit.email.capacity:5}") final int emailCapacity,
+                            @Value("${dukeops.login.rate-limit.email.period:PT15M}") final @NotNull Duration emailPeriod,
+                            @Value("${dukeops.login.rate-limit.address.capacity:20}") final int addressCapacity,
+                            @Value("${dukeops.login.rate-limit.address.period:PT15M}") final @NotNull Duration addressPeriod) {
+        super();
+        this.emailBuckets = new TokenBuckets(emailCapacity, emailPeriod, clock);
+        this.addressBuckets = new TokenBuckets(addressCapacity, addressPeriod, clock);
+        this.throttledByEmail = Counter.builder(THROTTLED_METRIC)
+                .description("Number of login link requests rejected by the rate limiter")
+                .tag("limit", "email")
+                .register(meterRegistry);
+        this.throttledByAddress = Counter.builder(THROTTLED_METRIC)
+                .description("Number of login link requests rejected by the rate limiter")
+                .tag("limit", "address")
+                .register(meterRegistry);
+    }
+
+    /**
+     * <p>Checks whether another login link may be requested.</p>
+     *
+     * @param email the email address the login link is requested for
+     * @param clientAddress the address of the requesting client, or {@code null} if unknown
+     * @return {@code true} if the request is allowed, {@code false} if it exceeds a limit
+     */
+    public boolean tryAcquire(final @NotNull String email,
+                              final @Nullable String clientAddress) {
+        if (clientAddress != null && !addressBuckets.tryAcquire(clientAddress)) {
+            throttledByAddress.increment();
+            LOGGER.debug("Login link request from '{}' throttled.", clientAddress);
+            return false;
+        }
+        if (!emailBuckets.tryAcquire(email.trim().toLowerCase(Locale.ROOT))) {
+            throttledByEmail.increment();
+            LOGGER.debug("Login link request for '{}' throttled.", email);
+            return false;
+        }
+        return true;
+    }
+
+}
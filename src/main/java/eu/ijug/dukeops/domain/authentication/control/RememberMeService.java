@@ -0,0 +1,322 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.control;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.ijug.dukeops.domain.authentication.entity.RememberMeTokenDto;
+import eu.ijug.dukeops.domain.authentication.entity.UserPrincipal;
+import eu.ijug.dukeops.domain.user.control.UserService;
+import eu.ijug.dukeops.infra.cache.control.CacheInvalidationBus;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.authentication.rememberme.AbstractRememberMeServices;
+import org.springframework.security.web.authentication.rememberme.InvalidCookieException;
+import org.springframework.security.web.authentication.rememberme.RememberMeAuthenticationException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * <p>Logs returning members in on a remembered device, without sending a new login link.</p>
+ *
+ * <p>When a member confirms a login with "remember this device", a random token is stored in a cookie
+ * together with the ID of the token. The database only keeps the SHA-256 hash of the token value, so a
+ * leaked table can not be used to log in. A request without a session but with the cookie logs the member
+ * in and replaces the token value, the ID stays the same. If a token value is presented which does not match
+ * the stored one, the cookie has probably been stolen and used before: all tokens of the member are
+ * deleted, so the member has to log in with a login link again.</p>
+ *
+ * <p>A browser sends parallel requests with the same cookie, for example when several tabs are restored. The
+ * first request rotates the token, the others still present the previous value. The previous value is
+ * therefore accepted for a short grace period after the rotation. Such a request logs the member in
+ * without rotating the token again, the browser keeps the cookie set by the first request. The rotation
+ * only replaces the token value if it has not been replaced since it was read, so of several requests
+ * racing with the same value exactly one rotates the token, even on different nodes. The requests losing
+ * the race are treated like requests presenting the previous value.</p>
+ *
+ * <p>The tokens are looked up through a cache, which is updated on every rotation. Rotated and deleted tokens
+ * are evicted from the caches of the other nodes using the {@link CacheInvalidationBus}, so an outdated token
+ * is not accepted there. A token rotated by another node which has not been evicted yet is read from the
+ * database again before a mismatch is treated as theft.</p>
+ */
+@Service
+public class RememberMeService extends AbstractRememberMeServices {
+
+    /**
+     * <p>The name of the remember-me cookie.</p>
+     */
+    public static final @NotNull String COOKIE_NAME = "dukeops-remember-me";
+
+    /**
+     * <p>The name of the request parameter to request a remember-me token on login.</p>
+     */
+    public static final @NotNull String PARAMETER_NAME = DEFAULT_PARAMETER;
+
+    /**
+     * <p>The name of the cache for remember-me tokens, keyed by token ID.</p>
+     */
+    public static final @NotNull String CACHE_NAME = "remember-me-token";
+
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(RememberMeService.class);
+
+    private static final int TOKEN_LENGTH = 32;
+    private static final int CACHE_SIZE = 10_000;
+    private static final @NotNull Duration CACHE_DURATION = Duration.ofHours(1);
+    private static final @NotNull Duration ROTATION_GRACE_PERIOD = Duration.ofSeconds(30);
+
+    private final @NotNull RememberMeTokenRepository repository;
+    private final @NotNull Clock clock;
+    private final @NotNull Duration validity;
+    private final @NotNull CacheInvalidationBus cacheInvalidationBus;
+    private final @NotNull SecureRandom random = new SecureRandom();
+    private final @NotNull Cache<UUID, RememberMeTokenDto> tokens = Caffeine.newBuilder()
+            .maximumSize(CACHE_SIZE)
+            .expireAfterWrite(CACHE_DURATION)
+            .build();
+
+    /**
+     * <p>Creates the remember-me service.</p>
+     *
+     * @param userService the user service used to load the remembered users
+     * @param repository the repository of the remember-me tokens
+     * @param clock the clock used to determine the expiry of the tokens
+     * @param validity the time a remembered device stays logged in without being used
+     * @param cacheInvalidationBus the bus used to evict rotated and deleted tokens on all nodes
+     */
+    public RememberMeService(final @NotNull UserService userService,
+                             final @NotNull RememberMeTokenRepository repository,
+                             final @NotNull Clock clock,
+                             @Value("${dukeops.remember-me.validity:P30D}") final @NotNull Duration validity,
+                             final @NotNull CacheInvalidationBus cacheInvalidationBus) {
+        // the key only protects the authentication token within this node, a random key is sufficient
+        super(UUID.randomUUID().toString(), userId -> userService.getUserById(UUID.fromString(userId))
+                .map(AuthenticationService::createPrincipal)
+                .orElseThrow(() -> new UsernameNotFoundException("User with ID '%s' not found.".formatted(userId))));
+
+        if (validity.isNegative() || validity.isZero() || validity.toSeconds() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("'dukeops.remember-me.validity' must be positive");
+        }
+
+        this.repository = repository;
+        this.clock = clock;
+        this.validity = validity;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        cacheInvalidationBus.register(CACHE_NAME, tokens, UUID::fromString);
+        setCookieName(COOKIE_NAME);
+        setTokenValiditySeconds((int) validity.toSeconds());
+    }
+
+    /**
+     * <p>Creates a remember-me token for the currently logged-in user, if it was requested with the
+     * {@value #PARAMETER_NAME} parameter.</p>
+     *
+     * @param request the request of the login
+     * @param response the response to add the cookie to
+     */
+    public void rememberLogin(final @NotNull HttpServletRequest request,
+                              final @NotNull HttpServletResponse response) {
+        final var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null) {
+            loginSuccess(request, response, authentication);
+        }
+    }
+
+    @Override
+    protected void onLoginSuccess(final @NotNull HttpServletRequest request,
+                                  final @NotNull HttpServletResponse response,
+                                  final @NotNull Authentication successfulAuthentication) {
+        if (!(successfulAuthentication.getPrincipal() instanceof UserPrincipal principal)
+                || principal.getUser().id() == null) {
+            LOGGER.debug("No remember-me token created for principal '{}'.", successfulAuthentication.getName());
+            return;
+        }
+
+        final var tokenValue = generateTokenValue();
+        final var token = new RememberMeTokenDto(UUID.randomUUID(), principal.getUser().id(),
+                hash(tokenValue), LocalDateTime.now(clock).plus(validity), null, null);
+        repository.upsert(token);
+        tokens.put(token.id(), token);
+        setCookie(new String[] { token.id().toString(), tokenValue }, getTokenValiditySeconds(), request, response);
+        LOGGER.info("Remember-me token created for user with ID '{}'.", token.userId());
+    }
+
+    @Override
+    protected @NotNull UserDetails processAutoLoginCookie(final @NotNull String @NotNull [] cookieTokens,
+                                                          final @NotNull HttpServletRequest request,
+                                                          final @NotNull HttpServletResponse response) {
+        if (cookieTokens.length != 2) {
+            throw new InvalidCookieException("Cookie token did not contain 2 tokens");
+        }
+        final var id = parseId(cookieTokens[0]);
+        final var tokenHash = hash(cookieTokens[1]);
+        final var now = LocalDateTime.now(clock);
+
+        var token = tokens.get(id, key -> repository.findById(key).orElse(null));
+        var previous = false;
+        if (token != null && !matches(token.tokenHash(), tokenHash)) {
+            // the token may have been rotated by another node
+            tokens.invalidate(id);
+            token = tokens.get(id, key -> repository.findById(key).orElse(null));
+            if (token != null && !matches(token.tokenHash(), tokenHash)) {
+                previous = matchesPrevious(token, tokenHash, now);
+                if (!previous) {
+                    invalidateAll(token.userId());
+                    LOGGER.warn("Invalid remember-me token presented for user with ID '{}', all tokens deleted.", token.userId());
+                    throw new RememberMeAuthenticationException("Invalid remember-me token, the cookie may have been stolen");
+                }
+            }
+        }
+        if (token == null) {
+            throw new RememberMeAuthenticationException("No remember-me token found for ID '%s'".formatted(id));
+        }
+
+        if (token.expires().isBefore(now)) {
+            repository.deleteById(id);
+            cacheInvalidationBus.evict(CACHE_NAME, id);
+            throw new RememberMeAuthenticationException("Remember-me token has expired");
+        }
+
+        if (previous) {
+            // a parallel request has just rotated the token, its response sets the new cookie
+            LOGGER.debug("Previous remember-me token accepted for user with ID '{}'.", token.userId());
+            return getUserDetailsService().loadUserByUsername(token.userId().toString());
+        }
+
+        final var tokenValue = generateTokenValue();
+        final var rotatedToken = new RememberMeTokenDto(id, token.userId(), hash(tokenValue), now.plus(validity),
+                token.tokenHash(), now);
+        if (!repository.rotate(rotatedToken, token.tokenHash())) {
+            return loadUserOfConcurrentRotation(id, tokenHash, now);
+        }
+        cacheInvalidationBus.evict(CACHE_NAME, id);
+        tokens.put(id, rotatedToken);
+        setCookie(new String[] { id.toString(), tokenValue }, getTokenValiditySeconds(), request, response);
+
+        return getUserDetailsService().loadUserByUsername(token.userId().toString());
+    }
+
+    private @NotNull UserDetails loadUserOfConcurrentRotation(final @NotNull UUID id,
+                                                              final @NotNull String tokenHash,
+                                                              final @NotNull LocalDateTime now) {
+        tokens.invalidate(id);
+        final var token = tokens.get(id, key -> repository.findById(key).orElse(null));
+        if (token == null || !matchesPrevious(token, tokenHash, now)) {
+            throw new RememberMeAuthenticationException("Remember-me token has been changed by a parallel request");
+        }
+        // a parallel request has won the race to rotate the token, its response sets the new cookie
+        LOGGER.debug("Remember-me token rotated by a parallel request for user with ID '{}'.", token.userId());
+        return getUserDetailsService().loadUserByUsername(token.userId().toString());
+    }
+
+    /**
+     * <p>Deletes the remember-me token of the device and cancels the cookie.</p>
+     *
+     * @param request the logout request
+     * @param response the logout response
+     * @param authentication the authentication of the user, if any
+     */
+    @Override
+    public void logout(final @NotNull HttpServletRequest request,
+                       final @NotNull HttpServletResponse response,
+                       final @Nullable Authentication authentication) {
+        final var cookieValue = extractRememberMeCookie(request);
+        if (cookieValue != null) {
+            try {
+                final var id = parseId(decodeCookie(cookieValue)[0]);
+                repository.deleteById(id);
+                cacheInvalidationBus.evict(CACHE_NAME, id);
+            } catch (final InvalidCookieException e) {
+                LOGGER.debug("Invalid remember-me cookie on logout: {}", e.getMessage());
+            }
+        }
+        super.logout(request, response, authentication);
+    }
+
+    /**
+     * <p>Deletes all remember-me tokens which have expired.</p>
+     */
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT1H")
+    public void deleteExpiredTokens() {
+        final var count = repository.deleteExpired(LocalDateTime.now(clock));
+        LOGGER.debug("Deleted {} expired remember-me tokens.", count);
+    }
+
+    private void invalidateAll(final @NotNull UUID userId) {
+        repository.deleteByUserId(userId);
+        // the other nodes don't know which of their cached tokens belong to the user
+        cacheInvalidationBus.evictAll(CACHE_NAME);
+    }
+
+    private static boolean matches(final @NotNull String expectedHash,
+                                   final @NotNull String tokenHash) {
+        return MessageDigest.isEqual(expectedHash.getBytes(StandardCharsets.US_ASCII),
+                tokenHash.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static boolean matchesPrevious(final @NotNull RememberMeTokenDto token,
+                                           final @NotNull String tokenHash,
+                                           final @NotNull LocalDateTime now) {
+        return token.previousTokenHash() != null && token.rotated() != null
+                && now.isBefore(token.rotated().plus(ROTATION_GRACE_PERIOD))
+                && matches(token.previousTokenHash(), tokenHash);
+    }
+
+    private static @NotNull UUID parseId(final @NotNull String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (final IllegalArgumentException _) {
+            throw new InvalidCookieException("Invalid remember-me token ID '%s'".formatted(id));
+        }
+    }
+
+    private @NotNull String generateTokenValue() {
+        final var bytes = new byte[TOKEN_LENGTH];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    static @NotNull String hash(final @NotNull String tokenValue) {
+        try {
+            final var digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(tokenValue.getBytes(StandardCharsets.UTF_8)));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm is not available.", e);
+        }
+    }
+
+}
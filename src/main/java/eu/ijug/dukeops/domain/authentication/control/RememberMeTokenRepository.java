@@ -0,0 +1,41 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.control;
+
+import eu.ijug.dukeops.domain.authentication.entity.RememberMeTokenDto;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RememberMeTokenRepository {
+
+    @NotNull Optional<RememberMeTokenDto> findById(@NotNull UUID id);
+
+    void upsert(@NotNull RememberMeTokenDto token);
+
+    boolean rotate(@NotNull RememberMeTokenDto token, @NotNull String expectedTokenHash);
+
+    boolean deleteById(@NotNull UUID id);
+
+    int deleteByUserId(@NotNull UUID userId);
+
+    int deleteExpired(@NotNull LocalDateTime now);
+
+}
@@ -0,0 +1,88 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.control;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Token buckets for an arbitrary number of keys, without any locks.</p>
+ *
+ * <p>Each bucket is stored as a single {@link AtomicLong} holding the point in time when the bucket will be
+ * full again (generic cell rate algorithm). A request takes one token by moving this point one refill
+ * interval into the future. It is rejected if this would exceed the capacity of the bucket. Buckets
+ * which have not been used for a whole period are full again and are dropped from the cache.</p>
+ */
+final class TokenBuckets {
+
+    private static final int MAXIMUM_KEYS = 100_000;
+
+    private final long refillMillis;
+    private final long toleranceMillis;
+    private final @NotNull Clock clock;
+    private final @NotNull Cache<String, AtomicLong> buckets;
+
+    /**
+     * <p>Creates token buckets with the given capacity, refilled completely within the given period.</p>
+     *
+     * @param capacity the maximum number of tokens in a bucket
+     * @param period the time to refill an empty bucket completely
+     * @param clock the clock used to refill the buckets
+     * @throws IllegalArgumentException if the capacity is not positive or the period is shorter than
+     *                                  one millisecond per token
+     */
+    TokenBuckets(final int capacity,
+                 final @NotNull Duration period,
+                 final @NotNull Clock clock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be > 0");
+        }
+        if (period.toMillis() < capacity) {
+            throw new IllegalArgumentException("The period must be at least one millisecond per token");
+        }
+        this.refillMillis = period.toMillis() / capacity;
+        this.toleranceMillis = refillMillis * (capacity - 1);
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(period)
+                .maximumSize(MAXIMUM_KEYS)
+                .build();
+    }
+
+    /**
+     * <p>Takes a token from the bucket of the given key.</p>
+     *
+     * @param key the key of the bucket
+     * @return {@code true} if a token was available, {@code false} if the bucket is empty
+     */
+    boolean tryAcquire(final @NotNull String key) {
+        final var bucket = buckets.get(key, _ -> new AtomicLong(Long.MIN_VALUE));
+        final var now = clock.millis();
+        final var previous = bucket.getAndUpdate(full -> {
+            final var from = Math.max(full, now);
+            return from - now > toleranceMillis ? full : from + refillMillis;
+        });
+        return Math.max(previous, now) - now <= toleranceMillis;
+    }
+
+}
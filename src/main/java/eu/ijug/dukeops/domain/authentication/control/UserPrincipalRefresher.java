@@ -0,0 +1,226 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.control;
+
+import com.vaadin.flow.server.VaadinSession;
+import eu.ijug.dukeops.domain.authentication.entity.AuthenticationSignal;
+import eu.ijug.dukeops.domain.authentication.entity.UserPrincipal;
+import eu.ijug.dukeops.domain.user.entity.UserChangedEvent;
+import eu.ijug.dukeops.domain.user.entity.UserDeletedEvent;
+import eu.ijug.dukeops.domain.user.entity.UserDto;
+import eu.ijug.dukeops.domain.user.entity.UserRole;
+import eu.ijug.dukeops.infra.session.SessionRegistry;
+import jakarta.servlet.http.HttpSession;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.springframework.security.web.context.HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY;
+
+/**
+ * <p>Keeps the principals of logged-in users up to date when the underlying user data changes.</p>
+ *
+ * <p>The {@link UserPrincipal} holds a snapshot of the user data taken at login. When a user is stored or
+ * deleted, this listener replaces the authentication in the security context of every affected session in
+ * place, and updates the {@link AuthenticationSignal} of the Vaadin sessions attached to it. A changed user
+ * gets a principal with the new data and authorities, a deleted user is logged out. Reading the user from
+ * the database on every request is not necessary.</p>
+ *
+ * <p>The affected sessions are looked up by the email addresses of the changed users in the
+ * {@link SessionRegistry}, together with the session of the current request. With a shared session store,
+ * this includes the sessions of other nodes, only the Vaadin sessions of other nodes keep their state until
+ * the page is reloaded.</p>
+ *
+ * <p>Changes made within a transaction are collected and applied once after the transaction has been
+ * committed, so a rolled back change never reaches a session, and an import of many users looks up the
+ * sessions only once.</p>
+ */
+@Component
+public class UserPrincipalRefresher {
+
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(UserPrincipalRefresher.class);
+
+    private final @NotNull SessionRegistry sessionRegistry;
+    private final @NotNull AuthenticationSignal authenticationSignal;
+
+    /**
+     * <p>Creates a new refresher for the sessions known to the session registry.</p>
+     *
+     * @param sessionRegistry the registry of all live HTTP sessions
+     * @param authenticationSignal the session scoped authentication signal
+     */
+    public UserPrincipalRefresher(final @NotNull SessionRegistry sessionRegistry,
+                                  final @NotNull AuthenticationSignal authenticationSignal) {
+        super();
+        this.sessionRegistry = sessionRegistry;
+        this.authenticationSignal = authenticationSignal;
+    }
+
+    /**
+     * <p>Replaces the principal of every session of the changed user with one holding the new user data.</p>
+     *
+     * @param event the event with the stored user data
+     */
+    @EventListener
+    public void onUserChanged(final @NotNull UserChangedEvent event) {
+        final var user = event.user();
+        final var id = user.id();
+        if (id != null) {
+            final var change = new PrincipalChange(principal -> id.equals(principal.id()), user);
+            final var changes = new LinkedHashMap<String, PrincipalChange>();
+            if (event.previousEmail() != null) {
+                changes.put(event.previousEmail(), change);
+            }
+            changes.put(user.email(), change);
+            schedule(changes);
+        }
+    }
+
+    /**
+     * <p>Removes the authentication from every session of the deleted user.</p>
+     *
+     * @param event the event with the deleted user data
+     */
+    @EventListener
+    public void onUserDeleted(final @NotNull UserDeletedEvent event) {
+        final var email = event.user().email();
+        schedule(Map.of(email, new PrincipalChange(principal -> email.equals(principal.email()), null)));
+    }
+
+    private void schedule(final @NotNull Map<String, PrincipalChange> changes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(changes);
+            return;
+        }
+        final PendingChanges pendingChanges;
+        if (TransactionSynchronizationManager.getResource(this) instanceof PendingChanges pending) {
+            pendingChanges = pending;
+        } else {
+            pendingChanges = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pendingChanges);
+            TransactionSynchronizationManager.registerSynchronization(pendingChanges);
+        }
+        pendingChanges.changes.putAll(changes);
+    }
+
+    private void refresh(final @NotNull Map<String, PrincipalChange> changes) {
+        var count = 0;
+        for (final var session : getSessions(changes.keySet())) {
+            try {
+                if (session.getAttribute(SPRING_SECURITY_CONTEXT_KEY) instanceof SecurityContext context
+                        && update(context, changes) instanceof PrincipalChange change) {
+                    // set the attribute again, so a session store persists the change
+                    session.setAttribute(SPRING_SECURITY_CONTEXT_KEY, context);
+                    updateSignals(session, change.user());
+                    count++;
+                }
+            } catch (final IllegalStateException e) {
+                LOGGER.debug("Session was invalidated while refreshing the principal: {}", e.getMessage());
+            }
+        }
+        // the context of the current thread is usually the one of its session, but may be a copy
+        update(SecurityContextHolder.getContext(), changes);
+
+        if (count > 0) {
+            LOGGER.info("Refreshed the principal in {} session(s).", count);
+        }
+    }
+
+    private @NotNull Iterable<HttpSession> getSessions(final @NotNull Collection<String> principalNames) {
+        final var sessions = new LinkedHashMap<String, HttpSession>();
+        for (final var session : sessionRegistry.findByPrincipalNames(principalNames)) {
+            sessions.put(session.getId(), session);
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            final var session = attributes.getRequest().getSession(false);
+            if (session != null) {
+                sessions.put(session.getId(), session);
+            }
+        }
+        return sessions.values();
+    }
+
+    private static @Nullable PrincipalChange update(final @NotNull SecurityContext context,
+                                                    final @NotNull Map<String, PrincipalChange> changes) {
+        final var authentication = context.getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            final var change = changes.get(principal.getUsername());
+            if (change != null && change.affected().test(principal.getUser())) {
+                final var user = change.user();
+                context.setAuthentication(user != null ? AuthenticationService.createAuthentication(user) : null);
+                return change;
+            }
+        }
+        return null;
+    }
+
+    private void updateSignals(final @NotNull HttpSession session,
+                               final @Nullable UserDto user) {
+        final var authenticated = user != null;
+        final var admin = authenticated && user.role() == UserRole.ADMIN;
+        for (final var name : Collections.list(session.getAttributeNames())) {
+            if (session.getAttribute(name) instanceof VaadinSession vaadinSession) {
+                // the session scoped signal resolves to the signal of the accessed Vaadin session
+                vaadinSession.access(() -> authenticationSignal.setAuthenticated(authenticated, admin));
+            }
+        }
+    }
+
+    /**
+     * <p>The change of a principal.</p>
+     *
+     * @param affected tests whether the user of a principal is affected by the change
+     * @param user the new user data, or {@code null} if the user was deleted
+     */
+    private record PrincipalChange(@NotNull Predicate<UserDto> affected, @Nullable UserDto user) { }
+
+    /**
+     * <p>The principal changes made within the current transaction, applied after the commit.</p>
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final @NotNull Map<String, PrincipalChange> changes = new LinkedHashMap<>();
+
+        @Override
+        public void afterCommit() {
+            refresh(changes);
+        }
+
+        @Override
+        public void afterCompletion(final int status) {
+            TransactionSynchronizationManager.unbindResource(UserPrincipalRefresher.this);
+        }
+
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.entity;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * <p>A persistent remember-me token of a device.</p>
+ *
+ * <p>The ID identifies the device and stays the same for the lifetime of the token, while the token
+ * value is replaced on every use. Only the SHA-256 hash of the token value is stored. The hash of the
+ * replaced value is kept as well, so parallel requests with the cookie of before the rotation are
+ * not mistaken for a stolen cookie.</p>
+ *
+ * @param id the ID of the token, also known as series
+ * @param userId the ID of the user the token logs in
+ * @param tokenHash the hex encoded SHA-256 hash of the current token value
+ * @param expires the time after which the token can not be used anymore
+ * @param previousTokenHash the hex encoded SHA-256 hash of the token value replaced by the last rotation,
+ *                          or {@code null} if the token has not been rotated yet
+ * @param rotated the time of the last rotation, or {@code null} if the token has not been rotated yet
+ */
+public record RememberMeTokenDto(
+        @NotNull UUID id,
+        @NotNull UUID userId,
+        @NotNull String tokenHash,
+        @NotNull LocalDateTime expires,
+        @Nullable String previousTokenHash,
+        @Nullable LocalDateTime rotated
+) { }
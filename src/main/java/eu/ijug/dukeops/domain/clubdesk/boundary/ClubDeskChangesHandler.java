@@ -0,0 +1,49 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.boundary;
+
+import com.vaadin.flow.server.streams.DownloadEvent;
+import com.vaadin.flow.server.streams.DownloadHandler;
+import eu.ijug.dukeops.domain.clubdesk.control.ClubDeskExportService;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * <p>Streams the ClubDesk records changed since the last download in the import format of ClubDesk.</p>
+ */
+final class ClubDeskChangesHandler implements DownloadHandler {
+
+    private static final @NotNull String FILE_NAME = "clubdesk-changes.csv";
+    private static final @NotNull String CONTENT_TYPE = "text/csv; charset=ISO-8859-1";
+
+    private final @NotNull ClubDeskExportService clubDeskExportService;
+
+    ClubDeskChangesHandler(final @NotNull ClubDeskExportService clubDeskExportService) {
+        super();
+        this.clubDeskExportService = clubDeskExportService;
+    }
+
+    @Override
+    public void handleDownloadRequest(final @NotNull DownloadEvent event) throws IOException {
+        event.setFileName(FILE_NAME);
+        event.setContentType(CONTENT_TYPE);
+        clubDeskExportService.exportChanges(event.getOutputStream());
+    }
+
+}
@@ -37,6 +37,7 @@ import eu.ijug.dukeops.domain.clubdesk.entity.Country;
 import eu.ijug.dukeops.domain.clubdesk.entity.NewsletterStatus;
 import eu.ijug.dukeops.domain.dashboard.boundary.DashboardView;
 import eu.ijug.dukeops.infra.ui.vaadin.control.Navigator;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationKey;
 import eu.ijug.dukeops.infra.ui.vaadin.layout.AbstractView;
 import eu.ijug.dukeops.infra.ui.vaadin.layout.WebsiteLayout;
 import jakarta.annotation.security.RolesAllowed;
@@ -46,7 +47,6 @@ import org.iban4j.IbanUtil;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Locale;
-import java.util.Objects;
 import java.util.stream.Stream;
 
 import static eu.ijug.dukeops.domain.clubdesk.control.ClubDeskService.generateSepaMandateReference;
@@ -102,13 +102,13 @@ public final class ClubDeskEditView extends AbstractView {
         final var clubDeskData = clubDeskService.getClubDeskForCurrentUser();
         if (clubDeskData.isEmpty()) {
             final var dialog = new ConfirmDialog();
-            dialog.setHeader(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.errorDialog.title"));
-            dialog.setText(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.errorDialog.textNoClubDeskData"));
+            dialog.setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_ERROR_DIALOG_TITLE));
+            dialog.setText(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_ERROR_DIALOG_TEXT_NO_CLUB_DESK_DATA));
 
             dialog.setCloseOnEsc(false);
             dialog.setCancelable(false);
 
-            dialog.setConfirmText(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.errorDialog.button"));
+            dialog.setConfirmText(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_ERROR_DIALOG_BUTTON));
             dialog.addConfirmListener(_ -> {
                 dialog.close();
                 navigator.navigate(getUI().orElseThrow(), DashboardView.class);
@@ -125,7 +125,7 @@ public final class ClubDeskEditView extends AbstractView {
 
             final var formLayout = createFormLayout();
             final var saveButton = new Button();
-            saveButton.setText(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.saveButton"));
+            saveButton.setText(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_SAVE_BUTTON));
             saveButton.addClickListener(_ -> {
                 final var clubDeskUpdated = clubDeskService.save(buildDtoFromFields());
                 saveButton.setEnabled(false);
@@ -134,12 +134,12 @@ public final class ClubDeskEditView extends AbstractView {
                 readBean();
 
                 final var dialog = new ConfirmDialog();
-                dialog.setHeader(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.successDialog.title"));
-                dialog.setText(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.successDialog.text"));
+                dialog.setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_SUCCESS_DIALOG_TITLE));
+                dialog.setText(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_SUCCESS_DIALOG_TEXT));
 
                 dialog.setCancelable(false);
                 dialog.setCloseOnEsc(false);
-                dialog.setConfirmText(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.successDialog.button"));
+                dialog.setConfirmText(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_SUCCESS_DIALOG_BUTTON));
 
                 dialog.addConfirmListener(_ -> dialog.close());
                 dialog.open();
@@ -197,16 +197,16 @@ public final class ClubDeskEditView extends AbstractView {
     }
 
     private void addNames(final @NotNull FormLayout formLayout) {
-        firstname.setLabel(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.label.firstname"));
+        firstname.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_FIRSTNAME));
         firstname.setRequiredIndicatorVisible(true);
         binder.forField(firstname)
-                .asRequired(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.error.firstname"))
+                .asRequired(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_ERROR_FIRSTNAME))
                 .bind(ClubDeskDto::firstname, null);
 
-        lastname.setLabel(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.label.lastname"));
+        lastname.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_LASTNAME));
         lastname.setRequiredIndicatorVisible(true);
         binder.forField(lastname)
-                .asRequired(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.error.lastname"))
+                .asRequired(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_ERROR_LASTNAME))
                 .bind(ClubDeskDto::lastname, null);
 
         formLayout.add(firstname, lastname);
@@ -215,37 +215,37 @@ public final class ClubDeskEditView extends AbstractView {
     }
 
     private void addAddress(final @NotNull FormLayout formLayout) {
-        address.setLabel(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.label.address"));
+        address.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_ADDRESS));
         address.setRequiredIndicatorVisible(true);
         binder.forField(address)
-                .asRequired(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.error.address"))
+                .asRequired(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_ERROR_ADDRESS))
                 .bind(ClubDeskDto::address, null);
 
-        addressAddition.setLabel(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.label.addressAddition"));
+        addressAddition.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_ADDRESS_ADDITION));
         binder.forField(addressAddition)
                 .bind(ClubDeskDto::addressAddition, null);
 
-        zipCode.setLabel(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.label.zipCode"));
+        zipCode.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_ZIP_CODE));
         zipCode.setRequiredIndicatorVisible(true);
         binder.forField(zipCode)
-                .asRequired(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.error.zipCode"))
+                .asRequired(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_ERROR_ZIP_CODE))
                 .bind(ClubDeskDto::zipCode, null);
 
-        city.setLabel(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.label.city"));
+        city.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_CITY));
         city.setRequiredIndicatorVisible(true);
         binder.forField(city)
-                .asRequired(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.error.city"))
+                .asRequired(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_ERROR_CITY))
                 .bind(ClubDeskDto::city, null);
 
         final var locale = getLocale();
-        country.setLabel(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.label.country"));
+        country.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_COUNTRY));
         country.setItems(Country.all(locale));
         country.setItemLabelGenerator(item -> item != null ? item.displayName(locale) : "");
         country.setEmptySelectionAllowed(true);
-        country.setEmptySelectionCaption(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.select.emptyCaption"));
+        country.setEmptySelectionCaption(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_SELECT_EMPTY_CAPTION));
         country.setRequiredIndicatorVisible(true);
         binder.forField(country)
-                .asRequired(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.error.country"))
+                .asRequired(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_ERROR_COUNTRY))
                 .bind(ClubDeskDto::country, null);
 
         formLayout.add(address, addressAddition, zipCode, city, country);
@@ -257,31 +257,32 @@ public final class ClubDeskEditView extends AbstractView {
     }
 
     private void addCommunication(final @NotNull FormLayout formLayout) {
-        email.setLabel(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.label.email"));
+        email.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_EMAIL));
         email.setRequiredIndicatorVisible(true);
-        email.setErrorMessage(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.error.email"));
+        email.setErrorMessage(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_ERROR_EMAIL));
         binder.forField(email)
-                .withValidator(new EmailValidator(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.error.email"), false))
-                .asRequired(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.error.email"))
+                .withValidator(new EmailValidator(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_ERROR_EMAIL), false))
+                .asRequired(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_ERROR_EMAIL))
                 .bind(ClubDeskDto::email, null);
 
-        emailAlternative.setLabel(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.label.emailAlternative"));
-        emailAlternative.setErrorMessage(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.error.emailAlternative"));
+        emailAlternative.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_EMAIL_ALTERNATIVE));
+        emailAlternative.setErrorMessage(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_ERROR_EMAIL_ALTERNATIVE));
         binder.forField(emailAlternative)
-                .withValidator(new EmailValidator(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.error.emailAlternative"), true))
+                .withValidator(new EmailValidator(
+                        getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_ERROR_EMAIL_ALTERNATIVE), true))
                 .bind(ClubDeskDto::emailAlternative, null);
 
-        matrix.setLabel(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.label.matrix"));
+        matrix.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_MATRIX));
         matrix.setPlaceholder("@username:example.com");
         binder.forField(matrix)
                 .bind(ClubDeskDto::matrix, null);
 
-        mastodon.setLabel(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.label.mastodon"));
+        mastodon.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_MASTODON));
         mastodon.setPlaceholder("@username@example.com");
         binder.forField(mastodon)
                 .bind(ClubDeskDto::mastodon, null);
 
-        linkedin.setLabel(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.label.linkedin"));
+        linkedin.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_LINKEDIN));
         linkedin.setPlaceholder("https://www.linkedin.com/in/username/");
         binder.forField(linkedin)
                 .bind(ClubDeskDto::linkedin, null);
@@ -295,28 +296,28 @@ public final class ClubDeskEditView extends AbstractView {
     }
 
     private void addSepaMandate(final @NotNull FormLayout formLayout) {
-        sepaEnabled.setLabel(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.label.sepaEnabled"));
+        sepaEnabled.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_SEPA_ENABLED));
 
-        sepaAccountHolder.setLabel(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.label.sepaAccountHolder"));
+        sepaAccountHolder.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_SEPA_ACCOUNT_HOLDER));
         sepaAccountHolder.setMaxLength(MAX_LENGTH_SEPA_ACCOUNT_HOLDER);
         binder.forField(sepaAccountHolder)
                 .withValidator(value -> !sepaEnabled.getValue() || !value.isBlank(),
-                        getTranslation("domain.clubdesk.boundary.ClubDeskEditView.error.sepaAccountHolder"))
+                        getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_ERROR_SEPA_ACCOUNT_HOLDER))
                 .bind(ClubDeskDto::sepaAccountHolder, null);
 
-        sepaMandateReference.setLabel(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.label.sepaMandateReference"));
+        sepaMandateReference.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_SEPA_MANDATE_REFERENCE));
         sepaMandateReference.setMaxLength(MAX_LENGTH_SEPA_MANDATE_REFERENCE);
         sepaMandateReference.setReadOnly(true);
         binder.forField(sepaMandateReference)
                 .bind(ClubDeskDto::sepaMandateReference, null);
 
-        sepaIban.setLabel(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.label.sepaIban"));
+        sepaIban.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_SEPA_IBAN));
         sepaIban.setMaxLength(MAX_LENGTH_SEPA_IBAN);
         sepaIban.setAllowedCharPattern("[A-Za-z0-9]");
         uppercaseOnBlur(sepaIban);
         binder.forField(sepaIban)
                 .withValidator(value -> !sepaEnabled.getValue() || !value.isBlank(),
-                        getTranslation("domain.clubdesk.boundary.ClubDeskEditView.error.sepaIban.empty"))
+                        getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_ERROR_SEPA_IBAN_EMPTY))
                 .withValidator(value -> {
                     if (!sepaEnabled.getValue()) {
                         return true;
@@ -328,16 +329,16 @@ public final class ClubDeskEditView extends AbstractView {
                     } catch (final Iban4jException e) {
                         return false;
                     }
-                }, getTranslation("domain.clubdesk.boundary.ClubDeskEditView.error.sepaIban.invalid"))
+                }, getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_ERROR_SEPA_IBAN_INVALID))
                 .bind(ClubDeskDto::sepaIban, null);
 
-        sepaBic.setLabel(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.label.sepaBic"));
+        sepaBic.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_SEPA_BIC));
         sepaBic.setMaxLength(MAX_LENGTH_SEPA_BIC);
         sepaBic.setAllowedCharPattern("[A-Za-z0-9]");
         uppercaseOnBlur(sepaBic);
         binder.forField(sepaBic)
                 .withValidator(value -> !sepaEnabled.getValue() || !value.isBlank(),
-                        getTranslation("domain.clubdesk.boundary.ClubDeskEditView.error.sepaBic.empty"))
+                        getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_ERROR_SEPA_BIC_EMPTY))
                 .withValidator(value -> {
                     if (!sepaEnabled.getValue()) {
                         return true;
@@ -349,12 +350,12 @@ public final class ClubDeskEditView extends AbstractView {
                     } catch (final Iban4jException e) {
                         return false;
                     }
-                }, getTranslation("domain.clubdesk.boundary.ClubDeskEditView.error.sepaBic.invalid"))
+                }, getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_ERROR_SEPA_BIC_INVALID))
                 .bind(ClubDeskDto::sepaBic, null);
 
-        sepaAllowInfo.setText(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.info.sepa.allow"));
+        sepaAllowInfo.setText(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_INFO_SEPA_ALLOW));
         sepaAllowInfo.addClassName("sepa-info");
-        sepaCancelInfo.setText(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.info.sepa.cancel"));
+        sepaCancelInfo.setText(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_INFO_SEPA_CANCEL));
         sepaCancelInfo.addClassName("sepa-info");
 
         formLayout.add(sepaEnabled, sepaAllowInfo, sepaCancelInfo, sepaAccountHolder, sepaMandateReference, sepaIban, sepaBic);
@@ -390,28 +391,28 @@ public final class ClubDeskEditView extends AbstractView {
     }
 
     private void addJavaUserGroup(final @NotNull FormLayout formLayout) {
-        javaUserGroup.setLabel(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.label.javaUserGroup"));
+        javaUserGroup.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_JAVA_USER_GROUP));
         javaUserGroup.setRequiredIndicatorVisible(true);
         binder.forField(javaUserGroup)
                 .withValidator(value -> !value.isBlank(),
-                        getTranslation("domain.clubdesk.boundary.ClubDeskEditView.error.javaUserGroup"))
+                        getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_ERROR_JAVA_USER_GROUP))
                 .bind(ClubDeskDto::jug, null);
 
         javaUserGroup.setItems(clubDeskService.getAllJavaUserGroups());
         javaUserGroup.setEmptySelectionAllowed(true);
-        javaUserGroup.setEmptySelectionCaption(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.select.emptyCaption"));
+        javaUserGroup.setEmptySelectionCaption(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_SELECT_EMPTY_CAPTION));
 
         formLayout.add(javaUserGroup);
         formLayout.setColspan(javaUserGroup, 3);
     }
 
     private void addNewsletter(final @NotNull FormLayout formLayout) {
-        final var locale = getLocale();
-        newsletter.setLabel(getTranslation("domain.clubdesk.boundary.ClubDeskEditView.label.newsletter"));
+        newsletter.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_NEWSLETTER));
         newsletter.setItems(NewsletterStatus.values());
-        newsletter.setItemLabelGenerator(newsletterStatus ->
-                getTranslation("domain.clubdesk.boundary.ClubDeskEditView.label.newsletter."
-                        + newsletterStatus.name().toLowerCase(locale)));
+        newsletter.setItemLabelGenerator(newsletterStatus -> getTranslation(switch (newsletterStatus) {
+            case ON -> TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_NEWSLETTER_ON;
+            case OFF -> TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_NEWSLETTER_OFF;
+        }));
         newsletter.setRequiredIndicatorVisible(true);
 
         formLayout.add(newsletter);
@@ -419,29 +420,7 @@ public final class ClubDeskEditView extends AbstractView {
     }
 
     private boolean hasChanges() {
-        final var isSepaEnabled = sepaEnabled.getValue();
-        final var sepaAccountHolderValue = isSepaEnabled ? sepaAccountHolder.getValue().trim() : "";
-        final var sepaIbanValue = isSepaEnabled ? sepaIban.getValue().trim() : "";
-        final var sepaBicValue = isSepaEnabled ? sepaBic.getValue().trim() : "";
-
-        return !Objects.equals(firstname.getValue().trim(), clubDeskOriginal.firstname())
-                || !Objects.equals(lastname.getValue().trim(), clubDeskOriginal.lastname())
-                || !Objects.equals(address.getValue().trim(), clubDeskOriginal.address())
-                || !Objects.equals(addressAddition.getValue().trim(), clubDeskOriginal.addressAddition())
-                || !Objects.equals(zipCode.getValue().trim(), clubDeskOriginal.zipCode())
-                || !Objects.equals(city.getValue().trim(), clubDeskOriginal.city())
-                || !Objects.equals(country.getValue(), clubDeskOriginal.country())
-                || !Objects.equals(email.getValue().trim(), clubDeskOriginal.email())
-                || !Objects.equals(emailAlternative.getValue().trim(), clubDeskOriginal.emailAlternative())
-                || !Objects.equals(matrix.getValue().trim(), clubDeskOriginal.matrix())
-                || !Objects.equals(mastodon.getValue().trim(), clubDeskOriginal.mastodon())
-                || !Objects.equals(linkedin.getValue().trim(), clubDeskOriginal.linkedin())
-                || sepaEnabled.getValue() != clubDeskOriginal.sepaEnabled()
-                || !Objects.equals(sepaAccountHolderValue, clubDeskOriginal.sepaAccountHolder())
-                || !Objects.equals(sepaIbanValue, clubDeskOriginal.sepaIban())
-                || !Objects.equals(sepaBicValue, clubDeskOriginal.sepaBic())
-                || !Objects.equals(javaUserGroup.getValue().trim(), clubDeskOriginal.jug())
-                || (newsletter.getValue() == NewsletterStatus.ON) != clubDeskOriginal.newsletter();
+        return clubDeskService.hasChanges(clubDeskOriginal, buildDtoFromFields());
     }
 
     private ClubDeskDto buildDtoFromFields() {
@@ -474,7 +453,7 @@ public final class ClubDeskEditView extends AbstractView {
 
     @Override
     protected @NotNull String getViewTitle() {
-        return getTranslation("domain.clubdesk.boundary.ClubDeskEditView.title");
+        return getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_TITLE);
     }
 
 }
@@ -0,0 +1,67 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.boundary;
+
+import com.vaadin.flow.server.streams.DownloadEvent;
+import com.vaadin.flow.server.streams.DownloadHandler;
+import eu.ijug.dukeops.domain.clubdesk.control.ClubDeskExportService;
+import eu.ijug.dukeops.domain.clubdesk.entity.ExportFilter;
+import eu.ijug.dukeops.infra.export.TableFormat;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * <p>Streams the ClubDesk export in one table format directly into the response.</p>
+ *
+ * <p>The handler runs outside the UI lock, so the filter is handed over from the view using a volatile field.</p>
+ */
+final class ClubDeskExportHandler implements DownloadHandler {
+
+    private static final @NotNull String FILE_NAME = "clubdesk-export";
+
+    private final @NotNull ClubDeskExportService clubDeskExportService;
+    private final @NotNull TableFormat format;
+    private final @NotNull Locale locale;
+
+    private volatile @NotNull ExportFilter filter = ExportFilter.all();
+
+    ClubDeskExportHandler(final @NotNull ClubDeskExportService clubDeskExportService,
+                          final @NotNull TableFormat format,
+                          final @NotNull Locale locale) {
+        super();
+        this.clubDeskExportService = clubDeskExportService;
+        this.format = format;
+        this.locale = locale;
+    }
+
+    void setFilter(final @NotNull ExportFilter filter) {
+        this.filter = filter;
+    }
+
+    @Override
+    public void handleDownloadRequest(final @NotNull DownloadEvent event) throws IOException {
+        event.setFileName(FILE_NAME + "." + format.extension());
+        event.setContentType(format.contentType());
+        try (var writer = format.open(event.getOutputStream(), clubDeskExportService.getExportName(locale))) {
+            clubDeskExportService.export(filter, locale, writer);
+        }
+    }
+
+}
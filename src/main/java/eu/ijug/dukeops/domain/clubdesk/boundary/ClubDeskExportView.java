@@ -0,0 +1,129 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.boundary;
+
+import com.vaadin.flow.component.formlayout.FormLayout;
+import com.vaadin.flow.component.html.Anchor;
+import com.vaadin.flow.component.html.H3;
+import com.vaadin.flow.component.html.H4;
+import com.vaadin.flow.component.html.Paragraph;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.component.select.Select;
+import com.vaadin.flow.router.Route;
+import eu.ijug.dukeops.domain.clubdesk.control.ClubDeskExportService;
+import eu.ijug.dukeops.domain.clubdesk.control.ClubDeskService;
+import eu.ijug.dukeops.domain.clubdesk.entity.Country;
+import eu.ijug.dukeops.domain.clubdesk.entity.ExportFilter;
+import eu.ijug.dukeops.infra.export.TableFormat;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationKey;
+import eu.ijug.dukeops.infra.ui.vaadin.layout.AbstractView;
+import eu.ijug.dukeops.infra.ui.vaadin.layout.WebsiteLayout;
+import jakarta.annotation.security.RolesAllowed;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RolesAllowed("ADMIN")
+@Route(value = "clubdesk/export", layout = WebsiteLayout.class)
+public final class ClubDeskExportView extends AbstractView {
+
+    private static final @NotNull DateTimeFormatter WATERMARK_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final @NotNull Select<String> javaUserGroup = new Select<>();
+    private final @NotNull Select<Country> country = new Select<>();
+    private final @NotNull Select<Boolean> newsletter = new Select<>();
+    private final @NotNull Select<Boolean> sepaEnabled = new Select<>();
+    private final @NotNull List<ClubDeskExportHandler> exportHandlers;
+
+    public ClubDeskExportView(final @NotNull ClubDeskService clubDeskService,
+                              final @NotNull ClubDeskExportService clubDeskExportService) {
+        super();
+        addClassName("clubdesk-export-view");
+
+        add(new H3(getViewTitle()));
+        add(new Paragraph(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EXPORT_VIEW_DESCRIPTION)));
+
+        final var locale = getLocale();
+        final var allCaption = getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EXPORT_VIEW_FILTER_ALL);
+        final var yes = getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EXPORT_VIEW_FILTER_YES);
+        final var no = getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EXPORT_VIEW_FILTER_NO);
+
+        javaUserGroup.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EXPORT_VIEW_FILTER_JUG));
+        javaUserGroup.setItems(clubDeskService.getAllJavaUserGroups());
+
+        country.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EXPORT_VIEW_FILTER_COUNTRY));
+        country.setItems(Country.all(locale));
+        country.setItemLabelGenerator(item -> item != null ? item.displayName(locale) : "");
+
+        newsletter.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EXPORT_VIEW_FILTER_NEWSLETTER));
+        sepaEnabled.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EXPORT_VIEW_FILTER_SEPA_ENABLED));
+        Stream.of(newsletter, sepaEnabled).forEach(select -> {
+            select.setItems(Boolean.TRUE, Boolean.FALSE);
+            select.setItemLabelGenerator(item -> Boolean.TRUE.equals(item) ? yes : no);
+        });
+
+        final var formLayout = new FormLayout();
+        Stream.of(javaUserGroup, country, newsletter, sepaEnabled).forEach(select -> {
+            select.setEmptySelectionAllowed(true);
+            select.setEmptySelectionCaption(allCaption);
+            select.addValueChangeListener(_ -> updateFilter());
+            formLayout.add(select);
+        });
+        add(formLayout);
+
+        final var csvHandler = new ClubDeskExportHandler(clubDeskExportService, TableFormat.CSV, locale);
+        final var xlsxHandler = new ClubDeskExportHandler(clubDeskExportService, TableFormat.XLSX, locale);
+        exportHandlers = List.of(csvHandler, xlsxHandler);
+
+        final var csvDownload = new Anchor(csvHandler,
+                getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EXPORT_VIEW_DOWNLOAD_CSV));
+        csvDownload.addClassName("csv-download");
+        final var xlsxDownload = new Anchor(xlsxHandler,
+                getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EXPORT_VIEW_DOWNLOAD_XLSX));
+        xlsxDownload.addClassName("xlsx-download");
+        add(new HorizontalLayout(csvDownload, xlsxDownload));
+
+        add(new H4(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EXPORT_VIEW_CHANGES_TITLE)));
+        add(new Paragraph(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EXPORT_VIEW_CHANGES_DESCRIPTION)));
+        final var lastChangesExport = new Paragraph(clubDeskExportService.getLastChangesExport()
+                .map(watermark -> getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EXPORT_VIEW_CHANGES_LAST_EXPORT,
+                        WATERMARK_FORMAT.format(watermark)))
+                .orElseGet(() -> getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EXPORT_VIEW_CHANGES_NO_EXPORT)));
+        lastChangesExport.addClassName("last-changes-export");
+        add(lastChangesExport);
+
+        final var changesDownload = new Anchor(new ClubDeskChangesHandler(clubDeskExportService),
+                getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EXPORT_VIEW_DOWNLOAD_CHANGES));
+        changesDownload.addClassName("changes-download");
+        add(changesDownload);
+    }
+
+    private void updateFilter() {
+        final var filter = new ExportFilter(javaUserGroup.getValue(), country.getValue(),
+                newsletter.getValue(), sepaEnabled.getValue());
+        exportHandlers.forEach(handler -> handler.setFilter(filter));
+    }
+
+    @Override
+    protected @NotNull String getViewTitle() {
+        return getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EXPORT_VIEW_TITLE);
+    }
+
+}
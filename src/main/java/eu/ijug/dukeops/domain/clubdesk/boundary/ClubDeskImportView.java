@@ -33,6 +33,7 @@ import eu.ijug.dukeops.domain.clubdesk.control.ClubDeskService;
 import eu.ijug.dukeops.domain.clubdesk.entity.ImportRecord;
 import eu.ijug.dukeops.domain.dashboard.boundary.DashboardView;
 import eu.ijug.dukeops.infra.ui.vaadin.control.Navigator;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationKey;
 import eu.ijug.dukeops.infra.ui.vaadin.layout.AbstractView;
 import eu.ijug.dukeops.infra.ui.vaadin.layout.WebsiteLayout;
 import jakarta.annotation.security.RolesAllowed;
@@ -72,18 +73,18 @@ public final class ClubDeskImportView extends AbstractView {
 
         add(new H3(getViewTitle()));
 
-        add(new H4(getTranslation("domain.clubdesk.boundary.ClubDeskImportView.step1")));
+        add(new H4(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_STEP1)));
 
         final var uploadHandler = UploadHandler
                 .toTempFile(this::processUploadSuccess);
 
         final var uploadI18N = new UploadI18N();
         uploadI18N.setAddFiles(new UploadI18N.AddFiles().setOne(
-                getTranslation("domain.clubdesk.boundary.ClubDeskImportView.uploadButton")));
+                getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_UPLOAD_BUTTON)));
         uploadI18N.setDropFiles(new UploadI18N.DropFiles().setOne(
-                getTranslation("domain.clubdesk.boundary.ClubDeskImportView.uploadDrop")));
+                getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_UPLOAD_DROP)));
         uploadI18N.setError(new UploadI18N.Error().setIncorrectFileType(
-                getTranslation("domain.clubdesk.boundary.ClubDeskImportView.uploadIncorrectFileType")));
+                getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_UPLOAD_INCORRECT_FILE_TYPE)));
 
         upload = new Upload(uploadHandler);
         upload.setSizeFull();
@@ -99,30 +100,47 @@ public final class ClubDeskImportView extends AbstractView {
         importError.setVisible(false);
         add(importError);
 
-        add(new H4(getTranslation("domain.clubdesk.boundary.ClubDeskImportView.step2")));
+        add(new H4(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_STEP2)));
         grid = new Grid<>(ImportRecord.class, false);
-        grid.addColumn(ImportRecord::firstname).setHeader(getFieldName("firstname"));
-        grid.addColumn(ImportRecord::lastname).setHeader(getFieldName("lastname"));
-        grid.addColumn(ImportRecord::address).setHeader(getFieldName("address"));
-        grid.addColumn(ImportRecord::addressAddition).setHeader(getFieldName("addressAddition"));
-        grid.addColumn(ImportRecord::zipCode).setHeader(getFieldName("zipCode"));
-        grid.addColumn(ImportRecord::city).setHeader(getFieldName("city"));
-        grid.addColumn(ImportRecord::country).setHeader(getFieldName("country"));
-        grid.addColumn(ImportRecord::email).setHeader(getFieldName("email"));
-        grid.addColumn(ImportRecord::emailAlternative).setHeader(getFieldName("emailAlternative"));
-        grid.addColumn(ImportRecord::matrix).setHeader(getFieldName("matrix"));
-        grid.addColumn(ImportRecord::mastodon).setHeader(getFieldName("mastodon"));
-        grid.addColumn(ImportRecord::linkedin).setHeader(getFieldName("linkedin"));
-        grid.addColumn(ImportRecord::sepaEnabled).setHeader(getFieldName("sepaEnabled"));
-        grid.addColumn(ImportRecord::sepaAccountHolder).setHeader(getFieldName("sepaAccountHolder"));
-        grid.addColumn(ImportRecord::sepaIban).setHeader(getFieldName("sepaIban"));
-        grid.addColumn(ImportRecord::sepaBic).setHeader(getFieldName("sepaBic"));
-        grid.addColumn(ImportRecord::jug).setHeader(getFieldName("jug"));
+        grid.addColumn(ImportRecord::firstname)
+                .setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_FIELD_NAME_FIRSTNAME));
+        grid.addColumn(ImportRecord::lastname)
+                .setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_FIELD_NAME_LASTNAME));
+        grid.addColumn(ImportRecord::address)
+                .setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_FIELD_NAME_ADDRESS));
+        grid.addColumn(ImportRecord::addressAddition)
+                .setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_FIELD_NAME_ADDRESS_ADDITION));
+        grid.addColumn(ImportRecord::zipCode)
+                .setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_FIELD_NAME_ZIP_CODE));
+        grid.addColumn(ImportRecord::city)
+                .setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_FIELD_NAME_CITY));
+        grid.addColumn(ImportRecord::country)
+                .setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_FIELD_NAME_COUNTRY));
+        grid.addColumn(ImportRecord::email)
+                .setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_FIELD_NAME_EMAIL));
+        grid.addColumn(ImportRecord::emailAlternative)
+                .setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_FIELD_NAME_EMAIL_ALTERNATIVE));
+        grid.addColumn(ImportRecord::matrix)
+                .setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_FIELD_NAME_MATRIX));
+        grid.addColumn(ImportRecord::mastodon)
+                .setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_FIELD_NAME_MASTODON));
+        grid.addColumn(ImportRecord::linkedin)
+                .setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_FIELD_NAME_LINKEDIN));
+        grid.addColumn(ImportRecord::sepaEnabled)
+                .setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_FIELD_NAME_SEPA_ENABLED));
+        grid.addColumn(ImportRecord::sepaAccountHolder)
+                .setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_FIELD_NAME_SEPA_ACCOUNT_HOLDER));
+        grid.addColumn(ImportRecord::sepaIban)
+                .setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_FIELD_NAME_SEPA_IBAN));
+        grid.addColumn(ImportRecord::sepaBic)
+                .setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_FIELD_NAME_SEPA_BIC));
+        grid.addColumn(ImportRecord::jug)
+                .setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_FIELD_NAME_JUG));
         grid.setEnabled(false);
         add(grid);
 
-        add(new H4(getTranslation("domain.clubdesk.boundary.ClubDeskImportView.step3")));
-        saveButton = new Button(getTranslation("domain.clubdesk.boundary.ClubDeskImportView.saveButton"));
+        add(new H4(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_STEP3)));
+        saveButton = new Button(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_SAVE_BUTTON));
         saveButton.addClassName("save-button");
         saveButton.addClickListener(this::saveImportRecords);
         saveButton.setEnabled(false);
@@ -159,23 +177,19 @@ public final class ClubDeskImportView extends AbstractView {
         }
     }
 
-    private String getFieldName(final @NotNull String key) {
-        return getTranslation("domain.clubdesk.boundary.ClubDeskImportView.fieldName." + key);
-    }
-
     private void saveImportRecords(final @Nullable ClickEvent<Button> clickEvent) {
         try {
             saveButton.setEnabled(false);
             final var success = clubDeskService.saveImportRecords(importRecords);
 
             final var dialog = new ConfirmDialog();
-            dialog.setHeader(getTranslation("domain.clubdesk.boundary.ClubDeskImportView.successDialog.title"));
-            dialog.setText(getTranslation("domain.clubdesk.boundary.ClubDeskImportView.successDialog.text", success));
+            dialog.setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_SUCCESS_DIALOG_TITLE));
+            dialog.setText(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_SUCCESS_DIALOG_TEXT, success));
 
             dialog.setCloseOnEsc(false);
             dialog.setCancelable(false);
 
-            dialog.setConfirmText(getTranslation("domain.clubdesk.boundary.ClubDeskImportView.successDialog.button"));
+            dialog.setConfirmText(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_SUCCESS_DIALOG_BUTTON));
             dialog.addConfirmListener(_ -> {
                 dialog.close();
                 navigator.navigate(getUI().orElseThrow(), DashboardView.class);
@@ -192,7 +206,7 @@ public final class ClubDeskImportView extends AbstractView {
 
     @Override
     protected @NotNull String getViewTitle() {
-        return getTranslation("domain.clubdesk.boundary.ClubDeskImportView.title");
+        return getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_TITLE);
     }
 
 }
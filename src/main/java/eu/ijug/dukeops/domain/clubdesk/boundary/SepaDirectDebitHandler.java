@@ -0,0 +1,69 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.boundary;
+
+import com.vaadin.flow.server.streams.DownloadEvent;
+import com.vaadin.flow.server.streams.DownloadHandler;
+import eu.ijug.dukeops.domain.clubdesk.control.SepaDirectDebitService;
+import eu.ijug.dukeops.domain.clubdesk.entity.SepaCollection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+
+/**
+ * <p>Streams the SEPA direct debit file for the collection configured in the view directly into the
+ * response.</p>
+ *
+ * <p>The handler runs outside the UI lock, so the collection is handed over from the view using a volatile
+ * field.</p>
+ */
+final class SepaDirectDebitHandler implements DownloadHandler {
+
+    private static final @NotNull String CONTENT_TYPE = "application/xml";
+
+    private final @NotNull SepaDirectDebitService sepaDirectDebitService;
+
+    private volatile @Nullable SepaCollection collection;
+
+    SepaDirectDebitHandler(final @NotNull SepaDirectDebitService sepaDirectDebitService) {
+        super();
+        this.sepaDirectDebitService = sepaDirectDebitService;
+    }
+
+    void setCollection(final @Nullable SepaCollection collection) {
+        this.collection = collection;
+    }
+
+    @Override
+    public void handleDownloadRequest(final @NotNull DownloadEvent event) throws IOException {
+        final var currentCollection = collection;
+        if (currentCollection == null) {
+            throw new IllegalStateException("The SEPA direct debit collection is incomplete");
+        }
+        event.setFileName("pain008-" + currentCollection.collectionDate() + ".xml");
+        event.setContentType(CONTENT_TYPE);
+        try {
+            sepaDirectDebitService.writeDirectDebit(currentCollection, event.getOutputStream());
+        } catch (final XMLStreamException e) {
+            throw new IOException("Unable to write the SEPA direct debit file", e);
+        }
+    }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.boundary;
+
+import com.vaadin.flow.component.ClickEvent;
+import com.vaadin.flow.component.HasValue;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.datepicker.DatePicker;
+import com.vaadin.flow.component.formlayout.FormLayout;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.html.Anchor;
+import com.vaadin.flow.component.html.H3;
+import com.vaadin.flow.component.html.H4;
+import com.vaadin.flow.component.html.Paragraph;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.component.textfield.BigDecimalField;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.router.Route;
+import eu.ijug.dukeops.domain.clubdesk.control.SepaDirectDebitService;
+import eu.ijug.dukeops.domain.clubdesk.entity.SepaCollection;
+import eu.ijug.dukeops.domain.clubdesk.entity.SepaRejection;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationKey;
+import eu.ijug.dukeops.infra.ui.vaadin.layout.AbstractView;
+import eu.ijug.dukeops.infra.ui.vaadin.layout.WebsiteLayout;
+import jakarta.annotation.security.RolesAllowed;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+@RolesAllowed("ADMIN")
+@Route(value = "clubdesk/sepa", layout = WebsiteLayout.class)
+public final class SepaDirectDebitView extends AbstractView {
+
+    private static final int MAX_LENGTH_REMITTANCE_INFORMATION = 140;
+
+    private final @NotNull SepaDirectDebitService sepaDirectDebitService;
+    private final @NotNull DatePicker collectionDate = new DatePicker();
+    private final @NotNull TextField remittanceInformation = new TextField();
+    private final @NotNull BigDecimalField defaultAmount = new BigDecimalField();
+    private final @NotNull Map<String, BigDecimalField> amounts = new LinkedHashMap<>();
+    private final @NotNull Button checkButton;
+    private final @NotNull SepaDirectDebitHandler downloadHandler;
+    private final @NotNull Anchor download;
+    private final @NotNull Paragraph summary = new Paragraph();
+    private final @NotNull Paragraph rejectionsTruncated = new Paragraph();
+    private final @NotNull Grid<SepaRejection> rejections = new Grid<>(SepaRejection.class, false);
+
+    private @Nullable SepaCollection collection;
+
+    public SepaDirectDebitView(final @NotNull SepaDirectDebitService sepaDirectDebitService) {
+        super();
+        this.sepaDirectDebitService = sepaDirectDebitService;
+        addClassName("sepa-direct-debit-view");
+
+        add(new H3(getViewTitle()));
+        add(new Paragraph(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_DESCRIPTION)));
+
+        final var today = LocalDate.now();
+        collectionDate.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_COLLECTION_DATE));
+        collectionDate.setMin(today.plusDays(1));
+        collectionDate.setValue(today.with(TemporalAdjusters.firstDayOfNextMonth()));
+        collectionDate.setRequiredIndicatorVisible(true);
+        collectionDate.addValueChangeListener(this::updateCollection);
+
+        remittanceInformation.setLabel(getTranslation(
+                TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_REMITTANCE_INFORMATION));
+        remittanceInformation.setMaxLength(MAX_LENGTH_REMITTANCE_INFORMATION);
+        remittanceInformation.setValue(getTranslation(
+                TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_REMITTANCE_INFORMATION_DEFAULT,
+                Integer.toString(today.getYear())));
+        remittanceInformation.setRequiredIndicatorVisible(true);
+        remittanceInformation.addValueChangeListener(this::updateCollection);
+
+        defaultAmount.setLabel(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_DEFAULT_AMOUNT));
+        defaultAmount.setRequiredIndicatorVisible(true);
+        configureAmount(defaultAmount);
+
+        add(new FormLayout(collectionDate, remittanceInformation, defaultAmount));
+
+        add(new H4(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_CATEGORIES_TITLE)));
+        add(new Paragraph(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_CATEGORIES_DESCRIPTION)));
+        final var categoryLayout = new FormLayout();
+        for (final var category : sepaDirectDebitService.getCategories()) {
+            final var amount = new BigDecimalField(category);
+            configureAmount(amount);
+            amounts.put(category, amount);
+            categoryLayout.add(amount);
+        }
+        add(categoryLayout);
+
+        checkButton = new Button(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_CHECK_BUTTON),
+                this::checkCollection);
+        checkButton.addClassName("check-button");
+        downloadHandler = new SepaDirectDebitHandler(sepaDirectDebitService);
+        download = new Anchor(downloadHandler, getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_DOWNLOAD));
+        download.addClassName("download");
+        add(new HorizontalLayout(checkButton, download));
+
+        summary.addClassName("summary");
+        add(summary);
+
+        rejectionsTruncated.addClassName("rejections-truncated");
+        add(rejectionsTruncated);
+
+        rejections.addColumn(SepaRejection::name)
+                .setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_COLUMN_NAME));
+        rejections.addColumn(SepaRejection::email)
+                .setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_COLUMN_EMAIL));
+        rejections.addColumn(rejection -> getTranslation(switch (rejection.reason()) {
+            case MISSING_MANDATE_REFERENCE -> TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_REASON_MISSING_MANDATE_REFERENCE;
+            case INVALID_IBAN -> TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_REASON_INVALID_IBAN;
+            case INVALID_BIC -> TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_REASON_INVALID_BIC;
+        })).setHeader(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_COLUMN_REASON));
+        add(rejections);
+
+        updateCollection(null);
+    }
+
+    private void configureAmount(final @NotNull BigDecimalField amount) {
+        amount.setManualValidation(true);
+        amount.setErrorMessage(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_ERROR_AMOUNT));
+        amount.addValueChangeListener(this::updateCollection);
+    }
+
+    private void updateCollection(final @Nullable HasValue.ValueChangeEvent<?> valueChangeEvent) {
+        collection = createCollection();
+        downloadHandler.setCollection(collection);
+        checkButton.setEnabled(collection != null);
+        download.setEnabled(collection != null);
+        summary.setVisible(false);
+        rejectionsTruncated.setVisible(false);
+        rejections.setVisible(false);
+    }
+
+    private @Nullable SepaCollection createCollection() {
+        final var date = collectionDate.getValue();
+        final var text = remittanceInformation.getValue().trim();
+        final var amount = validateAmount(defaultAmount);
+        final var categoryAmounts = new HashMap<String, BigDecimal>();
+        var validCategoryAmounts = true;
+        for (final var entry : amounts.entrySet()) {
+            final var categoryAmount = validateAmount(entry.getValue());
+            if (categoryAmount != null) {
+                categoryAmounts.put(entry.getKey(), categoryAmount);
+            }
+            validCategoryAmounts &= !entry.getValue().isInvalid();
+        }
+        if (date == null || text.isEmpty() || amount == null || !validCategoryAmounts) {
+            return null;
+        }
+        return new SepaCollection(date, text, amount, categoryAmounts);
+    }
+
+    private static @Nullable BigDecimal validateAmount(final @NotNull BigDecimalField field) {
+        final var amount = field.getValue();
+        field.setInvalid(amount != null && !SepaCollection.isValidAmount(amount));
+        return field.isInvalid() ? null : amount;
+    }
+
+    private void checkCollection(final @Nullable ClickEvent<Button> clickEvent) {
+        final var result = sepaDirectDebitService.check(Objects.requireNonNull(collection));
+        summary.setText(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_SUMMARY,
+                Integer.toString(result.transactions()), result.controlSum().toPlainString()));
+        summary.setVisible(true);
+        rejectionsTruncated.setText(getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_REJECTIONS_TRUNCATED,
+                Integer.toString(result.rejectedMembers()), Integer.toString(result.rejections().size())));
+        rejectionsTruncated.setVisible(result.rejectedMembers() > result.rejections().size());
+        rejections.setItems(result.rejections());
+        rejections.setVisible(!result.rejections().isEmpty());
+    }
+
+    @Override
+    protected @NotNull String getViewTitle() {
+        return getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_TITLE);
+    }
+
+}
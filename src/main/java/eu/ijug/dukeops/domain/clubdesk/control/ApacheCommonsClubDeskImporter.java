@@ -37,6 +37,8 @@ import java.util.Locale;
  *
  * <p>The importer converts each CSV row into an {@link ImportRecord}, applies strict validation for
  * required fields, and performs locale-specific parsing for dates and boolean values.</p>
+ *
+ * <p>Every successful parse emits a {@link ClubDeskParseEvent} with the number of rows and characters read.</p>
  */
 @Component
 public class ApacheCommonsClubDeskImporter implements ClubDeskImporter {
@@ -55,6 +57,8 @@ public class ApacheCommonsClubDeskImporter implements ClubDeskImporter {
      */
     @Override
     public @NotNull List<ImportRecord> parse(final @NotNull Reader reader) throws IOException {
+        final var event = new ClubDeskParseEvent();
+        event.begin();
         try (var parser = CSVParser.parse(reader, clubDeskFormat())) {
             final List<ImportRecord> result = new ArrayList<>();
 
@@ -62,6 +66,9 @@ public class ApacheCommonsClubDeskImporter implements ClubDeskImporter {
                 result.add(toImportRecord(record));
             }
 
+            event.rows = result.size();
+            event.characters = parser.getCharacterPosition();
+            event.commit();
             return List.copyOf(result);
         }
     }
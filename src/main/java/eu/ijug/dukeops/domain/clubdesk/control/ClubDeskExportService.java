@@ -0,0 +1,336 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.control;
+
+import eu.ijug.dukeops.domain.clubdesk.entity.ExportFilter;
+import eu.ijug.dukeops.infra.export.CsvTableWriter;
+import eu.ijug.dukeops.infra.export.TableWriter;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationKey;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.CLUBDESK;
+import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.CLUBDESK_EXPORT;
+import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.USER;
+import static org.jooq.impl.DSL.max;
+import static org.jooq.impl.DSL.noCondition;
+
+/**
+ * <p>Spring-managed service that exports the ClubDesk data of the members for the office.</p>
+ *
+ * <p>The records are read through a lazy jOOQ cursor and written row by row, so an export uses constant
+ * memory regardless of the number of members. The number of exported records is recorded in the metric
+ * {@code dukeops.clubdesk.export.records}.</p>
+ *
+ * <p>The changes made in DukeOps can be exported in the import format of ClubDesk. Every export of the
+ * changes stores a watermark, the next export continues with the records updated after it.</p>
+ */
+@Service
+public class ClubDeskExportService {
+
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(ClubDeskExportService.class);
+    private static final int FETCH_SIZE = 500;
+    private static final @NotNull DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final @NotNull Charset CLUBDESK_CHARSET = StandardCharsets.ISO_8859_1;
+    private static final @NotNull Locale CLUBDESK_LOCALE = Locale.GERMAN;
+
+    private static final @NotNull List<String> CLUBDESK_COLUMNS = List.of(
+            "E-Mail", "Vorname", "Nachname", "Adresse", "Adress-Zusatz", "PLZ", "Ort", "Land",
+            "E-Mail Alternativ", "Matrix", "Mastodon", "LinkedIn",
+            "SEPA-Lastschrift erlauben", "Kontoinhaber", "Mandatsreferenz", "IBAN", "BIC",
+            "Java User Group");
+
+    private static final @NotNull List<TranslationKey> COLUMNS = List.of(
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_NAME,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_FIRSTNAME,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_LASTNAME,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_ADDRESS,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_ADDRESS_ADDITION,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_ZIP_CODE,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_CITY,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_COUNTRY,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_EMAIL,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_EMAIL_ALTERNATIVE,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_MATRIX,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_MASTODON,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_LINKEDIN,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_SEPA_ENABLED,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_SEPA_ACCOUNT_HOLDER,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_SEPA_MANDATE_REFERENCE,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_SEPA_IBAN,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_SEPA_BIC,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_JUG,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_NEWSLETTER,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_CREATED,
+            TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_COLUMN_UPDATED);
+
+    private final @NotNull DSLContext dsl;
+    private final @NotNull TranslationProvider translationProvider;
+    private final @NotNull Clock clock;
+    private final @NotNull Duration watermarkLag;
+    private final @NotNull Counter exportedRecords;
+
+    /**
+     * <p>Creates a new {@code ClubDeskExportService}.</p>
+     *
+     * @param dsl the jOOQ DSL context used to read the ClubDesk data
+     * @param translationProvider the translation provider used to localize the column headers
+     * @param clock the clock used to determine the watermark of the exported changes
+     * @param watermarkLag the time a change may take from setting its {@code updated} timestamp to its commit
+     * @param meterRegistry the registry for the export metrics
+     */
+    public ClubDeskExportService(final @NotNull DSLContext dsl,
+                                 final @NotNull TranslationProvider translationProvider,
+                                 final @NotNull Clock clock,
+                                 @Value("${dukeops.clubdesk.export.watermark-lag:PT1M}") final @NotNull Duration watermarkLag,
+                                 final @NotNull MeterRegistry meterRegistry) {
+        super();
+        if (watermarkLag.isNegative() || watermarkLag.isZero()) {
+            throw new IllegalArgumentException("'dukeops.clubdesk.export.watermark-lag' must be positive");
+        }
+        this.dsl = dsl;
+        this.translationProvider = translationProvider;
+        this.clock = clock;
+        this.watermarkLag = watermarkLag;
+        this.exportedRecords = Counter.builder("dukeops.clubdesk.export.records")
+                .description("Number of exported ClubDesk records")
+                .register(meterRegistry);
+    }
+
+    /**
+     * <p>Returns the localized name of the export, used as sheet name in workbooks.</p>
+     *
+     * @param locale the locale of the export
+     * @return the name of the export
+     */
+    public @NotNull String getExportName(final @NotNull Locale locale) {
+        return translationProvider.getTranslation(
+                TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_EXPORT_SERVICE_SHEET_NAME, locale);
+    }
+
+    /**
+     * <p>Writes the ClubDesk data of all members matching the filter, together with their user data.</p>
+     *
+     * <p>The header row is flushed before the database is queried, so the first bytes reach the client
+     * immediately. All filters are applied by the database. The records are written in primary key order,
+     * so the database can stream them without sorting the whole table first. The export is read-only and
+     * may be served by a replica database.</p>
+     *
+     * @param filter the filter selecting the members to export
+     * @param locale the locale of the column headers and the country names
+     * @param writer the writer to write the rows to; not closed by this method
+     * @return the number of exported records
+     * @throws IOException if a row can't be written
+     */
+    @Transactional(readOnly = true)
+    public int export(final @NotNull ExportFilter filter,
+                      final @NotNull Locale locale,
+                      final @NotNull TableWriter writer) throws IOException {
+        writer.writeRow(COLUMNS.stream()
+                .map(column -> translationProvider.getTranslation(column, locale))
+                .toList());
+        writer.flush();
+
+        final var fields = new ArrayList<>(Arrays.asList(CLUBDESK.fields()));
+        fields.add(USER.NAME);
+        fields.add(USER.CREATED);
+
+        var count = 0;
+        try (var cursor = dsl.select(fields)
+                .from(CLUBDESK)
+                .join(USER).on(USER.ID.eq(CLUBDESK.ID))
+                .where(toConditions(filter))
+                .orderBy(CLUBDESK.ID)
+                .fetchSize(FETCH_SIZE)
+                .fetchLazy()) {
+            for (final var record : cursor) {
+                writer.writeRow(toRow(record, locale));
+                count++;
+            }
+        }
+
+        exportedRecords.increment(count);
+        LOGGER.info("Exported {} ClubDesk records with {}.", count, filter);
+        return count;
+    }
+
+    /**
+     * <p>Returns the watermark of the last export of the changes.</p>
+     *
+     * @return the time before which all changes have been exported, or an empty {@link Optional} if the
+     *         changes have never been exported
+     */
+    @Transactional(readOnly = true)
+    public @NotNull Optional<LocalDateTime> getLastChangesExport() {
+        return Optional.ofNullable(fetchWatermark());
+    }
+
+    /**
+     * <p>Writes the ClubDesk records changed since the last export of the changes in the import format of
+     * ClubDesk and stores the new watermark.</p>
+     *
+     * <p>The file is semicolon-separated, encoded as ISO-8859-1 and uses the German column headers and
+     * country names, like the files exported by ClubDesk. The values are written without the formula
+     * escaping of the spreadsheet exports, so ClubDesk imports them unchanged. The first export contains
+     * all records.</p>
+     *
+     * <p>The records are selected using the index on the {@code updated} column, so only the changed
+     * records are read. The export ends the configured watermark lag, one minute by default, before the
+     * current second; records updated later are part of the next export. If the file can't be written,
+     * the watermark is not stored and the next export contains the same changes again.</p>
+     *
+     * <p>The {@code updated} timestamp is set by the application before the change is committed, it does not
+     * reflect the commit order. The export therefore assumes that every change is committed within the
+     * watermark lag after its timestamp was set, like the chunks of a running import. A change committed
+     * later, e.g. after waiting for a lock, has a timestamp below the watermark of an export which ran in the
+     * meantime, and is skipped by all following exports.</p>
+     *
+     * @param out the stream to write the file to; closed after the last record
+     * @return the number of exported records
+     * @throws IOException if the file can't be written
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public int exportChanges(final @NotNull OutputStream out) throws IOException {
+        final var lastWatermark = fetchWatermark();
+        final var watermark = LocalDateTime.now(clock).minus(watermarkLag).truncatedTo(ChronoUnit.SECONDS);
+
+        var count = 0;
+        try (var writer = new CsvTableWriter(out, CLUBDESK_CHARSET, false);
+             var cursor = dsl.selectFrom(CLUBDESK)
+                     .where(lastWatermark == null ? noCondition() : CLUBDESK.UPDATED.ge(lastWatermark))
+                     .and(CLUBDESK.UPDATED.lt(watermark))
+                     .orderBy(CLUBDESK.UPDATED, CLUBDESK.ID)
+                     .fetchSize(FETCH_SIZE)
+                     .fetchLazy()) {
+            writer.writeRow(CLUBDESK_COLUMNS);
+            for (final var record : cursor) {
+                writer.writeRow(List.of(
+                        record.getEmail(),
+                        record.getFirstname(),
+                        record.getLastname(),
+                        record.getAddress(),
+                        record.getAddressAddition(),
+                        record.getZipCode(),
+                        record.getCity(),
+                        record.getCountry() == null ? "" : record.getCountry().displayName(CLUBDESK_LOCALE),
+                        record.getEmailAlternative(),
+                        record.getMatrix(),
+                        record.getMastodon(),
+                        record.getLinkedin(),
+                        record.getSepaEnabled() ? "Ja" : "Nein",
+                        record.getSepaAccountHolder(),
+                        record.getSepaMandateReference(),
+                        record.getSepaIban(),
+                        record.getSepaBic(),
+                        record.getJug()));
+                count++;
+            }
+        }
+
+        dsl.insertInto(CLUBDESK_EXPORT)
+                .set(CLUBDESK_EXPORT.ID, UUID.randomUUID())
+                .set(CLUBDESK_EXPORT.CREATED, LocalDateTime.now(clock))
+                .set(CLUBDESK_EXPORT.WATERMARK, watermark)
+                .set(CLUBDESK_EXPORT.RECORDS, count)
+                .execute();
+
+        exportedRecords.increment(count);
+        LOGGER.info("Exported {} changed ClubDesk records before {}.", count, watermark);
+        return count;
+    }
+
+    private @Nullable LocalDateTime fetchWatermark() {
+        return dsl.select(max(CLUBDESK_EXPORT.WATERMARK))
+                .from(CLUBDESK_EXPORT)
+                .fetchSingle()
+                .value1();
+    }
+
+    private static @NotNull List<Condition> toConditions(final @NotNull ExportFilter filter) {
+        final var conditions = new ArrayList<Condition>();
+        if (filter.jug() != null) {
+            conditions.add(CLUBDESK.JUG.eq(filter.jug()));
+        }
+        if (filter.country() != null) {
+            conditions.add(CLUBDESK.COUNTRY.eq(filter.country()));
+        }
+        if (filter.newsletter() != null) {
+            conditions.add(CLUBDESK.NEWSLETTER.eq(filter.newsletter()));
+        }
+        if (filter.sepaEnabled() != null) {
+            conditions.add(CLUBDESK.SEPA_ENABLED.eq(filter.sepaEnabled()));
+        }
+        return conditions;
+    }
+
+    private static @NotNull List<Object> toRow(final @NotNull Record record,
+                                               final @NotNull Locale locale) {
+        final var country = record.get(CLUBDESK.COUNTRY);
+        return Arrays.asList(
+                record.get(USER.NAME),
+                record.get(CLUBDESK.FIRSTNAME),
+                record.get(CLUBDESK.LASTNAME),
+                record.get(CLUBDESK.ADDRESS),
+                record.get(CLUBDESK.ADDRESS_ADDITION),
+                record.get(CLUBDESK.ZIP_CODE),
+                record.get(CLUBDESK.CITY),
+                country == null ? "" : country.displayName(locale),
+                record.get(CLUBDESK.EMAIL),
+                record.get(CLUBDESK.EMAIL_ALTERNATIVE),
+                record.get(CLUBDESK.MATRIX),
+                record.get(CLUBDESK.MASTODON),
+                record.get(CLUBDESK.LINKEDIN),
+                record.get(CLUBDESK.SEPA_ENABLED),
+                record.get(CLUBDESK.SEPA_ACCOUNT_HOLDER),
+                record.get(CLUBDESK.SEPA_MANDATE_REFERENCE),
+                record.get(CLUBDESK.SEPA_IBAN),
+                record.get(CLUBDESK.SEPA_BIC),
+                record.get(CLUBDESK.JUG),
+                record.get(CLUBDESK.NEWSLETTER),
+                TIMESTAMP_FORMAT.format(record.get(USER.CREATED)),
+                TIMESTAMP_FORMAT.format(record.get(CLUBDESK.UPDATED)));
+    }
+
+}
@@ -20,8 +20,12 @@ package eu.ijug.dukeops.domain.clubdesk.control;
 import eu.ijug.dukeops.domain.clubdesk.entity.ClubDeskDto;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
 public interface ClubDeskRepository {
 
     @NotNull ClubDeskDto upsert(@NotNull ClubDeskDto clubDesk);
 
+    @NotNull List<ClubDeskDto> upsertAll(@NotNull List<ClubDeskDto> clubDesks);
+
 }
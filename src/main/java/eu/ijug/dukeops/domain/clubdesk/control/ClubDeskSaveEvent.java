@@ -0,0 +1,47 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.control;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>JFR event emitted when the ClubDesk data of a member has been saved.</p>
+ */
+@Name(ClubDeskSaveEvent.NAME)
+@Label("ClubDesk Save")
+@Description("Saving the ClubDesk data of a member, including the update of the user")
+@Category({"DukeOps", "ClubDesk"})
+@StackTrace(false)
+final class ClubDeskSaveEvent extends Event {
+
+    /**
+     * <p>The name of the event in a recording.</p>
+     */
+    static final @NotNull String NAME = "eu.ijug.dukeops.ClubDeskSave";
+
+    @Label("Email Changed")
+    @Description("Whether the email address of the user was updated as well")
+    boolean emailChanged;
+
+}
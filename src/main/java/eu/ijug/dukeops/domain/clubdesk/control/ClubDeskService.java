@@ -26,12 +26,18 @@ import eu.ijug.dukeops.domain.user.control.UserService;
 import eu.ijug.dukeops.domain.user.entity.UserDto;
 import eu.ijug.dukeops.domain.user.entity.UserRole;
 import eu.ijug.dukeops.infra.communication.mail.MailService;
+import eu.ijug.dukeops.infra.diff.ChangeSet;
+import eu.ijug.dukeops.infra.diff.RecordDiff;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationKey;
 import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.apache.commons.codec.binary.Base32;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 import org.jooq.DSLContext;
-import org.jspecify.annotations.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -44,9 +50,12 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -58,6 +67,12 @@ import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.CLUBDESK;
  * <p>The service is responsible for reading ClubDesk export files, converting them into
  * {@link ImportRecord} instances, resolving or creating corresponding users, and persisting
  * the resulting {@link ClubDeskDto} records via the repository layer.</p>
+ *
+ * <p>The duration of storing an import is recorded in the metric {@code dukeops.clubdesk.import}, the number of
+ * stored records in the metric {@code dukeops.clubdesk.import.records}.</p>
+ *
+ * <p>Saving the data of a member emits a {@link ClubDeskSaveEvent}. Saving the data and notifying the office
+ * are observed as {@code dukeops.clubdesk.save} and {@code dukeops.clubdesk.notify}.</p>
  */
 @Service
 public class ClubDeskService {
@@ -65,6 +80,7 @@ public class ClubDeskService {
     private static final boolean DEFAULT_NEWSLETTER_SETTING = true; // opt-out
     private static final @NotNull Charset CLUBDESK_CHARSET = StandardCharsets.ISO_8859_1;
     private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(ClubDeskService.class);
+    private static final int IMPORT_CHUNK_SIZE = 1000;
 
     private final @NotNull ClubDeskRepository clubDeskRepository;
     private final @NotNull ClubDeskImporter clubDeskImporter;
@@ -73,6 +89,10 @@ public class ClubDeskService {
     private final @NotNull MailService mailService;
     private final @NotNull TranslationProvider translationProvider;
     private final @NotNull DSLContext dsl;
+    private final @NotNull RecordDiff<ClubDeskDto> clubDeskDiff;
+    private final @NotNull Timer importTimer;
+    private final @NotNull Counter importedRecords;
+    private final @NotNull ObservationRegistry observationRegistry;
 
     /**
      * <p>Creates a new ClubDesk service using the required collaborators.</p>
@@ -84,6 +104,8 @@ public class ClubDeskService {
      * @param mailService the mail service used to send notification emails after relevant data changes
      * @param translationProvider the translation provider used to localize email content
      * @param dsl the jOOQ DSL context used to execute database operations
+     * @param meterRegistry the registry for the import metrics
+     * @param observationRegistry the registry for the observations of saving and notifying
      */
     public ClubDeskService(final @NotNull ClubDeskRepository clubDeskRepository,
                            final @NotNull ClubDeskImporter clubDeskImporter,
@@ -91,7 +113,9 @@ public class ClubDeskService {
                            final @NotNull AuthenticationService authenticationService,
                            final @NotNull MailService mailService,
                            final @NotNull TranslationProvider translationProvider,
-                           final @NotNull DSLContext dsl) {
+                           final @NotNull DSLContext dsl,
+                           final @NotNull MeterRegistry meterRegistry,
+                           final @NotNull ObservationRegistry observationRegistry) {
         super();
         this.clubDeskRepository = clubDeskRepository;
         this.clubDeskImporter = clubDeskImporter;
@@ -100,6 +124,43 @@ public class ClubDeskService {
         this.mailService = mailService;
         this.translationProvider = translationProvider;
         this.dsl = dsl;
+        this.clubDeskDiff = createClubDeskDiff(translationProvider);
+        this.importTimer = Timer.builder("dukeops.clubdesk.import")
+                .description("Duration of storing imported ClubDesk records")
+                .register(meterRegistry);
+        this.importedRecords = Counter.builder("dukeops.clubdesk.import.records")
+                .description("Number of imported ClubDesk records")
+                .register(meterRegistry);
+        this.observationRegistry = observationRegistry;
+    }
+
+    private static @NotNull RecordDiff<ClubDeskDto> createClubDeskDiff(final @NotNull TranslationProvider translationProvider) {
+        return RecordDiff.<ClubDeskDto>builder(translationProvider)
+                .field("firstname", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_FIRSTNAME, ClubDeskDto::firstname)
+                .field("lastname", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_LASTNAME, ClubDeskDto::lastname)
+                .field("address", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_ADDRESS, ClubDeskDto::address)
+                .field("addressAddition", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_ADDRESS_ADDITION,
+                        ClubDeskDto::addressAddition)
+                .field("zipCode", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_ZIP_CODE, ClubDeskDto::zipCode)
+                .field("city", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_CITY, ClubDeskDto::city)
+                .field("country", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_COUNTRY, ClubDeskDto::country,
+                        (country, locale) -> ((Country) country).displayName(locale))
+                .field("email", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_EMAIL, ClubDeskDto::email)
+                .field("emailAlternative", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_EMAIL_ALTERNATIVE,
+                        ClubDeskDto::emailAlternative)
+                .field("matrix", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_MATRIX, ClubDeskDto::matrix)
+                .field("mastodon", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_MASTODON, ClubDeskDto::mastodon)
+                .field("linkedin", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_LINKEDIN, ClubDeskDto::linkedin)
+                .field("sepaEnabled", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_SEPA_ENABLED, ClubDeskDto::sepaEnabled)
+                .field("sepaAccountHolder", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_SEPA_ACCOUNT_HOLDER,
+                        ClubDeskDto::sepaAccountHolder)
+                .field("sepaMandateReference", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_SEPA_MANDATE_REFERENCE,
+                        ClubDeskDto::sepaMandateReference)
+                .field("sepaIban", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_SEPA_IBAN, ClubDeskDto::sepaIban)
+                .field("sepaBic", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_SEPA_BIC, ClubDeskDto::sepaBic)
+                .field("javaUserGroup", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_JAVA_USER_GROUP, ClubDeskDto::jug)
+                .field("newsletter", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_NEWSLETTER, ClubDeskDto::newsletter)
+                .build();
     }
 
 
@@ -131,8 +192,14 @@ public class ClubDeskService {
      * <p>Persists the given list of {@link ImportRecord} instances and returns the number of stored records.</p>
      *
      * <p>For each import record, an existing user is resolved by email or a new user is created if none exists.
-     * The users name is updated when necessary, and the corresponding ClubDesk data is stored with a default
-     * newsletter setting.</p>
+     * The users name is updated when necessary. The users of all records are read and stored in bulk instead of
+     * one by one. The corresponding ClubDesk data of all records is then stored with a default newsletter setting
+     * in batches.</p>
+     *
+     * <p>The records are stored on the primary database in chunks of {@value #IMPORT_CHUNK_SIZE} records, each
+     * in its own transaction, so a large import neither holds its locks nor grows the undo log of the database
+     * until the end. If a chunk fails, the chunks stored before stay committed; as the import is an upsert, it
+     * can simply be repeated. Records with the same email address share one user.</p>
      *
      * @param importRecords the import records to persist
      * @return the number of successfully stored ClubDesk records
@@ -142,48 +209,67 @@ public class ClubDeskService {
             return 0;
         }
 
+        final var sample = Timer.start();
         int recordCounter = 0;
 
-        for (final var importRecord : importRecords) {
-            final var userId = getOrCreateUserIdAndUpdateNameIfNeeded(importRecord);
-            final var clubDesk = clubDeskRepository.upsert(toClubDeskDto(userId, importRecord));
-            recordCounter++;
-            LOGGER.info("Successfully saved ClubDesk record #{} for user {} {} with email {}.",
-                    recordCounter, clubDesk.firstname(), clubDesk.lastname(), clubDesk.email());
+        for (int start = 0; start < importRecords.size(); start += IMPORT_CHUNK_SIZE) {
+            final var chunk = importRecords.subList(start, Math.min(start + IMPORT_CHUNK_SIZE, importRecords.size()));
+            for (final var clubDesk : dsl.transactionResult(_ -> saveImportChunk(chunk))) {
+                recordCounter++;
+                LOGGER.info("Successfully saved ClubDesk record #{} for user {} {} with email {}.",
+                        recordCounter, clubDesk.firstname(), clubDesk.lastname(), clubDesk.email());
+            }
         }
 
+        sample.stop(importTimer);
+        importedRecords.increment(recordCounter);
         return recordCounter;
     }
 
-    private @NotNull UUID getOrCreateUserIdAndUpdateNameIfNeeded(final @NotNull ImportRecord importRecord) {
-        final var fullName = FullNameBuilder.buildFullName(
-                importRecord.firstname(), importRecord.lastname(), "");
+    private @NotNull List<ClubDeskDto> saveImportChunk(final @NotNull List<ImportRecord> importRecords) {
+        final var users = getOrCreateUsersAndUpdateNamesIfNeeded(importRecords);
+        final var clubDesks = new ArrayList<ClubDeskDto>(importRecords.size());
+        for (final var importRecord : importRecords) {
+            final var user = users.get(toEmailKey(importRecord.email()));
+            //noinspection DataFlowIssue // user and id are never null here
+            clubDesks.add(toClubDeskDto(user.id(), importRecord));
+        }
+        return clubDeskRepository.upsertAll(clubDesks);
+    }
 
-        final var user = userService.getUserByEmail(importRecord.email())
-                .orElseGet(() -> createUser(fullName, importRecord.email()));
+    private @NotNull Map<String, UserDto> getOrCreateUsersAndUpdateNamesIfNeeded(
+            final @NotNull List<ImportRecord> importRecords) {
+        final var users = new HashMap<String, UserDto>();
+        userService.getUsersByEmails(importRecords.stream().map(ImportRecord::email).toList())
+                .forEach(user -> users.put(toEmailKey(user.email()), user));
 
-        if (!user.name().equals(fullName)) {
-            final var updatedUser = updateUserName(user, fullName);
-            //noinspection DataFlowIssue // id is never null here
-            return updatedUser.id();
+        final var changedUsers = new LinkedHashMap<String, UserDto>();
+        for (final var importRecord : importRecords) {
+            final var fullName = FullNameBuilder.buildFullName(
+                    importRecord.firstname(), importRecord.lastname(), "");
+            final var emailKey = toEmailKey(importRecord.email());
+            final var user = users.get(emailKey);
+
+            if (user == null) {
+                final var newUser = new UserDto(null, null, null, fullName, importRecord.email(), UserRole.USER);
+                users.put(emailKey, newUser);
+                changedUsers.put(emailKey, newUser);
+            } else if (!user.name().equals(fullName)) {
+                final var updatedUser = new UserDto(user.id(), user.created(), user.updated(),
+                        fullName, user.email(), user.role());
+                users.put(emailKey, updatedUser);
+                changedUsers.put(emailKey, updatedUser);
+            }
         }
 
-        //noinspection DataFlowIssue // id is never null here
-        return user.id();
-    }
-
-    private @NotNull UserDto createUser(final @NotNull String fullName,
-                                        final @NotNull String email) {
-        return userService.storeUser(
-                new UserDto(null, null, null, fullName, email, UserRole.USER)
-        );
+        userService.storeUsers(List.copyOf(changedUsers.values()))
+                .forEach(user -> users.put(toEmailKey(user.email()), user));
+        return users;
     }
 
-    private @NotNull UserDto updateUserName(final @NotNull UserDto user,
-                                            final @NotNull String fullName) {
-        return userService.storeUser(
-                new UserDto(user.id(), user.created(), user.updated(), fullName, user.email(), user.role())
-        );
+    // email addresses are unique regardless of their case in the database
+    private static @NotNull String toEmailKey(final @NotNull String email) {
+        return email.toLowerCase(Locale.ROOT);
     }
 
     private @NotNull ClubDeskDto toClubDeskDto(final @NotNull UUID userId,
@@ -230,6 +316,9 @@ public class ClubDeskService {
      * <p>An error is logged if an authenticated user exists but has no ID, as this represents an invalid
      * application state. A warning is logged if no user is currently authenticated.</p>
      *
+     * <p>The lookup is served by the primary database, so a member always sees the data just saved, even
+     * while a replica lags behind.</p>
+     *
      * @return an {@link Optional} containing the {@link ClubDeskDto} for the current user, or an empty
      *         {@link Optional} if no matching data can be resolved
      */
@@ -266,7 +355,8 @@ public class ClubDeskService {
     /**
      * <p>Retrieves a list of all distinct Java User Group names stored in ClubDesk.</p>
      *
-     * <p>Only non-null and non-empty group names are included, and the result is sorted alphabetically.</p>
+     * <p>Only non-null and non-empty group names are included, and the result is sorted alphabetically.
+     * The lookup is served by the primary database, so groups of a just stored import are included.</p>
      *
      * @return a list of distinct Java User Group names
      */
@@ -290,16 +380,53 @@ public class ClubDeskService {
      * @return the persisted ClubDesk data as stored in the database; never {@code null}
      */
     public @NotNull ClubDeskDto save(final @NotNull ClubDeskDto clubDesk) {
+        return Observation.createNotStarted("dukeops.clubdesk.save", observationRegistry)
+                .contextualName("clubdesk save")
+                .observe(() -> saveAndUpdateUser(clubDesk));
+    }
+
+    private @NotNull ClubDeskDto saveAndUpdateUser(final @NotNull ClubDeskDto clubDesk) {
+        final var event = new ClubDeskSaveEvent();
+        event.begin();
         final var savedClubDesk = clubDeskRepository.upsert(clubDesk);
         final var user = userService.getUserById(savedClubDesk.id()).orElseThrow();
-        if (!user.email().equals(savedClubDesk.email())) {
+        event.emailChanged = !user.email().equals(savedClubDesk.email());
+        if (event.emailChanged) {
             final var updatedUser = userService.storeUser(new UserDto(user.id(), user.created(), user.updated(),
                     user.name(), savedClubDesk.email(), user.role()));
             userService.storeUser(updatedUser);
         }
+        event.commit();
         return savedClubDesk;
     }
 
+    /**
+     * <p>Checks whether the editable data of the two ClubDesk records differs.</p>
+     *
+     * <p>The check stops at the first changed field and is cheap enough to be used for UI state
+     * like enabling or disabling a save button.</p>
+     *
+     * @param clubDeskOriginal the original ClubDesk data; must not be {@code null}
+     * @param clubDeskUpdated the updated ClubDesk data; must not be {@code null}
+     * @return {@code true} if at least one field differs, {@code false} otherwise
+     */
+    public boolean hasChanges(final @NotNull ClubDeskDto clubDeskOriginal,
+                              final @NotNull ClubDeskDto clubDeskUpdated) {
+        return clubDeskDiff.hasChanges(clubDeskOriginal, clubDeskUpdated);
+    }
+
+    /**
+     * <p>Compares the editable data of the two ClubDesk records and returns all changed fields.</p>
+     *
+     * @param clubDeskOriginal the original ClubDesk data; must not be {@code null}
+     * @param clubDeskUpdated the updated ClubDesk data; must not be {@code null}
+     * @return the structured change set; never {@code null}
+     */
+    public @NotNull ChangeSet compare(final @NotNull ClubDeskDto clubDeskOriginal,
+                                      final @NotNull ClubDeskDto clubDeskUpdated) {
+        return clubDeskDiff.compare(clubDeskOriginal, clubDeskUpdated);
+    }
+
     /**
      * <p>Sends a notification email to the iJUG office containing a summary of all changes made to the
      * ClubDesk data of a member.</p>
@@ -316,189 +443,41 @@ public class ClubDeskService {
     public void notifyOffice(final @NotNull ClubDeskDto clubDeskOriginal,
                              final @NotNull ClubDeskDto clubDeskUpdated,
                              final @NotNull Locale memberLocale) {
+        Observation.createNotStarted("dukeops.clubdesk.notify", observationRegistry)
+                .contextualName("clubdesk notify")
+                .observe(() -> sendNotifications(clubDeskOriginal, clubDeskUpdated, memberLocale));
+    }
+
+    private void sendNotifications(final @NotNull ClubDeskDto clubDeskOriginal,
+                                   final @NotNull ClubDeskDto clubDeskUpdated,
+                                   final @NotNull Locale memberLocale) {
         final var officeLocale = Locale.GERMAN;
-        final var diffForOffice = createDiff(clubDeskOriginal, clubDeskUpdated, officeLocale);
-        if (diffForOffice.isEmpty()) {
+        final var changeSet = compare(clubDeskOriginal, clubDeskUpdated);
+        if (changeSet.isEmpty()) {
             return;
         }
+        final var diffForOffice = clubDeskDiff.render(changeSet, officeLocale);
 
         final var mailToOfficeSubject = translationProvider.getTranslation(
-                "domain.clubdesk.control.ClubDeskService.email.office.subject", officeLocale,
+                TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_SERVICE_EMAIL_OFFICE_SUBJECT, officeLocale,
                 clubDeskUpdated.firstname(), clubDeskUpdated.lastname());
         mailService.sendMail("office@ijug.eu", mailToOfficeSubject, diffForOffice);
 
         final var mailToMemberSubject = translationProvider.getTranslation(
-                "domain.clubdesk.control.ClubDeskService.email.member.subject", memberLocale);
+                TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_SERVICE_EMAIL_MEMBER_SUBJECT, memberLocale);
         final var mailToMemberOriginal = translationProvider.getTranslation(
-                "domain.clubdesk.control.ClubDeskService.email.member.body", memberLocale,
+                TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_SERVICE_EMAIL_MEMBER_BODY, memberLocale,
                 clubDeskOriginal.firstname(), clubDeskOriginal.lastname());
         mailService.sendMail(clubDeskOriginal.email(), mailToMemberSubject, mailToMemberOriginal);
 
         if (!clubDeskOriginal.email().equals(clubDeskUpdated.email())) {
             final var mailToMemberUpdated = translationProvider.getTranslation(
-                    "domain.clubdesk.control.ClubDeskService.email.member.body", memberLocale,
+                    TranslationKey.DOMAIN_CLUBDESK_CONTROL_CLUB_DESK_SERVICE_EMAIL_MEMBER_BODY, memberLocale,
                     clubDeskUpdated.firstname(), clubDeskUpdated.lastname());
             mailService.sendMail(clubDeskUpdated.email(), mailToMemberSubject, mailToMemberUpdated);
         }
     }
 
-    private @NonNull String createDiff(final @NonNull ClubDeskDto clubDeskOriginal,
-                                              final @NonNull ClubDeskDto clubDeskUpdated,
-                                              final @NotNull Locale locale) {
-        final var lines = new StringBuilder();
-
-        addDiff(lines, locale, "firstname",
-                clubDeskOriginal.firstname(), clubDeskUpdated.firstname());
-
-        addDiff(lines, locale, "lastname",
-                clubDeskOriginal.lastname(), clubDeskUpdated.lastname());
-
-        addDiff(lines, locale, "address",
-                clubDeskOriginal.address(), clubDeskUpdated.address());
-
-        addDiff(lines, locale, "addressAddition",
-                clubDeskOriginal.addressAddition(), clubDeskUpdated.addressAddition());
-
-        addDiff(lines, locale, "zipCode",
-                clubDeskOriginal.zipCode(), clubDeskUpdated.zipCode());
-
-        addDiff(lines, locale, "city",
-                clubDeskOriginal.city(), clubDeskUpdated.city());
-
-        addDiff(lines, locale, "country",
-                displayCountry(clubDeskOriginal.country(), locale),
-                displayCountry(clubDeskUpdated.country(), locale));
-
-        addDiff(lines, locale, "email",
-                clubDeskOriginal.email(), clubDeskUpdated.email());
-
-        addDiff(lines, locale, "emailAlternative",
-                clubDeskOriginal.emailAlternative(), clubDeskUpdated.emailAlternative());
-
-        addDiff(lines, locale, "matrix",
-                clubDeskOriginal.matrix(), clubDeskUpdated.matrix());
-
-        addDiff(lines, locale, "mastodon",
-                clubDeskOriginal.mastodon(), clubDeskUpdated.mastodon());
-
-        addDiff(lines, locale, "linkedin",
-                clubDeskOriginal.linkedin(), clubDeskUpdated.linkedin());
-
-        addDiff(lines, locale, "sepaEnabled",
-                clubDeskOriginal.sepaEnabled(), clubDeskUpdated.sepaEnabled());
-
-        addDiff(lines, locale, "sepaAccountHolder",
-                clubDeskOriginal.sepaAccountHolder(), clubDeskUpdated.sepaAccountHolder());
-
-        addDiff(lines, locale, "sepaMandateReference",
-                clubDeskOriginal.sepaMandateReference(), clubDeskUpdated.sepaMandateReference());
-
-        addDiff(lines, locale, "sepaIban",
-                clubDeskOriginal.sepaIban(), clubDeskUpdated.sepaIban());
-
-        addDiff(lines, locale, "sepaBic",
-                clubDeskOriginal.sepaBic(), clubDeskUpdated.sepaBic());
-
-        addDiff(lines, locale, "javaUserGroup",
-                clubDeskOriginal.jug(), clubDeskUpdated.jug());
-
-        addDiff(lines, locale, "newsletter",
-                clubDeskOriginal.newsletter(), clubDeskUpdated.newsletter());
-
-        return lines.toString().trim();
-    }
-
-    /**
-     * <p>Determines whether two values differ from each other.</p>
-     *
-     * <p>The comparison is {@code null}-safe and relies on {@link Objects#equals(Object, Object)}
-     * to check for value equality.</p>
-     *
-     * @param oldValue the original value; may be {@code null}
-     * @param newValue the updated value; may be {@code null}
-     * @return {@code true} if the values are different, {@code false} if they are equal
-     */
-    private static boolean changed(final @Nullable Object oldValue,
-                                   final @Nullable Object newValue) {
-        return !Objects.equals(oldValue, newValue);
-    }
-
-    /**
-     * <p>Adds a formatted diff line to the given output buffer if the provided values differ.</p>
-     *
-     * <p>The method resolves a human-readable field label via the translation provider and appends a
-     * single line describing the change in the form {@code &lt;label&gt;: &lt;old&gt; → &lt;new&gt;}.</p>
-     *
-     * <p>If the values are equal, the buffer remains unchanged.</p>
-     *
-     * @param lines the buffer to which the diff line is appended; must not be {@code null}
-     * @param locale the locale used to resolve the translated field label; must not be {@code null}
-     * @param fieldKey the translation key suffix identifying the field; must not be {@code null}
-     * @param oldValue the original value; may be {@code null}
-     * @param newValue the updated value; may be {@code null}
-     */
-    private void addDiff(final @NotNull StringBuilder lines,
-                         final @NotNull Locale locale,
-                         final @NotNull String fieldKey,
-                         final @Nullable Object oldValue,
-                         final @Nullable Object newValue) {
-
-        if (!changed(oldValue, newValue)) {
-            return;
-        }
-
-        final var label = translationProvider.getTranslation(
-                "domain.clubdesk.boundary.ClubDeskEditView.label." + fieldKey, locale);
-
-        lines.append(label)
-                .append(": ")
-                .append(formatForDiff(oldValue, locale))
-                .append(" → ")
-                .append(formatForDiff(newValue, locale))
-                .append('\n');
-    }
-
-    /**
-     * <p>Formats a value for inclusion in a human-readable diff output.</p>
-     *
-     * <p>{@code null} values are rendered as "[empty]" to clearly indicate missing data.
-     * Boolean values are converted into readable textual representations. All other values
-     * are formatted using their {@link Object#toString()} representation.</p>
-     *
-     * @param value the value to format; may be {@code null}
-     * @return a non-null, human-readable string representation of the value
-     */
-    private @NotNull String formatForDiff(final @Nullable Object value,
-                                          final @NotNull Locale locale) {
-        final var empty = translationProvider.getTranslation("domain.clubdesk.control.ClubDeskService.diff.empty", locale);
-        final var yes = translationProvider.getTranslation("domain.clubdesk.control.ClubDeskService.diff.yes", locale);
-        final var no = translationProvider.getTranslation("domain.clubdesk.control.ClubDeskService.diff.no", locale);
-
-        if (value == null) {
-            return "[" + empty + "]";
-        }
-        if (value instanceof Boolean b) {
-            return b ? yes : no;
-        }
-        final var text = value.toString();
-        return text.isBlank() ? "[" + empty + "]" : text;
-    }
-
-    /**
-     * <p>Returns a localized display name for the given country.</p>
-     *
-     * <p>If the country is {@code null}, the method returns {@code null}. Otherwise, the country name
-     * is resolved using the provided locale.</p>
-     *
-     * @param country the country to display; may be {@code null}
-     * @param locale the locale used to resolve the display name; must not be {@code null}
-     * @return the localized country name, or {@code null} if the country is {@code null}
-     */
-    private static @Nullable String displayCountry(final @Nullable Country country,
-                                                   final @NotNull Locale locale) {
-        return country == null ? null : country.displayName(locale);
-    }
-
     /**
      * <p>Generates a deterministic SEPA mandate reference for the given ClubDesk record.</p>
      *
@@ -18,12 +18,17 @@
 package eu.ijug.dukeops.domain.clubdesk.control;
 
 import eu.ijug.dukeops.domain.clubdesk.entity.ClubDeskDto;
+import eu.ijug.dukeops.infra.persistence.jooq.generated.tables.records.ClubdeskRecord;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jooq.DSLContext;
+import org.jooq.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.CLUBDESK;
 
@@ -31,11 +36,15 @@ import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.CLUBDESK;
  * <p>jOOQ-based {@link ClubDeskRepository} implementation for persisting {@link ClubDeskDto} entities.</p>
  *
  * <p>The repository performs an upsert operation based on the ClubDesk identifier and manages the
- * {@code created} and {@code updated} timestamps using an injected {@link Clock}.</p>
+ * {@code created} and {@code updated} timestamps using an injected {@link Clock}. Records which already
+ * contain the given data are not written, so their {@code updated} timestamp only changes with their data.
+ * Many records, like the rows of a ClubDesk import, can be stored at once using batches.</p>
  */
 @Repository
 public class JooqClubDeskRepository implements ClubDeskRepository {
 
+    private static final int CHUNK_SIZE = 1000;
+
     private final @NotNull DSLContext dsl;
     private final @NotNull Clock clock;
 
@@ -57,30 +66,109 @@ public class JooqClubDeskRepository implements ClubDeskRepository {
      *
      * <p>If no existing record is found, a new record is created and both {@code created} and
      * {@code updated} timestamps are set. If a record already exists, only the {@code updated}
-     * timestamp is modified.</p>
+     * timestamp is modified, and only if any other value changed; an unchanged record is not written.</p>
      *
      * @param clubDesk the ClubDesk data to persist
      * @return the persisted ClubDesk data as a DTO
      */
     @Override
     public @NotNull ClubDeskDto upsert(final @NotNull ClubDeskDto clubDesk) {
-        final var clubDeskRecord = dsl.fetchOptional(CLUBDESK, CLUBDESK.ID.eq(clubDesk.id()))
-                .orElseGet(() -> dsl.newRecord(CLUBDESK));
+        final var storedRecord = dsl.fetchOptional(CLUBDESK, CLUBDESK.ID.eq(clubDesk.id())).orElse(null);
+        final var clubDeskRecord = toRecord(clubDesk, storedRecord, LocalDateTime.now(clock));
 
-        final var existingCreated = clubDeskRecord.getCreated();
-        clubDeskRecord.from(clubDesk);
+        if (clubDeskRecord != storedRecord) {
+            upsertQuery(clubDeskRecord).execute();
+        }
+        return clubDeskRecord.into(ClubDeskDto.class);
+    }
+
+    /**
+     * <p>Creates or updates all given ClubDesk records in batches.</p>
+     *
+     * <p>The records are processed in chunks of {@value #CHUNK_SIZE}. The {@code created} timestamps of the
+     * existing records of a chunk are read with one query, then all records of the chunk are sent to the database
+     * as one batch of upserts instead of a read and a write per record. The timestamps are set in the same way as
+     * by {@link #upsert(ClubDeskDto)}, all changed records get the same {@code updated} timestamp.</p>
+     *
+     * @param clubDesks the ClubDesk data to persist
+     * @return the persisted ClubDesk data as DTOs, in the same order as given
+     */
+    @Override
+    public @NotNull List<ClubDeskDto> upsertAll(final @NotNull List<ClubDeskDto> clubDesks) {
+        if (clubDesks.isEmpty()) {
+            return List.of();
+        }
 
         final var now = LocalDateTime.now(clock);
-        if (existingCreated == null) {
+        final var storedClubDesks = new ArrayList<ClubDeskDto>(clubDesks.size());
+        for (int start = 0; start < clubDesks.size(); start += CHUNK_SIZE) {
+            storedClubDesks.addAll(upsertChunk(clubDesks.subList(start, Math.min(start + CHUNK_SIZE, clubDesks.size())), now));
+        }
+
+        return List.copyOf(storedClubDesks);
+    }
+
+    private @NotNull List<ClubDeskDto> upsertChunk(final @NotNull List<ClubDeskDto> clubDesks,
+                                                   final @NotNull LocalDateTime now) {
+        final var ids = clubDesks.stream().map(ClubDeskDto::id).toList();
+        final var storedRecords = dsl.selectFrom(CLUBDESK)
+                .where(CLUBDESK.ID.in(ids))
+                .fetchMap(CLUBDESK.ID);
+
+        final var queries = new ArrayList<Query>(clubDesks.size());
+        final var storedClubDesks = new ArrayList<ClubDeskDto>(clubDesks.size());
+        for (final var clubDesk : clubDesks) {
+            final var storedRecord = storedRecords.get(clubDesk.id());
+            final var clubDeskRecord = toRecord(clubDesk, storedRecord, now);
+            if (clubDeskRecord != storedRecord) {
+                queries.add(upsertQuery(clubDeskRecord));
+            }
+            storedClubDesks.add(clubDeskRecord.into(ClubDeskDto.class));
+        }
+
+        if (!queries.isEmpty()) {
+            dsl.batch(queries).execute();
+        }
+        return storedClubDesks;
+    }
+
+    /**
+     * <p>Creates the record to store for the given ClubDesk data.</p>
+     *
+     * <p>A new record gets {@code now} as {@code created} and {@code updated} timestamp. An existing record
+     * keeps its {@code created} timestamp and gets {@code now} as {@code updated} timestamp if any other value
+     * changed. If no value changed, the stored record is returned, so callers can skip writing it.</p>
+     *
+     * @param clubDesk the ClubDesk data to store
+     * @param storedRecord the currently stored record, or {@code null} if there is none
+     * @param now the current time
+     * @return the record to store, or the stored record if it already contains the given data
+     */
+    private @NotNull ClubdeskRecord toRecord(final @NotNull ClubDeskDto clubDesk,
+                                             final @Nullable ClubdeskRecord storedRecord,
+                                             final @NotNull LocalDateTime now) {
+        final var clubDeskRecord = dsl.newRecord(CLUBDESK);
+        clubDeskRecord.from(clubDesk);
+        if (storedRecord == null) {
             clubDeskRecord.setCreated(now);
             clubDeskRecord.setUpdated(now);
-        } else {
-            clubDeskRecord.setCreated(existingCreated);
-            clubDeskRecord.setUpdated(now);
+            return clubDeskRecord;
         }
 
-        clubDeskRecord.store();
-        return clubDeskRecord.into(ClubDeskDto.class);
+        clubDeskRecord.setCreated(storedRecord.getCreated());
+        clubDeskRecord.setUpdated(storedRecord.getUpdated());
+        if (clubDeskRecord.equals(storedRecord)) {
+            return storedRecord;
+        }
+        clubDeskRecord.setUpdated(now);
+        return clubDeskRecord;
+    }
+
+    private @NotNull Query upsertQuery(final @NotNull ClubdeskRecord clubDeskRecord) {
+        return dsl.insertInto(CLUBDESK)
+                .set(clubDeskRecord)
+                .onDuplicateKeyUpdate()
+                .set(clubDeskRecord);
     }
 
 }
@@ -0,0 +1,236 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.control;
+
+import eu.ijug.dukeops.domain.clubdesk.entity.SepaCollection;
+import eu.ijug.dukeops.domain.clubdesk.entity.SepaCreditor;
+import org.jetbrains.annotations.NotNull;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * <p>Writes a SEPA core direct debit initiation (pain.008.001.08) with a single payment information block.</p>
+ *
+ * <p>The document is written with a StAX writer directly into the output stream, one transaction after the
+ * other. The number of transactions and the control sum are part of the header, so they have to be known
+ * before the first transaction is written.</p>
+ *
+ * <p>All transactions use the sequence type {@code RCUR}. The membership fees are collected every year with
+ * the mandates managed in ClubDesk, which doesn't store whether a mandate has been used before. Since the
+ * SEPA core rulebook of November 2016, {@code RCUR} is also valid for the first collection of a recurrent
+ * mandate, so no separate {@code FRST} collection is needed.</p>
+ */
+final class Pain008Writer implements AutoCloseable {
+
+    static final @NotNull String NAMESPACE = "urn:iso:std:iso:20022:tech:xsd:pain.008.001.08";
+
+    private static final @NotNull XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+    private static final @NotNull DateTimeFormatter CREATION_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final @NotNull String NOT_PROVIDED = "NOTPROVIDED";
+    private static final int MAX_LENGTH_NAME = 70;
+    private static final int MAX_LENGTH_REMITTANCE_INFORMATION = 140;
+
+    private final @NotNull XMLStreamWriter xml;
+
+    /**
+     * <p>Creates a writer and starts the document.</p>
+     *
+     * @param out the stream to write the document to; not closed by this writer
+     * @throws XMLStreamException if the document can't be written
+     */
+    Pain008Writer(final @NotNull OutputStream out) throws XMLStreamException {
+        super();
+        this.xml = OUTPUT_FACTORY.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+        xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+        xml.writeStartElement("Document");
+        xml.writeDefaultNamespace(NAMESPACE);
+        xml.writeStartElement("CstmrDrctDbtInitn");
+    }
+
+    /**
+     * <p>Writes the group header and the payment information of the creditor.</p>
+     *
+     * @param messageId the unique identifier of the message, also used for the payment information
+     * @param created the creation time of the message
+     * @param creditor the account of the creditor
+     * @param collection the settings of the collection
+     * @param transactions the number of transactions which will be written
+     * @param controlSum the total amount of all transactions which will be written
+     * @throws XMLStreamException if the header can't be written
+     */
+    void writeHeader(final @NotNull String messageId,
+                     final @NotNull LocalDateTime created,
+                     final @NotNull SepaCreditor creditor,
+                     final @NotNull SepaCollection collection,
+                     final int transactions,
+                     final @NotNull BigDecimal controlSum) throws XMLStreamException {
+        xml.writeStartElement("GrpHdr");
+        writeElement("MsgId", messageId);
+        writeElement("CreDtTm", CREATION_FORMAT.format(created.withNano(0)));
+        writeElement("NbOfTxs", Integer.toString(transactions));
+        writeElement("CtrlSum", formatAmount(controlSum));
+        xml.writeStartElement("InitgPty");
+        writeElement("Nm", truncate(creditor.name(), MAX_LENGTH_NAME));
+        xml.writeEndElement();
+        xml.writeEndElement();
+
+        xml.writeStartElement("PmtInf");
+        writeElement("PmtInfId", messageId);
+        writeElement("PmtMtd", "DD");
+        writeElement("NbOfTxs", Integer.toString(transactions));
+        writeElement("CtrlSum", formatAmount(controlSum));
+        xml.writeStartElement("PmtTpInf");
+        xml.writeStartElement("SvcLvl");
+        writeElement("Cd", "SEPA");
+        xml.writeEndElement();
+        xml.writeStartElement("LclInstrm");
+        writeElement("Cd", "CORE");
+        xml.writeEndElement();
+        writeElement("SeqTp", "RCUR"); // also valid for the first collection, see class comment
+        xml.writeEndElement();
+        writeElement("ReqdColltnDt", DateTimeFormatter.ISO_LOCAL_DATE.format(collection.collectionDate()));
+        writeParty("Cdtr", creditor.name());
+        writeAccount("CdtrAcct", creditor.iban());
+        writeAgent("CdtrAgt", creditor.bic());
+        writeElement("ChrgBr", "SLEV");
+        xml.writeStartElement("CdtrSchmeId");
+        xml.writeStartElement("Id");
+        xml.writeStartElement("PrvtId");
+        xml.writeStartElement("Othr");
+        writeElement("Id", creditor.creditorId());
+        xml.writeStartElement("SchmeNm");
+        writeElement("Prtry", "SEPA");
+        xml.writeEndElement();
+        xml.writeEndElement();
+        xml.writeEndElement();
+        xml.writeEndElement();
+        xml.writeEndElement();
+    }
+
+    /**
+     * <p>Writes a single direct debit transaction.</p>
+     *
+     * @param mandateReference the mandate reference, also used as end-to-end identification
+     * @param signatureDate the date of signature of the mandate
+     * @param amount the amount to collect in EUR
+     * @param name the name of the account holder
+     * @param iban the IBAN of the account
+     * @param bic the BIC of the bank; may be empty
+     * @param remittanceInformation the text shown on the bank statement
+     * @throws XMLStreamException if the transaction can't be written
+     */
+    @SuppressWarnings("java:S107") // the parameters are the fields of a transaction
+    void writeTransaction(final @NotNull String mandateReference,
+                          final @NotNull LocalDate signatureDate,
+                          final @NotNull BigDecimal amount,
+                          final @NotNull String name,
+                          final @NotNull String iban,
+                          final @NotNull String bic,
+                          final @NotNull String remittanceInformation) throws XMLStreamException {
+        xml.writeStartElement("DrctDbtTxInf");
+        xml.writeStartElement("PmtId");
+        writeElement("EndToEndId", mandateReference);
+        xml.writeEndElement();
+        xml.writeStartElement("InstdAmt");
+        xml.writeAttribute("Ccy", "EUR");
+        xml.writeCharacters(formatAmount(amount));
+        xml.writeEndElement();
+        xml.writeStartElement("DrctDbtTx");
+        xml.writeStartElement("MndtRltdInf");
+        writeElement("MndtId", mandateReference);
+        writeElement("DtOfSgntr", DateTimeFormatter.ISO_LOCAL_DATE.format(signatureDate));
+        xml.writeEndElement();
+        xml.writeEndElement();
+        writeAgent("DbtrAgt", bic);
+        writeParty("Dbtr", name);
+        writeAccount("DbtrAcct", iban);
+        xml.writeStartElement("RmtInf");
+        writeElement("Ustrd", truncate(remittanceInformation, MAX_LENGTH_REMITTANCE_INFORMATION));
+        xml.writeEndElement();
+        xml.writeEndElement();
+    }
+
+    /**
+     * <p>Ends the document and flushes it to the output stream.</p>
+     *
+     * @throws XMLStreamException if the end of the document can't be written
+     */
+    @Override
+    public void close() throws XMLStreamException {
+        xml.writeEndDocument();
+        xml.flush();
+        xml.close();
+    }
+
+    private void writeElement(final @NotNull String name,
+                              final @NotNull String value) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(value);
+        xml.writeEndElement();
+    }
+
+    private void writeParty(final @NotNull String element,
+                            final @NotNull String name) throws XMLStreamException {
+        xml.writeStartElement(element);
+        writeElement("Nm", truncate(name, MAX_LENGTH_NAME));
+        xml.writeEndElement();
+    }
+
+    private void writeAccount(final @NotNull String element,
+                              final @NotNull String iban) throws XMLStreamException {
+        xml.writeStartElement(element);
+        xml.writeStartElement("Id");
+        writeElement("IBAN", iban);
+        xml.writeEndElement();
+        xml.writeEndElement();
+    }
+
+    private void writeAgent(final @NotNull String element,
+                            final @NotNull String bic) throws XMLStreamException {
+        xml.writeStartElement(element);
+        xml.writeStartElement("FinInstnId");
+        if (bic.isBlank()) {
+            xml.writeStartElement("Othr");
+            writeElement("Id", NOT_PROVIDED);
+            xml.writeEndElement();
+        } else {
+            writeElement("BICFI", bic);
+        }
+        xml.writeEndElement();
+        xml.writeEndElement();
+    }
+
+    static @NotNull String formatAmount(final @NotNull BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    static @NotNull String truncate(final @NotNull String text,
+                                    final int maxLength) {
+        return text.length() <= maxLength ? text : text.substring(0, maxLength);
+    }
+
+}
@@ -0,0 +1,278 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.control;
+
+import eu.ijug.dukeops.domain.clubdesk.entity.SepaCollection;
+import eu.ijug.dukeops.domain.clubdesk.entity.SepaCreditor;
+import eu.ijug.dukeops.domain.clubdesk.entity.SepaRejection;
+import eu.ijug.dukeops.domain.clubdesk.entity.SepaSummary;
+import eu.ijug.dukeops.infra.persistence.jooq.generated.tables.records.ClubdeskRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.iban4j.BicUtil;
+import org.iban4j.Iban4jException;
+import org.iban4j.IbanUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jooq.DSLContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.CLUBDESK;
+
+/**
+ * <p>Spring-managed service that creates SEPA direct debit files (pain.008) to collect the membership fees
+ * from all members who pay by SEPA direct debit.</p>
+ *
+ * <p>The members are read through a lazy jOOQ cursor in chunks. The IBAN, BIC and mandate reference of
+ * the members in a chunk are validated in parallel, then the chunk is written in the order of the cursor.
+ * Only one chunk is kept in memory, regardless of the number of members. Of the members who can't be
+ * included, only the number and the first {@value #MAX_REJECTIONS} are kept.</p>
+ *
+ * <p>The number of direct debits written to files is recorded in the metric
+ * {@code dukeops.sepa.transactions}.</p>
+ */
+@Service
+public class SepaDirectDebitService {
+
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(SepaDirectDebitService.class);
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_REJECTIONS = 100;
+    private static final @NotNull DateTimeFormatter MESSAGE_ID_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final @NotNull DSLContext dsl;
+    private final @NotNull Clock clock;
+    private final @NotNull SepaCreditor creditor;
+    private final @NotNull Counter transactions;
+
+    /**
+     * <p>Creates a new {@code SepaDirectDebitService}.</p>
+     *
+     * @param dsl the jOOQ DSL context used to read the ClubDesk data
+     * @param clock the clock used for the creation time of the files
+     * @param meterRegistry the registry for the direct debit metrics
+     * @param creditorName the name of the association collecting the fees
+     * @param creditorIban the IBAN of the account of the association
+     * @param creditorBic the BIC of the bank of the association; may be empty
+     * @param creditorId the SEPA creditor identifier of the association
+     */
+    @SuppressWarnings("java:S107") // the creditor is configured with single properties
+    public SepaDirectDebitService(final @NotNull DSLContext dsl,
+                                  final @NotNull Clock clock,
+                                  final @NotNull MeterRegistry meterRegistry,
+                                  @Value("${dukeops.sepa.creditor.name:}") final @NotNull String creditorName,
+                                  @Value("${dukeops.sepa.creditor.iban:}") final @NotNull String creditorIban,
+                                  @Value("${dukeops.sepa.creditor.bic:}") final @NotNull String creditorBic,
+                                  @Value("${dukeops.sepa.creditor.id:}") final @NotNull String creditorId) {
+        super();
+        this.dsl = dsl;
+        this.clock = clock;
+        this.creditor = new SepaCreditor(creditorName.trim(), normalize(creditorIban), normalize(creditorBic),
+                normalize(creditorId));
+        this.transactions = Counter.builder("dukeops.sepa.transactions")
+                .description("Number of SEPA direct debits written to files")
+                .register(meterRegistry);
+    }
+
+    /**
+     * <p>Returns the Java User Groups of all members who pay by SEPA direct debit. They are the categories
+     * for which different amounts can be collected.</p>
+     *
+     * @return the names of the Java User Groups, sorted alphabetically
+     */
+    @Transactional(readOnly = true)
+    public @NotNull List<String> getCategories() {
+        return dsl.selectDistinct(CLUBDESK.JUG)
+                .from(CLUBDESK)
+                .where(CLUBDESK.SEPA_ENABLED.isTrue()
+                        .and(CLUBDESK.JUG.notEqual("")))
+                .orderBy(CLUBDESK.JUG.asc())
+                .fetchInto(String.class);
+    }
+
+    /**
+     * <p>Validates the SEPA data of all members who pay by SEPA direct debit and calculates the number and
+     * the total amount of the direct debits.</p>
+     *
+     * @param collection the settings of the collection
+     * @return the summary including the members who can't be included
+     */
+    @Transactional(readOnly = true)
+    public @NotNull SepaSummary check(final @NotNull SepaCollection collection) {
+        final var totals = new Totals();
+        streamDebits(collection, totals::add);
+        return totals.toSummary();
+    }
+
+    /**
+     * <p>Writes a SEPA direct debit file (pain.008.001.08) for all members who pay by SEPA direct debit and
+     * whose SEPA data is valid.</p>
+     *
+     * <p>The header of the file contains the number and the total amount of the direct debits, so the
+     * members are read twice: first to validate them and calculate the totals, then to write the direct
+     * debits. Both passes run in the same read-only transaction and see the same data.</p>
+     *
+     * <p>The mandate reference is used as end-to-end identification. The date of signature of the mandate
+     * isn't stored, the date the ClubDesk record was created is used instead.</p>
+     *
+     * @param collection the settings of the collection
+     * @param out the stream to write the file to; not closed by this method
+     * @return the summary including the members who are not included in the file
+     * @throws IllegalStateException if the creditor is not configured
+     * @throws XMLStreamException if the file can't be written
+     */
+    @Transactional(readOnly = true)
+    public @NotNull SepaSummary writeDirectDebit(final @NotNull SepaCollection collection,
+                                                 final @NotNull OutputStream out) throws XMLStreamException {
+        if (!creditor.isConfigured()) {
+            throw new IllegalStateException("The SEPA creditor is not configured");
+        }
+
+        final var summary = check(collection);
+        final var now = LocalDateTime.now(clock);
+        final var messageId = "DUKEOPS-" + MESSAGE_ID_FORMAT.format(now);
+
+        try (var writer = new Pain008Writer(out)) {
+            writer.writeHeader(messageId, now, creditor, collection, summary.transactions(), summary.controlSum());
+            streamDebits(collection, debit -> {
+                if (debit.rejection() == null) {
+                    final var member = debit.member();
+                    writer.writeTransaction(
+                            member.getSepaMandateReference(),
+                            member.getCreated().toLocalDate(),
+                            debit.amount(),
+                            debtorName(member),
+                            normalize(member.getSepaIban()),
+                            normalize(member.getSepaBic()),
+                            collection.remittanceInformation());
+                }
+            });
+        }
+
+        transactions.increment(summary.transactions());
+        LOGGER.info("Created SEPA direct debit file {} with {} direct debits of EUR {}, {} members rejected.",
+                messageId, summary.transactions(), summary.controlSum(), summary.rejectedMembers());
+        return summary;
+    }
+
+    private <E extends Exception> void streamDebits(final @NotNull SepaCollection collection,
+                                                    final @NotNull DebitConsumer<E> consumer) throws E {
+        try (var cursor = dsl.selectFrom(CLUBDESK)
+                .where(CLUBDESK.SEPA_ENABLED.isTrue())
+                .orderBy(CLUBDESK.ID)
+                .fetchSize(CHUNK_SIZE)
+                .fetchLazy()) {
+            while (cursor.hasNext()) {
+                final var debits = cursor.fetchNext(CHUNK_SIZE).parallelStream()
+                        .map(member -> new Debit(member, amountFor(collection, member), validate(member)))
+                        .toList();
+                for (final var debit : debits) {
+                    consumer.accept(debit);
+                }
+            }
+        }
+    }
+
+    private static @NotNull BigDecimal amountFor(final @NotNull SepaCollection collection,
+                                                 final @NotNull ClubdeskRecord member) {
+        return collection.amountFor(member.getJug()).setScale(2);
+    }
+
+    private static @Nullable SepaRejection.Reason validate(final @NotNull ClubdeskRecord member) {
+        if (member.getSepaMandateReference().isBlank()) {
+            return SepaRejection.Reason.MISSING_MANDATE_REFERENCE;
+        }
+        try {
+            IbanUtil.validate(normalize(member.getSepaIban()));
+        } catch (final Iban4jException e) {
+            return SepaRejection.Reason.INVALID_IBAN;
+        }
+        final var bic = normalize(member.getSepaBic());
+        if (!bic.isEmpty()) {
+            try {
+                BicUtil.validate(bic);
+            } catch (final Iban4jException e) {
+                return SepaRejection.Reason.INVALID_BIC;
+            }
+        }
+        return null;
+    }
+
+    private static @NotNull String debtorName(final @NotNull ClubdeskRecord member) {
+        final var accountHolder = member.getSepaAccountHolder().trim();
+        return accountHolder.isEmpty() ? fullName(member) : accountHolder;
+    }
+
+    private static @NotNull String fullName(final @NotNull ClubdeskRecord member) {
+        return (member.getFirstname() + " " + member.getLastname()).trim();
+    }
+
+    private static @NotNull String normalize(final @NotNull String value) {
+        return value.replace(" ", "").toUpperCase(Locale.ROOT);
+    }
+
+    @FunctionalInterface
+    private interface DebitConsumer<E extends Exception> {
+        void accept(@NotNull Debit debit) throws E;
+    }
+
+    private record Debit(@NotNull ClubdeskRecord member,
+                         @NotNull BigDecimal amount,
+                         @Nullable SepaRejection.Reason rejection) {
+    }
+
+    private static final class Totals {
+
+        private final @NotNull List<SepaRejection> rejections = new ArrayList<>();
+        private int count;
+        private @NotNull BigDecimal sum = BigDecimal.ZERO;
+        private int rejected;
+
+        private void add(final @NotNull Debit debit) {
+            final var rejection = debit.rejection();
+            if (rejection == null) {
+                count++;
+                sum = sum.add(debit.amount());
+            } else {
+                rejected++;
+                if (rejections.size() < MAX_REJECTIONS) {
+                    rejections.add(new SepaRejection(fullName(debit.member()), debit.member().getEmail(), rejection));
+                }
+            }
+        }
+
+        private @NotNull SepaSummary toSummary() {
+            return new SepaSummary(count, sum.setScale(2), rejected, rejections);
+        }
+
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.entity;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <p>Selects the ClubDesk records to export. A {@code null} value matches all records.</p>
+ *
+ * @param jug the name of the Java User Group
+ * @param country the country of the address
+ * @param newsletter whether the members receive the newsletter
+ * @param sepaEnabled whether the members pay by SEPA direct debit
+ */
+public record ExportFilter(@Nullable String jug,
+                           @Nullable Country country,
+                           @Nullable Boolean newsletter,
+                           @Nullable Boolean sepaEnabled) {
+
+    /**
+     * <p>Returns a filter which matches all records.</p>
+     *
+     * @return the filter; never {@code null}
+     */
+    public static @NotNull ExportFilter all() {
+        return new ExportFilter(null, null, null, null);
+    }
+
+}
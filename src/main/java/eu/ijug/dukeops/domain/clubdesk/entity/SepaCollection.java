@@ -0,0 +1,87 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.entity;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * <p>The settings of a SEPA direct debit collection of the membership fees.</p>
+ *
+ * <p>The amount is configured per member category, which is the Java User Group of the member. Members
+ * of a Java User Group without an own amount pay the default amount. All amounts must be at least
+ * {@code 0.01} and have at most two decimal places, as required for SEPA direct debits.</p>
+ *
+ * @param collectionDate the requested collection date
+ * @param remittanceInformation the text shown on the bank statement of the members
+ * @param defaultAmount the amount in EUR for members of Java User Groups without an own amount
+ * @param amounts the amounts in EUR per Java User Group
+ */
+public record SepaCollection(@NotNull LocalDate collectionDate,
+                             @NotNull String remittanceInformation,
+                             @NotNull BigDecimal defaultAmount,
+                             @NotNull Map<String, BigDecimal> amounts) {
+
+    private static final @NotNull BigDecimal MIN_AMOUNT = new BigDecimal("0.01");
+    private static final int MAX_DECIMAL_PLACES = 2;
+
+    /**
+     * <p>Creates the settings with an immutable copy of the amounts per Java User Group.</p>
+     *
+     * @param collectionDate the requested collection date
+     * @param remittanceInformation the text shown on the bank statement of the members
+     * @param defaultAmount the amount in EUR for members of Java User Groups without an own amount
+     * @param amounts the amounts in EUR per Java User Group
+     * @throws IllegalArgumentException if an amount is invalid
+     */
+    public SepaCollection {
+        requireValidAmount(defaultAmount);
+        amounts.values().forEach(SepaCollection::requireValidAmount);
+        amounts = Map.copyOf(amounts);
+    }
+
+    /**
+     * <p>Checks whether the given amount can be collected by SEPA direct debit.</p>
+     *
+     * @param amount the amount in EUR
+     * @return {@code true} if the amount is at least {@code 0.01} and has at most two decimal places
+     */
+    public static boolean isValidAmount(final @NotNull BigDecimal amount) {
+        return amount.compareTo(MIN_AMOUNT) >= 0 && amount.stripTrailingZeros().scale() <= MAX_DECIMAL_PLACES;
+    }
+
+    private static void requireValidAmount(final @NotNull BigDecimal amount) {
+        if (!isValidAmount(amount)) {
+            throw new IllegalArgumentException("Invalid amount '%s'".formatted(amount.toPlainString()));
+        }
+    }
+
+    /**
+     * <p>Returns the amount to collect from a member of the given Java User Group.</p>
+     *
+     * @param jug the Java User Group of the member
+     * @return the amount in EUR
+     */
+    public @NotNull BigDecimal amountFor(final @NotNull String jug) {
+        return amounts.getOrDefault(jug, defaultAmount);
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.entity;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>The account of the association that collects the membership fees by SEPA direct debit.</p>
+ *
+ * @param name the name of the association
+ * @param iban the IBAN of the account
+ * @param bic the BIC of the bank; may be empty
+ * @param creditorId the SEPA creditor identifier of the association
+ */
+public record SepaCreditor(@NotNull String name,
+                           @NotNull String iban,
+                           @NotNull String bic,
+                           @NotNull String creditorId) {
+
+    /**
+     * <p>Checks whether the account and the creditor identifier are configured.</p>
+     *
+     * @return {@code true} if direct debits can be created for this creditor
+     */
+    public boolean isConfigured() {
+        return !name.isBlank() && !iban.isBlank() && !creditorId.isBlank();
+    }
+
+}
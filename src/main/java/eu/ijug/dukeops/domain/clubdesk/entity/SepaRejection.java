@@ -0,0 +1,55 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.entity;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>A SEPA-enabled member who can't be included in a direct debit collection.</p>
+ *
+ * @param name the full name of the member
+ * @param email the email address of the member
+ * @param reason the reason why the member is not included
+ */
+public record SepaRejection(@NotNull String name,
+                            @NotNull String email,
+                            @NotNull Reason reason) {
+
+    /**
+     * <p>The reasons why a member can't be included in a direct debit collection.</p>
+     */
+    public enum Reason {
+
+        /**
+         * <p>The member has no mandate reference.</p>
+         */
+        MISSING_MANDATE_REFERENCE,
+
+        /**
+         * <p>The IBAN of the member is invalid.</p>
+         */
+        INVALID_IBAN,
+
+        /**
+         * <p>The BIC of the member is invalid.</p>
+         */
+        INVALID_BIC
+
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.entity;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * <p>The result of checking or creating a SEPA direct debit collection.</p>
+ *
+ * @param transactions the number of direct debits
+ * @param controlSum the total amount of all direct debits in EUR
+ * @param rejectedMembers the number of SEPA-enabled members who are not included
+ * @param rejections the first SEPA-enabled members who are not included; at most {@code rejectedMembers}
+ */
+public record SepaSummary(int transactions,
+                          @NotNull BigDecimal controlSum,
+                          int rejectedMembers,
+                          @NotNull List<SepaRejection> rejections) {
+
+    /**
+     * <p>Creates a summary with an immutable copy of the rejections.</p>
+     *
+     * @param transactions the number of direct debits
+     * @param controlSum the total amount of all direct debits in EUR
+     * @param rejectedMembers the number of SEPA-enabled members who are not included
+     * @param rejections the first SEPA-enabled members who are not included; at most {@code rejectedMembers}
+     */
+    public SepaSummary {
+        rejections = List.copyOf(rejections);
+    }
+
+}
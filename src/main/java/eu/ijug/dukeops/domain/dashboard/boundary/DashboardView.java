@@ -24,8 +24,11 @@ import com.vaadin.flow.component.html.Image;
 import com.vaadin.flow.router.Route;
 import eu.ijug.dukeops.domain.authentication.control.AuthenticationService;
 import eu.ijug.dukeops.domain.clubdesk.boundary.ClubDeskEditView;
+import eu.ijug.dukeops.domain.clubdesk.boundary.ClubDeskExportView;
 import eu.ijug.dukeops.domain.clubdesk.boundary.ClubDeskImportView;
+import eu.ijug.dukeops.domain.clubdesk.boundary.SepaDirectDebitView;
 import eu.ijug.dukeops.infra.ui.vaadin.control.Navigator;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationKey;
 import eu.ijug.dukeops.infra.ui.vaadin.layout.AbstractView;
 import eu.ijug.dukeops.infra.ui.vaadin.layout.WebsiteLayout;
 import jakarta.annotation.security.PermitAll;
@@ -54,15 +57,25 @@ public final class DashboardView extends AbstractView {
         final var loggedInUser = authenticationService.getLoggedInUser().orElseThrow();
         if (loggedInUser.role() == ADMIN) {
             cardContainer.add(createCard(
-                    getTranslation("domain.clubdesk.boundary.ClubDeskImportView.title"),
-                    getTranslation("domain.clubdesk.boundary.ClubDeskImportView.description"),
+                    getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_TITLE),
+                    getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_IMPORT_VIEW_DESCRIPTION),
                     "images/clubdesk-import.webp",
                     ClubDeskImportView.class));
+            cardContainer.add(createCard(
+                    getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EXPORT_VIEW_TITLE),
+                    getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EXPORT_VIEW_DESCRIPTION),
+                    "images/clubdesk-import.webp",
+                    ClubDeskExportView.class));
+            cardContainer.add(createCard(
+                    getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_TITLE),
+                    getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_SEPA_DIRECT_DEBIT_VIEW_DESCRIPTION),
+                    "images/clubdesk-import.webp",
+                    SepaDirectDebitView.class));
         }
 
         cardContainer.add(createCard(
-                getTranslation("domain.clubdesk.boundary.ClubDeskEditView.title"),
-                getTranslation("domain.clubdesk.boundary.ClubDeskEditView.description"),
+                getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_TITLE),
+                getTranslation(TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_DESCRIPTION),
                 "images/clubdesk-edit.webp",
                 ClubDeskEditView.class));
     }
@@ -86,7 +99,7 @@ public final class DashboardView extends AbstractView {
 
     @Override
     protected @NotNull String getViewTitle() {
-        return getTranslation("web.view.DashboardView.title");
+        return getTranslation(TranslationKey.WEB_VIEW_DASHBOARD_VIEW_TITLE);
     }
 
 }
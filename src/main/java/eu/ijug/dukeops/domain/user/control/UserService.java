@@ -17,15 +17,23 @@
  */
 package eu.ijug.dukeops.domain.user.control;
 
+import eu.ijug.dukeops.domain.user.entity.UserChangedEvent;
+import eu.ijug.dukeops.domain.user.entity.UserDeletedEvent;
 import eu.ijug.dukeops.domain.user.entity.UserDto;
 import eu.ijug.dukeops.infra.persistence.jooq.StorageService;
 import eu.ijug.dukeops.infra.persistence.jooq.UniqueIdGenerator;
 import eu.ijug.dukeops.infra.persistence.jooq.generated.tables.records.UserRecord;
 import org.jetbrains.annotations.NotNull;
 import org.jooq.DSLContext;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -36,22 +44,31 @@ import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.USER;
  *
  * <p>The service provides CRUD-style operations for users and delegates identifier generation and
  * common persistence behaviour to the underlying {@link StorageService}.</p>
+ *
+ * <p>Every stored or deleted user is announced with a {@link UserChangedEvent} or {@link UserDeletedEvent},
+ * so components holding a copy of the user data, like the principals of logged-in users, can update it.</p>
  */
 @Service
 public class UserService extends StorageService {
 
+    private static final int CHUNK_SIZE = 1000;
+
     private final @NotNull DSLContext dsl;
+    private final @NotNull ApplicationEventPublisher eventPublisher;
 
     /**
      * <p>Creates a new user service using the provided jOOQ context and unique ID generator.</p>
      *
      * @param dsl the jOOQ DSL context used to execute database operations
      * @param idGenerator the generator used to create unique identifiers for new users
+     * @param eventPublisher the publisher used to announce changed and deleted users
      */
     public UserService(final @NotNull DSLContext dsl,
-                       final @NotNull UniqueIdGenerator idGenerator) {
+                       final @NotNull UniqueIdGenerator idGenerator,
+                       final @NotNull ApplicationEventPublisher eventPublisher) {
         super(idGenerator);
         this.dsl = dsl;
+        this.eventPublisher = eventPublisher;
     }
 
 
@@ -60,7 +77,8 @@ public class UserService extends StorageService {
      * in the given {@link UserDto}.</p>
      *
      * <p>If the user does not yet exist, a new database record is created. Otherwise, the existing
-     * record is updated with the provided data.</p>
+     * record is updated with the provided data. A {@link UserChangedEvent} with the persisted data
+     * is published afterwards.</p>
      *
      * @param user the user data to store
      * @return the persisted user data as a DTO
@@ -68,8 +86,59 @@ public class UserService extends StorageService {
     public @NotNull UserDto storeUser(final @NotNull UserDto user) {
         final UserRecord userRecord = dsl.fetchOptional(USER, USER.ID.eq(user.id()))
                 .orElse(dsl.newRecord(USER));
+        final var previousEmail = userRecord.getEmail();
         createOrUpdate(USER, user, userRecord);
-        return userRecord.into(UserDto.class);
+        final var storedUser = userRecord.into(UserDto.class);
+        eventPublisher.publishEvent(new UserChangedEvent(storedUser, previousEmail));
+        return storedUser;
+    }
+
+    /**
+     * <p>Creates or updates all given users like {@link #storeUser(UserDto)}, but with a few batches instead of a
+     * read and a write per user.</p>
+     *
+     * <p>The existing records are read in chunks of {@value #CHUNK_SIZE} users and stored in batches of the same
+     * size. A {@link UserChangedEvent} is published for every stored user and all of them are evicted from the
+     * cache at once.</p>
+     *
+     * @param users the user data to store
+     * @return the persisted user data as DTOs, in the same order as given
+     */
+    public @NotNull List<UserDto> storeUsers(final @NotNull List<UserDto> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+
+        final var ids = users.stream().map(UserDto::id).filter(Objects::nonNull).toList();
+        final var existingRecords = new HashMap<UUID, UserRecord>();
+        for (int start = 0; start < ids.size(); start += CHUNK_SIZE) {
+            dsl.selectFrom(USER)
+                    .where(USER.ID.in(ids.subList(start, Math.min(start + CHUNK_SIZE, ids.size()))))
+                    .fetch()
+                    .forEach(userRecord -> existingRecords.put(userRecord.getId(), userRecord));
+        }
+
+        final var userRecords = new ArrayList<UserRecord>(users.size());
+        final var previousEmails = new ArrayList<String>(users.size());
+        for (final var user : users) {
+            final var existingRecord = user.id() == null ? null : existingRecords.get(user.id());
+            final var userRecord = existingRecord == null ? dsl.newRecord(USER) : existingRecord;
+            previousEmails.add(userRecord.getEmail());
+            prepareCreateOrUpdate(USER, user, userRecord);
+            userRecords.add(userRecord);
+        }
+
+        for (int start = 0; start < userRecords.size(); start += CHUNK_SIZE) {
+            dsl.batchStore(userRecords.subList(start, Math.min(start + CHUNK_SIZE, userRecords.size()))).execute();
+        }
+
+        final var storedUsers = new ArrayList<UserDto>(userRecords.size());
+        for (int i = 0; i < userRecords.size(); i++) {
+            final var storedUser = userRecords.get(i).into(UserDto.class);
+            eventPublisher.publishEvent(new UserChangedEvent(storedUser, previousEmails.get(i)));
+            storedUsers.add(storedUser);
+        }
+        return List.copyOf(storedUsers);
     }
 
     /**
@@ -99,7 +168,9 @@ public class UserService extends StorageService {
     /**
      * <p>Retrieves a user by the given email address.</p>
      *
-     * <p>If no user with the specified email exists, an empty {@link Optional} is returned.</p>
+     * <p>If no user with the specified email exists, an empty {@link Optional} is returned. The lookup is
+     * served by the primary database, because it is used to log in and to resolve users before changing them,
+     * which must not miss a user created just before.</p>
      *
      * @param email the email address of the user to look up
      * @return an optional containing the user if found, or empty otherwise
@@ -110,16 +181,42 @@ public class UserService extends StorageService {
                 .fetchOptionalInto(UserDto.class);
     }
 
+    /**
+     * <p>Retrieves all users with one of the given email addresses.</p>
+     *
+     * <p>The users are read in chunks of {@value #CHUNK_SIZE} email addresses. Email addresses without a user
+     * are skipped, so the result may contain fewer users than email addresses were given.</p>
+     *
+     * @param emails the email addresses of the users to look up
+     * @return the users found, in no particular order
+     */
+    public @NotNull List<UserDto> getUsersByEmails(final @NotNull Collection<String> emails) {
+        final var distinctEmails = List.copyOf(new LinkedHashSet<>(emails));
+        final var users = new ArrayList<UserDto>(distinctEmails.size());
+        for (int start = 0; start < distinctEmails.size(); start += CHUNK_SIZE) {
+            users.addAll(dsl.selectFrom(USER)
+                    .where(USER.EMAIL.in(distinctEmails.subList(start, Math.min(start + CHUNK_SIZE, distinctEmails.size()))))
+                    .fetchInto(UserDto.class));
+        }
+        return users;
+    }
+
     /**
      * <p>Deletes the given user based on the email address contained in the provided DTO.</p>
      *
+     * <p>A {@link UserDeletedEvent} is published only if a user record was actually deleted.</p>
+     *
      * @param user the user to delete
      * @return {@code true} if a user record was deleted, {@code false} otherwise
      */
     public boolean deleteUser(final @NotNull UserDto user) {
-        return dsl.delete(USER)
+        final var deleted = dsl.delete(USER)
                 .where(USER.EMAIL.eq(user.email()))
                 .execute() > 0;
+        if (deleted) {
+            eventPublisher.publishEvent(new UserDeletedEvent(user));
+        }
+        return deleted;
     }
 
 }
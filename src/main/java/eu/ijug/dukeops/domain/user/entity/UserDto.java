@@ -20,6 +20,7 @@ package eu.ijug.dukeops.domain.user.entity;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -30,4 +31,4 @@ public record UserDto(
         @NotNull String name,
         @NotNull String email,
         @NotNull UserRole role
-) { }
+) implements Serializable { }
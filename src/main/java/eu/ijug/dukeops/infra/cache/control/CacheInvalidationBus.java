@@ -0,0 +1,205 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.cache.control;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import eu.ijug.dukeops.infra.cache.entity.CacheInvalidationDto;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * <p>Evicts outdated cache entries on all nodes of a cluster.</p>
+ *
+ * <p>Caches register themselves under a name. Code changing data evicts the affected keys of a cache, the
+ * entries are evicted on this node immediately, or after the commit if a transaction is active. The evictions
+ * are collected and sent to the other nodes in one batch per cache by a {@link CacheInvalidationTransport}
+ * every second, so an import changing many records does not flood the channel. If more than
+ * {@value #MAX_KEYS} keys of a cache are evicted at once, the whole cache is evicted instead.</p>
+ *
+ * <p>Evictions of caches which are not registered are dropped without being sent. All nodes run the same code and
+ * register the same caches, so no other node would evict anything for them.</p>
+ */
+@Service
+public class CacheInvalidationBus {
+
+    /**
+     * <p>The maximum number of keys of a cache which are sent in one batch.</p>
+     */
+    static final int MAX_KEYS = 100;
+
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private final @NotNull CacheInvalidationTransport transport;
+    private final @NotNull UUID nodeId = UUID.randomUUID();
+    private final @NotNull Map<String, Consumer<CacheInvalidationDto>> caches = new ConcurrentHashMap<>();
+    private final @NotNull Map<String, Set<String>> pendingKeys = new HashMap<>();
+    private final @NotNull Set<String> pendingCaches = new HashSet<>();
+
+    /**
+     * <p>Creates a new cache invalidation bus.</p>
+     *
+     * @param transport the transport used to exchange the cache invalidations with other nodes
+     */
+    public CacheInvalidationBus(final @NotNull CacheInvalidationTransport transport) {
+        super();
+        this.transport = transport;
+    }
+
+    /**
+     * <p>Registers a cache, so its entries are evicted when they are changed on any node.</p>
+     *
+     * @param cacheName the unique name of the cache
+     * @param cache the cache to evict the entries from
+     * @param keyParser the function to convert the keys sent to other nodes back into cache keys
+     * @param <K> the type of the cache keys
+     */
+    public <K> void register(final @NotNull String cacheName,
+                             final @NotNull Cache<K, ?> cache,
+                             final @NotNull Function<String, K> keyParser) {
+        final Consumer<CacheInvalidationDto> evictor = invalidation -> {
+            if (invalidation.evictsAll()) {
+                cache.invalidateAll();
+            } else {
+                cache.invalidateAll(invalidation.keys().stream().map(keyParser).toList());
+            }
+        };
+        if (caches.putIfAbsent(cacheName, evictor) != null) {
+            throw new IllegalArgumentException("Duplicate cache '%s'".formatted(cacheName));
+        }
+    }
+
+    /**
+     * <p>Evicts an entry of a cache on all nodes.</p>
+     *
+     * @param cacheName the name of the cache
+     * @param key the key of the outdated entry
+     */
+    public void evict(final @NotNull String cacheName,
+                      final @NotNull Object key) {
+        evict(cacheName, List.of(key));
+    }
+
+    /**
+     * <p>Evicts entries of a cache on all nodes.</p>
+     *
+     * @param cacheName the name of the cache
+     * @param keys the keys of the outdated entries; the keys are sent to other nodes as strings
+     */
+    public void evict(final @NotNull String cacheName,
+                      final @NotNull Collection<?> keys) {
+        if (!keys.isEmpty()) {
+            afterCommit(new CacheInvalidationDto(cacheName,
+                    Set.copyOf(keys.stream().map(Object::toString).toList())));
+        }
+    }
+
+    /**
+     * <p>Evicts all entries of a cache on all nodes.</p>
+     *
+     * @param cacheName the name of the cache
+     */
+    public void evictAll(final @NotNull String cacheName) {
+        afterCommit(new CacheInvalidationDto(cacheName, Set.of()));
+    }
+
+    /**
+     * <p>Sends the collected evictions to the other nodes and applies the evictions received from them.</p>
+     */
+    @Scheduled(fixedDelayString = "${dukeops.cache.invalidation.interval:PT1S}")
+    public void synchronize() {
+        final var invalidations = takePending();
+        if (!invalidations.isEmpty()) {
+            try {
+                transport.publish(nodeId, invalidations);
+                LOGGER.debug("Sent {} cache invalidations to other nodes.", invalidations.size());
+            } catch (final RuntimeException e) {
+                LOGGER.warn("Unable to send cache invalidations, retrying later: {}", e.getMessage());
+                invalidations.forEach(this::addPending);
+            }
+        }
+        transport.receive(nodeId).forEach(this::evictLocally);
+    }
+
+    private void afterCommit(final @NotNull CacheInvalidationDto invalidation) {
+        if (!caches.containsKey(invalidation.cacheName())) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictEverywhere(invalidation);
+                }
+            });
+        } else {
+            evictEverywhere(invalidation);
+        }
+    }
+
+    private void evictEverywhere(final @NotNull CacheInvalidationDto invalidation) {
+        evictLocally(invalidation);
+        addPending(invalidation);
+    }
+
+    private void evictLocally(final @NotNull CacheInvalidationDto invalidation) {
+        final var evictor = caches.get(invalidation.cacheName());
+        if (evictor != null) {
+            evictor.accept(invalidation);
+        }
+    }
+
+    private synchronized void addPending(final @NotNull CacheInvalidationDto invalidation) {
+        final var cacheName = invalidation.cacheName();
+        if (pendingCaches.contains(cacheName)) {
+            return;
+        }
+        final var keys = pendingKeys.computeIfAbsent(cacheName, _ -> new HashSet<>());
+        keys.addAll(invalidation.keys());
+        if (invalidation.evictsAll() || keys.size() > MAX_KEYS) {
+            pendingKeys.remove(cacheName);
+            pendingCaches.add(cacheName);
+        }
+    }
+
+    private synchronized @NotNull List<CacheInvalidationDto> takePending() {
+        final var invalidations = new ArrayList<CacheInvalidationDto>(pendingCaches.size() + pendingKeys.size());
+        pendingCaches.forEach(cacheName -> invalidations.add(new CacheInvalidationDto(cacheName, Set.of())));
+        pendingKeys.forEach((cacheName, keys) -> invalidations.add(new CacheInvalidationDto(cacheName, keys)));
+        pendingCaches.clear();
+        pendingKeys.clear();
+        return invalidations;
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.cache.control;
+
+import eu.ijug.dukeops.infra.cache.entity.CacheInvalidationDto;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * <p>Transports cache invalidations between the nodes of a cluster.</p>
+ */
+public interface CacheInvalidationTransport {
+
+    /**
+     * <p>Sends cache invalidations to all other nodes.</p>
+     *
+     * @param nodeId the ID of the sending node
+     * @param invalidations the cache invalidations to send
+     */
+    void publish(@NotNull UUID nodeId, @NotNull List<CacheInvalidationDto> invalidations);
+
+    /**
+     * <p>Returns the cache invalidations sent by other nodes since the last call. The first call only marks
+     * the current position, a node which just started has no outdated cache entries.</p>
+     *
+     * @param nodeId the ID of the receiving node
+     * @return the cache invalidations sent by other nodes, in the order they were sent; invalidations sent at
+     *         the same time may be returned in any order
+     */
+    @NotNull List<CacheInvalidationDto> receive(@NotNull UUID nodeId);
+
+}
@@ -0,0 +1,76 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.cache.control;
+
+import eu.ijug.dukeops.infra.cache.entity.CacheInvalidationDto;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * <p>{@link CacheInvalidationTransport} which keeps the cache invalidations in memory.</p>
+ *
+ * <p>The transport only connects nodes within the same JVM. It is meant for tests and for installations
+ * with a single node, where it keeps the cache invalidations off the database. Messages are removed as soon
+ * as all known nodes have received them.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "dukeops.cache.invalidation.transport", havingValue = "memory")
+public class InMemoryCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private final @NotNull List<Message> messages = new ArrayList<>();
+    private final @NotNull Map<UUID, Long> positions = new HashMap<>();
+    private long offset;
+
+    @Override
+    public synchronized void publish(final @NotNull UUID nodeId,
+                                     final @NotNull List<CacheInvalidationDto> invalidations) {
+        invalidations.forEach(invalidation -> messages.add(new Message(nodeId, invalidation)));
+    }
+
+    @Override
+    public synchronized @NotNull List<CacheInvalidationDto> receive(final @NotNull UUID nodeId) {
+        final var end = offset + messages.size();
+        final var position = positions.put(nodeId, end);
+        final var invalidations = new ArrayList<CacheInvalidationDto>();
+        if (position != null) {
+            for (final var message : messages.subList((int) (position - offset), messages.size())) {
+                if (!message.nodeId().equals(nodeId)) {
+                    invalidations.add(message.invalidation());
+                }
+            }
+        }
+        removeReceivedMessages();
+        return List.copyOf(invalidations);
+    }
+
+    private void removeReceivedMessages() {
+        final var received = positions.values().stream().mapToLong(Long::longValue).min().orElse(offset) - offset;
+        messages.subList(0, (int) received).clear();
+        offset += received;
+    }
+
+    private record Message(@NotNull UUID nodeId, @NotNull CacheInvalidationDto invalidation) { }
+
+}
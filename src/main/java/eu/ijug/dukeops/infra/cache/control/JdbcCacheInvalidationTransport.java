@@ -0,0 +1,141 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.cache.control;
+
+import eu.ijug.dukeops.infra.cache.entity.CacheInvalidationDto;
+import eu.ijug.dukeops.infra.persistence.jooq.generated.tables.records.CacheInvalidationRecord;
+import org.jetbrains.annotations.NotNull;
+import org.jooq.DSLContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.CACHE_INVALIDATION;
+
+/**
+ * <p>{@link CacheInvalidationTransport} which exchanges the cache invalidations through a database table.</p>
+ *
+ * <p>Every node writes its cache invalidations into the table and polls it for the rows of the other nodes. The
+ * rows are identified by a random UUID and polled by their creation time. Each poll reads again the rows created
+ * up to {@value #OVERLAP_SECONDS} seconds before the previous poll and skips the rows already received, so rows
+ * committed late or written by a node with a slightly different clock are not missed. All nodes share the
+ * database anyway, so no additional infrastructure is needed. Rows older than one hour are deleted
+ * regularly.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "dukeops.cache.invalidation.transport", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(JdbcCacheInvalidationTransport.class);
+    private static final @NotNull Duration RETENTION = Duration.ofHours(1);
+    private static final long OVERLAP_SECONDS = 10;
+    private static final @NotNull String KEY_SEPARATOR = "\n";
+
+    private final @NotNull DSLContext dsl;
+    private final @NotNull Clock clock;
+    private final @NotNull Map<UUID, Position> positions = new ConcurrentHashMap<>();
+
+    /**
+     * <p>Creates a new transport using the provided jOOQ DSL context and clock.</p>
+     *
+     * @param dsl the jOOQ DSL context used to execute database operations
+     * @param clock the clock used to determine the creation timestamps
+     */
+    public JdbcCacheInvalidationTransport(final @NotNull DSLContext dsl,
+                                          final @NotNull Clock clock) {
+        super();
+        this.dsl = dsl;
+        this.clock = clock;
+    }
+
+    @Override
+    public void publish(final @NotNull UUID nodeId,
+                        final @NotNull List<CacheInvalidationDto> invalidations) {
+        if (invalidations.isEmpty()) {
+            return;
+        }
+        final var now = LocalDateTime.now(clock);
+        var insert = dsl.insertInto(CACHE_INVALIDATION,
+                CACHE_INVALIDATION.ID, CACHE_INVALIDATION.CREATED, CACHE_INVALIDATION.NODE_ID,
+                CACHE_INVALIDATION.CACHE_NAME, CACHE_INVALIDATION.CACHE_KEYS);
+        for (final var invalidation : invalidations) {
+            insert = insert.values(UUID.randomUUID(), now, nodeId, invalidation.cacheName(),
+                    String.join(KEY_SEPARATOR, invalidation.keys()));
+        }
+        insert.execute();
+    }
+
+    @Override
+    public @NotNull List<CacheInvalidationDto> receive(final @NotNull UUID nodeId) {
+        final var now = LocalDateTime.now(clock);
+        final var position = positions.get(nodeId);
+        if (position == null) {
+            final var receivedIds = dsl.select(CACHE_INVALIDATION.ID)
+                    .from(CACHE_INVALIDATION)
+                    .where(CACHE_INVALIDATION.CREATED.ge(now.minusSeconds(OVERLAP_SECONDS)))
+                    .fetchSet(CACHE_INVALIDATION.ID);
+            positions.put(nodeId, new Position(now, receivedIds));
+            return List.of();
+        }
+
+        final var records = dsl.selectFrom(CACHE_INVALIDATION)
+                .where(CACHE_INVALIDATION.CREATED.ge(position.polled().minusSeconds(OVERLAP_SECONDS)))
+                .orderBy(CACHE_INVALIDATION.CREATED)
+                .fetch();
+        positions.put(nodeId, new Position(now, records.stream()
+                .map(CacheInvalidationRecord::getId)
+                .collect(Collectors.toUnmodifiableSet())));
+        return records.stream()
+                .filter(invalidation -> !position.receivedIds().contains(invalidation.getId()))
+                .filter(invalidation -> !nodeId.equals(invalidation.getNodeId()))
+                .map(invalidation -> new CacheInvalidationDto(invalidation.getCacheName(),
+                        parseKeys(invalidation.getCacheKeys())))
+                .toList();
+    }
+
+    /**
+     * <p>Deletes all cache invalidations which have been received by all nodes.</p>
+     */
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT1H")
+    public void deleteOldInvalidations() {
+        final var count = dsl.deleteFrom(CACHE_INVALIDATION)
+                .where(CACHE_INVALIDATION.CREATED.lt(LocalDateTime.now(clock).minus(RETENTION)))
+                .execute();
+        LOGGER.debug("Deleted {} old cache invalidations.", count);
+    }
+
+    private static @NotNull Set<String> parseKeys(final @NotNull String keys) {
+        return keys.isEmpty() ? Set.of() : Set.copyOf(Arrays.asList(keys.split(KEY_SEPARATOR)));
+    }
+
+    private record Position(@NotNull LocalDateTime polled, @NotNull Set<UUID> receivedIds) { }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.cache.entity;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+/**
+ * <p>Announces that entries of a cache are outdated and must be evicted on all nodes.</p>
+ *
+ * @param cacheName the name of the cache
+ * @param keys the keys of the outdated entries; an empty set evicts all entries of the cache
+ */
+public record CacheInvalidationDto(@NotNull String cacheName,
+                                   @NotNull Set<String> keys) {
+
+    /**
+     * <p>Creates a cache invalidation with an immutable copy of the given keys.</p>
+     *
+     * @param cacheName the name of the cache
+     * @param keys the keys of the outdated entries; an empty set evicts all entries of the cache
+     */
+    public CacheInvalidationDto {
+        keys = Set.copyOf(keys);
+    }
+
+    /**
+     * <p>Checks whether all entries of the cache are evicted.</p>
+     *
+     * @return {@code true} if all entries are evicted, {@code false} if only the given keys are evicted
+     */
+    public boolean evictsAll() {
+        return keys.isEmpty();
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.communication.mail;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>JFR event emitted for every attempt to send a mail.</p>
+ *
+ * <p>The event does not contain the recipient or the subject, so a recording can be shared without
+ * exposing personal data.</p>
+ */
+@Name(MailSendEvent.NAME)
+@Label("Mail Send")
+@Description("Creating and delivering a mail to the mail server")
+@Category({"DukeOps", "Mail"})
+@StackTrace(false)
+final class MailSendEvent extends Event {
+
+    /**
+     * <p>The name of the event in a recording.</p>
+     */
+    static final @NotNull String NAME = "eu.ijug.dukeops.MailSend";
+
+    @Label("Characters")
+    @Description("Number of characters of the mail text")
+    int characters;
+
+    @Label("Sent")
+    @Description("Whether the mail was accepted by the mail server")
+    boolean sent;
+
+}
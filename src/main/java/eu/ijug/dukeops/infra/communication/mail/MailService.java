@@ -18,6 +18,10 @@
 package eu.ijug.dukeops.infra.communication.mail;
 
 import eu.ijug.dukeops.infra.config.AppConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,26 +36,48 @@ import java.nio.charset.StandardCharsets;
  *
  * <p>The service uses mail configuration provided by {@link AppConfig} and applies optional reply-to handling.
  * Errors during mail delivery are logged but not propagated to the caller.</p>
+ *
+ * <p>The duration of every delivery attempt is recorded in the metric {@code dukeops.mail.send}, tagged with
+ * the result {@code sent} or {@code failed}, and emits a {@link MailSendEvent}. Every delivery attempt is
+ * observed as {@code dukeops.mail.delivery}, so it shows up as a span of the request which triggered it.</p>
  */
 @Service
 public class MailService {
 
     private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(MailService.class);
+    private static final @NotNull String SEND_METRIC = "dukeops.mail.send";
+    private static final @NotNull String DELIVERY_OBSERVATION = "dukeops.mail.delivery";
 
     private final @NotNull MailConfig mailConfig;
     private final @NotNull JavaMailSender mailSender;
+    private final @NotNull Timer sentTimer;
+    private final @NotNull Timer failedTimer;
+    private final @NotNull ObservationRegistry observationRegistry;
 
     /**
      * <p>Creates a new mail service using the application configuration and the configured mail sender.</p>
      *
      * @param appConfig the application configuration providing mail-related settings
      * @param mailSender the Java mail sender used to dispatch emails
+     * @param meterRegistry the registry for the mail delivery metrics
+     * @param observationRegistry the registry for the mail delivery observations
      */
     public MailService(final @NotNull AppConfig appConfig,
-                       final @NotNull JavaMailSender mailSender) {
+                       final @NotNull JavaMailSender mailSender,
+                       final @NotNull MeterRegistry meterRegistry,
+                       final @NotNull ObservationRegistry observationRegistry) {
         super();
         this.mailConfig = appConfig.mail();
         this.mailSender = mailSender;
+        this.sentTimer = Timer.builder(SEND_METRIC)
+                .description("Duration of mail delivery attempts")
+                .tag("result", "sent")
+                .register(meterRegistry);
+        this.failedTimer = Timer.builder(SEND_METRIC)
+                .description("Duration of mail delivery attempts")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        this.observationRegistry = observationRegistry;
     }
 
     /**
@@ -67,6 +93,13 @@ public class MailService {
     public void sendMail(final @NotNull String email,
                          final @NotNull String subject,
                          final @NotNull String text) {
+        final var event = new MailSendEvent();
+        event.begin();
+        event.characters = text.length();
+        final var sample = Timer.start();
+        final var observation = Observation.createNotStarted(DELIVERY_OBSERVATION, observationRegistry)
+                .contextualName("mail send")
+                .start();
         try {
             final var mimeMessage = mailSender.createMimeMessage();
             final var helper = new MimeMessageHelper(mimeMessage, false, StandardCharsets.UTF_8.name());
@@ -83,12 +116,20 @@ public class MailService {
             helper.setText(text, false);
 
             mailSender.send(mimeMessage);
+            sample.stop(sentTimer);
+            observation.lowCardinalityKeyValue("result", "sent");
+            event.sent = true;
 
             LOGGER.info("Mail with subject '{}' successfully sent to '{}'",
                     subject, email);
         } catch (final Exception e) {
+            sample.stop(failedTimer);
+            observation.lowCardinalityKeyValue("result", "failed");
+            observation.error(e);
             LOGGER.error("Unable to send mail with subject '{}' to '{}': {}",
                     subject, email, e.getMessage());
         }
+        observation.stop();
+        event.commit();
     }
 }
@@ -0,0 +1,51 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.diff;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * <p>The structured result of comparing two records with a {@link RecordDiff}.</p>
+ *
+ * <p>The changes are ordered in the same way as the fields were declared on the {@link RecordDiff}.</p>
+ *
+ * @param changes the changed fields; never {@code null}
+ */
+public record ChangeSet(@NotNull List<FieldChange> changes) {
+
+    /**
+     * <p>Creates a change set with an immutable copy of the given changes.</p>
+     *
+     * @param changes the changed fields; never {@code null}
+     */
+    public ChangeSet {
+        changes = List.copyOf(changes);
+    }
+
+    /**
+     * <p>Checks whether the compared records differ in at least one field.</p>
+     *
+     * @return {@code true} if no field has changed, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+}
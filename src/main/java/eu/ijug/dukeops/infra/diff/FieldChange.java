@@ -0,0 +1,36 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.diff;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <p>A single changed field of a record, as detected by a {@link RecordDiff}.</p>
+ *
+ * <p>The values are the raw, unformatted field values, so the change can be rendered in
+ * any form, e.g. as a notification mail, an audit entry or JSON.</p>
+ *
+ * @param field the name of the changed field
+ * @param oldValue the original value; may be {@code null}
+ * @param newValue the updated value; may be {@code null}
+ */
+public record FieldChange(@NotNull String field,
+                          @Nullable Object oldValue,
+                          @Nullable Object newValue) {
+}
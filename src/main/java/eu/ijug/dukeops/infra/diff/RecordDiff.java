@@ -0,0 +1,261 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.diff;
+
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationKey;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationProvider;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * <p>Descriptor-driven comparison of two instances of the same record type.</p>
+ *
+ * <p>The field descriptors are declared once using the {@link Builder}. Comparing two records only walks
+ * the descriptor list and compares the field values using {@link Objects#equals(Object, Object)}, so the
+ * same instance can be used for a cheap change detection in the UI and for a detailed change set.</p>
+ *
+ * <p>Field labels and the texts for empty values and booleans are resolved once per locale and cached,
+ * rendering a change set does not need any further translation lookups.</p>
+ *
+ * @param <T> the record type to compare
+ */
+public final class RecordDiff<T> {
+
+    private final @NotNull TranslationProvider translationProvider;
+    private final @NotNull List<FieldDescriptor<T>> fields;
+    private final @NotNull Map<String, Integer> fieldIndexes;
+    private final @NotNull Map<Locale, LocalizedTexts> localizedTexts = new ConcurrentHashMap<>();
+
+    private RecordDiff(final @NotNull TranslationProvider translationProvider,
+                       final @NotNull List<FieldDescriptor<T>> fields) {
+        this.translationProvider = translationProvider;
+        this.fields = List.copyOf(fields);
+        final var indexes = new HashMap<String, Integer>();
+        for (int index = 0; index < this.fields.size(); index++) {
+            final var name = this.fields.get(index).name();
+            if (indexes.putIfAbsent(name, index) != null) {
+                throw new IllegalArgumentException("Duplicate field '%s'".formatted(name));
+            }
+        }
+        this.fieldIndexes = Map.copyOf(indexes);
+    }
+
+    /**
+     * <p>Creates a builder to declare the fields of a record type.</p>
+     *
+     * @param translationProvider the translation provider used to resolve the field labels
+     * @param <T> the record type to compare
+     * @return a new builder; never {@code null}
+     */
+    public static <T> @NotNull Builder<T> builder(final @NotNull TranslationProvider translationProvider) {
+        return new Builder<>(translationProvider);
+    }
+
+    /**
+     * <p>Checks whether the two records differ in at least one of the declared fields.</p>
+     *
+     * <p>The comparison stops at the first difference and does not allocate a change set.</p>
+     *
+     * @param original the original record; must not be {@code null}
+     * @param updated the updated record; must not be {@code null}
+     * @return {@code true} if at least one field differs, {@code false} otherwise
+     */
+    public boolean hasChanges(final @NotNull T original,
+                              final @NotNull T updated) {
+        for (final var field : fields) {
+            if (!Objects.equals(field.accessor().apply(original), field.accessor().apply(updated))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <p>Compares the two records and collects all changed fields.</p>
+     *
+     * @param original the original record; must not be {@code null}
+     * @param updated the updated record; must not be {@code null}
+     * @return the change set, ordered like the declared fields; never {@code null}
+     */
+    public @NotNull ChangeSet compare(final @NotNull T original,
+                                      final @NotNull T updated) {
+        final var changes = new ArrayList<FieldChange>();
+        for (final var field : fields) {
+            final var oldValue = field.accessor().apply(original);
+            final var newValue = field.accessor().apply(updated);
+            if (!Objects.equals(oldValue, newValue)) {
+                changes.add(new FieldChange(field.name(), oldValue, newValue));
+            }
+        }
+        return new ChangeSet(changes);
+    }
+
+    /**
+     * <p>Renders a change set as human-readable text, one line per change in the form
+     * {@code <label>: <old> → <new>}.</p>
+     *
+     * <p>Missing or blank values are rendered as {@code [empty]}, boolean values as yes or no,
+     * all other values using the value formatter of the field.</p>
+     *
+     * @param changeSet the change set created by this instance; must not be {@code null}
+     * @param locale the locale used for labels and values; must not be {@code null}
+     * @return the rendered changes, or an empty string if there are no changes
+     */
+    public @NotNull String render(final @NotNull ChangeSet changeSet,
+                                  final @NotNull Locale locale) {
+        final var texts = localizedTexts.computeIfAbsent(locale, this::createLocalizedTexts);
+        final var lines = new StringBuilder();
+        for (final var change : changeSet.changes()) {
+            final var index = fieldIndexes.get(change.field());
+            if (index == null) {
+                throw new IllegalArgumentException("Unknown field '%s'".formatted(change.field()));
+            }
+            final var formatter = fields.get(index).formatter();
+            if (!lines.isEmpty()) {
+                lines.append('\n');
+            }
+            lines.append(texts.labels()[index])
+                    .append(": ")
+                    .append(formatValue(change.oldValue(), formatter, texts, locale))
+                    .append(" → ")
+                    .append(formatValue(change.newValue(), formatter, texts, locale));
+        }
+        return lines.toString();
+    }
+
+    private static @NotNull String formatValue(final @Nullable Object value,
+                                               final @NotNull ValueFormatter formatter,
+                                               final @NotNull LocalizedTexts texts,
+                                               final @NotNull Locale locale) {
+        if (value == null) {
+            return texts.empty();
+        }
+        if (value instanceof Boolean bool) {
+            return bool ? texts.yes() : texts.no();
+        }
+        final var text = formatter.format(value, locale);
+        return text == null || text.isBlank() ? texts.empty() : text;
+    }
+
+    private @NotNull LocalizedTexts createLocalizedTexts(final @NotNull Locale locale) {
+        final var labels = new String[fields.size()];
+        for (int index = 0; index < labels.length; index++) {
+            labels[index] = translationProvider.getTranslation(fields.get(index).label(), locale);
+        }
+        return new LocalizedTexts(labels,
+                "[" + translationProvider.getTranslation(TranslationKey.INFRA_DIFF_RECORD_DIFF_EMPTY, locale) + "]",
+                translationProvider.getTranslation(TranslationKey.INFRA_DIFF_RECORD_DIFF_YES, locale),
+                translationProvider.getTranslation(TranslationKey.INFRA_DIFF_RECORD_DIFF_NO, locale));
+    }
+
+    /**
+     * <p>Converts a non-null field value into its textual representation.</p>
+     */
+    @FunctionalInterface
+    public interface ValueFormatter {
+
+        /**
+         * <p>Formats the value for the given locale.</p>
+         *
+         * @param value the value to format; never {@code null}
+         * @param locale the locale to use
+         * @return the formatted value; {@code null} or blank values are rendered as empty
+         */
+        @Nullable String format(@NotNull Object value, @NotNull Locale locale);
+
+    }
+
+    /**
+     * <p>Builder to declare the fields of a {@link RecordDiff}.</p>
+     *
+     * @param <T> the record type to compare
+     */
+    public static final class Builder<T> {
+
+        private final @NotNull TranslationProvider translationProvider;
+        private final @NotNull List<FieldDescriptor<T>> fields = new ArrayList<>();
+
+        private Builder(final @NotNull TranslationProvider translationProvider) {
+            this.translationProvider = translationProvider;
+        }
+
+        /**
+         * <p>Declares a field which is rendered using {@link Object#toString()}.</p>
+         *
+         * @param name the unique name of the field
+         * @param label the translation key of the field label
+         * @param accessor the function to read the field value from a record
+         * @return this builder
+         */
+        public @NotNull Builder<T> field(final @NotNull String name,
+                                         final @NotNull TranslationKey label,
+                                         final @NotNull Function<T, ?> accessor) {
+            return field(name, label, accessor, (value, _) -> value.toString());
+        }
+
+        /**
+         * <p>Declares a field which is rendered using a custom value formatter.</p>
+         *
+         * @param name the unique name of the field
+         * @param label the translation key of the field label
+         * @param accessor the function to read the field value from a record
+         * @param formatter the formatter used to render non-null, non-boolean values
+         * @return this builder
+         */
+        public @NotNull Builder<T> field(final @NotNull String name,
+                                         final @NotNull TranslationKey label,
+                                         final @NotNull Function<T, ?> accessor,
+                                         final @NotNull ValueFormatter formatter) {
+            fields.add(new FieldDescriptor<>(name, label, accessor, formatter));
+            return this;
+        }
+
+        /**
+         * <p>Creates the {@link RecordDiff} with all declared fields.</p>
+         *
+         * @return the record diff; never {@code null}
+         * @throws IllegalArgumentException if a field name was declared more than once
+         */
+        public @NotNull RecordDiff<T> build() {
+            return new RecordDiff<>(translationProvider, fields);
+        }
+
+    }
+
+    private record FieldDescriptor<T>(@NotNull String name,
+                                      @NotNull TranslationKey label,
+                                      @NotNull Function<T, ?> accessor,
+                                      @NotNull ValueFormatter formatter) {
+    }
+
+    private record LocalizedTexts(@NotNull String[] labels,
+                                  @NotNull String empty,
+                                  @NotNull String yes,
+                                  @NotNull String no) {
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.export;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.QuoteMode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * <p>{@link TableWriter} for semicolon-separated CSV files with all values quoted, the format used by
+ * ClubDesk and understood by spreadsheet applications with German settings.</p>
+ *
+ * <p>UTF-8 files start with a byte order mark, so spreadsheet applications detect the encoding. Characters
+ * which can't be encoded in other charsets are replaced with {@code ?}.</p>
+ *
+ * <p>Text starting with {@code =}, {@code +}, {@code -}, {@code @}, a tab or a carriage return is prefixed
+ * with {@code '}, so spreadsheet applications show it as text instead of evaluating it as a formula.
+ * Booleans and numbers are written unchanged. Files which are read by other applications instead of
+ * spreadsheet applications, like the import files of ClubDesk, can be written without this prefix.</p>
+ */
+public final class CsvTableWriter implements TableWriter {
+
+    private static final @NotNull CSVFormat FORMAT = CSVFormat.Builder.create()
+            .setDelimiter(';')
+            .setQuote('"')
+            .setQuoteMode(QuoteMode.ALL)
+            .setRecordSeparator("\r\n")
+            .get();
+
+    private static final @NotNull String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final @NotNull CSVPrinter printer;
+    private final boolean escapeFormulas;
+
+    /**
+     * <p>Creates a CSV writer which escapes formulas.</p>
+     *
+     * @param out the stream to write the file to; closed when this writer is closed
+     * @param charset the charset of the file
+     * @throws IOException if the byte order mark can't be written
+     */
+    public CsvTableWriter(final @NotNull OutputStream out,
+                          final @NotNull Charset charset) throws IOException {
+        this(out, charset, true);
+    }
+
+    /**
+     * <p>Creates a CSV writer.</p>
+     *
+     * @param out the stream to write the file to; closed when this writer is closed
+     * @param charset the charset of the file
+     * @param escapeFormulas whether text which spreadsheet applications would evaluate as a formula is
+     *                       prefixed with {@code '}
+     * @throws IOException if the byte order mark can't be written
+     */
+    public CsvTableWriter(final @NotNull OutputStream out,
+                          final @NotNull Charset charset,
+                          final boolean escapeFormulas) throws IOException {
+        super();
+        this.escapeFormulas = escapeFormulas;
+        final var writer = new BufferedWriter(new OutputStreamWriter(out, charset));
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            writer.write('\uFEFF');
+        }
+        this.printer = new CSVPrinter(writer, FORMAT);
+    }
+
+    @Override
+    public void writeRow(final @NotNull List<?> values) throws IOException {
+        printer.printRecord(escapeFormulas ? values.stream().map(CsvTableWriter::escapeFormula) : values);
+    }
+
+    /**
+     * <p>Prefixes text which spreadsheet applications would evaluate as a formula with {@code '}.</p>
+     *
+     * @param value the value of a cell
+     * @return the value, prefixed with {@code '} if it is text starting with a formula character
+     */
+    private static @Nullable Object escapeFormula(final @Nullable Object value) {
+        if (value instanceof CharSequence text && !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            return "'" + text;
+        }
+        return value;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        printer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        printer.close(true);
+    }
+
+}
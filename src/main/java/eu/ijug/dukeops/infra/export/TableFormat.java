@@ -0,0 +1,84 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.export;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>The file formats supported for tabular exports.</p>
+ */
+public enum TableFormat {
+
+    /**
+     * <p>Semicolon-separated values, encoded as UTF-8.</p>
+     */
+    CSV("text/csv", "csv"),
+
+    /**
+     * <p>Excel workbook.</p>
+     */
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final @NotNull String contentType;
+    private final @NotNull String extension;
+
+    TableFormat(final @NotNull String contentType,
+                final @NotNull String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * <p>Returns the MIME type of the format.</p>
+     *
+     * @return the MIME type
+     */
+    public @NotNull String contentType() {
+        return contentType;
+    }
+
+    /**
+     * <p>Returns the file name extension of the format, without the leading dot.</p>
+     *
+     * @return the file name extension
+     */
+    public @NotNull String extension() {
+        return extension;
+    }
+
+    /**
+     * <p>Creates a writer for this format.</p>
+     *
+     * @param out the stream to write the file to; closed when the writer is closed
+     * @param name the name of the table, used as sheet name in workbooks
+     * @return the writer; never {@code null}
+     * @throws IOException if the start of the file can't be written
+     */
+    public @NotNull TableWriter open(final @NotNull OutputStream out,
+                                     final @NotNull String name) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvTableWriter(out, StandardCharsets.UTF_8);
+            case XLSX -> new XlsxTableWriter(out, name);
+        };
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.export;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * <p>Writes tabular data row by row to an output stream.</p>
+ *
+ * <p>Implementations write every row as soon as it is passed, without keeping earlier rows in memory,
+ * so exports of any size use constant memory. Closing the writer completes the file and closes the
+ * underlying stream.</p>
+ */
+public interface TableWriter extends Closeable, Flushable {
+
+    /**
+     * <p>Writes one row.</p>
+     *
+     * <p>{@code null} values are written as empty cells, booleans and numbers as typed cells if the format
+     * supports it, and all other values using {@link Object#toString()}.</p>
+     *
+     * @param values the values of the cells in the row; must not be {@code null}
+     * @throws IOException if the row can't be written
+     */
+    void writeRow(@NotNull List<?> values) throws IOException;
+
+}
@@ -0,0 +1,239 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.export;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * <p>{@link TableWriter} for Excel workbooks (XLSX) with a single sheet.</p>
+ *
+ * <p>The workbook is written directly into the output stream: the fixed parts of the package first, then
+ * the sheet row by row. Strings are stored inline instead of in a shared string table, so nothing has to
+ * be kept in memory or buffered in a temporary file until the last row is written.</p>
+ *
+ * <p>{@link #flush()} also flushes the compressor, so all rows written so far reach the output stream
+ * instead of waiting in the compressor until its buffer is full.</p>
+ */
+public final class XlsxTableWriter implements TableWriter {
+
+    private static final @NotNull String CONTENT_TYPES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+            <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+            <Default Extension="xml" ContentType="application/xml"/>\
+            <Override PartName="/xl/workbook.xml" \
+            ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+            <Override PartName="/xl/worksheets/sheet1.xml" \
+            ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>\
+            </Types>""";
+
+    private static final @NotNull String PACKAGE_RELATIONSHIPS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" \
+            Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" \
+            Target="xl/workbook.xml"/>\
+            </Relationships>""";
+
+    private static final @NotNull String WORKBOOK = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+            xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">\
+            <sheets><sheet name="%s" sheetId="1" r:id="rId1"/></sheets>\
+            </workbook>""";
+
+    private static final @NotNull String WORKBOOK_RELATIONSHIPS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" \
+            Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet" \
+            Target="worksheets/sheet1.xml"/>\
+            </Relationships>""";
+
+    private static final @NotNull String SHEET_START = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"><sheetData>""";
+
+    private static final @NotNull String SHEET_END = "</sheetData></worksheet>";
+
+    private final @NotNull ZipOutputStream zip;
+    private final @NotNull Writer sheet;
+    private int rowNumber;
+
+    /**
+     * <p>Creates an XLSX writer and writes the fixed parts of the workbook.</p>
+     *
+     * @param out the stream to write the workbook to; closed when this writer is closed
+     * @param sheetName the name of the sheet; only letters, digits, spaces, dashes and underscores are allowed
+     * @throws IOException if the workbook can't be written
+     */
+    public XlsxTableWriter(final @NotNull OutputStream out,
+                           final @NotNull String sheetName) throws IOException {
+        super();
+        if (!sheetName.matches("[\\p{L}\\p{N} _-]{1,31}")) {
+            throw new IllegalArgumentException("Invalid sheet name '%s'".formatted(sheetName));
+        }
+        this.zip = new SyncFlushingZipOutputStream(out);
+        writeEntry("[Content_Types].xml", CONTENT_TYPES);
+        writeEntry("_rels/.rels", PACKAGE_RELATIONSHIPS);
+        writeEntry("xl/workbook.xml", WORKBOOK.formatted(sheetName));
+        writeEntry("xl/_rels/workbook.xml.rels", WORKBOOK_RELATIONSHIPS);
+
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        this.sheet = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+        sheet.write(SHEET_START);
+    }
+
+    private void writeEntry(final @NotNull String name,
+                            final @NotNull String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    @Override
+    public void writeRow(final @NotNull List<?> values) throws IOException {
+        rowNumber++;
+        sheet.write("<row r=\"" + rowNumber + "\">");
+        for (int column = 0; column < values.size(); column++) {
+            final var value = values.get(column);
+            if (value != null) {
+                writeCell(columnName(column) + rowNumber, value);
+            }
+        }
+        sheet.write("</row>");
+    }
+
+    private void writeCell(final @NotNull String reference,
+                           final @NotNull Object value) throws IOException {
+        switch (value) {
+            case Boolean bool -> sheet.write("<c r=\"" + reference + "\" t=\"b\"><v>" + (bool ? 1 : 0) + "</v></c>");
+            case Number number -> sheet.write("<c r=\"" + reference + "\"><v>" + number + "</v></c>");
+            default -> sheet.write("<c r=\"" + reference + "\" t=\"inlineStr\"><is><t xml:space=\"preserve\">"
+                    + escape(value.toString()) + "</t></is></c>");
+        }
+    }
+
+    /**
+     * <p>Returns the name of the column with the given zero-based index, e.g. {@code A}, {@code Z} or
+     * {@code AA}.</p>
+     *
+     * @param index the zero-based index of the column
+     * @return the name of the column
+     */
+    static @NotNull String columnName(final int index) {
+        final var name = new StringBuilder();
+        for (int column = index + 1; column > 0; column = (column - 1) / 26) {
+            name.insert(0, (char) ('A' + (column - 1) % 26));
+        }
+        return name.toString();
+    }
+
+    /**
+     * <p>Escapes the XML markup characters and removes the control characters which are not allowed in
+     * XML documents.</p>
+     *
+     * @param text the text to escape
+     * @return the escaped text
+     */
+    static @NotNull String escape(final @NotNull String text) {
+        final var escaped = new StringBuilder(text.length());
+        for (int index = 0; index < text.length(); index++) {
+            final var character = text.charAt(index);
+            switch (character) {
+                case '&' -> escaped.append("&amp;");
+                case '<' -> escaped.append("&lt;");
+                case '>' -> escaped.append("&gt;");
+                case '"' -> escaped.append("&quot;");
+                case '\t', '\n', '\r' -> escaped.append(character);
+                default -> {
+                    if (character >= ' ') {
+                        escaped.append(character);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        sheet.flush();
+        zip.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        sheet.write(SHEET_END);
+        sheet.flush();
+        zip.closeEntry();
+        zip.close();
+    }
+
+    /**
+     * <p>{@link ZipOutputStream} which flushes the compressor when it is flushed while an entry is open.</p>
+     *
+     * <p>{@link ZipOutputStream} can't be created with the sync flush mode of its {@link Deflater}, so the
+     * flush is done here. The compressed size of the entry is taken from the {@link Deflater} when the entry
+     * is closed, so it includes the bytes written by the flush.</p>
+     */
+    private static final class SyncFlushingZipOutputStream extends ZipOutputStream {
+
+        private boolean entryOpen;
+
+        SyncFlushingZipOutputStream(final @NotNull OutputStream out) {
+            super(out, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void putNextEntry(final @NotNull ZipEntry entry) throws IOException {
+            super.putNextEntry(entry);
+            entryOpen = true;
+        }
+
+        @Override
+        public void closeEntry() throws IOException {
+            super.closeEntry();
+            entryOpen = false;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (entryOpen) {
+                int length;
+                while ((length = def.deflate(buf, 0, buf.length, Deflater.SYNC_FLUSH)) > 0) {
+                    out.write(buf, 0, length);
+                }
+            }
+            out.flush();
+        }
+
+    }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.monitoring;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>Health indicator which serves the result of the last run of an expensive health check.</p>
+ *
+ * <p>Probing the health endpoint only returns the cached result and never touches the database or the mail
+ * relay. The check itself is run in the background by {@link #refresh()}, which is triggered on a schedule by
+ * the {@link HealthCheckScheduler}. A check which is still running when the next refresh is due is not started
+ * a second time, so a hanging connection can't pile up threads. Until the first check has finished, the status
+ * is {@code OUT_OF_SERVICE}, so a readiness probe does not send traffic to a node with an unchecked database.
+ * An {@code UNKNOWN} status would be ignored when the statuses of a health group are aggregated.</p>
+ *
+ * <p>A check which does not finish within the timeout is reported as {@code DOWN}. The check keeps its thread
+ * until it returns, and no further check is started until then. If the last result is older than
+ * {@value #STALE_AFTER_REFRESHES} refresh intervals plus the timeout, for example because the scheduler has
+ * stopped or a check never returns, the indicator reports {@code DOWN} instead of the outdated result. A result
+ * arriving after the timeout is discarded.</p>
+ *
+ * <p>Every result carries the time of the check in the detail {@code checkedAt}.</p>
+ */
+public final class CachedHealthIndicator implements HealthIndicator {
+
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(CachedHealthIndicator.class);
+    private static final int STALE_AFTER_REFRESHES = 3;
+
+    private final @NotNull String name;
+    private final @NotNull HealthIndicator check;
+    private final @NotNull Executor executor;
+    private final @NotNull Clock clock;
+    private final @NotNull Duration timeout;
+    private final @NotNull Duration maxAge;
+    private final @NotNull AtomicBoolean running = new AtomicBoolean();
+    private volatile @NotNull CheckResult last =
+            new CheckResult(Health.outOfService().withDetail("reason", "not checked yet").build(), null);
+
+    /**
+     * <p>Creates a new cached health indicator.</p>
+     *
+     * @param name the name of the health check, used for logging
+     * @param check the expensive health check to run in the background
+     * @param executor the executor to run the health check on
+     * @param clock the clock used to timestamp the results
+     * @param refreshInterval the interval between two refreshes
+     * @param timeout the time after which a running check is reported as {@code DOWN}
+     * @throws IllegalArgumentException if the refresh interval or the timeout is not positive
+     */
+    public CachedHealthIndicator(final @NotNull String name,
+                                 final @NotNull HealthIndicator check,
+                                 final @NotNull Executor executor,
+                                 final @NotNull Clock clock,
+                                 final @NotNull Duration refreshInterval,
+                                 final @NotNull Duration timeout) {
+        super();
+        if (refreshInterval.isNegative() || refreshInterval.isZero()) {
+            throw new IllegalArgumentException("'dukeops.health.refresh-interval' must be positive");
+        }
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("'dukeops.health.timeout' must be positive");
+        }
+        this.name = name;
+        this.check = check;
+        this.executor = executor;
+        this.clock = clock;
+        this.timeout = timeout;
+        this.maxAge = refreshInterval.multipliedBy(STALE_AFTER_REFRESHES).plus(timeout);
+    }
+
+    /**
+     * <p>Returns the result of the last health check, or {@code DOWN} if it is outdated.</p>
+     *
+     * @return the cached health; never {@code null}
+     */
+    @Override
+    public @NotNull Health health() {
+        final var result = last;
+        if (result.checkedAt() != null && clock.instant().isAfter(result.checkedAt().plus(maxAge))) {
+            return Health.down()
+                    .withDetail("error", "Last check is older than " + maxAge)
+                    .withDetail("lastStatus", result.health().getStatus().getCode())
+                    .withDetail("checkedAt", result.checkedAt().toString())
+                    .build();
+        }
+        return result.health();
+    }
+
+    /**
+     * <p>Runs the health check in the background, unless the previous run has not finished yet.</p>
+     */
+    public void refresh() {
+        if (!running.compareAndSet(false, true)) {
+            LOGGER.warn("Health check '{}' is still running, skipping this refresh.", name);
+            return;
+        }
+        final var startedAt = clock.instant();
+        final var result = new CompletableFuture<Health>();
+        executor.execute(() -> {
+            try {
+                result.complete(runCheck(startedAt));
+            } finally {
+                running.set(false);
+            }
+        });
+        result.completeOnTimeout(timedOut(startedAt), timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .thenAccept(health -> update(new CheckResult(health, startedAt)));
+    }
+
+    private @NotNull Health timedOut(final @NotNull Instant startedAt) {
+        return Health.down()
+                .withDetail("error", "Check did not finish within " + timeout)
+                .withDetail("checkedAt", startedAt.toString())
+                .build();
+    }
+
+    private @NotNull Health runCheck(final @NotNull Instant checkedAt) {
+        Health result;
+        try {
+            result = check.health();
+        } catch (final RuntimeException e) {
+            result = Health.down(e).build();
+        }
+        return Health.status(result.getStatus())
+                .withDetails(result.getDetails())
+                .withDetail("checkedAt", checkedAt.toString())
+                .build();
+    }
+
+    private void update(final @NotNull CheckResult result) {
+        final var previousStatus = last.health().getStatus();
+        last = result;
+        final var status = result.health().getStatus();
+        if (!previousStatus.equals(status)) {
+            LOGGER.info("Health check '{}' changed from {} to {}.", name, previousStatus, status);
+        }
+    }
+
+    private record CheckResult(@NotNull Health health, @Nullable Instant checkedAt) { }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.monitoring;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * <p>Refreshes all {@link CachedHealthIndicator}s on a schedule.</p>
+ *
+ * <p>The first refresh happens right after startup, the following ones every
+ * {@code dukeops.health.refresh-interval}. The checks run in the background, so a slow check neither delays the
+ * other checks nor the other scheduled tasks.</p>
+ */
+@Component
+public class HealthCheckScheduler {
+
+    private final @NotNull List<CachedHealthIndicator> healthIndicators;
+
+    /**
+     * <p>Creates a new scheduler for the given health indicators.</p>
+     *
+     * @param healthIndicators the cached health indicators to refresh
+     */
+    public HealthCheckScheduler(final @NotNull List<CachedHealthIndicator> healthIndicators) {
+        super();
+        this.healthIndicators = List.copyOf(healthIndicators);
+    }
+
+    /**
+     * <p>Starts a refresh of all cached health indicators.</p>
+     */
+    @Scheduled(fixedDelayString = "${dukeops.health.refresh-interval:PT30S}")
+    public void refreshHealthChecks() {
+        healthIndicators.forEach(CachedHealthIndicator::refresh);
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.monitoring;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>Configures the health checks of the database and the mail relay.</p>
+ *
+ * <p>Both checks need a round trip over the network, so they replace the health indicators of Spring Boot
+ * (disabled with {@code management.health.db.enabled=false} and {@code management.health.mail.enabled=false})
+ * with {@link CachedHealthIndicator}s. The checks run on virtual threads in the background and the health
+ * endpoint only reports their last result. The contributors keep the names {@code db} and {@code mail}. A check
+ * taking longer than {@code dukeops.health.timeout} is reported as {@code DOWN}.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class HealthConfig {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    private static final @NotNull Executor HEALTH_CHECK_EXECUTOR =
+            task -> Thread.ofVirtual().name("health-check").start(task);
+
+    /**
+     * <p>Creates the cached health check of the primary database.</p>
+     *
+     * @param dataSource the data source of the primary database
+     * @param clock the clock used to timestamp the results
+     * @param refreshInterval the interval between two runs of the check
+     * @param timeout the time after which a running check is reported as {@code DOWN}
+     * @return the cached health indicator for the database
+     */
+    @Bean
+    CachedHealthIndicator dbHealthIndicator(final @NotNull DataSource dataSource,
+                                            final @NotNull Clock clock,
+                                            @Value("${dukeops.health.refresh-interval:PT30S}") final @NotNull Duration refreshInterval,
+                                            @Value("${dukeops.health.timeout:PT10S}") final @NotNull Duration timeout) {
+        return new CachedHealthIndicator("db", () -> checkDatabase(dataSource), HEALTH_CHECK_EXECUTOR, clock,
+                refreshInterval, timeout);
+    }
+
+    /**
+     * <p>Creates the cached health check of the mail relay.</p>
+     *
+     * @param mailSender the mail sender connecting to the mail relay
+     * @param clock the clock used to timestamp the results
+     * @param refreshInterval the interval between two runs of the check
+     * @param timeout the time after which a running check is reported as {@code DOWN}
+     * @return the cached health indicator for the mail relay
+     */
+    @Bean
+    CachedHealthIndicator mailHealthIndicator(final @NotNull JavaMailSenderImpl mailSender,
+                                              final @NotNull Clock clock,
+                                              @Value("${dukeops.health.refresh-interval:PT30S}") final @NotNull Duration refreshInterval,
+                                              @Value("${dukeops.health.timeout:PT10S}") final @NotNull Duration timeout) {
+        return new CachedHealthIndicator("mail", () -> checkMail(mailSender), HEALTH_CHECK_EXECUTOR, clock,
+                refreshInterval, timeout);
+    }
+
+    static @NotNull Health checkDatabase(final @NotNull DataSource dataSource) {
+        try (var connection = dataSource.getConnection()) {
+            final var database = connection.getMetaData().getDatabaseProductName();
+            if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return Health.up().withDetail("database", database).build();
+            }
+            return Health.down().withDetail("database", database).withDetail("error", "Connection is not valid").build();
+        } catch (final SQLException e) {
+            return Health.down(e).build();
+        }
+    }
+
+    static @NotNull Health checkMail(final @NotNull JavaMailSenderImpl mailSender) {
+        final var location = "%s:%d".formatted(mailSender.getHost(), mailSender.getPort());
+        try {
+            mailSender.testConnection();
+            return Health.up().withDetail("location", location).build();
+        } catch (final Exception e) {
+            return Health.down(e).withDetail("location", location).build();
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.monitoring;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.function.Supplier;
+
+/**
+ * <p>Decides who may scrape the metrics from the Prometheus endpoint.</p>
+ *
+ * <p>Access is granted to requests with the bearer token configured in {@code dukeops.metrics.token}, which a
+ * Prometheus server sends with every scrape, and to logged-in administrators. If no token is configured, only
+ * administrators can read the metrics.</p>
+ */
+@Component
+public class PrometheusAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final @NotNull String BEARER_PREFIX = "Bearer ";
+
+    private final byte @Nullable [] token;
+    private final @NotNull AuthorizationManager<RequestAuthorizationContext> adminAuthorizationManager =
+            AuthorityAuthorizationManager.hasRole("ADMIN");
+
+    /**
+     * <p>Creates a new authorization manager for the Prometheus endpoint.</p>
+     *
+     * @param token the bearer token of the Prometheus server; blank to allow administrators only
+     */
+    public PrometheusAuthorizationManager(@Value("${dukeops.metrics.token:}") final @NotNull String token) {
+        super();
+        this.token = token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public @Nullable AuthorizationResult authorize(final @NotNull Supplier<? extends Authentication> authentication,
+                                                   final @NotNull RequestAuthorizationContext context) {
+        if (hasValidToken(context.getRequest().getHeader(HttpHeaders.AUTHORIZATION))) {
+            return new AuthorizationDecision(true);
+        }
+        return adminAuthorizationManager.authorize(authentication, context);
+    }
+
+    private boolean hasValidToken(final @Nullable String authorization) {
+        if (token == null || authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return false;
+        }
+        final var requestToken = authorization.substring(BEARER_PREFIX.length()).getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(token, requestToken);
+    }
+
+}
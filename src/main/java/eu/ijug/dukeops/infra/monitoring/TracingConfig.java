@@ -0,0 +1,68 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.monitoring;
+
+import eu.ijug.dukeops.infra.persistence.jooq.JooqObservationListener;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.jetbrains.annotations.NotNull;
+import org.jooq.ExecuteListenerProvider;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * <p>Configures the tracing of a single interaction from the Vaadin request through the services down to the
+ * SQL statements and the mail delivery.</p>
+ *
+ * <p>The spans are created by Micrometer observations and handed over to OpenTelemetry. The HTTP request and
+ * the Vaadin request handling are observed by the web layer and the {@code VaadinRequestObserver}, the services
+ * create their own observations, and every SQL statement executed by jOOQ is observed by the
+ * {@link JooqObservationListener}.</p>
+ *
+ * <p>If {@code dukeops.tracing.export} is set to {@code log}, the finished spans are written to the log. Spans
+ * are not exported otherwise.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class TracingConfig {
+
+    /**
+     * <p>Registers the listener observing all SQL statements executed by jOOQ.</p>
+     *
+     * @param observationRegistry the registry to report the observations to
+     * @return the provider of the listener, picked up by the jOOQ configuration
+     */
+    @Bean
+    ExecuteListenerProvider jooqObservationListenerProvider(final @NotNull ObservationRegistry observationRegistry) {
+        return new DefaultExecuteListenerProvider(new JooqObservationListener(observationRegistry));
+    }
+
+    /**
+     * <p>Creates the exporter writing the finished spans to the log.</p>
+     *
+     * @return the span exporter, picked up by the OpenTelemetry tracer
+     */
+    @Bean
+    @ConditionalOnProperty(name = "dukeops.tracing.export", havingValue = "log")
+    SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+}
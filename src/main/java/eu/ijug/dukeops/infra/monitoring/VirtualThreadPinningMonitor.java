@@ -0,0 +1,178 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * <p>Detects virtual threads which are pinned to their carrier thread while blocking.</p>
+ *
+ * <p>With virtual threads enabled, request handling, scheduled tasks and asynchronous work run on virtual
+ * threads. A virtual thread which blocks while it is pinned, e.g. inside a native frame, keeps its carrier
+ * thread blocked as well, and the small pool of carrier threads then limits how many requests can be served
+ * concurrently. This monitor subscribes to the JFR event {@value #PINNED_EVENT} in the running JVM, without
+ * writing a recording to disk.</p>
+ *
+ * <p>Every pinning longer than the configured threshold is recorded in the timer {@code dukeops.threads.pinned},
+ * tagged with the component it happened in: the MariaDB driver, jOOQ, the mail client, or other. The stack
+ * trace is logged as warning, so the blocking call can be found.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    /**
+     * <p>The name of the JFR event emitted when a virtual thread blocks while pinned.</p>
+     */
+    static final @NotNull String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final @NotNull String PINNED_METRIC = "dukeops.threads.pinned";
+    private static final @NotNull String OTHER = "other";
+    private static final int LOGGED_FRAMES = 10;
+
+    private static final @NotNull List<KnownComponent> COMPONENTS = List.of(
+            new KnownComponent("mariadb", "org.mariadb.jdbc."),
+            new KnownComponent("jooq", "org.jooq."),
+            new KnownComponent("mail", "jakarta.mail."),
+            new KnownComponent("mail", "org.eclipse.angus.mail.")
+    );
+
+    private final @NotNull MeterRegistry meterRegistry;
+    private final @NotNull Duration threshold;
+    private @Nullable RecordingStream recordingStream;
+
+    /**
+     * <p>Creates a new monitor for pinned virtual threads.</p>
+     *
+     * @param meterRegistry the registry for the pinning metric
+     * @param threshold the minimum duration of a pinning to be recorded
+     */
+    public VirtualThreadPinningMonitor(final @NotNull MeterRegistry meterRegistry,
+                                       @Value("${dukeops.threads.pinned-threshold:PT0.02S}") final @NotNull Duration threshold) {
+        super();
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    /**
+     * <p>Starts listening for pinned virtual threads in a background thread.</p>
+     */
+    @Override
+    public synchronized void start() {
+        if (recordingStream == null) {
+            final var stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::onPinned);
+            stream.startAsync();
+            recordingStream = stream;
+            LOGGER.info("Monitoring virtual threads pinned for more than {} ms.", threshold.toMillis());
+        }
+    }
+
+    /**
+     * <p>Stops listening for pinned virtual threads.</p>
+     */
+    @Override
+    public synchronized void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+
+    /**
+     * <p>Checks whether the monitor is listening for pinned virtual threads.</p>
+     *
+     * @return {@code true} if the monitor is running, {@code false} otherwise
+     */
+    @Override
+    public synchronized boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    /**
+     * <p>Records a pinned virtual thread in the metric and logs where it happened.</p>
+     *
+     * @param event the JFR event of the pinned virtual thread
+     */
+    void onPinned(final @NotNull RecordedEvent event) {
+        final var stackTrace = event.getStackTrace();
+        final var component = classify(stackTrace);
+        Timer.builder(PINNED_METRIC)
+                .description("Time virtual threads were blocked while pinned to their carrier thread")
+                .tag("component", component)
+                .register(meterRegistry)
+                .record(event.getDuration());
+        LOGGER.warn("Virtual thread pinned for {} ms in {}:{}",
+                event.getDuration().toMillis(), component, format(stackTrace));
+    }
+
+    /**
+     * <p>Determines the component a pinning happened in from the innermost known frame of the stack trace.</p>
+     *
+     * @param stackTrace the stack trace of the pinned virtual thread, if recorded
+     * @return the name of the component, or {@code other} if no frame belongs to a known component
+     */
+    static @NotNull String classify(final @Nullable RecordedStackTrace stackTrace) {
+        if (stackTrace != null) {
+            for (final var frame : stackTrace.getFrames()) {
+                final var typeName = frame.getMethod().getType().getName();
+                for (final var component : COMPONENTS) {
+                    if (typeName.startsWith(component.packagePrefix())) {
+                        return component.name();
+                    }
+                }
+            }
+        }
+        return OTHER;
+    }
+
+    private static @NotNull String format(final @Nullable RecordedStackTrace stackTrace) {
+        final var text = new StringBuilder();
+        if (stackTrace != null) {
+            stackTrace.getFrames().stream()
+                    .limit(LOGGED_FRAMES)
+                    .forEach(frame -> text.append("\n\tat ")
+                            .append(frame.getMethod().getType().getName())
+                            .append('.')
+                            .append(frame.getMethod().getName())
+                            .append(':')
+                            .append(frame.getLineNumber()));
+        }
+        return text.toString();
+    }
+
+    private record KnownComponent(@NotNull String name, @NotNull String packagePrefix) { }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.persistence.jooq;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>JFR event emitted when a unique ID has been generated for a table.</p>
+ *
+ * <p>The duration includes the time spent waiting for the lock of the table, which is reported
+ * separately as well.</p>
+ */
+@Name(IdGenerationEvent.NAME)
+@Label("ID Generation")
+@Description("Generating a unique ID for a table")
+@Category({"DukeOps", "Persistence"})
+@StackTrace(false)
+final class IdGenerationEvent extends Event {
+
+    /**
+     * <p>The name of the event in a recording.</p>
+     */
+    static final @NotNull String NAME = "eu.ijug.dukeops.IdGeneration";
+
+    @Label("Table")
+    String table;
+
+    @Label("Attempts")
+    @Description("Number of generated IDs until an unused one was found")
+    int attempts;
+
+    @Label("Lock Wait")
+    @Description("Time spent waiting for the lock of the table")
+    @Timespan(Timespan.NANOSECONDS)
+    long lockWait;
+
+}
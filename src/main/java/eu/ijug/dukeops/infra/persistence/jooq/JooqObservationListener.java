@@ -0,0 +1,99 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.persistence.jooq;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+
+import java.util.Locale;
+
+/**
+ * <p>jOOQ {@link ExecuteListener} which observes the execution of every SQL statement.</p>
+ *
+ * <p>The observation {@code dukeops.jooq.query} is started right before the statement is sent to the database
+ * and stopped when the execution has finished, so it becomes a child span of the current trace. It is tagged
+ * with the type of the statement, the SQL is added as high cardinality value. Statements are rendered with
+ * bind parameters, so the SQL does not contain any data. Batches of several statements carry inlined
+ * values, their SQL is not added.</p>
+ */
+public final class JooqObservationListener implements ExecuteListener {
+
+    private static final @NotNull String OBSERVATION_KEY = JooqObservationListener.class.getName();
+
+    private final @NotNull ObservationRegistry observationRegistry;
+
+    /**
+     * <p>Creates a listener which reports the observations to the given registry.</p>
+     *
+     * @param observationRegistry the registry to report the observations to
+     */
+    public JooqObservationListener(final @NotNull ObservationRegistry observationRegistry) {
+        super();
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * <p>Starts the observation of the statement.</p>
+     *
+     * @param ctx the context of the execution
+     */
+    @Override
+    public void executeStart(final @NotNull ExecuteContext ctx) {
+        final var operation = ctx.type().name().toLowerCase(Locale.ROOT);
+        final var observation = Observation.createNotStarted("dukeops.jooq.query", observationRegistry)
+                .contextualName("jooq " + operation)
+                .lowCardinalityKeyValue("db.operation", operation);
+        final var sql = ctx.sql();
+        if (sql != null) {
+            observation.highCardinalityKeyValue("db.statement", sql);
+        }
+        ctx.data(OBSERVATION_KEY, observation.start());
+    }
+
+    /**
+     * <p>Stops the observation of the statement.</p>
+     *
+     * @param ctx the context of the execution
+     */
+    @Override
+    public void executeEnd(final @NotNull ExecuteContext ctx) {
+        if (ctx.data().remove(OBSERVATION_KEY) instanceof Observation observation) {
+            observation.stop();
+        }
+    }
+
+    /**
+     * <p>Records the exception and stops the observation, if the statement has already been started.</p>
+     *
+     * @param ctx the context of the execution
+     */
+    @Override
+    public void exception(final @NotNull ExecuteContext ctx) {
+        if (ctx.data().remove(OBSERVATION_KEY) instanceof Observation observation) {
+            final var exception = ctx.exception();
+            if (exception != null) {
+                observation.error(exception);
+            }
+            observation.stop();
+        }
+    }
+
+}
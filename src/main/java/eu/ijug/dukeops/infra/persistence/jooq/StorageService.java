@@ -67,6 +67,23 @@ public abstract class StorageService {
     protected void createOrUpdate(final @NotNull TableImpl<? extends RecordWithTimestamps> table,
                                   final @NotNull Record dto,
                                   final @NotNull RecordWithTimestamps record) {
+        prepareCreateOrUpdate(table, dto, record);
+        record.store();
+    }
+
+    /**
+     * <p>Prepares a database record for an insert or update without storing it.</p>
+     *
+     * <p>The record is filled in the same way as by {@link #createOrUpdate(TableImpl, Record, RecordWithTimestamps)},
+     * so many records can be stored together, for example with {@link org.jooq.DSLContext#batchStore}.</p>
+     *
+     * @param table  the jOOQ table definition associated with the record
+     * @param dto    the data transfer object containing updated field values
+     * @param record the jOOQ record representing the database row to be created or updated
+     */
+    protected void prepareCreateOrUpdate(final @NotNull TableImpl<? extends RecordWithTimestamps> table,
+                                         final @NotNull Record dto,
+                                         final @NotNull RecordWithTimestamps record) {
         final var existingCreated = record.getCreated();
         record.from(dto);
 
@@ -82,7 +99,6 @@ public abstract class StorageService {
             record.setCreated(existingCreated);
             record.setUpdated(now);
         }
-        record.store();
     }
 
 }
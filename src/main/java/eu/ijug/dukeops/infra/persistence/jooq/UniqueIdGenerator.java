@@ -60,6 +60,7 @@ public class UniqueIdGenerator {
     /**
      * Creates a unique UUID for the given table.
      * The UUID is checked against the database and the local cache.
+     * Every generated ID emits an {@link IdGenerationEvent}, including the time spent waiting for the lock.
      *
      * @param table the table for which to generate an ID
      * @return a Universally Unique Identifier (UUID, RFC 4122)
@@ -72,18 +73,29 @@ public class UniqueIdGenerator {
             throw new IllegalArgumentException("Table '" + tableName + "' does not have a String 'id' field");
         }
 
+        final var event = new IdGenerationEvent();
+        event.begin();
+
         // Lock per table for thread safety
         final var lock = tableLocks.computeIfAbsent(tableName, _ -> new ReentrantLock(true));
+        final var lockRequested = System.nanoTime();
         lock.lock();
+        event.lockWait = System.nanoTime() - lockRequested;
 
         try {
             UUID uuid;
+            int attempts = 0;
 
             do {
                 uuid = idSupplier.getId();
+                attempts++;
             } while (idCache.asMap().containsKey(uuid) || idExistsInDatabase(table, idField, uuid));
 
             idCache.put(uuid, true);
+
+            event.table = tableName;
+            event.attempts = attempts;
+            event.commit();
             return uuid;
 
         } finally {
@@ -0,0 +1,142 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.persistence.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * <p>Sends read-only database access to a replica and all other access to the primary database.</p>
+ *
+ * <p>The configuration is only active if {@code dukeops.datasource.replica.url} is set. It replaces the
+ * auto-configured data source with a proxy which uses the primary pool, unless a connection is marked
+ * read-only, which is the case inside {@code @Transactional(readOnly = true)} methods. Read-only connections
+ * are taken from the replica pool as long as the {@link ReplicaLagMonitor} considers the replica up to date,
+ * otherwise they fall back to the primary pool.</p>
+ *
+ * <p>Only reporting and export reads are marked read-only. Reads a user expects to reflect a change just made,
+ * like the login or the own membership data, always use the primary database.</p>
+ *
+ * <p>Replacing the auto-configured data source also replaces the binding of its pool settings. The primary pool
+ * is therefore bound to {@code spring.datasource.hikari.*} like the auto-configured pool, and the replica pool
+ * to its own prefix {@code dukeops.datasource.replica.hikari.*}, so both pools can be sized separately.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!'${dukeops.datasource.replica.url:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * <p>Creates the connection pool for the primary database, which handles all writes.</p>
+     *
+     * <p>The pool settings are bound to {@code spring.datasource.hikari.*}.</p>
+     *
+     * @param url the JDBC URL of the primary database
+     * @param username the username for the primary database
+     * @param password the password for the primary database
+     * @return the connection pool for the primary database
+     */
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(@Value("${spring.datasource.url}") final @NotNull String url,
+                                       @Value("${spring.datasource.username}") final @NotNull String username,
+                                       @Value("${spring.datasource.password}") final @NotNull String password) {
+        return createPool("dukeops-primary", url, username, password, false);
+    }
+
+    /**
+     * <p>Creates the connection pool for the replica database, which handles read-only access.</p>
+     *
+     * <p>The pool settings are bound to {@code dukeops.datasource.replica.hikari.*}.</p>
+     *
+     * @param url the JDBC URL of the replica database
+     * @param username the username for the replica database
+     * @param password the password for the replica database
+     * @return the connection pool for the replica database
+     */
+    @Bean(destroyMethod = "close")
+    @ConfigurationProperties("dukeops.datasource.replica.hikari")
+    HikariDataSource replicaDataSource(@Value("${dukeops.datasource.replica.url}") final @NotNull String url,
+                                       @Value("${dukeops.datasource.replica.username:${spring.datasource.username}}")
+                                       final @NotNull String username,
+                                       @Value("${dukeops.datasource.replica.password:${spring.datasource.password}}")
+                                       final @NotNull String password) {
+        return createPool("dukeops-replica", url, username, password, true);
+    }
+
+    /**
+     * <p>Creates the monitor which checks how far the replica lags behind the primary database.</p>
+     *
+     * @param replicaDataSource the connection pool for the replica database
+     * @param meterRegistry the registry for the replica lag metric
+     * @param maxLag the maximum lag of the replica to still use it
+     * @return the monitor for the replica lag
+     */
+    @Bean
+    ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") final @NotNull DataSource replicaDataSource,
+                                        final @NotNull MeterRegistry meterRegistry,
+                                        @Value("${dukeops.datasource.replica.max-lag:PT1S}") final @NotNull Duration maxLag) {
+        return new ReplicaLagMonitor(replicaDataSource, meterRegistry, maxLag);
+    }
+
+    /**
+     * <p>Creates the data source used by the application, which routes read-only connections to the
+     * replica.</p>
+     *
+     * @param primaryDataSource the connection pool for the primary database
+     * @param replicaDataSource the connection pool for the replica database
+     * @param replicaLagMonitor the monitor for the replica lag
+     * @return the routing data source
+     */
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") final @NotNull DataSource primaryDataSource,
+                          @Qualifier("replicaDataSource") final @NotNull DataSource replicaDataSource,
+                          final @NotNull ReplicaLagMonitor replicaLagMonitor) {
+        final var dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor));
+        return dataSource;
+    }
+
+    private static @NotNull HikariDataSource createPool(final @NotNull String poolName,
+                                                        final @NotNull String url,
+                                                        final @NotNull String username,
+                                                        final @NotNull String password,
+                                                        final boolean readOnly) {
+        final var dataSource = new HikariDataSource();
+        dataSource.setPoolName(poolName);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setReadOnly(readOnly);
+        return dataSource;
+    }
+
+}
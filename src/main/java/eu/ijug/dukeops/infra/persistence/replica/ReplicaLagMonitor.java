@@ -0,0 +1,126 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.persistence.replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Checks regularly how far the replica lags behind the primary database.</p>
+ *
+ * <p>The lag is read from the {@code Seconds_Behind_Master} column of {@code SHOW REPLICA STATUS}, so the
+ * database user of the replica needs the {@code REPLICA MONITOR} privilege. The replica is only used while
+ * its lag does not exceed the configured maximum. Until the first check, if replication is not running or
+ * if the replica is not reachable, all access goes to the primary database.</p>
+ *
+ * <p>The lag in seconds is reported in the metric {@code dukeops.datasource.replica.lag}.</p>
+ */
+public class ReplicaLagMonitor {
+
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    private static final @NotNull String STATUS_QUERY = "SHOW REPLICA STATUS";
+    private static final @NotNull String LAG_COLUMN = "Seconds_Behind_Master";
+
+    private final @NotNull DataSource replicaDataSource;
+    private final @NotNull Duration maxLag;
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean replicaUsable;
+    private boolean checked;
+
+    /**
+     * <p>Creates a new monitor for the replica lag.</p>
+     *
+     * @param replicaDataSource the data source for the replica database
+     * @param meterRegistry the registry for the replica lag metric
+     * @param maxLag the maximum lag of the replica to still use it
+     */
+    public ReplicaLagMonitor(final @NotNull DataSource replicaDataSource,
+                             final @NotNull MeterRegistry meterRegistry,
+                             final @NotNull Duration maxLag) {
+        super();
+        if (maxLag.isNegative()) {
+            throw new IllegalArgumentException("'dukeops.datasource.replica.max-lag' must not be negative");
+        }
+        this.replicaDataSource = replicaDataSource;
+        this.maxLag = maxLag;
+        Gauge.builder("dukeops.datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Time the replica database lags behind the primary database")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * <p>Checks whether read-only access can be sent to the replica.</p>
+     *
+     * @return {@code true} if the replica is up to date, {@code false} otherwise
+     */
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * <p>Reads the current lag from the replica and decides whether the replica can be used.</p>
+     */
+    @Scheduled(fixedDelay = 5, timeUnit = TimeUnit.SECONDS)
+    public void checkReplicaLag() {
+        try (var connection = replicaDataSource.getConnection();
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery(STATUS_QUERY)) {
+            if (!resultSet.next()) {
+                update(Double.NaN, "the database is not configured as replica");
+                return;
+            }
+            final var lag = resultSet.getLong(LAG_COLUMN);
+            if (resultSet.wasNull()) {
+                update(Double.NaN, "replication is not running");
+            } else if (lag > maxLag.toSeconds()) {
+                update(lag, "it lags %d seconds behind".formatted(lag));
+            } else {
+                update(lag, null);
+            }
+        } catch (final SQLException e) {
+            update(Double.NaN, "it is not reachable: " + e.getMessage());
+        }
+    }
+
+    private void update(final double lag, final @Nullable String reason) {
+        lagSeconds = lag;
+        final var usable = reason == null;
+        if (!checked || usable != replicaUsable) {
+            checked = true;
+            replicaUsable = usable;
+            if (usable) {
+                LOGGER.info("Replica database is up to date, sending read-only access to the replica.");
+            } else {
+                LOGGER.warn("Sending read-only access to the primary database, because the replica can't be used: {}",
+                        reason);
+            }
+        }
+    }
+
+}
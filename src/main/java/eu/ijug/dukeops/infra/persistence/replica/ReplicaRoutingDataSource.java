@@ -0,0 +1,58 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.persistence.replica;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * <p>Data source for read-only connections, which uses the replica as long as it is up to date and the
+ * primary database otherwise.</p>
+ */
+final class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final @NotNull ReplicaLagMonitor replicaLagMonitor;
+
+    /**
+     * <p>Creates a new routing data source for read-only connections.</p>
+     *
+     * @param primaryDataSource the data source for the primary database
+     * @param replicaDataSource the data source for the replica database
+     * @param replicaLagMonitor the monitor deciding whether the replica can be used
+     */
+    ReplicaRoutingDataSource(final @NotNull DataSource primaryDataSource,
+                             final @NotNull DataSource replicaDataSource,
+                             final @NotNull ReplicaLagMonitor replicaLagMonitor) {
+        super();
+        this.replicaLagMonitor = replicaLagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primaryDataSource, Target.REPLICA, replicaDataSource));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected @NotNull Object determineCurrentLookupKey() {
+        return replicaLagMonitor.isReplicaUsable() ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    private enum Target { PRIMARY, REPLICA }
+
+}
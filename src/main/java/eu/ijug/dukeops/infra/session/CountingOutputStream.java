@@ -0,0 +1,52 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * <p>An output stream which discards all data and only counts the number of bytes written.</p>
+ */
+final class CountingOutputStream extends OutputStream {
+
+    private long count;
+
+    @Override
+    public void write(final int b) {
+        count++;
+    }
+
+    @Override
+    public void write(final byte @NotNull [] b, final int off, final int len) {
+        Objects.checkFromIndexSize(off, len, b.length);
+        count += len;
+    }
+
+    /**
+     * <p>Returns the number of bytes written to this stream.</p>
+     *
+     * @return the number of bytes
+     */
+    long getCount() {
+        return count;
+    }
+
+}
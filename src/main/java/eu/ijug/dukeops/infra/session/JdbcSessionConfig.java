@@ -0,0 +1,107 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import jakarta.servlet.ServletContext;
+import org.jetbrains.annotations.NotNull;
+import org.jooq.DSLContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.session.SessionRepository;
+import org.springframework.session.jdbc.MySqlJdbcIndexedSessionRepositoryCustomizer;
+import org.springframework.session.jdbc.config.annotation.web.http.EnableJdbcHttpSession;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * <p>Stores the HTTP sessions in the database instead of the memory of the servlet container.</p>
+ *
+ * <p>The configuration is only active if {@code dukeops.session.store} is set to {@code jdbc}. All nodes
+ * connected to the same database then share the sessions, so the login survives a restart or a rolling
+ * deployment and a request can be served by any node. The Vaadin UI state stays on the node which
+ * created it, see {@link NodeLocalSessionAttributes}. The {@link JdbcSessionRegistry} reads the sessions of
+ * all nodes from the database.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "dukeops.session.store", havingValue = "jdbc")
+@EnableJdbcHttpSession(maxInactiveIntervalInSeconds = JdbcSessionConfig.SESSION_TIMEOUT_SECONDS)
+public class JdbcSessionConfig {
+
+    /**
+     * <p>The maximum inactive interval of a session in seconds.</p>
+     */
+    static final int SESSION_TIMEOUT_SECONDS = 1800;
+
+    /**
+     * <p>Creates the registry for the session attributes which must stay on this node.</p>
+     *
+     * @return the registry for node local session attributes
+     */
+    @Bean
+    NodeLocalSessionAttributes nodeLocalSessionAttributes() {
+        return new NodeLocalSessionAttributes(Duration.ofSeconds(SESSION_TIMEOUT_SECONDS));
+    }
+
+    /**
+     * <p>Creates the conversion service used by Spring Session to serialize the session attributes.</p>
+     *
+     * @param nodeLocalSessionAttributes the registry for node local session attributes
+     * @return the conversion service for session attributes
+     */
+    @Bean("springSessionConversionService")
+    GenericConversionService springSessionConversionService(
+            final @NotNull NodeLocalSessionAttributes nodeLocalSessionAttributes) {
+        final var converter = new SessionAttributeConverter(nodeLocalSessionAttributes,
+                JdbcSessionConfig.class.getClassLoader());
+        final var conversionService = new GenericConversionService();
+        conversionService.addConverter(Object.class, byte[].class, converter::serialize);
+        conversionService.addConverter(byte[].class, Object.class, converter::deserialize);
+        return conversionService;
+    }
+
+    /**
+     * <p>Creates the registry which reads the live sessions from the database.</p>
+     *
+     * @param sessionRepository the repository of the shared session store
+     * @param dsl the jOOQ DSL context used to query the session table
+     * @param clock the clock used to skip expired sessions
+     * @param servletContext the servlet context of this node
+     * @return the registry of the shared sessions
+     */
+    @Bean
+    JdbcSessionRegistry sessionRegistry(final @NotNull SessionRepository<?> sessionRepository,
+                                        final @NotNull DSLContext dsl,
+                                        final @NotNull Clock clock,
+                                        final @NotNull ServletContext servletContext) {
+        return new JdbcSessionRegistry(sessionRepository, dsl, clock, servletContext);
+    }
+
+    /**
+     * <p>Uses the MariaDB specific upsert to write session attributes.</p>
+     *
+     * @return the customizer for the session repository
+     */
+    @Bean
+    MySqlJdbcIndexedSessionRepositoryCustomizer sessionRepositoryCustomizer() {
+        return new MySqlJdbcIndexedSessionRepositoryCustomizer();
+    }
+
+}
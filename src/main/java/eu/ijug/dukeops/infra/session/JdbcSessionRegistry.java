@@ -0,0 +1,154 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpSession;
+import org.jetbrains.annotations.NotNull;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Table;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import static org.jooq.impl.DSL.binaryOctetLength;
+import static org.jooq.impl.DSL.coalesce;
+import static org.jooq.impl.DSL.count;
+import static org.jooq.impl.DSL.field;
+import static org.jooq.impl.DSL.inline;
+import static org.jooq.impl.DSL.name;
+import static org.jooq.impl.DSL.sum;
+import static org.jooq.impl.DSL.table;
+
+/**
+ * <p>{@link SessionRegistry} for the sessions shared by all nodes in the database.</p>
+ *
+ * <p>Spring Session does not publish events for sessions stored in the database, and the servlet container
+ * never sees them. The registry therefore reads the sessions from the session store, so it covers the
+ * sessions of all nodes. Sessions of a principal are found using the principal name index maintained by
+ * Spring Session. The number and the size of the sessions are queried from the session tables without
+ * loading any session, so the session metrics stay cheap regardless of the number of members. The session
+ * tables are managed by Spring Session and not part of the generated jOOQ classes, so their columns are
+ * declared here.</p>
+ */
+public class JdbcSessionRegistry implements SessionRegistry {
+
+    private static final @NotNull Table<?> SPRING_SESSION = table(name("SPRING_SESSION"));
+    private static final @NotNull Field<String> SESSION_ID = field(name("SESSION_ID"), String.class);
+    private static final @NotNull Field<Long> EXPIRY_TIME = field(name("EXPIRY_TIME"), Long.class);
+    private static final @NotNull Field<String> PRINCIPAL_NAME = field(name("PRINCIPAL_NAME"), String.class);
+    private static final @NotNull Field<String> PRIMARY_ID = field(name("SPRING_SESSION", "PRIMARY_ID"), String.class);
+    private static final @NotNull Table<?> SPRING_SESSION_ATTRIBUTES = table(name("SPRING_SESSION_ATTRIBUTES"));
+    private static final @NotNull Field<String> SESSION_PRIMARY_ID = field(name("SESSION_PRIMARY_ID"), String.class);
+    private static final @NotNull Field<byte[]> ATTRIBUTE_BYTES = field(name("ATTRIBUTE_BYTES"), byte[].class);
+    private static final int CHUNK_SIZE = 1000;
+
+    private final @NotNull SessionRepository<?> repository;
+    private final @NotNull DSLContext dsl;
+    private final @NotNull Clock clock;
+    private final @NotNull ServletContext servletContext;
+
+    /**
+     * <p>Creates a registry reading the sessions from the given session store.</p>
+     *
+     * @param repository the repository of the shared session store
+     * @param dsl the jOOQ DSL context used to query the session table
+     * @param clock the clock used to skip expired sessions
+     * @param servletContext the servlet context of this node
+     */
+    public JdbcSessionRegistry(final @NotNull SessionRepository<?> repository,
+                               final @NotNull DSLContext dsl,
+                               final @NotNull Clock clock,
+                               final @NotNull ServletContext servletContext) {
+        super();
+        this.repository = repository;
+        this.dsl = dsl;
+        this.clock = clock;
+        this.servletContext = servletContext;
+    }
+
+    @Override
+    public @NotNull List<HttpSession> getSessions(final int offset, final int limit) {
+        return load(dsl.select(SESSION_ID)
+                .from(SPRING_SESSION)
+                .where(notExpired())
+                .orderBy(SESSION_ID)
+                .limit(limit)
+                .offset(offset)
+                .fetch(SESSION_ID));
+    }
+
+    @Override
+    public @NotNull List<HttpSession> findByPrincipalNames(final @NotNull Collection<String> principalNames) {
+        final var names = List.copyOf(principalNames);
+        final var sessionIds = new ArrayList<String>();
+        for (var start = 0; start < names.size(); start += CHUNK_SIZE) {
+            sessionIds.addAll(dsl.select(SESSION_ID)
+                    .from(SPRING_SESSION)
+                    .where(PRINCIPAL_NAME.in(names.subList(start, Math.min(start + CHUNK_SIZE, names.size()))))
+                    .and(notExpired())
+                    .fetch(SESSION_ID));
+        }
+        return load(sessionIds);
+    }
+
+    @Override
+    public int getSessionCount() {
+        return dsl.select(count())
+                .from(SPRING_SESSION)
+                .where(notExpired())
+                .fetchSingle(0, Integer.class);
+    }
+
+    @Override
+    public @NotNull OptionalLong getStoredBytes() {
+        return OptionalLong.of(dsl.select(coalesce(sum(binaryOctetLength(ATTRIBUTE_BYTES)), inline(0)))
+                .from(SPRING_SESSION_ATTRIBUTES)
+                .join(SPRING_SESSION).on(SESSION_PRIMARY_ID.eq(PRIMARY_ID))
+                .where(notExpired())
+                .fetchSingle(0, Long.class));
+    }
+
+    private @NotNull Condition notExpired() {
+        return EXPIRY_TIME.gt(clock.millis());
+    }
+
+    private @NotNull List<HttpSession> load(final @NotNull List<String> sessionIds) {
+        final var sessions = new ArrayList<HttpSession>();
+        for (final var sessionId : sessionIds) {
+            // the session may have expired or been invalidated since the query
+            load(repository, sessionId).ifPresent(sessions::add);
+        }
+        return List.copyOf(sessions);
+    }
+
+    private <S extends Session> @NotNull Optional<HttpSession> load(final @NotNull SessionRepository<S> sessionRepository,
+                                                                     final @NotNull String sessionId) {
+        return Optional.ofNullable(sessionRepository.findById(sessionId))
+                .map(session -> new StoredHttpSession<>(sessionRepository, session, servletContext));
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.vaadin.flow.server.VaadinSession;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * <p>Keeps the session attributes which can not be shared between nodes in the memory of this node.</p>
+ *
+ * <p>Vaadin stores the {@link VaadinSession} and its session lock as HTTP session attributes. Both hold
+ * live UI state (component trees, push connections, locks) which must never leave the node that renders
+ * the UI. When the HTTP session is written to a shared session store, these attributes are replaced by
+ * a reference to this registry. Another node can not resolve the reference and simply creates a new
+ * Vaadin session, while the Spring Security context is shared between all nodes.</p>
+ *
+ * <p>The values expire after the same period of inactivity as the shared sessions. An expired
+ * {@link VaadinSession} is destroyed, so its UIs and session scoped beans are released.</p>
+ */
+public final class NodeLocalSessionAttributes {
+
+    private final @NotNull Cache<String, Object> valuesByKey;
+    private final @NotNull Cache<Object, String> keysByValue;
+
+    /**
+     * <p>Creates a registry whose values expire after the given period of inactivity.</p>
+     *
+     * @param timeout the maximum inactive interval of a session
+     */
+    public NodeLocalSessionAttributes(final @NotNull Duration timeout) {
+        this(timeout, Ticker.systemTicker());
+    }
+
+    NodeLocalSessionAttributes(final @NotNull Duration timeout,
+                               final @NotNull Ticker ticker) {
+        // weak keys compare by identity, a session must keep its reference even if its content changes
+        this.keysByValue = Caffeine.newBuilder()
+                .weakKeys()
+                .build();
+        this.valuesByKey = Caffeine.newBuilder()
+                .expireAfterAccess(timeout)
+                .ticker(ticker)
+                .executor(Runnable::run)
+                // values are never replaced or invalidated, so every removal is an expiry
+                .removalListener((String _, Object value, RemovalCause _) -> onExpiry(value))
+                .build();
+    }
+
+    /**
+     * <p>Checks whether the session attribute value must stay on this node.</p>
+     *
+     * @param value the session attribute value
+     * @return {@code true} for a {@link VaadinSession} or a session lock, {@code false} otherwise
+     */
+    public static boolean isNodeLocal(final @Nullable Object value) {
+        return value instanceof VaadinSession || value instanceof Lock;
+    }
+
+    /**
+     * <p>Registers the value and returns its key.</p>
+     *
+     * <p>Registering the same instance again returns the same key and resets its inactivity period.</p>
+     *
+     * @param value the node local value
+     * @return the key to resolve the value on this node; never {@code null}
+     */
+    public @NotNull String register(final @NotNull Object value) {
+        final var key = keysByValue.get(value, _ -> UUID.randomUUID().toString());
+        valuesByKey.get(key, _ -> value);
+        return key;
+    }
+
+    /**
+     * <p>Resolves a value registered on this node.</p>
+     *
+     * @param key the key returned by {@link #register(Object)}
+     * @return the value, or {@code null} if it was registered on another node or has expired
+     */
+    public @Nullable Object resolve(final @NotNull String key) {
+        return valuesByKey.getIfPresent(key);
+    }
+
+    /**
+     * <p>Returns the number of values currently registered on this node.</p>
+     *
+     * @return the number of registered values
+     */
+    public long size() {
+        valuesByKey.cleanUp();
+        return valuesByKey.estimatedSize();
+    }
+
+    private void onExpiry(final @NotNull Object value) {
+        keysByValue.invalidate(value);
+        if (value instanceof VaadinSession vaadinSession) {
+            final var service = vaadinSession.getService();
+            if (service != null) {
+                service.fireSessionDestroy(vaadinSession);
+            }
+        }
+    }
+
+}
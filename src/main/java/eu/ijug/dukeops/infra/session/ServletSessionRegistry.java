@@ -0,0 +1,97 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpSessionEvent;
+import jakarta.servlet.http.HttpSessionListener;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.security.web.context.HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY;
+
+/**
+ * <p>{@link SessionRegistry} for the sessions kept in the memory of the servlet container of this node.</p>
+ *
+ * <p>The servlet container does not offer a way to enumerate its sessions, so the registry is
+ * registered as a session listener and records every session from creation until it is destroyed.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "dukeops.session.store", havingValue = "servlet", matchIfMissing = true)
+public class ServletSessionRegistry implements SessionRegistry, HttpSessionListener {
+
+    private final @NotNull Set<HttpSession> sessions = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void sessionCreated(final @NotNull HttpSessionEvent event) {
+        sessions.add(event.getSession());
+    }
+
+    @Override
+    public void sessionDestroyed(final @NotNull HttpSessionEvent event) {
+        sessions.remove(event.getSession());
+    }
+
+    @Override
+    public @NotNull List<HttpSession> getSessions(final int offset, final int limit) {
+        return sessions.stream()
+                .sorted(Comparator.comparing(HttpSession::getId))
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public @NotNull List<HttpSession> findByPrincipalNames(final @NotNull Collection<String> principalNames) {
+        return sessions.stream()
+                .filter(session -> principalNames.contains(getPrincipalName(session)))
+                .toList();
+    }
+
+    @Override
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    @Override
+    public @NotNull OptionalLong getStoredBytes() {
+        return OptionalLong.empty();
+    }
+
+    private static @NotNull String getPrincipalName(final @NotNull HttpSession session) {
+        try {
+            if (session.getAttribute(SPRING_SECURITY_CONTEXT_KEY) instanceof SecurityContext context
+                    && context.getAuthentication() != null) {
+                return context.getAuthentication().getName();
+            }
+        } catch (final IllegalStateException _) {
+            // the session was invalidated concurrently, it has no principal anymore
+        }
+        return "";
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+
+/**
+ * <p>Converts session attributes to bytes and back for the shared session store.</p>
+ *
+ * <p>All attributes use standard Java serialization, except the node local attributes detected by
+ * {@link NodeLocalSessionAttributes#isNodeLocal(Object)}: they are kept in memory and only a
+ * {@link NodeLocalReference} is serialized. Reading a reference which is unknown on this node
+ * results in a missing attribute.</p>
+ */
+final class SessionAttributeConverter {
+
+    private final @NotNull NodeLocalSessionAttributes nodeLocalAttributes;
+    private final @NotNull SerializingConverter serializer = new SerializingConverter();
+    private final @NotNull DeserializingConverter deserializer;
+
+    /**
+     * <p>Creates a converter using the given registry for node local attributes.</p>
+     *
+     * @param nodeLocalAttributes the registry for node local attributes
+     * @param classLoader the class loader used to deserialize the attributes
+     */
+    SessionAttributeConverter(final @NotNull NodeLocalSessionAttributes nodeLocalAttributes,
+                              final @NotNull ClassLoader classLoader) {
+        this.nodeLocalAttributes = nodeLocalAttributes;
+        this.deserializer = new DeserializingConverter(classLoader);
+    }
+
+    /**
+     * <p>Serializes a session attribute value.</p>
+     *
+     * @param value the attribute value; must be serializable unless it is node local
+     * @return the serialized value; never {@code null}
+     */
+    byte @NotNull [] serialize(final @NotNull Object value) {
+        final var serializable = NodeLocalSessionAttributes.isNodeLocal(value)
+                ? new NodeLocalReference(nodeLocalAttributes.register(value))
+                : value;
+        return serializer.convert(serializable);
+    }
+
+    /**
+     * <p>Deserializes a session attribute value.</p>
+     *
+     * @param bytes the serialized value
+     * @return the attribute value, or {@code null} if it references a node local value unknown on this node
+     */
+    @Nullable Object deserialize(final byte @NotNull [] bytes) {
+        final var value = deserializer.convert(bytes);
+        return value instanceof NodeLocalReference(final var key) ? nodeLocalAttributes.resolve(key) : value;
+    }
+
+}
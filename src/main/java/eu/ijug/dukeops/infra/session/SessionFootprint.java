@@ -0,0 +1,55 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * <p>The estimated memory footprint of a single HTTP session.</p>
+ *
+ * <p>The attribute sizes add up to the total size of the session. The view sizes are a breakdown of
+ * the Vaadin session attribute and list the state held by the views and layouts currently shown in
+ * the UIs of the session.</p>
+ *
+ * @param lastAccessed the time of the last request of the session
+ * @param totalBytes the estimated size of all session attributes in bytes
+ * @param attributes the estimated size in bytes per session attribute
+ * @param views the estimated size in bytes per view or layout class
+ */
+public record SessionFootprint(@NotNull Instant lastAccessed,
+                               long totalBytes,
+                               @NotNull Map<String, Long> attributes,
+                               @NotNull Map<String, Long> views) {
+
+    /**
+     * <p>Creates a session footprint with immutable copies of the given breakdowns.</p>
+     *
+     * @param lastAccessed the time of the last request of the session
+     * @param totalBytes the estimated size of all session attributes in bytes
+     * @param attributes the estimated size in bytes per session attribute
+     * @param views the estimated size in bytes per view or layout class
+     */
+    public SessionFootprint {
+        attributes = Map.copyOf(attributes);
+        views = Map.copyOf(views);
+    }
+
+}
@@ -0,0 +1,184 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import com.vaadin.flow.server.VaadinSession;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import jakarta.servlet.http.HttpSession;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Samples the live sessions known to the {@link SessionRegistry} and estimates the memory they retain.</p>
+ *
+ * <p>Every HTTP session attribute is estimated on its own. For Vaadin sessions, the views and layouts
+ * currently shown in each UI are estimated as well, which gives a breakdown of the session size by
+ * view. The Vaadin session is locked while it is sampled to get a consistent picture. With the shared session
+ * store, the sessions of all nodes are sampled, but only the Vaadin sessions of this node can be measured.</p>
+ *
+ * <p>The service publishes the number of live sessions and the estimated total session memory of
+ * the last sample as metrics {@code dukeops.sessions.active} and {@code dukeops.sessions.memory}. If the
+ * session store can tell the size of the stored sessions, like the shared session store, the total is taken
+ * from the store and no session is loaded for the metrics. Otherwise, the sessions are measured page by
+ * page.</p>
+ */
+@Service
+public class SessionMemoryService {
+
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(SessionMemoryService.class);
+    private static final int SAMPLE_PAGE_SIZE = 1000;
+
+    private final @NotNull SessionRegistry sessionRegistry;
+    private final @NotNull Clock clock;
+    private final @NotNull AtomicLong sampledTotalBytes = new AtomicLong();
+
+    /**
+     * <p>Creates the session memory service and registers its metrics.</p>
+     *
+     * @param sessionRegistry the registry of all live HTTP sessions
+     * @param meterRegistry the meter registry to publish the metrics to
+     * @param clock the clock used to timestamp the reports
+     */
+    public SessionMemoryService(final @NotNull SessionRegistry sessionRegistry,
+                                final @NotNull MeterRegistry meterRegistry,
+                                final @NotNull Clock clock) {
+        super();
+        this.sessionRegistry = sessionRegistry;
+        this.clock = clock;
+
+        Gauge.builder("dukeops.sessions.active", sessionRegistry, SessionRegistry::getSessionCount)
+                .description("Number of live HTTP sessions")
+                .register(meterRegistry);
+        Gauge.builder("dukeops.sessions.memory", sampledTotalBytes, AtomicLong::get)
+                .description("Estimated memory retained by all live sessions at the last sample")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+    }
+
+    /**
+     * <p>Samples all live sessions periodically to keep the session memory metric up to date.</p>
+     */
+    @Scheduled(fixedDelayString = "${dukeops.session.sample-interval:PT5M}",
+            initialDelayString = "${dukeops.session.sample-interval:PT5M}")
+    public void sample() {
+        final var totalBytes = sampleTotalBytes();
+        LOGGER.debug("Sampled {} sessions with an estimated size of {} bytes.", sessionRegistry.getSessionCount(), totalBytes);
+    }
+
+    /**
+     * <p>Creates a report about the estimated memory footprint of all live sessions, with a breakdown of
+     * one page of the sessions.</p>
+     *
+     * <p>Only the sessions of the requested page are loaded and serialized, so the page size limits the
+     * cost of a report.</p>
+     *
+     * @param page the zero-based number of the page; must not be negative
+     * @param pageSize the maximum number of sessions per page; must be positive
+     * @return the session report; never {@code null}
+     */
+    public @NotNull SessionReport createReport(final int page, final int pageSize) {
+        final var sessionCount = sessionRegistry.getSessionCount();
+        final var totalBytes = sampleTotalBytes();
+
+        final var footprints = new ArrayList<SessionFootprint>();
+        final var offset = (int) Math.min((long) page * pageSize, Integer.MAX_VALUE);
+        for (final var httpSession : sessionRegistry.getSessions(offset, pageSize)) {
+            measure(httpSession).ifPresent(footprints::add);
+        }
+        footprints.sort(Comparator.comparingLong(SessionFootprint::totalBytes).reversed());
+
+        final var views = new TreeMap<String, Long>();
+        for (final var footprint : footprints) {
+            footprint.views().forEach((view, bytes) -> views.merge(view, bytes, Long::sum));
+        }
+
+        final var averageBytes = sessionCount == 0 ? 0 : totalBytes / sessionCount;
+        return new SessionReport(clock.instant(), sessionCount, totalBytes, averageBytes, page, pageSize, views, footprints);
+    }
+
+    private long sampleTotalBytes() {
+        final var storedBytes = sessionRegistry.getStoredBytes();
+        var totalBytes = 0L;
+        if (storedBytes.isPresent()) {
+            totalBytes = storedBytes.getAsLong();
+        } else {
+            for (var offset = 0; ; offset += SAMPLE_PAGE_SIZE) {
+                final var sessions = sessionRegistry.getSessions(offset, SAMPLE_PAGE_SIZE);
+                for (final var httpSession : sessions) {
+                    totalBytes += measure(httpSession).map(SessionFootprint::totalBytes).orElse(0L);
+                }
+                if (sessions.size() < SAMPLE_PAGE_SIZE) {
+                    break;
+                }
+            }
+        }
+        sampledTotalBytes.set(totalBytes);
+        return totalBytes;
+    }
+
+    private @NotNull Optional<SessionFootprint> measure(final @NotNull HttpSession httpSession) {
+        try {
+            final var attributes = new TreeMap<String, Long>();
+            final var views = new TreeMap<String, Long>();
+            for (final var name : Collections.list(httpSession.getAttributeNames())) {
+                final var value = httpSession.getAttribute(name);
+                final var bytes = value instanceof VaadinSession vaadinSession
+                        ? measureVaadinSession(vaadinSession, views)
+                        : SessionSizeUtil.estimateSize(value);
+                attributes.put(name, bytes);
+            }
+            final var totalBytes = attributes.values().stream().mapToLong(Long::longValue).sum();
+            final var lastAccessed = Instant.ofEpochMilli(httpSession.getLastAccessedTime());
+            return Optional.of(new SessionFootprint(lastAccessed, totalBytes, attributes, views));
+        } catch (final IllegalStateException e) {
+            LOGGER.debug("Session was invalidated while sampling: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private long measureVaadinSession(final @NotNull VaadinSession vaadinSession,
+                                      final @NotNull Map<String, Long> views) {
+        vaadinSession.lock();
+        try {
+            for (final var ui : vaadinSession.getUIs()) {
+                for (final var routerTarget : ui.getInternals().getActiveRouterTargetsChain()) {
+                    views.merge(routerTarget.getClass().getName(), SessionSizeUtil.estimateViewSize(routerTarget), Long::sum);
+                }
+            }
+            return SessionSizeUtil.estimateSize(vaadinSession);
+        } finally {
+            vaadinSession.unlock();
+        }
+    }
+
+}
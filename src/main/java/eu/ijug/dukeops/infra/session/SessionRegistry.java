@@ -0,0 +1,69 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import jakarta.servlet.http.HttpSession;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * <p>Keeps track of all live HTTP sessions.</p>
+ *
+ * <p>The implementation depends on the session store configured with {@code dukeops.session.store}: the
+ * sessions of the servlet container are recorded by {@link ServletSessionRegistry}, the sessions shared
+ * in the database are read from the session store by {@link JdbcSessionRegistry}.</p>
+ */
+public interface SessionRegistry {
+
+    /**
+     * <p>Returns a page of the live HTTP sessions, ordered by session ID.</p>
+     *
+     * @param offset the number of sessions to skip
+     * @param limit the maximum number of sessions to return
+     * @return an immutable list of the sessions; never {@code null}
+     */
+    @NotNull List<HttpSession> getSessions(int offset, int limit);
+
+    /**
+     * <p>Returns the live HTTP sessions authenticated with one of the given principal names.</p>
+     *
+     * @param principalNames the names of the principals, which are the email addresses of the users
+     * @return an immutable list of the sessions; never {@code null}
+     */
+    @NotNull List<HttpSession> findByPrincipalNames(@NotNull Collection<String> principalNames);
+
+    /**
+     * <p>Returns the number of live HTTP sessions.</p>
+     *
+     * @return the number of sessions
+     */
+    int getSessionCount();
+
+    /**
+     * <p>Returns the total size of the live HTTP sessions as kept by the session store, if the store keeps
+     * them serialized and can tell their size without loading them.</p>
+     *
+     * @return the size of all sessions in bytes, or an empty {@link OptionalLong} if the sessions have to be
+     *         loaded and measured one by one
+     */
+    @NotNull OptionalLong getStoredBytes();
+
+}
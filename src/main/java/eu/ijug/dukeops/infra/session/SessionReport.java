@@ -0,0 +1,67 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>A sampled report about the memory used by all live sessions.</p>
+ *
+ * <p>The totals cover all live sessions. The breakdown by view and by session covers one page of the
+ * sessions, ordered by session ID, so a report never has to load all sessions at once.</p>
+ *
+ * @param sampled the time the sessions were sampled
+ * @param sessionCount the number of live sessions
+ * @param totalBytes the estimated size of all sessions in bytes
+ * @param averageBytes the average estimated size of a session in bytes
+ * @param page the zero-based number of the page of sessions
+ * @param pageSize the maximum number of sessions per page
+ * @param views the estimated size in bytes per view or layout class, summed over the sessions of the page
+ * @param sessions the footprint per session of the page, largest first
+ */
+public record SessionReport(@NotNull Instant sampled,
+                            int sessionCount,
+                            long totalBytes,
+                            long averageBytes,
+                            int page,
+                            int pageSize,
+                            @NotNull Map<String, Long> views,
+                            @NotNull List<SessionFootprint> sessions) {
+
+    /**
+     * <p>Creates a session report with immutable copies of the given breakdowns.</p>
+     *
+     * @param sampled the time the sessions were sampled
+     * @param sessionCount the number of live sessions
+     * @param totalBytes the estimated size of all sessions in bytes
+     * @param averageBytes the average estimated size of a session in bytes
+     * @param page the zero-based number of the page of sessions
+     * @param pageSize the maximum number of sessions per page
+     * @param views the estimated size in bytes per view or layout class, summed over the sessions of the page
+     * @param sessions the footprint per session of the page, largest first
+     */
+    public SessionReport {
+        views = Map.copyOf(views);
+        sessions = List.copyOf(sessions);
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import com.vaadin.flow.internal.StateNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+
+/**
+ * <p>Estimates the memory retained by session objects using their serialized size.</p>
+ *
+ * <p>The serialized size is not the exact heap size, but it is proportional to the amount of data
+ * an object graph holds and it is cheap to compute without any agent or internal JDK access.
+ * Objects which are not serializable, like Spring beans injected into views, are shared between
+ * all sessions and are therefore skipped.</p>
+ */
+public final class SessionSizeUtil {
+
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(SessionSizeUtil.class);
+
+    /**
+     * <p>Estimates the size of the complete object graph reachable from the given object.</p>
+     *
+     * @param object the object to estimate; may be {@code null}
+     * @return the estimated size in bytes, or {@code 0} if the size could not be estimated
+     */
+    public static long estimateSize(final @Nullable Object object) {
+        return estimate(object, false);
+    }
+
+    /**
+     * <p>Estimates the size of the state held by a view or layout instance.</p>
+     *
+     * <p>Every component is connected to the whole UI through its element tree. To get a figure per
+     * view, the estimation stops at the state nodes of the element tree and counts only the data the
+     * view and its child components hold in their own fields, like grid items or loaded records.</p>
+     *
+     * @param view the view or layout to estimate; may be {@code null}
+     * @return the estimated size in bytes, or {@code 0} if the size could not be estimated
+     */
+    public static long estimateViewSize(final @Nullable Object view) {
+        return estimate(view, true);
+    }
+
+    private static long estimate(final @Nullable Object object, final boolean stopAtElementTree) {
+        if (object == null) {
+            return 0;
+        }
+        final var counter = new CountingOutputStream();
+        try (var out = new EstimatingObjectOutputStream(counter, stopAtElementTree)) {
+            out.writeObject(object);
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.debug("Unable to estimate the size of {}: {}", object.getClass().getName(), e.getMessage());
+            return 0;
+        }
+        return counter.getCount();
+    }
+
+    private static final class EstimatingObjectOutputStream extends ObjectOutputStream {
+
+        private final boolean stopAtElementTree;
+
+        private EstimatingObjectOutputStream(final @NotNull OutputStream out,
+                                             final boolean stopAtElementTree) throws IOException {
+            super(out);
+            this.stopAtElementTree = stopAtElementTree;
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected @Nullable Object replaceObject(final @Nullable Object object) {
+            if (!(object instanceof Serializable)) {
+                return null;
+            }
+            return stopAtElementTree && object instanceof StateNode ? null : object;
+        }
+
+    }
+
+    /**
+     * <p>Private constructor to prevent instantiation of this utility class.</p>
+     */
+    private SessionSizeUtil() {
+        throw new IllegalStateException("Utility class");
+    }
+
+}
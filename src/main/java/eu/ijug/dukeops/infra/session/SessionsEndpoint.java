@@ -0,0 +1,76 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.OptionalParameter;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * <p>Actuator endpoint {@code /actuator/sessions} that reports the estimated memory footprint of all
+ * live sessions, broken down by session attribute and view.</p>
+ *
+ * <p>The report contains data about all members currently using the application, so access to the
+ * endpoint is restricted to administrators. The breakdown by session is paged with the optional parameters
+ * {@code page} and {@code size}, only the sessions of the requested page are loaded.</p>
+ */
+@Component
+@Endpoint(id = "sessions")
+public class SessionsEndpoint {
+
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final @NotNull SessionMemoryService sessionMemoryService;
+
+    /**
+     * <p>Creates the endpoint.</p>
+     *
+     * @param sessionMemoryService the service used to sample the sessions
+     */
+    public SessionsEndpoint(final @NotNull SessionMemoryService sessionMemoryService) {
+        super();
+        this.sessionMemoryService = sessionMemoryService;
+    }
+
+    /**
+     * <p>Samples one page of the live sessions and returns the report.</p>
+     *
+     * @param page the zero-based number of the page; {@code 0} if not given
+     * @param size the number of sessions per page, at most {@value #MAX_PAGE_SIZE};
+     *             {@value #DEFAULT_PAGE_SIZE} if not given
+     * @return the session report; never {@code null}
+     * @throws InvalidEndpointRequestException if the page or the page size is out of range
+     */
+    @ReadOperation
+    public @NotNull SessionReport sessions(@OptionalParameter final @Nullable Integer page,
+                                           @OptionalParameter final @Nullable Integer size) {
+        final var pageNumber = page == null ? 0 : page;
+        final var pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageNumber < 0 || pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new InvalidEndpointRequestException("Invalid page %d with size %d".formatted(pageNumber, pageSize),
+                    "The page must be >= 0 and the size between 1 and " + MAX_PAGE_SIZE);
+        }
+        return sessionMemoryService.createReport(pageNumber, pageSize);
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpSession;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Enumeration;
+
+/**
+ * <p>Presents a session loaded from a shared session store as an {@link HttpSession}.</p>
+ *
+ * <p>The session is loaded outside of a request, so every change is saved to the session store
+ * immediately. Only the changed attributes are written, changes made concurrently by a request
+ * to other attributes are kept.</p>
+ *
+ * @param <S> the type of the stored session
+ */
+final class StoredHttpSession<S extends Session> implements HttpSession {
+
+    private final @NotNull SessionRepository<S> repository;
+    private final @NotNull S session;
+    private final @NotNull ServletContext servletContext;
+
+    /**
+     * <p>Creates an HTTP session view of a stored session.</p>
+     *
+     * @param repository the session repository the session was loaded from
+     * @param session the stored session
+     * @param servletContext the servlet context of this node
+     */
+    StoredHttpSession(final @NotNull SessionRepository<S> repository,
+                      final @NotNull S session,
+                      final @NotNull ServletContext servletContext) {
+        this.repository = repository;
+        this.session = session;
+        this.servletContext = servletContext;
+    }
+
+    @Override
+    public long getCreationTime() {
+        return session.getCreationTime().toEpochMilli();
+    }
+
+    @Override
+    public @NotNull String getId() {
+        return session.getId();
+    }
+
+    @Override
+    public long getLastAccessedTime() {
+        return session.getLastAccessedTime().toEpochMilli();
+    }
+
+    @Override
+    public @NotNull ServletContext getServletContext() {
+        return servletContext;
+    }
+
+    @Override
+    public void setMaxInactiveInterval(final int interval) {
+        session.setMaxInactiveInterval(Duration.ofSeconds(interval));
+        repository.save(session);
+    }
+
+    @Override
+    public int getMaxInactiveInterval() {
+        return (int) session.getMaxInactiveInterval().toSeconds();
+    }
+
+    @Override
+    public @Nullable Object getAttribute(final @NotNull String name) {
+        return session.getAttribute(name);
+    }
+
+    @Override
+    public @NotNull Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(session.getAttributeNames());
+    }
+
+    @Override
+    public void setAttribute(final @NotNull String name, final @Nullable Object value) {
+        session.setAttribute(name, value);
+        repository.save(session);
+    }
+
+    @Override
+    public void removeAttribute(final @NotNull String name) {
+        session.removeAttribute(name);
+        repository.save(session);
+    }
+
+    @Override
+    public void invalidate() {
+        repository.deleteById(session.getId());
+    }
+
+    @Override
+    public boolean isNew() {
+        return false;
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.ui.html;
+
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.parser.Parser;
+import com.vladsch.flexmark.util.data.DataHolder;
+import com.vladsch.flexmark.util.data.MutableDataSet;
+import eu.ijug.dukeops.SecurityConfig;
+import eu.ijug.dukeops.infra.ui.vaadin.control.ThemeUtil;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationKey;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationProvider;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * <p>Renders lightweight HTML pages without Vaadin.</p>
+ *
+ * <p>Pages which are mostly requested anonymously, like the login and the confirmation page, are served by
+ * plain Spring MVC controllers. Rendering them neither needs an HTTP session nor a Vaadin UI. The pages share
+ * the header, the stylesheet and the dark-mode preference with the Vaadin application.</p>
+ */
+@Component
+public class HtmlPageRenderer {
+
+    /**
+     * <p>The media type of the rendered pages.</p>
+     */
+    public static final @NotNull MediaType TEXT_HTML_UTF8 = new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8);
+
+    private static final @NotNull String MARKDOWN_PUNCTUATION = "!\"#$%&'()*+,-./:;<=>?@[\\]^_`{|}~";
+
+    private static final @NotNull DataHolder MARKDOWN_OPTIONS = new MutableDataSet()
+            .set(HtmlRenderer.ESCAPE_HTML, true)
+            .toImmutable();
+
+    private static final @NotNull String PAGE_TEMPLATE = """
+            <!DOCTYPE html>
+            <html lang="%s">
+            <head>
+            <meta charset="UTF-8">
+            <meta name="viewport" content="width=device-width, initial-scale=1.0">
+            <title>%s – DukeOps</title>
+            <link rel="icon" href="/icons/favicon-32x32.png" sizes="32x32">
+            <link rel="shortcut icon" href="/icons/favicon.ico">
+            <link rel="stylesheet" href="/css/styles.css">
+            <script>%s</script>
+            </head>
+            <body class="static-page">
+            <header class="page-header">
+            <a class="logo-link" href="/"><img class="logo" src="/images/logo.webp" alt="DukeOps Logo"></a>
+            <div><h1>DukeOps</h1><h2>iJUG Self-Service Portal</h2></div>
+            </header>
+            <nav class="navigation-bar">
+            <div class="menu-bar">
+            <a href="%s">%s</a>
+            <a href="https://www.ijug.eu/impressum" target="_blank">%s</a>
+            </div>
+            </nav>
+            <main id="%s">
+            %s
+            </main>
+            </body>
+            </html>
+            """;
+
+    private final @NotNull TranslationProvider translationProvider;
+    private final @NotNull Parser markdownParser = Parser.builder(MARKDOWN_OPTIONS).build();
+    private final @NotNull HtmlRenderer markdownRenderer = HtmlRenderer.builder(MARKDOWN_OPTIONS).build();
+
+    /**
+     * <p>Creates a new page renderer.</p>
+     *
+     * @param translationProvider the translation provider used for the navigation texts
+     */
+    public HtmlPageRenderer(final @NotNull TranslationProvider translationProvider) {
+        super();
+        this.translationProvider = translationProvider;
+    }
+
+    /**
+     * <p>Renders a complete HTML page with the header and the navigation of the application.</p>
+     *
+     * @param locale the locale of the page
+     * @param id the ID of the main element, used for styling
+     * @param title the view-specific title part shown in the browser tab; it is escaped
+     * @param content the HTML content of the main element; it is not escaped
+     * @return the HTML page; never {@code null}
+     */
+    public @NotNull String render(final @NotNull Locale locale,
+                                  final @NotNull String id,
+                                  final @NotNull String title,
+                                  final @NotNull String content) {
+        return PAGE_TEMPLATE.formatted(
+                locale.toLanguageTag(),
+                HtmlUtils.htmlEscape(title),
+                ThemeUtil.BOOTSTRAP_SCRIPT,
+                SecurityConfig.LOGIN_URL,
+                HtmlUtils.htmlEscape(translationProvider.getTranslation(TranslationKey.WEB_LAYOUT_NAVIGATION_BAR_LOGIN_LINK_TEXT, locale)),
+                HtmlUtils.htmlEscape(translationProvider.getTranslation(TranslationKey.WEB_LAYOUT_NAVIGATION_BAR_IMPRINT_LINK_TEXT, locale)),
+                id,
+                content);
+    }
+
+    /**
+     * <p>Renders a message with a heading and a Markdown text.</p>
+     *
+     * @param title the heading of the message; it is escaped
+     * @param markdown the Markdown text of the message
+     * @return the HTML fragment; never {@code null}
+     * @see #markdown(String)
+     */
+    public @NotNull String message(final @NotNull String title, final @NotNull String markdown) {
+        return "<h3>" + HtmlUtils.htmlEscape(title) + "</h3>\n" + markdown(markdown);
+    }
+
+    /**
+     * <p>Renders Markdown text, e.g. a translation, to HTML. Raw HTML in the text is escaped.</p>
+     *
+     * @param markdown the Markdown text
+     * @return the HTML fragment; never {@code null}
+     */
+    public @NotNull String markdown(final @NotNull String markdown) {
+        return markdownRenderer.render(markdownParser.parse(markdown));
+    }
+
+    /**
+     * <p>Escapes all Markdown punctuation in user input, so it is rendered as literal text when it is
+     * inserted into a Markdown text, even inside of a link.</p>
+     *
+     * @param text the user input
+     * @return the escaped text; never {@code null}
+     */
+    public static @NotNull String escapeMarkdown(final @NotNull String text) {
+        final var escaped = new StringBuilder(text.length() * 2);
+        for (final var character : text.toCharArray()) {
+            if (MARKDOWN_PUNCTUATION.indexOf(character) >= 0) {
+                escaped.append('\\');
+            }
+            escaped.append(character);
+        }
+        return escaped.toString();
+    }
+
+}
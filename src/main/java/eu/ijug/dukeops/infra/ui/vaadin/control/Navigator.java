@@ -38,4 +38,16 @@ public class Navigator {
         ui.navigate(target);
     }
 
+    /**
+     * <p>Loads the specified URL in the browser, leaving the Vaadin UI. This is used for pages which
+     * are not served by Vaadin, e.g. the login page.</p>
+     *
+     * @param ui  the UI instance to perform the redirect on
+     * @param url the URL to load
+     */
+    public void redirect(final @NotNull UI ui,
+                         final @NotNull String url) {
+        ui.getPage().setLocation(url);
+    }
+
 }
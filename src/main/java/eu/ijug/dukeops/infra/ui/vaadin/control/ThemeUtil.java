@@ -19,34 +19,74 @@ package eu.ijug.dukeops.infra.ui.vaadin.control;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.page.ColorScheme;
+import com.vaadin.flow.server.VaadinSession;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public final class ThemeUtil {
 
     private static final String DARK_MODE = "dark-mode";
 
+    /**
+     * <p>Script to be inlined into the page head. It applies the dark-mode preference stored in the
+     * browser's LocalStorage before the first paint, so the page does not flash in the light theme
+     * while the server-side state is being synchronized.</p>
+     */
+    public static final @NotNull String BOOTSTRAP_SCRIPT = """
+            try {
+                if (localStorage.getItem('%s') === 'true') {
+                    document.documentElement.style.colorScheme = 'dark';
+                    document.documentElement.setAttribute('theme', 'dark');
+                }
+            } catch (e) {
+                // LocalStorage is not available, keep the default color scheme
+            }
+            """.formatted(DARK_MODE);
+
+    /**
+     * <p>Applies the dark-mode preference to the given UI.</p>
+     *
+     * <p>The preference is kept in the Vaadin session. Only if it is not known yet, it is read once
+     * from the browser's LocalStorage, all following navigations are handled on the server without
+     * a client round trip.</p>
+     *
+     * @param ui the current UI instance; must not be {@code null}
+     */
     @SuppressWarnings("java:S5411") // Boolean value is never null
     public static void initializeDarkMode(final @NotNull UI ui) {
-        LocalStorageUtil.getBoolean(ui, DARK_MODE, false, isDarkModeEnabled -> {
-            final var isDarkModeActive = isDarkModeActive(ui);
-            if (isDarkModeEnabled && !isDarkModeActive) {
-                toggleDarkMode(ui);
-            }
+        final var session = ui.getSession();
+        final var isDarkModeEnabled = session != null ? (Boolean) session.getAttribute(DARK_MODE) : null;
+        if (isDarkModeEnabled != null) {
+            applyDarkMode(ui, isDarkModeEnabled);
+            return;
+        }
+        LocalStorageUtil.getBoolean(ui, DARK_MODE, false, isDarkModeStored -> {
+            storePreference(session, isDarkModeStored);
+            applyDarkMode(ui, isDarkModeStored);
         });
     }
 
+    private static void applyDarkMode(final @NotNull UI ui, final boolean isDarkModeEnabled) {
+        if (isDarkModeEnabled && !isDarkModeActive(ui)) {
+            ui.getPage().setColorScheme(ColorScheme.Value.DARK);
+        }
+    }
+
+    private static void storePreference(final @Nullable VaadinSession session, final boolean isDarkModeEnabled) {
+        if (session != null) {
+            session.setAttribute(DARK_MODE, isDarkModeEnabled);
+        }
+    }
+
     public static boolean isDarkModeActive(final @NotNull UI ui) {
         return ui.getPage().getColorScheme().equals(ColorScheme.Value.DARK);
     }
 
     public static void toggleDarkMode(final @NotNull UI ui) {
-        if (isDarkModeActive(ui)) {
-            ui.getPage().setColorScheme(ColorScheme.Value.LIGHT);
-            LocalStorageUtil.setBoolean(ui, DARK_MODE, false);
-        } else {
-            ui.getPage().setColorScheme(ColorScheme.Value.DARK);
-            LocalStorageUtil.setBoolean(ui, DARK_MODE, true);
-        }
+        final var isDarkModeEnabled = !isDarkModeActive(ui);
+        ui.getPage().setColorScheme(isDarkModeEnabled ? ColorScheme.Value.DARK : ColorScheme.Value.LIGHT);
+        LocalStorageUtil.setBoolean(ui, DARK_MODE, isDarkModeEnabled);
+        storePreference(ui.getSession(), isDarkModeEnabled);
     }
 
 
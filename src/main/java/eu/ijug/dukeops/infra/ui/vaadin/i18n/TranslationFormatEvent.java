@@ -0,0 +1,52 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.ui.vaadin.i18n;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>JFR event emitted when a translation with parameters has been formatted.</p>
+ *
+ * <p>Translations without parameters are plain lookups and do not emit an event.</p>
+ */
+@Name(TranslationFormatEvent.NAME)
+@Label("Translation Format")
+@Description("Formatting a translation with parameters using ICU")
+@Category({"DukeOps", "Translation"})
+@StackTrace(false)
+final class TranslationFormatEvent extends Event {
+
+    /**
+     * <p>The name of the event in a recording.</p>
+     */
+    static final @NotNull String NAME = "eu.ijug.dukeops.TranslationFormat";
+
+    @Label("Key")
+    String key;
+
+    @Label("Locale")
+    @Description("Language of the translation which was used")
+    String locale;
+
+}
@@ -20,6 +20,9 @@ package eu.ijug.dukeops.infra.ui.vaadin.i18n;
 import com.ibm.icu.text.MessageFormat;
 import com.ibm.icu.util.ULocale;
 import com.vaadin.flow.i18n.I18NProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.stereotype.Component;
@@ -27,8 +30,8 @@ import org.springframework.stereotype.Component;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.MissingResourceException;
 import java.util.ResourceBundle;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * <p>Spring-managed {@link I18NProvider} implementation that provides translations
@@ -37,9 +40,20 @@ import java.util.ResourceBundle;
  * <p>Translations are loaded from property files located under
  * {@code src/main/resources/vaadin-i18n/} and support both positional and named parameters
  * using ICU {@link MessageFormat}.</p>
+ *
+ * <p>All translations are read once on construction into one lookup table per provided locale. The tables are
+ * indexed by the ordinal of the generated {@link TranslationKey}, so a lookup with a typed key is a plain array
+ * access. The build fails if a translation is missing in any of the provided locales.</p>
+ *
+ * <p>The lookups are counted in the metric {@code dukeops.translation.lookups}, tagged with the type
+ * {@code plain}, {@code formatted} or {@code missing}. The counters are cheap enough to be updated on every
+ * lookup and are only read when the metrics are published. Formatting a translation with parameters emits a
+ * {@link TranslationFormatEvent}.</p>
  */
 @Component
-public class TranslationProvider implements I18NProvider {
+public class TranslationProvider implements I18NProvider, MeterBinder {
+
+    private static final @NotNull String LOOKUPS_METRIC = "dukeops.translation.lookups";
 
     /**
      * <p>Base name of the resource bundles containing the translations.</p>
@@ -54,6 +68,20 @@ public class TranslationProvider implements I18NProvider {
     private static final @NotNull List<Locale> PROVIDED_LOCALES = List.of(
             Locale.ENGLISH, Locale.GERMAN);
 
+    /**
+     * <p>Language codes of the provided locales, in the same order as {@link #PROVIDED_LOCALES}.</p>
+     */
+    private final @NotNull String[] languageCodes;
+
+    /**
+     * <p>Translation patterns per provided locale, indexed by the ordinal of the {@link TranslationKey}.</p>
+     */
+    private final @NotNull String[][] patterns;
+
+    private final @NotNull LongAdder plainLookups = new LongAdder();
+    private final @NotNull LongAdder formattedLookups = new LongAdder();
+    private final @NotNull LongAdder missingLookups = new LongAdder();
+
     /**
      * <p>Creates a new {@code TranslationProvider} and sets the JVM default locale to English.</p>
      *
@@ -61,6 +89,41 @@ public class TranslationProvider implements I18NProvider {
      */
     public TranslationProvider() {
         Locale.setDefault(Locale.ENGLISH);
+
+        final var translationKeys = TranslationKey.values();
+        languageCodes = new String[PROVIDED_LOCALES.size()];
+        patterns = new String[PROVIDED_LOCALES.size()][];
+        for (int localeIndex = 0; localeIndex < PROVIDED_LOCALES.size(); localeIndex++) {
+            final var locale = PROVIDED_LOCALES.get(localeIndex);
+            final var bundle = ResourceBundle.getBundle(BUNDLE_BASENAME, locale);
+            final var localePatterns = new String[translationKeys.length];
+            for (final var translationKey : translationKeys) {
+                localePatterns[translationKey.ordinal()] = bundle.getString(translationKey.key());
+            }
+            languageCodes[localeIndex] = LocaleUtil.getLanguageCode(locale);
+            patterns[localeIndex] = localePatterns;
+        }
+    }
+
+    /**
+     * <p>Registers the lookup counters with the given registry.</p>
+     *
+     * @param registry the registry to register the metrics with
+     */
+    @Override
+    public void bindTo(final @NotNull MeterRegistry registry) {
+        registerLookupCounter(registry, plainLookups, "plain");
+        registerLookupCounter(registry, formattedLookups, "formatted");
+        registerLookupCounter(registry, missingLookups, "missing");
+    }
+
+    private static void registerLookupCounter(final @NotNull MeterRegistry registry,
+                                              final @NotNull LongAdder lookups,
+                                              final @NotNull String type) {
+        FunctionCounter.builder(LOOKUPS_METRIC, lookups, LongAdder::sum)
+                .description("Number of translation lookups")
+                .tag("type", type)
+                .register(registry);
     }
 
     /**
@@ -91,23 +154,71 @@ public class TranslationProvider implements I18NProvider {
     public @NotNull String getTranslation(final @NotNull String key,
                                           final @Nullable Locale locale,
                                           final @NotNull Object... params) {
-        final var effectiveLocale = locale != null ? locale : Locale.ENGLISH;
-
-        final String pattern;
-        try {
-            final var bundle = ResourceBundle.getBundle(BUNDLE_BASENAME, effectiveLocale);
-            pattern = bundle.getString(key);
-        } catch (final MissingResourceException ex) {
+        final var translationKey = TranslationKey.fromKey(key);
+        if (translationKey == null) {
             // Missing translation → return placeholder
+            missingLookups.increment();
+            final var effectiveLocale = locale != null ? locale : Locale.ENGLISH;
             return "!" + LocaleUtil.getLanguageCode(effectiveLocale).toLowerCase(Locale.ENGLISH) + ": " + key;
         }
+        return getTranslation(translationKey, locale, params);
+    }
+
+    /**
+     * <p>Resolves a translation for the given key object and locale. Typed {@link TranslationKey}s are resolved
+     * directly from the lookup tables, all other keys are converted to a string first.</p>
+     *
+     * @param key the translation key to resolve
+     * @param locale the locale to use, or {@code null} to fall back to English
+     * @param params optional parameters for message formatting
+     * @return the resolved and formatted translation, or a placeholder if the key is missing
+     */
+    @Override
+    public @NotNull String getTranslation(final @NotNull Object key,
+                                          final @Nullable Locale locale,
+                                          final @NotNull Object... params) {
+        if (key instanceof TranslationKey translationKey) {
+            return getTranslation(translationKey, locale, params);
+        }
+        return getTranslation(key.toString(), locale, params);
+    }
+
+    /**
+     * <p>Resolves a translation for the given typed key and locale and applies optional parameters.</p>
+     *
+     * <p>Locales which are not provided fall back to English.</p>
+     *
+     * @param key the typed translation key to resolve
+     * @param locale the locale to use, or {@code null} to fall back to English
+     * @param params optional parameters for message formatting
+     * @return the resolved and formatted translation
+     */
+    public @NotNull String getTranslation(final @NotNull TranslationKey key,
+                                          final @Nullable Locale locale,
+                                          final @NotNull Object... params) {
+        final var localeIndex = getLocaleIndex(locale);
+        final var pattern = patterns[localeIndex][key.ordinal()];
 
         // No placeholder → return directly
         if (params.length == 0) {
+            plainLookups.increment();
             return pattern;
         }
+        formattedLookups.increment();
 
-        final var uLocale = ULocale.forLocale(effectiveLocale);
+        final var event = new TranslationFormatEvent();
+        event.begin();
+        final var text = format(pattern, locale, params);
+        event.key = key.key();
+        event.locale = languageCodes[localeIndex];
+        event.commit();
+        return text;
+    }
+
+    private static @NotNull String format(final @NotNull String pattern,
+                                          final @Nullable Locale locale,
+                                          final @NotNull Object... params) {
+        final var uLocale = ULocale.forLocale(locale != null ? locale : Locale.ENGLISH);
         final var icuFormat = new MessageFormat(pattern, uLocale);
 
         // Optional: Support named arguments when a map is the first argument
@@ -121,4 +232,20 @@ public class TranslationProvider implements I18NProvider {
         return icuFormat.format(params);
     }
 
+    /**
+     * <p>Finds the lookup table for the given locale by its language. English is used as fallback.</p>
+     *
+     * @param locale the requested locale, may be {@code null}
+     * @return the index of the lookup table to use
+     */
+    private int getLocaleIndex(final @Nullable Locale locale) {
+        final var languageCode = LocaleUtil.getLanguageCode(locale);
+        for (int localeIndex = 0; localeIndex < languageCodes.length; localeIndex++) {
+            if (languageCodes[localeIndex].equals(languageCode)) {
+                return localeIndex;
+            }
+        }
+        return 0;
+    }
+
 }
@@ -0,0 +1,62 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.ui.vaadin.init;
+
+import com.vaadin.flow.component.UI;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Counts the Vaadin {@link UI} instances of this node which are currently open.</p>
+ *
+ * <p>Every UI is counted when it is created and no longer counted when it is detached, which happens when the
+ * browser tab is closed or the session expires. The number is reported in the metric
+ * {@code dukeops.vaadin.uis.active}.</p>
+ */
+@Component
+public class UIMetricsInitializer implements UIInitializer {
+
+    private final @NotNull AtomicInteger activeUis = new AtomicInteger();
+
+    /**
+     * <p>Creates a new initializer and registers the gauge for the open UIs.</p>
+     *
+     * @param meterRegistry the registry for the UI metrics
+     */
+    public UIMetricsInitializer(final @NotNull MeterRegistry meterRegistry) {
+        Gauge.builder("dukeops.vaadin.uis.active", activeUis, AtomicInteger::get)
+                .description("Number of open Vaadin UIs")
+                .register(meterRegistry);
+    }
+
+    /**
+     * <p>Counts the given UI until it is detached.</p>
+     *
+     * @param ui the Vaadin UI instance being initialized
+     */
+    @Override
+    public void initialize(final @NotNull UI ui) {
+        activeUis.incrementAndGet();
+        ui.addDetachListener(_ -> activeUis.decrementAndGet());
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.ui.vaadin.init;
+
+import com.vaadin.flow.server.ServiceInitEvent;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinRequestInterceptor;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinServiceInitListener;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.shared.ApplicationConstants;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * <p>Observes the handling of every Vaadin request, e.g. a server round trip triggered by a click in a view.</p>
+ *
+ * <p>The observation is opened when Vaadin starts to handle the request and stays the current observation
+ * until the request is finished, so all service calls, SQL statements and mails sent while handling the
+ * request are reported as part of it. The type of the request ({@code uidl}, {@code heartbeat}, ...) is added
+ * as a tag.</p>
+ */
+@Component
+public class VaadinRequestObserver implements VaadinServiceInitListener, VaadinRequestInterceptor {
+
+    private static final @NotNull String OBSERVATION_NAME = "dukeops.vaadin.request";
+    private static final @NotNull String OBSERVATION_ATTRIBUTE = VaadinRequestObserver.class.getName() + ".observation";
+    private static final @NotNull String SCOPE_ATTRIBUTE = VaadinRequestObserver.class.getName() + ".scope";
+    private static final @NotNull Set<String> REQUEST_TYPES = Set.of("uidl", "heartbeat", "init", "push", "webcomponent");
+
+    private final @NotNull ObservationRegistry observationRegistry;
+
+    /**
+     * <p>Creates a new observer reporting to the given registry.</p>
+     *
+     * @param observationRegistry the registry to report the observations to
+     */
+    public VaadinRequestObserver(final @NotNull ObservationRegistry observationRegistry) {
+        super();
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * <p>Registers this observer as interceptor for all Vaadin requests.</p>
+     *
+     * @param event the Vaadin service initialization event
+     */
+    @Override
+    public void serviceInit(final @NotNull ServiceInitEvent event) {
+        event.addVaadinRequestInterceptor(this);
+    }
+
+    /**
+     * <p>Starts the observation of the request and makes it the current observation.</p>
+     *
+     * @param request the Vaadin request
+     * @param response the Vaadin response
+     */
+    @Override
+    public void requestStart(final @NotNull VaadinRequest request,
+                             final @NotNull VaadinResponse response) {
+        final var type = requestType(request.getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER));
+        final var observation = Observation.createNotStarted(OBSERVATION_NAME, observationRegistry)
+                .contextualName("vaadin " + type)
+                .lowCardinalityKeyValue("type", type)
+                .start();
+        request.setAttribute(OBSERVATION_ATTRIBUTE, observation);
+        request.setAttribute(SCOPE_ATTRIBUTE, observation.openScope());
+    }
+
+    /**
+     * <p>Records the exception thrown while handling the request on the observation.</p>
+     *
+     * @param request the Vaadin request
+     * @param response the Vaadin response
+     * @param vaadinSession the Vaadin session, if available
+     * @param exception the exception thrown while handling the request
+     */
+    @Override
+    public void handleException(final @NotNull VaadinRequest request,
+                                final @NotNull VaadinResponse response,
+                                final @Nullable VaadinSession vaadinSession,
+                                final @NotNull Exception exception) {
+        if (request.getAttribute(OBSERVATION_ATTRIBUTE) instanceof Observation observation) {
+            observation.error(exception);
+        }
+    }
+
+    /**
+     * <p>Closes the scope and stops the observation of the request.</p>
+     *
+     * @param request the Vaadin request
+     * @param response the Vaadin response
+     * @param vaadinSession the Vaadin session, if available
+     */
+    @Override
+    public void requestEnd(final @NotNull VaadinRequest request,
+                           final @NotNull VaadinResponse response,
+                           final @Nullable VaadinSession vaadinSession) {
+        if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof Observation.Scope scope) {
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+            scope.close();
+        }
+        if (request.getAttribute(OBSERVATION_ATTRIBUTE) instanceof Observation observation) {
+            request.removeAttribute(OBSERVATION_ATTRIBUTE);
+            observation.stop();
+        }
+    }
+
+    private static @NotNull String requestType(final @Nullable String type) {
+        if (type == null) {
+            return "page";
+        }
+        return REQUEST_TYPES.contains(type) ? type : "other";
+    }
+
+}
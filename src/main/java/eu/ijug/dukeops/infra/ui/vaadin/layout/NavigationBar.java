@@ -29,10 +29,10 @@ import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.router.RouterLink;
 import eu.ijug.dukeops.SecurityConfig;
-import eu.ijug.dukeops.domain.authentication.boundary.LoginView;
 import eu.ijug.dukeops.domain.authentication.entity.AuthenticationSignal;
 import eu.ijug.dukeops.domain.dashboard.boundary.DashboardView;
 import eu.ijug.dukeops.infra.ui.vaadin.control.ThemeUtil;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationKey;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.VisibleForTesting;
 import org.jspecify.annotations.NonNull;
@@ -52,13 +52,14 @@ public final class NavigationBar extends HorizontalLayout {
     }
 
     private Component createNavigationBar(final @NotNull AuthenticationSignal authenticationSignal) {
-        final var dashboardLink = new RouterLink(getTranslation("web.view.DashboardView.title"), DashboardView.class);
-        final var loginLink = new RouterLink(getTranslation("web.view.LoginView.title"), LoginView.class);
-        final var logoutLink = new Anchor(SecurityConfig.LOGOUT_URL, getTranslation("web.layout.NavigationBar.logoutLink.text"));
+        final var dashboardLink = new RouterLink(getTranslation(TranslationKey.WEB_VIEW_DASHBOARD_VIEW_TITLE), DashboardView.class);
+        final var loginLink = new Anchor(SecurityConfig.LOGIN_URL, getTranslation(TranslationKey.WEB_LAYOUT_NAVIGATION_BAR_LOGIN_LINK_TEXT));
+        loginLink.setRouterIgnore(true);
+        final var logoutLink = new Anchor(SecurityConfig.LOGOUT_URL, getTranslation(TranslationKey.WEB_LAYOUT_NAVIGATION_BAR_LOGOUT_LINK_TEXT));
         logoutLink.setRouterIgnore(true);
 
         final var imprintLink = new Anchor("https://www.ijug.eu/impressum",
-                getTranslation("web.layout.NavigationBar.imprintLink.text"),
+                getTranslation(TranslationKey.WEB_LAYOUT_NAVIGATION_BAR_IMPRINT_LINK_TEXT),
                 AnchorTarget.BLANK);
 
         ComponentEffect.effect(this, () ->
@@ -85,13 +86,13 @@ public final class NavigationBar extends HorizontalLayout {
      *
      * @param authenticationSignal the signal providing the current authentication state
      * @param dashboardLink the navigation link to the dashboard view
-     * @param loginLink the navigation link to the login view
+     * @param loginLink the navigation link to the login page
      * @param logoutLink the navigation link to the logout view
      */
     @VisibleForTesting
     static void updateAuthenticationVisibility(final @NonNull AuthenticationSignal authenticationSignal,
                                                final @NotNull RouterLink dashboardLink,
-                                               final @NotNull RouterLink loginLink,
+                                               final @NotNull Anchor loginLink,
                                                final @NotNull Anchor logoutLink) {
         boolean isLoggedIn;
         try {
@@ -110,7 +111,7 @@ public final class NavigationBar extends HorizontalLayout {
         themeToggleButton.setIcon(new Icon(VaadinIcon.ADJUST));
         themeToggleButton.addClickListener(clickEvent ->
                 ThemeUtil.toggleDarkMode(clickEvent.getSource().getUI().orElseThrow()));
-        themeToggleButton.setTooltipText(getTranslation("web.layout.NavigationBar.themeToggle.tooltip"));
+        themeToggleButton.setTooltipText(getTranslation(TranslationKey.WEB_LAYOUT_NAVIGATION_BAR_THEME_TOGGLE_TOOLTIP));
         return themeToggleButton;
     }
 }
@@ -20,6 +20,7 @@ package eu.ijug.dukeops.infra.ui.vaadin.layout;
 import com.vaadin.flow.component.html.Anchor;
 import com.vaadin.flow.component.html.AnchorTarget;
 import com.vaadin.flow.component.html.Footer;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationKey;
 import org.jetbrains.annotations.NotNull;
 
 import java.time.Year;
@@ -30,7 +31,7 @@ public final class PageFooter extends Footer {
         super();
         addClassName("page-footer");
 
-        final var dukeOpsFooter = getTranslation("web.layout.PageFooter.dukeops",
+        final var dukeOpsFooter = getTranslation(TranslationKey.WEB_LAYOUT_PAGE_FOOTER_DUKEOPS,
                 version, String.valueOf(Year.now().getValue()));
         add(new Anchor("https://github.com/ijug-ev/dukeops", dukeOpsFooter, AnchorTarget.BLANK));
     }
@@ -25,7 +25,7 @@ import com.vaadin.flow.component.html.Image;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
-import eu.ijug.dukeops.domain.authentication.boundary.LoginView;
+import eu.ijug.dukeops.SecurityConfig;
 import eu.ijug.dukeops.domain.authentication.control.AuthenticationService;
 import eu.ijug.dukeops.domain.dashboard.boundary.DashboardView;
 import eu.ijug.dukeops.infra.ui.vaadin.control.Navigator;
@@ -71,7 +71,7 @@ public final class PageHeader extends Header {
         if (authenticationService.isUserLoggedIn()) {
             navigator.navigate(ui, DashboardView.class);
         } else {
-            navigator.navigate(ui, LoginView.class);
+            navigator.redirect(ui, SecurityConfig.LOGIN_URL);
         }
     }
 
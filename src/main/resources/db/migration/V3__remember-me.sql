@@ -0,0 +1,20 @@
+CREATE TABLE remember_me_token (
+    id VARCHAR(36) NOT NULL,
+
+    created TIMESTAMP NOT NULL,
+    updated TIMESTAMP NOT NULL,
+
+    user_id VARCHAR(36) NOT NULL,
+    token_hash CHAR(64) NOT NULL,
+    previous_token_hash CHAR(64) NULL,
+    rotated TIMESTAMP NULL,
+    expires TIMESTAMP NOT NULL,
+
+    PRIMARY KEY (id),
+    CONSTRAINT fk_remember_me_token_user
+        FOREIGN KEY (user_id)
+            REFERENCES user (id)
+            ON DELETE CASCADE
+);
+
+CREATE INDEX idx_remember_me_token_expires ON remember_me_token (expires);
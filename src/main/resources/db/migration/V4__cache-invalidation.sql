@@ -0,0 +1,12 @@
+CREATE TABLE cache_invalidation (
+    id VARCHAR(36) NOT NULL,
+
+    created TIMESTAMP NOT NULL,
+
+    node_id VARCHAR(36) NOT NULL,
+    cache_name VARCHAR(255) NOT NULL,
+    cache_keys TEXT NOT NULL,
+
+    PRIMARY KEY (id),
+    INDEX idx_cache_invalidation_created (created)
+);
@@ -0,0 +1,12 @@
+CREATE INDEX idx_clubdesk_updated ON clubdesk (updated);
+
+CREATE TABLE clubdesk_export (
+    id VARCHAR(36) NOT NULL,
+
+    created TIMESTAMP NOT NULL,
+
+    watermark TIMESTAMP NOT NULL,
+    records INT NOT NULL,
+
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,11 @@
+CREATE TABLE used_confirmation_token (
+    id VARCHAR(36) NOT NULL,
+
+    created TIMESTAMP NOT NULL,
+
+    expires TIMESTAMP NOT NULL,
+
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_used_confirmation_token_expires ON used_confirmation_token (expires);
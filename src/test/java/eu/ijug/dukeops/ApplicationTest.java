@@ -17,7 +17,9 @@
  */
 package eu.ijug.dukeops;
 
+import com.vaadin.flow.component.page.Inline;
 import com.vaadin.flow.server.AppShellSettings;
+import eu.ijug.dukeops.infra.ui.vaadin.control.ThemeUtil;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.MockedStatic;
@@ -68,6 +70,8 @@ class ApplicationTest {
 
         verify(settings).addLink("shortcut icon", "icons/favicon.ico");
 
+        verify(settings).addInlineWithContents(Inline.Position.PREPEND, ThemeUtil.BOOTSTRAP_SCRIPT, Inline.Wrapping.JAVASCRIPT);
+
         verifyNoMoreInteractions(settings);
     }
 
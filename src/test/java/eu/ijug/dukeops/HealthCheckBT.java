@@ -32,22 +32,45 @@ import static org.assertj.core.api.Assertions.assertThat;
 class HealthCheckBT extends BrowserTest {
 
     @Test
-    void healthEndpointShouldReturn200() throws Exception {
+    void healthEndpointShouldReportCachedChecks() throws Exception {
+        final var response = get("/actuator/health");
+        assertThat(response.statusCode()).isIn(200, 503);
+
+        final var components = new JSONObject(response.body()).getJSONObject("components");
+        assertThat(components.keySet()).contains("db", "mail");
+        assertThat(components.getJSONObject("db").getJSONObject("details").keySet())
+                .containsAnyOf("checkedAt", "reason");
+    }
+
+    @Test
+    void livenessGroupShouldReturn200() throws Exception {
+        final var response = get("/actuator/health/liveness");
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        final var json = new JSONObject(response.body());
+        assertThat(json.getString("status")).isEqualToIgnoringCase("up");
+        assertThat(json.getJSONObject("components").keySet()).containsExactly("livenessState");
+    }
+
+    @Test
+    void readinessGroupShouldIncludeDatabase() throws Exception {
+        final var response = get("/actuator/health/readiness");
+
+        final var json = new JSONObject(response.body());
+        assertThat(json.getJSONObject("components").keySet()).containsExactlyInAnyOrder("readinessState", "db");
+    }
+
+    private static HttpResponse<String> get(final String path) throws Exception {
         try (final var client = HttpClient.newHttpClient()) {
             final var uri = UriComponentsBuilder.fromUriString(LinkUtil.getBaseUrl())
-                    .path("/actuator/health")
+                    .path(path)
                     .build()
                     .toUri();
             final var request = HttpRequest.newBuilder()
                     .uri(uri)
                     .GET()
                     .build();
-
-            final var response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            assertThat(response.statusCode()).isEqualTo(200);
-
-            final var json = new JSONObject(response.body());
-            assertThat(json.getString("status")).isEqualToIgnoringCase("up");
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
         }
     }
 
@@ -0,0 +1,76 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops;
+
+import eu.ijug.dukeops.test.BrowserTest;
+import eu.ijug.dukeops.infra.ui.vaadin.control.LinkUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrometheusEndpointBT extends BrowserTest {
+
+    @Test
+    void prometheusEndpointShouldReturnDomainMetricsWithToken() throws Exception {
+        final var response = scrape("Bearer test-metrics-token");
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body())
+                .contains("dukeops_login_total")
+                .contains("dukeops_mail_send_seconds_count")
+                .contains("dukeops_translation_lookups_total")
+                .contains("dukeops_vaadin_uis_active");
+    }
+
+    @Test
+    void prometheusEndpointShouldRejectRequestWithoutToken() throws Exception {
+        final var response = scrape(null);
+        assertThat(response.statusCode()).isNotEqualTo(200);
+        assertThat(response.body()).doesNotContain("dukeops_login_total");
+    }
+
+    @Test
+    void prometheusEndpointShouldRejectWrongToken() throws Exception {
+        final var response = scrape("Bearer wrong-token");
+        assertThat(response.statusCode()).isNotEqualTo(200);
+        assertThat(response.body()).doesNotContain("dukeops_login_total");
+    }
+
+    private static @NotNull HttpResponse<String> scrape(final @Nullable String authorization) throws Exception {
+        try (final var client = HttpClient.newHttpClient()) {
+            final var uri = UriComponentsBuilder.fromUriString(LinkUtil.getBaseUrl())
+                    .path("/actuator/prometheus")
+                    .build()
+                    .toUri();
+            final var request = HttpRequest.newBuilder()
+                    .uri(uri)
+                    .GET();
+            if (authorization != null) {
+                request.header("Authorization", authorization);
+            }
+            return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        }
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.boundary;
+
+import com.icegreen.greenmail.util.GreenMailUtil;
+import eu.ijug.dukeops.SecurityConfig;
+import eu.ijug.dukeops.domain.authentication.control.RememberMeService;
+import eu.ijug.dukeops.infra.ui.vaadin.control.LinkUtil;
+import eu.ijug.dukeops.test.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+import static eu.ijug.dukeops.test.TestUtil.extractLinkFromText;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfirmationControllerIT extends IntegrationTest {
+
+    private static final String CSRF_COOKIE_NAME = "XSRF-TOKEN";
+    private static final Pattern CSRF_TOKEN_PATTERN = Pattern.compile("name=\"_csrf\" value=\"([^\"]+)\"");
+
+    @Test
+    void confirmationCreatesSessionOnlyAfterLogin() throws Exception {
+        final var confirmationLink = requestConfirmationLink();
+        final var confirmationId = UriComponentsBuilder.fromUriString(confirmationLink).build()
+                .getQueryParams().getFirst("id");
+        assertThat(confirmationId).isNotBlank();
+
+        // opening the link neither uses it up nor creates a session, the CSRF token is kept in a cookie
+        final var form = send(HttpRequest.newBuilder(URI.create(confirmationLink)).GET());
+        assertThat(form.statusCode()).isEqualTo(200);
+        assertThat(form.headers().allValues("Set-Cookie"))
+                .singleElement()
+                .satisfies(cookie -> assertThat(cookie).startsWith(CSRF_COOKIE_NAME + "="));
+        assertThat(form.body())
+                .contains("<h3>Confirm Login</h3>")
+                .containsPattern("<input type=\"hidden\" name=\"_csrf\" value=\"[^\"]+\">")
+                .contains("<input type=\"hidden\" name=\"id\" value=\"" + confirmationId + "\">")
+                .contains("<input type=\"checkbox\" name=\"remember-me\"> Remember this device");
+
+        // anonymous requests to protected pages are redirected to the login page
+        final var anonymous = send(HttpRequest.newBuilder(uri("/")).GET());
+        assertThat(anonymous.statusCode()).isEqualTo(302);
+        assertThat(anonymous.headers().firstValue("Location")).hasValueSatisfying(
+                location -> assertThat(location).endsWith(SecurityConfig.LOGIN_URL));
+
+        // confirming the login creates the session
+        final var confirmed = confirm(confirmationId);
+        assertThat(confirmed.statusCode()).isEqualTo(200);
+        assertThat(confirmed.headers().firstValue("Refresh")).hasValue("2; url=/");
+        assertThat(confirmed.body())
+                .contains("<h3>Confirmation Successful</h3>")
+                .contains("in 2 seconds", "in one second", "now");
+        final var sessionCookie = getCookie(confirmed, "JSESSIONID");
+        assertThat(confirmed.headers().allValues("Set-Cookie"))
+                .noneMatch(cookie -> cookie.startsWith(RememberMeService.COOKIE_NAME));
+
+        final var dashboard = send(HttpRequest.newBuilder(uri("/")).header("Cookie", sessionCookie).GET());
+        assertThat(dashboard.statusCode()).isEqualTo(200);
+
+        // the link can only be used once
+        final var replayed = confirm(confirmationId);
+        assertThat(replayed.statusCode()).isEqualTo(400);
+        assertThat(replayed.headers().allValues("Set-Cookie")).isEmpty();
+        assertThat(replayed.body()).contains("<h3>Confirmation Failed</h3>");
+    }
+
+    @Test
+    void rememberedDeviceLogsInWithoutLoginLink() throws Exception {
+        final var confirmationLink = requestConfirmationLink();
+        final var confirmationId = UriComponentsBuilder.fromUriString(confirmationLink).build()
+                .getQueryParams().getFirst("id");
+
+        final var confirmed = confirm(confirmationId, "&remember-me=on");
+        assertThat(confirmed.statusCode()).isEqualTo(200);
+        final var rememberMeCookie = getCookie(confirmed, RememberMeService.COOKIE_NAME);
+
+        // a request without session logs in with the remember-me cookie and rotates it
+        final var dashboard = send(HttpRequest.newBuilder(uri("/")).header("Cookie", rememberMeCookie).GET());
+        assertThat(dashboard.statusCode()).isEqualTo(200);
+        final var rotatedCookie = getCookie(dashboard, RememberMeService.COOKIE_NAME);
+        assertThat(rotatedCookie).isNotEqualTo(rememberMeCookie);
+
+        // presenting the outdated cookie again forgets all devices of the member
+        final var stolen = send(HttpRequest.newBuilder(uri("/")).header("Cookie", rememberMeCookie).GET());
+        assertThat(stolen.statusCode()).isEqualTo(302);
+        final var forgotten = send(HttpRequest.newBuilder(uri("/")).header("Cookie", rotatedCookie).GET());
+        assertThat(forgotten.statusCode()).isEqualTo(302);
+    }
+
+    @Test
+    void confirmationWithoutCsrfTokenIsRejected() throws Exception {
+        final var confirmationLink = requestConfirmationLink();
+        final var confirmationId = UriComponentsBuilder.fromUriString(confirmationLink).build()
+                .getQueryParams().getFirst("id");
+
+        // a foreign page posting the login link of another account must not log the browser in
+        final var forged = send(HttpRequest.newBuilder(uri(SecurityConfig.CONFIRM_URL))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("id=" + confirmationId)));
+        assertThat(forged.statusCode()).isEqualTo(403);
+
+        // the login link is not used up by the rejected request
+        assertThat(confirm(confirmationId).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void confirmationWithoutIdShowsError() throws Exception {
+        final var response = send(HttpRequest.newBuilder(uri(SecurityConfig.CONFIRM_URL)).GET());
+
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(response.headers().allValues("Set-Cookie")).isEmpty();
+        assertThat(response.body()).contains("<h3>Confirmation Failed</h3>");
+    }
+
+    private String requestConfirmationLink() throws Exception {
+        final var response = send(HttpRequest.newBuilder(uri(SecurityConfig.LOGIN_LINK_URL))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("email=" + TEST_USER.email())));
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        final var mailBody = GreenMailUtil.getBody(getEmailBySubject("Please confirm your email address"));
+        final var confirmationLink = extractLinkFromText(mailBody);
+        assertThat(confirmationLink).isNotNull();
+        return confirmationLink;
+    }
+
+    private static String getCookie(final HttpResponse<String> response, final String name) {
+        return response.headers().allValues("Set-Cookie").stream()
+                .filter(cookie -> cookie.startsWith(name + "="))
+                .map(cookie -> cookie.split(";")[0])
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static HttpResponse<String> confirm(final String confirmationId) throws Exception {
+        return confirm(confirmationId, "");
+    }
+
+    private static HttpResponse<String> confirm(final String confirmationId,
+                                                final String parameters) throws Exception {
+        // like a browser, load the form first to get the CSRF token
+        final var form = send(HttpRequest.newBuilder(UriComponentsBuilder.fromUri(uri(SecurityConfig.CONFIRM_URL))
+                .queryParam("id", confirmationId)
+                .build()
+                .toUri()).GET());
+        final var csrfToken = CSRF_TOKEN_PATTERN.matcher(form.body()).results()
+                .map(result -> result.group(1))
+                .findFirst()
+                .orElseThrow();
+        return send(HttpRequest.newBuilder(uri(SecurityConfig.CONFIRM_URL))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("Cookie", getCookie(form, CSRF_COOKIE_NAME))
+                .POST(HttpRequest.BodyPublishers.ofString("_csrf=" + URLEncoder.encode(csrfToken, StandardCharsets.UTF_8)
+                        + "&id=" + confirmationId + parameters)));
+    }
+
+    private static HttpResponse<String> send(final HttpRequest.Builder request) throws Exception {
+        try (final var client = HttpClient.newHttpClient()) {
+            return client.send(request.header("Accept-Language", "en").build(), HttpResponse.BodyHandlers.ofString());
+        }
+    }
+
+    private static URI uri(final String path) {
+        return UriComponentsBuilder.fromUriString(LinkUtil.getBaseUrl())
+                .path(path)
+                .build()
+                .toUri();
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.boundary;
+
+import eu.ijug.dukeops.domain.authentication.control.ConfirmationService;
+import eu.ijug.dukeops.domain.authentication.control.RememberMeService;
+import eu.ijug.dukeops.infra.ui.html.HtmlPageRenderer;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationProvider;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConfirmationControllerTest {
+
+    private final ConfirmationService confirmationService = mock(ConfirmationService.class);
+    private final RememberMeService rememberMeService = mock(RememberMeService.class);
+    private final HttpServletRequest request = mock(HttpServletRequest.class);
+    private final HttpServletResponse response = mock(HttpServletResponse.class);
+    private final TranslationProvider translationProvider = new TranslationProvider();
+    private final HtmlPageRenderer pageRenderer = new HtmlPageRenderer(translationProvider);
+
+    @Test
+    void negativeRedirectTimeoutIsRejected() {
+        final var redirectTimeout = Duration.ofSeconds(-1);
+        assertThatThrownBy(() -> new ConfirmationController(confirmationService, rememberMeService, translationProvider, pageRenderer, redirectTimeout))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("'dukeops.confirm.redirect.timeout' must be >= 0");
+    }
+
+    @Test
+    void tooLongRedirectTimeoutIsRejected() {
+        final var redirectTimeout = Duration.ofSeconds(61);
+        assertThatThrownBy(() -> new ConfirmationController(confirmationService, rememberMeService, translationProvider, pageRenderer, redirectTimeout))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("'dukeops.confirm.redirect.timeout' must be <= 60s");
+    }
+
+    @Test
+    void fractionalRedirectTimeoutIsRejected() {
+        final var redirectTimeout = Duration.ofMillis(1500);
+        assertThatThrownBy(() -> new ConfirmationController(confirmationService, rememberMeService, translationProvider, pageRenderer, redirectTimeout))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("'dukeops.confirm.redirect.timeout' must be a whole number of seconds");
+        final var subSecondTimeout = Duration.ofMillis(500);
+        assertThatThrownBy(() -> new ConfirmationController(confirmationService, rememberMeService, translationProvider, pageRenderer, subSecondTimeout))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("'dukeops.confirm.redirect.timeout' must be a whole number of seconds");
+    }
+
+    @Test
+    void maximumRedirectTimeoutRendersOneMessagePerSecond() {
+        when(confirmationService.confirmAndLogin("token")).thenReturn(true);
+        final var controller = new ConfirmationController(confirmationService, rememberMeService, translationProvider, pageRenderer, Duration.ofMinutes(1));
+
+        final var page = controller.confirm("token", Locale.ENGLISH, request, response);
+
+        assertThat(page.getHeaders().getFirst("Refresh")).isEqualTo("60; url=/");
+        assertThat(page.getBody())
+                .containsOnlyOnce("in 60 seconds")
+                .contains("if (index >= messages.length - 1)");
+        assertThat(page.getBody().split("<div class=\"countdown\"", -1)).hasSize(62);
+    }
+
+    @Test
+    void zeroRedirectTimeoutRedirectsImmediately() {
+        when(confirmationService.confirmAndLogin("token")).thenReturn(true);
+        final var controller = new ConfirmationController(confirmationService, rememberMeService, translationProvider, pageRenderer, Duration.ZERO);
+
+        final var page = controller.confirm("token", Locale.ENGLISH, request, response);
+
+        assertThat(page.getStatusCode()).isEqualTo(HttpStatus.SEE_OTHER);
+        assertThat(page.getHeaders().getLocation()).isEqualTo(URI.create("/"));
+        assertThat(page.getBody()).isNull();
+        verify(rememberMeService).rememberLogin(request, response);
+    }
+
+    @Test
+    void successPageRefreshesToDashboard() {
+        when(confirmationService.confirmAndLogin("token")).thenReturn(true);
+        final var controller = new ConfirmationController(confirmationService, rememberMeService, translationProvider, pageRenderer, Duration.ofSeconds(1));
+
+        final var page = controller.confirm("token", Locale.GERMAN, request, response);
+
+        assertThat(page.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(page.getHeaders().getFirst("Refresh")).isEqualTo("1; url=/");
+        assertThat(page.getBody())
+                .contains("<html lang=\"de\">")
+                .contains("<h3>Bestätigung erfolgreich</h3>")
+                .contains("<div class=\"countdown\"><p>Deine E-Mail wurde erfolgreich bestätigt.<br />")
+                .contains("in einer Sekunde")
+                .contains("<div class=\"countdown\" hidden><p>")
+                .contains("jetzt")
+                .contains("document.querySelectorAll(\".countdown\")");
+    }
+
+    @Test
+    void failedConfirmationDoesNotRememberDevice() {
+        when(confirmationService.confirmAndLogin("token")).thenReturn(false);
+        final var controller = new ConfirmationController(confirmationService, rememberMeService, translationProvider, pageRenderer, Duration.ZERO);
+
+        final var page = controller.confirm("token", Locale.ENGLISH, request, response);
+
+        assertThat(page.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(rememberMeService, never()).rememberLogin(any(), any());
+    }
+
+}
@@ -26,7 +26,7 @@ import org.junit.jupiter.api.Test;
 import static eu.ijug.dukeops.test.TestUtil.extractLinkFromText;
 import static org.assertj.core.api.Assertions.assertThat;
 
-class LoginViewBT extends BrowserTest {
+class LoginControllerBT extends BrowserTest {
 
     @Test
     void loginWithButtonPress() {
@@ -36,11 +36,11 @@ class LoginViewBT extends BrowserTest {
         page.waitForSelector(PAGE_NAME_SELECTOR);
 
         // fill in email address
-        final var emailInput = page.locator("vaadin-email-field").locator("input");
+        final var emailInput = page.locator(EMAIL_INPUT_SELECTOR);
         emailInput.fill(TEST_USER.email());
 
         // use the button to submit the form
-        page.locator("vaadin-button:has-text('Request Login Link')").click();
+        page.locator(REQUEST_LOGIN_LINK_BUTTON_SELECTOR).click();
 
         // wait for the confirmation email
         final var confirmationMessage = getEmailBySubject("Please confirm your email address");
@@ -53,6 +53,7 @@ class LoginViewBT extends BrowserTest {
         // open the confirmation link
         page.navigate(confirmationLink);
         page.waitForURL("**/confirm**");
+        page.locator(CONFIRM_LOGIN_BUTTON_SELECTOR).click();
         page.waitForSelector(CONFIRMATION_SUCCESSFUL_SELECTOR);
     }
 
@@ -64,7 +65,7 @@ class LoginViewBT extends BrowserTest {
         page.waitForSelector(PAGE_NAME_SELECTOR);
 
         // fill in email address
-        final var emailInput = page.locator("vaadin-email-field").locator("input");
+        final var emailInput = page.locator(EMAIL_INPUT_SELECTOR);
         emailInput.fill(TEST_USER.email());
 
         // use the enter key to submit the form
@@ -81,6 +82,7 @@ class LoginViewBT extends BrowserTest {
         // open the confirmation link
         page.navigate(confirmationLink);
         page.waitForURL("**/confirm**");
+        page.locator(CONFIRM_LOGIN_BUTTON_SELECTOR).click();
         page.waitForSelector(CONFIRMATION_SUCCESSFUL_SELECTOR);
     }
 
@@ -0,0 +1,106 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.boundary;
+
+import eu.ijug.dukeops.SecurityConfig;
+import eu.ijug.dukeops.infra.ui.vaadin.control.LinkUtil;
+import eu.ijug.dukeops.test.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginControllerIT extends IntegrationTest {
+
+    @Test
+    void loginFormDoesNotCreateSession() throws Exception {
+        final var response = send(HttpRequest.newBuilder(uri(SecurityConfig.LOGIN_URL)).GET());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+                contentType -> assertThat(contentType).startsWith("text/html"));
+        assertThat(response.headers().allValues("Set-Cookie")).isEmpty();
+        assertThat(response.body())
+                .contains("<title>Login – DukeOps</title>")
+                .contains("<h3>Please log in</h3>")
+                .contains("action=\"/login/link\"")
+                .contains("Request Login Link");
+    }
+
+    @Test
+    void requestLoginLinkSendsMailWithoutSession() throws Exception {
+        final var response = post("email=" + URLEncoder.encode(" " + TEST_USER.email() + " ", StandardCharsets.UTF_8));
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().allValues("Set-Cookie")).isEmpty();
+        assertThat(response.body())
+                .contains("<h3>Please check your email</h3>")
+                .contains("<a href=\"mailto:user@example.com\">user@example.com</a>");
+        assertThat(getEmailBySubject("Please confirm your email address").getAllRecipients())
+                .extracting(Object::toString)
+                .containsExactly(TEST_USER.email());
+    }
+
+    @Test
+    void requestLoginLinkRejectsInvalidEmail() throws Exception {
+        final var response = post("email=" + URLEncoder.encode("<b>no-email</b>", StandardCharsets.UTF_8));
+
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(response.headers().allValues("Set-Cookie")).isEmpty();
+        assertThat(response.body())
+                .contains("value=\"&lt;b&gt;no-email&lt;/b&gt;\"")
+                .contains("<p class=\"error\">This is not a valid email address.</p>")
+                .doesNotContain("<b>no-email</b>");
+        assertThat(getGreenMail().getReceivedMessages()).isEmpty();
+    }
+
+    @Test
+    void requestLoginLinkRejectsMissingEmail() throws Exception {
+        final var response = post("");
+
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(response.body()).contains("This is not a valid email address.");
+    }
+
+    private static HttpResponse<String> post(final String form) throws Exception {
+        return send(HttpRequest.newBuilder(uri(SecurityConfig.LOGIN_LINK_URL))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form)));
+    }
+
+    private static HttpResponse<String> send(final HttpRequest.Builder request) throws Exception {
+        try (final var client = HttpClient.newHttpClient()) {
+            return client.send(request.header("Accept-Language", "en").build(), HttpResponse.BodyHandlers.ofString());
+        }
+    }
+
+    private static URI uri(final String path) {
+        return UriComponentsBuilder.fromUriString(LinkUtil.getBaseUrl())
+                .path(path)
+                .build()
+                .toUri();
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.boundary;
+
+import eu.ijug.dukeops.domain.authentication.control.ConfirmationService;
+import eu.ijug.dukeops.domain.authentication.control.LoginRateLimiter;
+import eu.ijug.dukeops.infra.ui.html.HtmlPageRenderer;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationProvider;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.BindingResult;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LoginControllerTest {
+
+    @Test
+    void throttledRequestDoesNotSendMail() {
+        final var confirmationService = mock(ConfirmationService.class);
+        final var loginRateLimiter = mock(LoginRateLimiter.class);
+        when(loginRateLimiter.tryAcquire("user@example.com", "192.0.2.1")).thenReturn(false);
+        final var translationProvider = new TranslationProvider();
+        final var controller = new LoginController(confirmationService, loginRateLimiter,
+                translationProvider, new HtmlPageRenderer(translationProvider));
+        final var request = mock(HttpServletRequest.class);
+        when(request.getRemoteAddr()).thenReturn("192.0.2.1");
+
+        final var response = controller.requestLoginLink(new LoginRequest("user@example.com"),
+                mock(BindingResult.class), Locale.ENGLISH, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getBody())
+                .contains("<h3>Too many requests</h3>")
+                .contains("Please wait a few minutes and try again.");
+        verify(confirmationService, never()).sendConfirmationMail(any(), anyString());
+    }
+
+}
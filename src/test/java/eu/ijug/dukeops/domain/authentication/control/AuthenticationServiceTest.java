@@ -17,16 +17,14 @@
  */
 package eu.ijug.dukeops.domain.authentication.control;
 
-import com.vaadin.flow.server.VaadinService;
-import com.vaadin.flow.server.VaadinServletRequest;
-import com.vaadin.flow.server.VaadinServletResponse;
-import eu.ijug.dukeops.domain.authentication.entity.AuthenticationSignal;
 import eu.ijug.dukeops.domain.authentication.entity.UserPrincipal;
 import eu.ijug.dukeops.domain.user.control.UserService;
 import eu.ijug.dukeops.domain.user.entity.UserDto;
 import eu.ijug.dukeops.domain.user.entity.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
 import nl.altindag.log.LogCaptor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -36,6 +34,9 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.util.Optional;
 
@@ -43,7 +44,8 @@ import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class AuthenticationServiceTest {
@@ -51,9 +53,10 @@ class AuthenticationServiceTest {
     private UserService userService;
     private UserDto userDto;
 
-    private VaadinServletRequest vaadinServletRequest;
-    private VaadinServletResponse vaadinServletResponse;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
 
+    private SimpleMeterRegistry meterRegistry;
     private AuthenticationService authenticationService;
 
     @BeforeEach
@@ -61,18 +64,17 @@ class AuthenticationServiceTest {
         userService = mock(UserService.class);
         userDto = mock(UserDto.class);
 
-        vaadinServletRequest = mock(VaadinServletRequest.class);
-        when(vaadinServletRequest.getHttpServletRequest()).thenReturn(mock(HttpServletRequest.class));
-        vaadinServletResponse = mock(VaadinServletResponse.class);
-        when(vaadinServletResponse.getHttpServletResponse()).thenReturn(mock(HttpServletResponse.class));
+        request = mock(HttpServletRequest.class);
+        response = mock(HttpServletResponse.class);
 
-        final var authenticationSignal = mock(AuthenticationSignal.class);
-        authenticationService = new AuthenticationService(userService, authenticationSignal);
+        meterRegistry = new SimpleMeterRegistry();
+        authenticationService = new AuthenticationService(userService, meterRegistry);
     }
 
     @AfterEach
     void tearDown() {
         SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
     }
 
     @Test
@@ -92,6 +94,9 @@ class AuthenticationServiceTest {
 
         final var loggedInUser = authenticationService.getLoggedInUser();
         assertThat(loggedInUser).isEmpty();
+
+        assertThat(meterRegistry.get("dukeops.login").tag("result", "unknown-user").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("dukeops.login").tag("result", "success").counter().count()).isZero();
     }
 
     @Test
@@ -105,7 +110,7 @@ class AuthenticationServiceTest {
             final var result = authenticationService.login("user@example.com");
             assertThat(result).isTrue();
             assertThat(logCaptor.getWarnLogs()).containsExactly(
-                    "No Vaadin servlet request/response available; SecurityContext not saved to session.");
+                    "No servlet request/response available; SecurityContext not saved to session.");
             assertThat(logCaptor.getInfoLogs()).containsExactly(
                     "User with email 'user@example.com' successfully logged in.");
         }
@@ -122,6 +127,9 @@ class AuthenticationServiceTest {
         assertThat(loggedInUser.name()).isEqualTo("Test User");
         assertThat(loggedInUser.email()).isEqualTo("user@example.com");
         assertThat(loggedInUser.role()).isEqualTo(UserRole.USER);
+
+        assertThat(meterRegistry.get("dukeops.login").tag("result", "success").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("dukeops.login").tag("result", "unknown-user").counter().count()).isZero();
     }
 
     @Test
@@ -131,18 +139,16 @@ class AuthenticationServiceTest {
         when(userDto.role()).thenReturn(UserRole.USER);
         when(userService.getUserByEmail("user@example.com")).thenReturn(Optional.of(userDto));
 
-        try (var vaadinService = mockStatic(VaadinService.class);
-             var logCaptor = LogCaptor.forClass(AuthenticationService.class)) {
-
-            vaadinService.when(VaadinService::getCurrentRequest).thenReturn(vaadinServletRequest);
-            vaadinService.when(VaadinService::getCurrentResponse).thenReturn(vaadinServletResponse);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
 
+        try (var logCaptor = LogCaptor.forClass(AuthenticationService.class)) {
             final var result = authenticationService.login("user@example.com");
             assertThat(result).isTrue();
             assertThat(logCaptor.getWarnLogs()).isEmpty();
             assertThat(logCaptor.getInfoLogs()).containsExactly(
                     "User with email 'user@example.com' successfully logged in.");
         }
+        verify(request, never()).changeSessionId();
 
         final var securityContext = SecurityContextHolder.getContext();
         final var authentication = securityContext.getAuthentication();
@@ -165,16 +171,13 @@ class AuthenticationServiceTest {
         when(userDto.role()).thenReturn(UserRole.USER);
         when(userService.getUserByEmail("user@example.com")).thenReturn(Optional.of(userDto));
 
-        try (var vaadinService = mockStatic(VaadinService.class);
-             var logCaptor = LogCaptor.forClass(AuthenticationService.class)) {
-
-            vaadinService.when(VaadinService::getCurrentRequest).thenReturn(vaadinServletRequest);
-            vaadinService.when(VaadinService::getCurrentResponse).thenReturn(null);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
 
+        try (var logCaptor = LogCaptor.forClass(AuthenticationService.class)) {
             final var result = authenticationService.login("user@example.com");
             assertThat(result).isTrue();
             assertThat(logCaptor.getWarnLogs()).containsExactly(
-                    "No Vaadin servlet request/response available; SecurityContext not saved to session.");
+                    "No servlet request/response available; SecurityContext not saved to session.");
             assertThat(logCaptor.getInfoLogs()).containsExactly(
                     "User with email 'user@example.com' successfully logged in.");
         }
@@ -194,22 +197,19 @@ class AuthenticationServiceTest {
     }
 
     @Test
-    void loginShouldSucceedWithExistingUserWithoutRequestWithResponse() {
+    void loginShouldSucceedWithExistingUserWithoutServletRequest() {
         when(userDto.name()).thenReturn("Test User");
         when(userDto.email()).thenReturn("user@example.com");
         when(userDto.role()).thenReturn(UserRole.USER);
         when(userService.getUserByEmail("user@example.com")).thenReturn(Optional.of(userDto));
 
-        try (var vaadinService = mockStatic(VaadinService.class);
-             var logCaptor = LogCaptor.forClass(AuthenticationService.class)) {
-
-            vaadinService.when(VaadinService::getCurrentRequest).thenReturn(null);
-            vaadinService.when(VaadinService::getCurrentResponse).thenReturn(vaadinServletResponse);
+        RequestContextHolder.setRequestAttributes(mock(RequestAttributes.class));
 
+        try (var logCaptor = LogCaptor.forClass(AuthenticationService.class)) {
             final var result = authenticationService.login("user@example.com");
             assertThat(result).isTrue();
             assertThat(logCaptor.getWarnLogs()).containsExactly(
-                    "No Vaadin servlet request/response available; SecurityContext not saved to session.");
+                    "No servlet request/response available; SecurityContext not saved to session.");
             assertThat(logCaptor.getInfoLogs()).containsExactly(
                     "User with email 'user@example.com' successfully logged in.");
         }
@@ -239,7 +239,7 @@ class AuthenticationServiceTest {
             final var result = authenticationService.login("admin@example.com");
             assertThat(result).isTrue();
             assertThat(logCaptor.getWarnLogs()).containsExactly(
-                    "No Vaadin servlet request/response available; SecurityContext not saved to session.");
+                    "No servlet request/response available; SecurityContext not saved to session.");
             assertThat(logCaptor.getInfoLogs()).containsExactly(
                     "User with email 'admin@example.com' successfully logged in.");
         }
@@ -259,24 +259,23 @@ class AuthenticationServiceTest {
     }
 
     @Test
-    void loginShouldSucceedWithExistingAdminWithRequest() {
+    void loginShouldSucceedWithExistingAdminWithRequestAndSession() {
         when(userDto.name()).thenReturn("Test Admin");
         when(userDto.email()).thenReturn("admin@example.com");
         when(userDto.role()).thenReturn(UserRole.ADMIN);
         when(userService.getUserByEmail("admin@example.com")).thenReturn(Optional.of(userDto));
 
-        try (var vaadinService = mockStatic(VaadinService.class);
-             var logCaptor = LogCaptor.forClass(AuthenticationService.class)) {
-
-            vaadinService.when(VaadinService::getCurrentRequest).thenReturn(vaadinServletRequest);
-            vaadinService.when(VaadinService::getCurrentResponse).thenReturn(vaadinServletResponse);
+        when(request.getSession(false)).thenReturn(mock(HttpSession.class));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
 
+        try (var logCaptor = LogCaptor.forClass(AuthenticationService.class)) {
             final var result = authenticationService.login("admin@example.com");
             assertThat(result).isTrue();
             assertThat(logCaptor.getWarnLogs()).isEmpty();
             assertThat(logCaptor.getInfoLogs()).containsExactly(
                     "User with email 'admin@example.com' successfully logged in.");
         }
+        verify(request).changeSessionId();
 
         final var securityContext = SecurityContextHolder.getContext();
         final var authentication = securityContext.getAuthentication();
@@ -0,0 +1,92 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.control;
+
+import com.vaadin.flow.component.UI;
+import eu.ijug.dukeops.domain.authentication.entity.AuthenticationSignal;
+import eu.ijug.dukeops.domain.authentication.entity.UserPrincipal;
+import eu.ijug.dukeops.domain.user.entity.UserDto;
+import eu.ijug.dukeops.domain.user.entity.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthenticationSignalInitializerTest {
+
+    private AuthenticationSignal signal;
+    private AuthenticationSignalInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+        signal = new AuthenticationSignal();
+        initializer = new AuthenticationSignalInitializer(signal);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void restoresSignalFromSecurityContext() {
+        login(UserRole.ADMIN);
+
+        initializer.initialize(new UI());
+
+        assertThat(signal.isAuthenticated()).isTrue();
+        assertThat(signal.isAdmin()).isTrue();
+    }
+
+    @Test
+    void keepsSignalWithoutLogin() {
+        initializer.initialize(new UI());
+
+        assertThat(signal.isAuthenticated()).isFalse();
+        assertThat(signal.isAdmin()).isFalse();
+    }
+
+    @Test
+    void keepsSignalWhenAlreadyAuthenticated() {
+        signal.setAuthenticated(true, false);
+        login(UserRole.ADMIN);
+
+        initializer.initialize(new UI());
+
+        assertThat(signal.isAuthenticated()).isTrue();
+        assertThat(signal.isAdmin()).isFalse();
+    }
+
+    private static void login(final UserRole role) {
+        final var user = new UserDto(UUID.randomUUID(), null, null, "Test User", "test@example.com", role);
+        final List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(role.getRole()));
+        final var principal = new UserPrincipal(user, authorities);
+        SecurityContextHolder.getContext()
+                .setAuthentication(new PreAuthenticatedAuthenticationToken(principal, null, authorities));
+    }
+
+}
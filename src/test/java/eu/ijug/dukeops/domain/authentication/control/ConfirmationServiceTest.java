@@ -21,26 +21,71 @@ import eu.ijug.dukeops.domain.user.control.UserService;
 import eu.ijug.dukeops.domain.user.entity.UserDto;
 import eu.ijug.dukeops.domain.user.entity.UserRole;
 import eu.ijug.dukeops.infra.communication.mail.MailService;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationKey;
 import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationProvider;
 import eu.ijug.dukeops.infra.ui.vaadin.control.LinkUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import nl.altindag.log.LogCaptor;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class ConfirmationServiceTest {
 
+    private static final Instant NOW = Instant.parse("2026-02-02T10:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+    private static final String SECRET = "a long random secret shared by all nodes";
+
+    private final AtomicReference<String> confirmationIdRef = new AtomicReference<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Set<UUID> usedNonces = new HashSet<>();
+    private final UsedConfirmationTokenRepository usedTokenRepository = mock(UsedConfirmationTokenRepository.class);
+
+    @BeforeEach
+    void setUp() {
+        when(usedTokenRepository.markUsed(any(), any()))
+                .thenAnswer(invocation -> usedNonces.add(invocation.getArgument(0, UUID.class)));
+    }
+
+    @Test
+    void warnAboutGeneratedSecret() {
+        try (var logCaptor = LogCaptor.forClass(ConfirmationService.class)) {
+            createConfirmationService(mock(AuthenticationService.class), CLOCK, " ");
+            assertThat(logCaptor.getWarnLogs()).containsExactly(
+                    "No confirmation secret configured, confirmation links are only valid on this node until it is restarted.");
+        }
+    }
+
+    @Test
+    void rejectShortSecretOnStartup() {
+        assertThatThrownBy(() -> createConfirmationService(mock(AuthenticationService.class), CLOCK, "too short"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The confirmation secret must be at least 32 bytes long, but has 9 bytes");
+    }
+
     @Test
     void dontSendConfirmationEmailToUnknownUser() {
         final var userService = mock(UserService.class);
@@ -50,7 +95,11 @@ class ConfirmationServiceTest {
                 mock(MailService.class),
                 mock(AuthenticationService.class),
                 userService,
-                mock(TranslationProvider.class)
+                mock(TranslationProvider.class),
+                CLOCK,
+                usedTokenRepository,
+                meterRegistry,
+                ""
         );
 
         try (var logCaptor = LogCaptor.forClass(ConfirmationService.class)) {
@@ -66,10 +115,15 @@ class ConfirmationServiceTest {
                 mock(MailService.class),
                 mock(AuthenticationService.class),
                 mock(UserService.class),
-                mock(TranslationProvider.class));
+                mock(TranslationProvider.class),
+                CLOCK,
+                usedTokenRepository,
+                meterRegistry,
+                "");
 
         final var result = confirmationService.confirmAndLogin(UUID.randomUUID().toString());
         assertThat(result).isFalse();
+        assertThat(confirmations("invalid")).isEqualTo(1);
     }
 
     @Test
@@ -77,12 +131,94 @@ class ConfirmationServiceTest {
         final var authenticationService = mock(AuthenticationService.class);
         when(authenticationService.login(any())).thenReturn(false);
 
+        final var confirmationService = createConfirmationService(authenticationService, CLOCK, "");
+        final var confirmationId = sendConfirmationMail(confirmationService);
+
+        final var result = confirmationService.confirmAndLogin(confirmationId);
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    void loginShouldSucceedOnlyOnce() {
+        final var authenticationService = mock(AuthenticationService.class);
+        when(authenticationService.login("test@example.com")).thenReturn(true);
+
+        final var confirmationService = createConfirmationService(authenticationService, CLOCK, SECRET);
+        final var confirmationId = sendConfirmationMail(confirmationService);
+
+        assertThat(confirmationService.confirmAndLogin(confirmationId)).isTrue();
+        try (var logCaptor = LogCaptor.forClass(ConfirmationService.class)) {
+            assertThat(confirmationService.confirmAndLogin(confirmationId)).isFalse();
+            assertThat(logCaptor.getWarnLogs())
+                    .containsExactly("Confirmation link for 'test@example.com' has already been used.");
+        }
+        verify(authenticationService, times(1)).login("test@example.com");
+        verify(usedTokenRepository, times(2)).markUsed(any(), eq(LocalDateTime.of(2026, 2, 2, 10, 5, 0)));
+        assertThat(confirmations("accepted")).isEqualTo(1);
+        assertThat(confirmations("used")).isEqualTo(1);
+    }
+
+    @Test
+    void loginShouldSucceedOnAnotherNodeWithTheSameSecret() {
+        final var authenticationService = mock(AuthenticationService.class);
+        when(authenticationService.login("test@example.com")).thenReturn(true);
+
+        final var issuingNode = createConfirmationService(mock(AuthenticationService.class), CLOCK, SECRET);
+        final var confirmingNode = createConfirmationService(authenticationService, CLOCK, SECRET);
+        final var otherSecretNode = createConfirmationService(authenticationService, CLOCK, "another long random secret of another node");
+        final var confirmationId = sendConfirmationMail(issuingNode);
+
+        assertThat(otherSecretNode.confirmAndLogin(confirmationId)).isFalse();
+        assertThat(confirmingNode.confirmAndLogin(confirmationId)).isTrue();
+    }
+
+    @Test
+    void loginShouldFailWhenConfirmationExpired() {
+        final var authenticationService = mock(AuthenticationService.class);
+        when(authenticationService.login(any())).thenReturn(true);
+        final var clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW, NOW.plus(Duration.ofMinutes(5)));
+
+        final var confirmationService = createConfirmationService(authenticationService, clock, SECRET);
+        final var confirmationId = sendConfirmationMail(confirmationService);
+
+        assertThat(confirmationService.confirmAndLogin(confirmationId)).isFalse();
+        verify(authenticationService, never()).login(any());
+        assertThat(confirmations("expired")).isEqualTo(1);
+    }
+
+    @Test
+    void loginShouldFailWithTamperedConfirmationId() {
+        final var authenticationService = mock(AuthenticationService.class);
+        when(authenticationService.login(any())).thenReturn(true);
+
+        final var confirmationService = createConfirmationService(authenticationService, CLOCK, SECRET);
+        final var confirmationId = sendConfirmationMail(confirmationService);
+        final var tampered = (confirmationId.charAt(0) == 'A' ? 'B' : 'A') + confirmationId.substring(1);
+
+        assertThat(confirmationService.confirmAndLogin(tampered)).isFalse();
+        verify(authenticationService, never()).login(any());
+    }
+
+    @Test
+    void deleteExpiredTokens() {
+        final var confirmationService = createConfirmationService(mock(AuthenticationService.class), CLOCK, SECRET);
+        when(usedTokenRepository.deleteExpired(any())).thenReturn(3);
+
+        confirmationService.deleteExpiredTokens();
+
+        verify(usedTokenRepository).deleteExpired(LocalDateTime.of(2026, 2, 2, 10, 0, 0));
+    }
+
+    private ConfirmationService createConfirmationService(final AuthenticationService authenticationService,
+                                                          final Clock clock,
+                                                          final String secret) {
         final var translationProvider = mock(TranslationProvider.class);
         when(translationProvider.getTranslation(
-                eq("service.ConfirmationService.email.subject"), any()))
+                eq(TranslationKey.SERVICE_CONFIRMATION_SERVICE_EMAIL_SUBJECT), any()))
                 .thenReturn("Please confirm your email address");
         when(translationProvider.getTranslation(
-                eq("service.ConfirmationService.email.message"), any(), anyString(), anyString()))
+                eq(TranslationKey.SERVICE_CONFIRMATION_SERVICE_EMAIL_MESSAGE), any(), anyString(), anyString()))
                 .thenAnswer(invocation -> {
                     final var confirmationLink = invocation.getArgument(2, String.class);
                     final var validForValue = invocation.getArgument(3, String.class);
@@ -91,10 +227,9 @@ class ConfirmationServiceTest {
                             .replace("{1}", validForValue);
                 });
         when(translationProvider.getTranslation(
-                eq("service.ConfirmationService.timeout"), any(), any()))
+                eq(TranslationKey.SERVICE_CONFIRMATION_SERVICE_TIMEOUT), any(), any()))
                 .thenReturn("5 minutes");
 
-        final var confirmationIdRef = new AtomicReference<String>();
         final var mailService = mock(MailService.class);
         doAnswer(invocation -> {
             final var message = invocation.getArgument(2, String.class);
@@ -115,18 +250,27 @@ class ConfirmationServiceTest {
 
         LinkUtil.setBaseUrl("http://localhost:8080");
 
-        final var confirmationService = new ConfirmationService(
+        return new ConfirmationService(
                 mailService,
                 authenticationService,
                 userService,
-                translationProvider);
-        confirmationService.sendConfirmationMail(Locale.ENGLISH, "test@example.com");
+                translationProvider,
+                clock,
+                usedTokenRepository,
+                meterRegistry,
+                secret);
+    }
+
+    private double confirmations(final String result) {
+        return meterRegistry.get("dukeops.login.confirmations").tag("result", result).counter().count();
+    }
 
+    private String sendConfirmationMail(final ConfirmationService confirmationService) {
+        confirmationIdRef.set(null);
+        confirmationService.sendConfirmationMail(Locale.ENGLISH, "test@example.com");
         final var confirmationId = confirmationIdRef.get();
         assertThat(confirmationId).isNotBlank();
-
-        final var result = confirmationService.confirmAndLogin(confirmationId);
-        assertThat(result).isFalse();
+        return confirmationId;
     }
 
 }
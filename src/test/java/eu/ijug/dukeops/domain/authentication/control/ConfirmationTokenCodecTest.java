@@ -0,0 +1,76 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.control;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConfirmationTokenCodecTest {
+
+    private final ConfirmationTokenCodec codec =
+            new ConfirmationTokenCodec("a test secret of at least 32 bytes".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    void roundTrip() {
+        final var token = new ConfirmationToken("jürg@example.com",
+                Instant.parse("2026-02-02T10:05:00Z"), UUID.randomUUID());
+
+        final var encoded = codec.encode(token);
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]+");
+        assertThat(codec.decode(encoded)).isEqualTo(token);
+    }
+
+    @Test
+    void rejectsTokenWithoutSignature() {
+        assertThat(codec.decode("payload")).isNull();
+    }
+
+    @Test
+    void rejectsMalformedEncoding() {
+        assertThat(codec.decode("pay*load.signature")).isNull();
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherSecret() {
+        final var otherCodec = new ConfirmationTokenCodec("another secret of at least 32 bytes".getBytes(StandardCharsets.UTF_8));
+        final var token = new ConfirmationToken("test@example.com", Instant.now(), UUID.randomUUID());
+
+        assertThat(codec.decode(otherCodec.encode(token))).isNull();
+    }
+
+    @Test
+    void rejectsSecretWhichIsTooShort() {
+        assertThatThrownBy(() -> new ConfirmationTokenCodec(new byte[ConfirmationTokenCodec.MIN_SECRET_LENGTH - 1]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The confirmation secret must be at least 32 bytes long, but has 31 bytes");
+        assertThat(new ConfirmationTokenCodec(new byte[ConfirmationTokenCodec.MIN_SECRET_LENGTH])).isNotNull();
+    }
+
+    @Test
+    void rejectsSignedPayloadWhichIsTooShort() {
+        assertThat(codec.decode(codec.sign(new byte[] {1, 2, 3}))).isNull();
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.control;
+
+import eu.ijug.dukeops.domain.authentication.entity.RememberMeTokenDto;
+import eu.ijug.dukeops.domain.user.control.UserService;
+import eu.ijug.dukeops.domain.user.entity.UserDto;
+import eu.ijug.dukeops.domain.user.entity.UserRole;
+import eu.ijug.dukeops.test.IntegrationTest;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.REMEMBER_ME_TOKEN;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JooqRememberMeTokenRepositoryIT extends IntegrationTest {
+
+    private static final LocalDateTime EXPIRES = LocalDateTime.of(2030, 1, 1, 0, 0, 0);
+
+    @Autowired
+    private RememberMeTokenRepository repository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private DSLContext dsl;
+
+    @Test
+    void upsertInsertsAndUpdatesToken() {
+        final var token = new RememberMeTokenDto(UUID.randomUUID(), TEST_USER.id(), "a".repeat(64), EXPIRES, null, null);
+        repository.upsert(token);
+        assertThat(repository.findById(token.id())).contains(token);
+        final var created = dsl.fetchOne(REMEMBER_ME_TOKEN, REMEMBER_ME_TOKEN.ID.eq(token.id()));
+        assertThat(created).isNotNull();
+        assertThat(created.getCreated()).isNotNull();
+        assertThat(created.getUpdated()).isEqualTo(created.getCreated());
+
+        final var rotated = new RememberMeTokenDto(token.id(), TEST_USER.id(), "b".repeat(64), EXPIRES.plusDays(1),
+                "a".repeat(64), EXPIRES.minusDays(29));
+        repository.upsert(rotated);
+        assertThat(repository.findById(token.id())).contains(rotated);
+        final var updated = dsl.fetchOne(REMEMBER_ME_TOKEN, REMEMBER_ME_TOKEN.ID.eq(token.id()));
+        assertThat(updated).isNotNull();
+        assertThat(updated.getCreated()).isEqualTo(created.getCreated());
+
+        assertThat(repository.deleteById(token.id())).isTrue();
+        assertThat(repository.deleteById(token.id())).isFalse();
+        assertThat(repository.findById(token.id())).isEmpty();
+    }
+
+    @Test
+    void rotateOnlyUpdatesTokenWithExpectedHash() {
+        final var token = new RememberMeTokenDto(UUID.randomUUID(), TEST_USER.id(), "a".repeat(64), EXPIRES, null, null);
+        repository.upsert(token);
+        final var rotated = new RememberMeTokenDto(token.id(), TEST_USER.id(), "b".repeat(64), EXPIRES.plusDays(1),
+                "a".repeat(64), EXPIRES.minusDays(29));
+
+        assertThat(repository.rotate(rotated, "c".repeat(64))).isFalse();
+        assertThat(repository.findById(token.id())).contains(token);
+
+        assertThat(repository.rotate(rotated, "a".repeat(64))).isTrue();
+        assertThat(repository.findById(token.id())).contains(rotated);
+        assertThat(repository.rotate(rotated, "a".repeat(64))).isFalse();
+
+        repository.deleteById(token.id());
+        assertThat(repository.rotate(rotated, "b".repeat(64))).isFalse();
+    }
+
+    @Test
+    void concurrentRotationsOfTheSameValueSucceedOnlyOnce() throws Exception {
+        final var token = new RememberMeTokenDto(UUID.randomUUID(), TEST_USER.id(), "a".repeat(64), EXPIRES, null, null);
+        repository.upsert(token);
+
+        final var threadCount = 10;
+        final var start = new CountDownLatch(1);
+        final var rotations = new ArrayList<Future<Boolean>>();
+        try (var executor = Executors.newFixedThreadPool(threadCount)) {
+            for (var i = 0; i < threadCount; i++) {
+                final var rotated = new RememberMeTokenDto(token.id(), TEST_USER.id(), "%064d".formatted(i),
+                        EXPIRES.plusDays(1), token.tokenHash(), EXPIRES.minusDays(29));
+                rotations.add(executor.submit(() -> {
+                    start.await();
+                    return repository.rotate(rotated, token.tokenHash());
+                }));
+            }
+            start.countDown();
+        }
+
+        var succeeded = 0;
+        for (final var rotation : rotations) {
+            succeeded += rotation.get() ? 1 : 0;
+        }
+        assertThat(succeeded).isOne();
+        assertThat(repository.findById(token.id())).hasValueSatisfying(stored -> {
+            assertThat(stored.tokenHash()).matches("0{63}\\d");
+            assertThat(stored.previousTokenHash()).isEqualTo(token.tokenHash());
+        });
+    }
+
+    @Test
+    void deleteByUserIdDeletesAllTokensOfUser() {
+        final var first = new RememberMeTokenDto(UUID.randomUUID(), TEST_USER.id(), "a".repeat(64), EXPIRES, null, null);
+        final var second = new RememberMeTokenDto(UUID.randomUUID(), TEST_USER.id(), "b".repeat(64), EXPIRES, null, null);
+        final var other = new RememberMeTokenDto(UUID.randomUUID(), TEST_ADMIN.id(), "c".repeat(64), EXPIRES, null, null);
+        repository.upsert(first);
+        repository.upsert(second);
+        repository.upsert(other);
+
+        assertThat(repository.deleteByUserId(TEST_USER.id())).isEqualTo(2);
+
+        assertThat(repository.findById(first.id())).isEmpty();
+        assertThat(repository.findById(second.id())).isEmpty();
+        assertThat(repository.findById(other.id())).contains(other);
+    }
+
+    @Test
+    void deleteExpiredDeletesOnlyExpiredTokens() {
+        final var now = LocalDateTime.of(2026, 2, 2, 10, 0, 0);
+        final var expired = new RememberMeTokenDto(UUID.randomUUID(), TEST_USER.id(), "a".repeat(64), now.minusSeconds(1), null, null);
+        final var valid = new RememberMeTokenDto(UUID.randomUUID(), TEST_USER.id(), "b".repeat(64), now.plusSeconds(1), null, null);
+        repository.upsert(expired);
+        repository.upsert(valid);
+
+        assertThat(repository.deleteExpired(now)).isEqualTo(1);
+
+        assertThat(repository.findById(expired.id())).isEmpty();
+        assertThat(repository.findById(valid.id())).contains(valid);
+    }
+
+    @Test
+    void tokensAreDeletedWithUser() {
+        final var user = userService.storeUser(new UserDto(null, null, null,
+                "Remembered User", "remembered@example.com", UserRole.USER));
+        final var token = new RememberMeTokenDto(UUID.randomUUID(), user.id(), "a".repeat(64), EXPIRES, null, null);
+        repository.upsert(token);
+
+        assertThat(userService.deleteUser(user)).isTrue();
+
+        assertThat(repository.findById(token.id())).isEmpty();
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.control;
+
+import eu.ijug.dukeops.test.IntegrationTest;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.USED_CONFIRMATION_TOKEN;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JooqUsedConfirmationTokenRepositoryIT extends IntegrationTest {
+
+    private static final LocalDateTime EXPIRES = LocalDateTime.of(2030, 1, 1, 0, 0, 0);
+
+    @Autowired
+    private UsedConfirmationTokenRepository repository;
+
+    @Autowired
+    private DSLContext dsl;
+
+    @Test
+    void markUsedAcceptsEveryNonceOnce() {
+        final var nonce1 = UUID.randomUUID();
+        final var nonce2 = UUID.randomUUID();
+
+        assertThat(repository.markUsed(nonce1, EXPIRES)).isTrue();
+        assertThat(repository.markUsed(nonce2, EXPIRES)).isTrue();
+        assertThat(repository.markUsed(nonce1, EXPIRES)).isFalse();
+        assertThat(repository.markUsed(nonce2, EXPIRES.plusDays(1))).isFalse();
+
+        final var used = dsl.fetchOne(USED_CONFIRMATION_TOKEN, USED_CONFIRMATION_TOKEN.ID.eq(nonce2));
+        assertThat(used).isNotNull();
+        assertThat(used.getCreated()).isNotNull();
+        assertThat(used.getExpires()).isEqualTo(EXPIRES);
+    }
+
+    @Test
+    void deleteExpiredDeletesOnlyExpiredNonces() {
+        final var now = LocalDateTime.of(2026, 2, 2, 10, 0, 0);
+        final var expired = UUID.randomUUID();
+        final var valid = UUID.randomUUID();
+        repository.markUsed(expired, now.minusSeconds(1));
+        repository.markUsed(valid, now.plusMinutes(5));
+
+        assertThat(repository.deleteExpired(now)).isEqualTo(1);
+
+        assertThat(repository.markUsed(expired, now.plusMinutes(5))).isTrue();
+        assertThat(repository.markUsed(valid, now.plusMinutes(5))).isFalse();
+    }
+
+}
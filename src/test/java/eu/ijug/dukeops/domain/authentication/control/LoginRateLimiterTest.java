@@ -0,0 +1,72 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.control;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LoginRateLimiter rateLimiter = new LoginRateLimiter(meterRegistry,
+            Clock.fixed(Instant.parse("2026-02-02T10:00:00Z"), ZoneOffset.UTC),
+            2, Duration.ofMinutes(15), 3, Duration.ofMinutes(15));
+
+    @Test
+    void limitsRequestsPerEmailAddress() {
+        assertThat(rateLimiter.tryAcquire("test@example.com", "192.0.2.1")).isTrue();
+        assertThat(rateLimiter.tryAcquire(" Test@Example.com", "192.0.2.2")).isTrue();
+        assertThat(rateLimiter.tryAcquire("test@example.com ", "192.0.2.3")).isFalse();
+        assertThat(rateLimiter.tryAcquire("other@example.com", "192.0.2.3")).isTrue();
+
+        assertThat(throttled("email")).isEqualTo(1);
+        assertThat(throttled("address")).isZero();
+    }
+
+    @Test
+    void limitsRequestsPerClientAddress() {
+        assertThat(rateLimiter.tryAcquire("test1@example.com", "192.0.2.1")).isTrue();
+        assertThat(rateLimiter.tryAcquire("test2@example.com", "192.0.2.1")).isTrue();
+        assertThat(rateLimiter.tryAcquire("test3@example.com", "192.0.2.1")).isTrue();
+        assertThat(rateLimiter.tryAcquire("test4@example.com", "192.0.2.1")).isFalse();
+        assertThat(rateLimiter.tryAcquire("test4@example.com", "192.0.2.2")).isTrue();
+
+        assertThat(throttled("address")).isEqualTo(1);
+        assertThat(throttled("email")).isZero();
+    }
+
+    @Test
+    void unknownClientAddressIsOnlyLimitedPerEmailAddress() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire("test" + i + "@example.com", null)).isTrue();
+        }
+        assertThat(throttled("address")).isZero();
+    }
+
+    private double throttled(final String limit) {
+        return meterRegistry.get("dukeops.login.throttled").tag("limit", limit).counter().count();
+    }
+
+}
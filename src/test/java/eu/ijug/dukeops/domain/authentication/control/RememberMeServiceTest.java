@@ -0,0 +1,512 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.control;
+
+import eu.ijug.dukeops.domain.authentication.entity.RememberMeTokenDto;
+import eu.ijug.dukeops.domain.authentication.entity.UserPrincipal;
+import eu.ijug.dukeops.domain.user.control.UserService;
+import eu.ijug.dukeops.domain.user.entity.UserDto;
+import eu.ijug.dukeops.domain.user.entity.UserRole;
+import eu.ijug.dukeops.infra.cache.control.CacheInvalidationBus;
+import eu.ijug.dukeops.infra.cache.control.InMemoryCacheInvalidationTransport;
+import jakarta.servlet.http.Cookie;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RememberMeServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-02-02T10:00:00Z");
+    private static final LocalDateTime LOCAL_NOW = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+    private static final Duration VALIDITY = Duration.ofDays(30);
+    private static final UserDto USER = new UserDto(UUID.randomUUID(), null, null,
+            "Test User", "test@example.com", UserRole.USER);
+
+    private UserService userService;
+    private RememberMeTokenRepository repository;
+    private InMemoryCacheInvalidationTransport transport;
+    private RememberMeService rememberMeService;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        repository = mock(RememberMeTokenRepository.class);
+        transport = new InMemoryCacheInvalidationTransport();
+        when(userService.getUserById(USER.id())).thenReturn(Optional.of(USER));
+        when(repository.rotate(any(), any())).thenReturn(true);
+        rememberMeService = createService(new CacheInvalidationBus(transport));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void invalidValidityIsRejected() {
+        final var clock = Clock.fixed(NOW, ZoneOffset.UTC);
+        for (final var validity : new Duration[] { Duration.ZERO, Duration.ofSeconds(-1), Duration.ofSeconds(Integer.MAX_VALUE + 1L) }) {
+            final var cacheInvalidationBus = new CacheInvalidationBus(transport);
+            assertThatThrownBy(() -> new RememberMeService(userService, repository, clock, validity, cacheInvalidationBus))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("'dukeops.remember-me.validity' must be positive");
+        }
+    }
+
+    @Test
+    void rememberLoginCreatesTokenOnRequest() {
+        final var response = rememberLogin(USER);
+
+        final var cookie = response.getCookie(RememberMeService.COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.getMaxAge()).isEqualTo((int) VALIDITY.toSeconds());
+
+        final var tokens = decode(cookie.getValue());
+        assertThat(tokens).hasSize(2);
+        final var token = ArgumentCaptor.forClass(RememberMeTokenDto.class);
+        verify(repository).upsert(token.capture());
+        assertThat(token.getValue().id()).hasToString(tokens[0]);
+        assertThat(token.getValue().userId()).isEqualTo(USER.id());
+        assertThat(token.getValue().tokenHash()).isEqualTo(RememberMeService.hash(tokens[1])).hasSize(64);
+        assertThat(token.getValue().expires()).isEqualTo(LOCAL_NOW.plus(VALIDITY));
+    }
+
+    @Test
+    void rememberLoginWithoutParameterCreatesNoToken() {
+        login(AuthenticationService.createAuthentication(USER));
+        final var response = new MockHttpServletResponse();
+
+        rememberMeService.rememberLogin(new MockHttpServletRequest(), response);
+
+        assertThat(response.getCookie(RememberMeService.COOKIE_NAME)).isNull();
+        verify(repository, never()).upsert(any());
+    }
+
+    @Test
+    void rememberLoginWithoutAuthenticationCreatesNoToken() {
+        final var response = new MockHttpServletResponse();
+
+        rememberMeService.rememberLogin(createRememberMeRequest(), response);
+
+        assertThat(response.getCookie(RememberMeService.COOKIE_NAME)).isNull();
+        verify(repository, never()).upsert(any());
+    }
+
+    @Test
+    void rememberLoginWithoutUserPrincipalCreatesNoToken() {
+        final var principal = new User("test@example.com", "", emptyList());
+        login(new PreAuthenticatedAuthenticationToken(principal, null, emptyList()));
+        final var response = new MockHttpServletResponse();
+
+        rememberMeService.rememberLogin(createRememberMeRequest(), response);
+
+        assertThat(response.getCookie(RememberMeService.COOKIE_NAME)).isNull();
+        verify(repository, never()).upsert(any());
+    }
+
+    @Test
+    void rememberLoginWithoutUserIdCreatesNoToken() {
+        final var response = rememberLogin(new UserDto(null, null, null, "New User", "new@example.com", UserRole.USER));
+
+        assertThat(response.getCookie(RememberMeService.COOKIE_NAME)).isNull();
+        verify(repository, never()).upsert(any());
+    }
+
+    @Test
+    void autoLoginUsesCachedTokenAndRotatesIt() {
+        final var cookie = rememberLogin(USER).getCookie(RememberMeService.COOKIE_NAME);
+        final var response = new MockHttpServletResponse();
+
+        final var authentication = rememberMeService.autoLogin(createRequest(cookie), response);
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getPrincipal()).isInstanceOfSatisfying(UserPrincipal.class,
+                principal -> assertThat(principal.getUser()).isEqualTo(USER));
+        verify(repository, never()).findById(any());
+
+        final var rotatedCookie = response.getCookie(RememberMeService.COOKIE_NAME);
+        assertThat(rotatedCookie).isNotNull();
+        final var tokens = decode(rotatedCookie.getValue());
+        assertThat(tokens[0]).isEqualTo(decode(cookie.getValue())[0]);
+        assertThat(tokens[1]).isNotEqualTo(decode(cookie.getValue())[1]);
+
+        final var token = ArgumentCaptor.forClass(RememberMeTokenDto.class);
+        verify(repository).upsert(any());
+        verify(repository).rotate(token.capture(), eq(RememberMeService.hash(decode(cookie.getValue())[1])));
+        assertThat(token.getValue().tokenHash()).isEqualTo(RememberMeService.hash(tokens[1]));
+
+        // the rotated token is cached as well
+        assertThat(rememberMeService.autoLogin(createRequest(rotatedCookie), new MockHttpServletResponse())).isNotNull();
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void autoLoginLoadsTokenFromDatabase() {
+        final var token = storeToken("value", LOCAL_NOW.plusDays(1));
+
+        final var authentication = rememberMeService.autoLogin(createRequest(token.id().toString(), "value"),
+                new MockHttpServletResponse());
+
+        assertThat(authentication).isNotNull();
+        verify(repository).findById(token.id());
+    }
+
+    @Test
+    void autoLoginAcceptsTokenRotatedByAnotherNode() {
+        final var cookie = rememberLogin(USER).getCookie(RememberMeService.COOKIE_NAME);
+        final var id = UUID.fromString(decode(cookie.getValue())[0]);
+        when(repository.findById(id)).thenReturn(Optional.of(
+                new RememberMeTokenDto(id, USER.id(), RememberMeService.hash("rotated"), LOCAL_NOW.plusDays(1), null, null)));
+
+        final var authentication = rememberMeService.autoLogin(createRequest(id.toString(), "rotated"),
+                new MockHttpServletResponse());
+
+        assertThat(authentication).isNotNull();
+        verify(repository, never()).deleteByUserId(any());
+    }
+
+    @Test
+    void autoLoginWithOutdatedTokenDeletesAllTokensOfUser() {
+        final var token = storeToken("value", LOCAL_NOW.plusDays(1));
+        final var response = new MockHttpServletResponse();
+
+        final var authentication = rememberMeService.autoLogin(createRequest(token.id().toString(), "outdated"), response);
+
+        assertThat(authentication).isNull();
+        verify(repository).deleteByUserId(USER.id());
+        assertCookieCancelled(response);
+    }
+
+    @Test
+    void autoLoginAcceptsPreviousTokenOfParallelRequest() {
+        final var cookie = rememberLogin(USER).getCookie(RememberMeService.COOKIE_NAME);
+        assertThat(rememberMeService.autoLogin(createRequest(cookie), new MockHttpServletResponse())).isNotNull();
+
+        final var token = ArgumentCaptor.forClass(RememberMeTokenDto.class);
+        verify(repository).rotate(token.capture(), any());
+        final var rotatedToken = token.getValue();
+        assertThat(rotatedToken.previousTokenHash()).isEqualTo(RememberMeService.hash(decode(cookie.getValue())[1]));
+        assertThat(rotatedToken.rotated()).isEqualTo(LOCAL_NOW);
+        when(repository.findById(rotatedToken.id())).thenReturn(Optional.of(rotatedToken));
+
+        // a parallel request still presents the cookie of before the rotation
+        final var response = new MockHttpServletResponse();
+        final var authentication = rememberMeService.autoLogin(createRequest(cookie), response);
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getPrincipal()).isInstanceOfSatisfying(UserPrincipal.class,
+                principal -> assertThat(principal.getUser()).isEqualTo(USER));
+        assertThat(response.getCookie(RememberMeService.COOKIE_NAME)).isNull();
+        verify(repository).rotate(any(), any());
+        verify(repository, never()).deleteByUserId(any());
+    }
+
+    @Test
+    void autoLoginLosingTheRaceToRotateActsLikeParallelRequest() {
+        final var token = storeToken("value", LOCAL_NOW.plusDays(1));
+        final var concurrentlyRotatedToken = new RememberMeTokenDto(token.id(), USER.id(), RememberMeService.hash("rotated"),
+                LOCAL_NOW.plus(VALIDITY), token.tokenHash(), LOCAL_NOW);
+        // another request, maybe on another node, rotates the token between reading and rotating it
+        when(repository.findById(token.id())).thenReturn(Optional.of(token), Optional.of(concurrentlyRotatedToken));
+        when(repository.rotate(any(), eq(token.tokenHash()))).thenReturn(false);
+        final var response = new MockHttpServletResponse();
+
+        final var authentication = rememberMeService.autoLogin(createRequest(token.id().toString(), "value"), response);
+
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getPrincipal()).isInstanceOfSatisfying(UserPrincipal.class,
+                principal -> assertThat(principal.getUser()).isEqualTo(USER));
+        assertThat(response.getCookie(RememberMeService.COOKIE_NAME)).isNull();
+        verify(repository, times(2)).findById(token.id());
+        verify(repository, never()).deleteByUserId(any());
+
+        // the token of the winning request has been cached
+        assertThat(rememberMeService.autoLogin(createRequest(token.id().toString(), "rotated"),
+                new MockHttpServletResponse())).isNotNull();
+        verify(repository, times(2)).findById(token.id());
+    }
+
+    @Test
+    void autoLoginFailsIfTokenIsDeletedWhileRotating() {
+        final var token = storeToken("value", LOCAL_NOW.plusDays(1));
+        when(repository.findById(token.id())).thenReturn(Optional.of(token), Optional.empty());
+        when(repository.rotate(any(), eq(token.tokenHash()))).thenReturn(false);
+        final var response = new MockHttpServletResponse();
+
+        final var authentication = rememberMeService.autoLogin(createRequest(token.id().toString(), "value"), response);
+
+        assertThat(authentication).isNull();
+        verify(repository, never()).deleteByUserId(any());
+        assertCookieCancelled(response);
+    }
+
+    @Test
+    void autoLoginFailsIfTokenIsRotatedWithAnotherValueWhileRotating() {
+        final var token = storeToken("value", LOCAL_NOW.plusDays(1));
+        when(repository.findById(token.id())).thenReturn(Optional.of(token), Optional.of(new RememberMeTokenDto(token.id(),
+                USER.id(), RememberMeService.hash("rotated"), LOCAL_NOW.plus(VALIDITY), RememberMeService.hash("other"), LOCAL_NOW)));
+        when(repository.rotate(any(), eq(token.tokenHash()))).thenReturn(false);
+        final var response = new MockHttpServletResponse();
+
+        final var authentication = rememberMeService.autoLogin(createRequest(token.id().toString(), "value"), response);
+
+        assertThat(authentication).isNull();
+        assertCookieCancelled(response);
+    }
+
+    @Test
+    void autoLoginWithPreviousTokenAfterGracePeriodDeletesAllTokensOfUser() {
+        final var token = new RememberMeTokenDto(UUID.randomUUID(), USER.id(), RememberMeService.hash("value"),
+                LOCAL_NOW.plusDays(1), RememberMeService.hash("previous"), LOCAL_NOW.minusSeconds(30));
+        when(repository.findById(token.id())).thenReturn(Optional.of(token));
+        final var response = new MockHttpServletResponse();
+
+        final var authentication = rememberMeService.autoLogin(createRequest(token.id().toString(), "previous"), response);
+
+        assertThat(authentication).isNull();
+        verify(repository).deleteByUserId(USER.id());
+        assertCookieCancelled(response);
+    }
+
+    @Test
+    void autoLoginWithTokenDeletedByAnotherNodeFails() {
+        final var cookie = rememberLogin(USER).getCookie(RememberMeService.COOKIE_NAME);
+        final var id = decode(cookie.getValue())[0];
+        final var response = new MockHttpServletResponse();
+
+        final var authentication = rememberMeService.autoLogin(createRequest(id, "outdated"), response);
+
+        assertThat(authentication).isNull();
+        verify(repository, never()).deleteByUserId(any());
+        assertCookieCancelled(response);
+    }
+
+    @Test
+    void autoLoginRejectsTokenRotatedAndEvictedByAnotherNode() {
+        final var otherNode = new CacheInvalidationBus(transport);
+        final var thisNode = new CacheInvalidationBus(transport);
+        final var service = createService(thisNode);
+        otherNode.synchronize();
+        thisNode.synchronize();
+
+        final var token = storeToken("value", LOCAL_NOW.plusDays(1));
+        final var response = new MockHttpServletResponse();
+        assertThat(service.autoLogin(createRequest(token.id().toString(), "value"), response)).isNotNull();
+        final var cookie = response.getCookie(RememberMeService.COOKIE_NAME);
+
+        // the other node rotates the token, the value cached on this node is outdated
+        when(repository.findById(token.id())).thenReturn(Optional.of(new RememberMeTokenDto(token.id(), USER.id(),
+                RememberMeService.hash("rotated"), LOCAL_NOW.plusDays(1), null, null)));
+        otherNode.evict(RememberMeService.CACHE_NAME, token.id());
+        otherNode.synchronize();
+        thisNode.synchronize();
+
+        assertThat(service.autoLogin(createRequest(cookie), new MockHttpServletResponse())).isNull();
+        verify(repository).deleteByUserId(USER.id());
+    }
+
+    @Test
+    void autoLoginWithUnknownTokenFails() {
+        final var response = new MockHttpServletResponse();
+
+        final var authentication = rememberMeService.autoLogin(createRequest(UUID.randomUUID().toString(), "value"), response);
+
+        assertThat(authentication).isNull();
+        assertCookieCancelled(response);
+    }
+
+    @Test
+    void autoLoginWithExpiredTokenDeletesToken() {
+        final var token = storeToken("value", LOCAL_NOW.minusSeconds(1));
+        final var response = new MockHttpServletResponse();
+
+        final var authentication = rememberMeService.autoLogin(createRequest(token.id().toString(), "value"), response);
+
+        assertThat(authentication).isNull();
+        verify(repository).deleteById(token.id());
+        verify(repository, never()).rotate(any(), any());
+        assertCookieCancelled(response);
+    }
+
+    @Test
+    void autoLoginOfDeletedUserFails() {
+        final var token = storeToken("value", LOCAL_NOW.plusDays(1));
+        when(userService.getUserById(USER.id())).thenReturn(Optional.empty());
+        final var response = new MockHttpServletResponse();
+
+        final var authentication = rememberMeService.autoLogin(createRequest(token.id().toString(), "value"), response);
+
+        assertThat(authentication).isNull();
+        assertCookieCancelled(response);
+    }
+
+    @Test
+    void autoLoginWithInvalidCookieFails() {
+        for (final var request : new MockHttpServletRequest[] {
+                createRequest(UUID.randomUUID().toString()),
+                createRequest("no-uuid", "value") }) {
+            final var response = new MockHttpServletResponse();
+
+            assertThat(rememberMeService.autoLogin(request, response)).isNull();
+            assertCookieCancelled(response);
+        }
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void logoutDeletesToken() {
+        final var cookie = rememberLogin(USER).getCookie(RememberMeService.COOKIE_NAME);
+        final var id = UUID.fromString(decode(cookie.getValue())[0]);
+        final var response = new MockHttpServletResponse();
+
+        rememberMeService.logout(createRequest(cookie), response, null);
+
+        verify(repository).deleteById(id);
+        assertCookieCancelled(response);
+
+        // the token is not cached anymore
+        assertThat(rememberMeService.autoLogin(createRequest(cookie), new MockHttpServletResponse())).isNull();
+        verify(repository).findById(id);
+    }
+
+    @Test
+    void logoutWithInvalidCookieCancelsCookie() {
+        final var response = new MockHttpServletResponse();
+
+        rememberMeService.logout(createRequest("no-uuid", "value"), response, null);
+
+        verify(repository, never()).deleteById(any());
+        assertCookieCancelled(response);
+    }
+
+    @Test
+    void logoutWithoutCookieDeletesNothing() {
+        rememberMeService.logout(new MockHttpServletRequest(), new MockHttpServletResponse(), null);
+
+        verify(repository, never()).deleteById(any());
+    }
+
+    @Test
+    void deleteExpiredTokens() {
+        rememberMeService.deleteExpiredTokens();
+
+        verify(repository).deleteExpired(LOCAL_NOW);
+    }
+
+    @Test
+    void hashIsHexEncodedSha256() {
+        assertThat(RememberMeService.hash("abc"))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+
+    @Test
+    void hashFailsWithoutSha256() {
+        try (var messageDigest = mockStatic(MessageDigest.class)) {
+            messageDigest.when(() -> MessageDigest.getInstance("SHA-256"))
+                    .thenThrow(new NoSuchAlgorithmException("SHA-256"));
+
+            assertThatThrownBy(() -> RememberMeService.hash("abc"))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("SHA-256 algorithm is not available.");
+        }
+    }
+
+    private @NotNull RememberMeService createService(final @NotNull CacheInvalidationBus cacheInvalidationBus) {
+        return new RememberMeService(userService, repository, Clock.fixed(NOW, ZoneOffset.UTC), VALIDITY,
+                cacheInvalidationBus);
+    }
+
+    private @NotNull RememberMeTokenDto storeToken(final @NotNull String value,
+                                                   final @NotNull LocalDateTime expires) {
+        final var token = new RememberMeTokenDto(UUID.randomUUID(), USER.id(), RememberMeService.hash(value), expires,
+                null, null);
+        when(repository.findById(token.id())).thenReturn(Optional.of(token));
+        return token;
+    }
+
+    private @NotNull MockHttpServletResponse rememberLogin(final @NotNull UserDto user) {
+        login(AuthenticationService.createAuthentication(user));
+        final var response = new MockHttpServletResponse();
+        rememberMeService.rememberLogin(createRememberMeRequest(), response);
+        return response;
+    }
+
+    private static void login(final @NotNull Authentication authentication) {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    private static @NotNull MockHttpServletRequest createRememberMeRequest() {
+        final var request = new MockHttpServletRequest();
+        request.setParameter(RememberMeService.PARAMETER_NAME, "on");
+        return request;
+    }
+
+    private static @NotNull MockHttpServletRequest createRequest(final @NotNull Cookie cookie) {
+        final var request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(cookie.getName(), cookie.getValue()));
+        return request;
+    }
+
+    private static @NotNull MockHttpServletRequest createRequest(final @NotNull String... tokens) {
+        final var value = Base64.getEncoder().encodeToString(String.join(":", tokens).getBytes(StandardCharsets.UTF_8));
+        return createRequest(new Cookie(RememberMeService.COOKIE_NAME, value));
+    }
+
+    private static @NotNull String[] decode(final @NotNull String cookieValue) {
+        return new String(Base64.getDecoder().decode(cookieValue), StandardCharsets.UTF_8).split(":");
+    }
+
+    private static void assertCookieCancelled(final @NotNull MockHttpServletResponse response) {
+        final var cookie = response.getCookie(RememberMeService.COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.getMaxAge()).isZero();
+    }
+
+}
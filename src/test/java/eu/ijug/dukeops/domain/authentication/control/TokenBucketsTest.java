@@ -0,0 +1,106 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.control;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenBucketsTest {
+
+    private final AtomicLong millis = new AtomicLong(Instant.parse("2026-02-02T10:00:00Z").toEpochMilli());
+    private final Clock clock = mock(Clock.class);
+
+    @BeforeEach
+    void setUp() {
+        when(clock.millis()).thenAnswer(_ -> millis.get());
+    }
+
+    @Test
+    void rejectsRequestsWhenBucketIsEmpty() {
+        final var buckets = new TokenBuckets(3, Duration.ofMinutes(3), clock);
+
+        assertThat(buckets.tryAcquire("a")).isTrue();
+        assertThat(buckets.tryAcquire("a")).isTrue();
+        assertThat(buckets.tryAcquire("a")).isTrue();
+        assertThat(buckets.tryAcquire("a")).isFalse();
+        assertThat(buckets.tryAcquire("b")).isTrue();
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        final var buckets = new TokenBuckets(3, Duration.ofMinutes(3), clock);
+        for (int i = 0; i < 3; i++) {
+            buckets.tryAcquire("a");
+        }
+
+        millis.addAndGet(Duration.ofSeconds(59).toMillis());
+        assertThat(buckets.tryAcquire("a")).isFalse();
+        millis.addAndGet(Duration.ofSeconds(1).toMillis());
+        assertThat(buckets.tryAcquire("a")).isTrue();
+        assertThat(buckets.tryAcquire("a")).isFalse();
+
+        millis.addAndGet(Duration.ofMinutes(10).toMillis());
+        assertThat(buckets.tryAcquire("a")).isTrue();
+        assertThat(buckets.tryAcquire("a")).isTrue();
+        assertThat(buckets.tryAcquire("a")).isTrue();
+        assertThat(buckets.tryAcquire("a")).isFalse();
+    }
+
+    @Test
+    void grantsExactlyTheCapacityToConcurrentRequests() throws Exception {
+        final var buckets = new TokenBuckets(50, Duration.ofHours(1), clock);
+        final var tasks = new ArrayList<Callable<Boolean>>();
+        for (int i = 0; i < 200; i++) {
+            tasks.add(() -> buckets.tryAcquire("a"));
+        }
+
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            var granted = 0;
+            for (final var result : executor.invokeAll(tasks)) {
+                if (result.get()) {
+                    granted++;
+                }
+            }
+            assertThat(granted).isEqualTo(50);
+        }
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> new TokenBuckets(0, Duration.ofMinutes(1), clock))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The capacity must be > 0");
+        assertThatThrownBy(() -> new TokenBuckets(5, Duration.ofMillis(4), clock))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The period must be at least one millisecond per token");
+    }
+
+}
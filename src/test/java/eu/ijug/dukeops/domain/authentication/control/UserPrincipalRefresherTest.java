@@ -0,0 +1,336 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.authentication.control;
+
+import com.vaadin.flow.server.Command;
+import com.vaadin.flow.server.VaadinSession;
+import eu.ijug.dukeops.domain.authentication.entity.AuthenticationSignal;
+import eu.ijug.dukeops.domain.authentication.entity.UserPrincipal;
+import eu.ijug.dukeops.domain.user.entity.UserChangedEvent;
+import eu.ijug.dukeops.domain.user.entity.UserDeletedEvent;
+import eu.ijug.dukeops.domain.user.entity.UserDto;
+import eu.ijug.dukeops.domain.user.entity.UserRole;
+import eu.ijug.dukeops.infra.session.SessionRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.web.context.HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY;
+
+class UserPrincipalRefresherTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UserDto USER = new UserDto(USER_ID, null, null,
+            "Test User", "test@example.com", UserRole.USER);
+
+    private SessionRegistry sessionRegistry;
+    private AuthenticationSignal authenticationSignal;
+    private UserPrincipalRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        sessionRegistry = mock(SessionRegistry.class);
+        authenticationSignal = new AuthenticationSignal();
+        authenticationSignal.setAuthenticated(true, false);
+        refresher = new UserPrincipalRefresher(sessionRegistry, authenticationSignal);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void refreshesPrincipalAndSignalOfChangedUser() {
+        final var context = createContext(USER);
+        final var vaadinSession = mock(VaadinSession.class);
+        final var session = createSession("session-1", context, vaadinSession);
+        when(sessionRegistry.findByPrincipalNames(any())).thenReturn(List.of(session));
+
+        final var changedUser = new UserDto(USER_ID, null, null, "Changed User", "changed@example.com", UserRole.ADMIN);
+        refresher.onUserChanged(new UserChangedEvent(changedUser, "test@example.com"));
+
+        verify(sessionRegistry).findByPrincipalNames(Set.of("test@example.com", "changed@example.com"));
+        assertThat(context.getAuthentication()).isNotNull();
+        assertThat(context.getAuthentication().getPrincipal())
+                .isInstanceOfSatisfying(UserPrincipal.class, principal -> {
+                    assertThat(principal.getUser()).isEqualTo(changedUser);
+                    assertThat(principal.getUsername()).isEqualTo("changed@example.com");
+                });
+        assertThat(context.getAuthentication().getAuthorities())
+                .extracting(Object::toString)
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        verify(session).setAttribute(SPRING_SECURITY_CONTEXT_KEY, context);
+
+        runAccessedCommand(vaadinSession);
+        assertThat(authenticationSignal.isAuthenticated()).isTrue();
+        assertThat(authenticationSignal.isAdmin()).isTrue();
+    }
+
+    @Test
+    void removesAuthenticationOfDeletedUser() {
+        final var context = createContext(USER);
+        final var vaadinSession = mock(VaadinSession.class);
+        final var session = createSession("session-1", context, vaadinSession);
+        when(sessionRegistry.findByPrincipalNames(any())).thenReturn(List.of(session));
+        SecurityContextHolder.setContext(context);
+
+        refresher.onUserDeleted(new UserDeletedEvent(USER));
+
+        assertThat(context.getAuthentication()).isNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(session).setAttribute(SPRING_SECURITY_CONTEXT_KEY, context);
+
+        runAccessedCommand(vaadinSession);
+        assertThat(authenticationSignal.isAuthenticated()).isFalse();
+        assertThat(authenticationSignal.isAdmin()).isFalse();
+    }
+
+    @Test
+    void keepsSessionsOfOtherUsers() {
+        final var otherUser = new UserDto(UUID.randomUUID(), null, null, "Other User", "other@example.com", UserRole.USER);
+        final var otherContext = createContext(otherUser);
+        final var otherSession = createSession("session-1", otherContext);
+
+        final var anonymousSession = createSession("session-2", SecurityContextHolder.createEmptyContext());
+
+        final var foreignContext = SecurityContextHolder.createEmptyContext();
+        final var foreignPrincipal = new User("test@example.com", "", emptyList());
+        foreignContext.setAuthentication(new PreAuthenticatedAuthenticationToken(foreignPrincipal, null, emptyList()));
+        final var foreignSession = createSession("session-3", foreignContext);
+
+        final var sessionWithoutContext = createSession("session-4", "no security context");
+
+        when(sessionRegistry.findByPrincipalNames(any()))
+                .thenReturn(List.of(otherSession, anonymousSession, foreignSession, sessionWithoutContext));
+
+        refresher.onUserChanged(new UserChangedEvent(USER, USER.email()));
+        refresher.onUserDeleted(new UserDeletedEvent(USER));
+
+        assertThat(otherContext.getAuthentication()).isNotNull();
+        assertThat(foreignContext.getAuthentication()).isNotNull();
+        verify(otherSession, never()).setAttribute(anyString(), any());
+        verify(anonymousSession, never()).setAttribute(anyString(), any());
+        verify(foreignSession, never()).setAttribute(anyString(), any());
+        verify(sessionWithoutContext, never()).setAttribute(anyString(), any());
+    }
+
+    @Test
+    void keepsSessionOfOtherUserWithSameEmail() {
+        final var otherUser = new UserDto(UUID.randomUUID(), null, null, "Other User", "test@example.com", UserRole.USER);
+        final var otherContext = createContext(otherUser);
+        final var otherSession = createSession("session-1", otherContext);
+        when(sessionRegistry.findByPrincipalNames(any())).thenReturn(List.of(otherSession));
+
+        refresher.onUserChanged(new UserChangedEvent(USER, USER.email()));
+
+        assertThat(otherContext.getAuthentication()).isNotNull();
+        assertThat(otherContext.getAuthentication().getPrincipal())
+                .isInstanceOfSatisfying(UserPrincipal.class,
+                        principal -> assertThat(principal.getUser()).isEqualTo(otherUser));
+        verify(otherSession, never()).setAttribute(anyString(), any());
+    }
+
+    @Test
+    void ignoresUserWithoutId() {
+        final var context = createContext(USER);
+        final var session = createSession("session-1", context);
+        when(sessionRegistry.findByPrincipalNames(any())).thenReturn(List.of(session));
+
+        refresher.onUserChanged(new UserChangedEvent(new UserDto(null, null, null,
+                "New User", "new@example.com", UserRole.USER), null));
+
+        verify(sessionRegistry, never()).findByPrincipalNames(any());
+        verify(session, never()).setAttribute(anyString(), any());
+    }
+
+    @Test
+    void skipsInvalidatedSessions() {
+        final var invalidatedSession = mock(HttpSession.class);
+        when(invalidatedSession.getId()).thenReturn("session-1");
+        when(invalidatedSession.getAttribute(SPRING_SECURITY_CONTEXT_KEY))
+                .thenThrow(new IllegalStateException("Session already invalidated"));
+        final var context = createContext(USER);
+        final var session = createSession("session-2", context);
+        when(sessionRegistry.findByPrincipalNames(any())).thenReturn(List.of(invalidatedSession, session));
+
+        refresher.onUserDeleted(new UserDeletedEvent(USER));
+
+        assertThat(context.getAuthentication()).isNull();
+        verify(session).setAttribute(SPRING_SECURITY_CONTEXT_KEY, context);
+    }
+
+    @Test
+    void refreshesSessionOfCurrentRequest() {
+        final var registeredContext = createContext(USER);
+        final var registeredSession = createSession("session-1", registeredContext);
+        when(sessionRegistry.findByPrincipalNames(any())).thenReturn(List.of(registeredSession));
+
+        final var requestContext = createContext(USER);
+        final var requestSession = createSession("session-2", requestContext);
+        final var request = mock(HttpServletRequest.class);
+        when(request.getSession(false)).thenReturn(requestSession);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        final var threadContext = createContext(USER);
+        SecurityContextHolder.setContext(threadContext);
+
+        final var changedUser = new UserDto(USER_ID, null, null, "Changed User", "test@example.com", UserRole.USER);
+        refresher.onUserChanged(new UserChangedEvent(changedUser, null));
+
+        verify(sessionRegistry).findByPrincipalNames(Set.of("test@example.com"));
+
+        for (final var context : List.of(registeredContext, requestContext, threadContext)) {
+            assertThat(context.getAuthentication()).isNotNull();
+            assertThat(context.getAuthentication().getPrincipal())
+                    .isInstanceOfSatisfying(UserPrincipal.class,
+                            principal -> assertThat(principal.getUser()).isEqualTo(changedUser));
+        }
+        verify(registeredSession).setAttribute(SPRING_SECURITY_CONTEXT_KEY, registeredContext);
+        verify(requestSession).setAttribute(SPRING_SECURITY_CONTEXT_KEY, requestContext);
+    }
+
+    @Test
+    void appliesChangesOfTransactionAfterCommit() {
+        final var context = createContext(USER);
+        final var session = createSession("session-1", context);
+        final var otherUser = new UserDto(UUID.randomUUID(), null, null, "Other User", "other@example.com", UserRole.USER);
+        final var otherContext = createContext(otherUser);
+        final var otherSession = createSession("session-2", otherContext);
+        when(sessionRegistry.findByPrincipalNames(any())).thenReturn(List.of(session, otherSession));
+
+        final var changedUser = new UserDto(USER_ID, null, null, "Changed User", "test@example.com", UserRole.USER);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            refresher.onUserChanged(new UserChangedEvent(changedUser, "test@example.com"));
+            refresher.onUserDeleted(new UserDeletedEvent(otherUser));
+
+            verify(sessionRegistry, never()).findByPrincipalNames(any());
+            assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+
+            completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(sessionRegistry).findByPrincipalNames(Set.of("test@example.com", "other@example.com"));
+        assertThat(context.getAuthentication()).isNotNull();
+        assertThat(context.getAuthentication().getPrincipal())
+                .isInstanceOfSatisfying(UserPrincipal.class,
+                        principal -> assertThat(principal.getUser()).isEqualTo(changedUser));
+        assertThat(otherContext.getAuthentication()).isNull();
+        assertThat(TransactionSynchronizationManager.hasResource(refresher)).isFalse();
+    }
+
+    @Test
+    void discardsChangesOfRolledBackTransaction() {
+        final var context = createContext(USER);
+        final var session = createSession("session-1", context);
+        when(sessionRegistry.findByPrincipalNames(any())).thenReturn(List.of(session));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            refresher.onUserDeleted(new UserDeletedEvent(USER));
+
+            completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(sessionRegistry, never()).findByPrincipalNames(any());
+        assertThat(context.getAuthentication()).isNotNull();
+        assertThat(TransactionSynchronizationManager.hasResource(refresher)).isFalse();
+    }
+
+    @Test
+    void ignoresCurrentRequestWithoutSession() {
+        when(sessionRegistry.findByPrincipalNames(any())).thenReturn(List.of());
+        final var request = mock(HttpServletRequest.class);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        refresher.onUserDeleted(new UserDeletedEvent(USER));
+
+        verify(request).getSession(false);
+    }
+
+    private static @NotNull SecurityContext createContext(final @NotNull UserDto user) {
+        final var context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(AuthenticationService.createAuthentication(user));
+        return context;
+    }
+
+    private static @NotNull HttpSession createSession(final @NotNull String id,
+                                                      final @NotNull Object securityContext,
+                                                      final @NotNull Object... attributes) {
+        final var session = mock(HttpSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.getAttribute(SPRING_SECURITY_CONTEXT_KEY)).thenReturn(securityContext);
+        final var names = new ArrayList<String>();
+        names.add(SPRING_SECURITY_CONTEXT_KEY);
+        for (int index = 0; index < attributes.length; index++) {
+            final var name = "attribute-" + index;
+            names.add(name);
+            when(session.getAttribute(name)).thenReturn(attributes[index]);
+        }
+        when(session.getAttributeNames()).thenAnswer(_ -> Collections.enumeration(names));
+        return session;
+    }
+
+    private static void completeTransaction(final int status) {
+        for (final var synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+
+    private static void runAccessedCommand(final @NotNull VaadinSession vaadinSession) {
+        final var command = ArgumentCaptor.forClass(Command.class);
+        verify(vaadinSession).access(command.capture());
+        command.getValue().execute();
+    }
+
+}
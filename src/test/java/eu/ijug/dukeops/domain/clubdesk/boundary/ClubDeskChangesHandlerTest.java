@@ -0,0 +1,46 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.boundary;
+
+import com.vaadin.flow.server.streams.DownloadEvent;
+import eu.ijug.dukeops.domain.clubdesk.control.ClubDeskExportService;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+final class ClubDeskChangesHandlerTest {
+
+    @Test
+    void handleDownloadRequest_shouldStreamTheChangesInClubDeskFormat() throws Exception {
+        final var clubDeskExportService = mock(ClubDeskExportService.class);
+        final var out = new ByteArrayOutputStream();
+        final var event = mock(DownloadEvent.class);
+        when(event.getOutputStream()).thenReturn(out);
+
+        new ClubDeskChangesHandler(clubDeskExportService).handleDownloadRequest(event);
+
+        verify(event).setFileName("clubdesk-changes.csv");
+        verify(event).setContentType("text/csv; charset=ISO-8859-1");
+        verify(clubDeskExportService).exportChanges(out);
+    }
+
+}
@@ -466,4 +466,54 @@ public class ClubDeskEditViewKT extends KaribuTest {
         assertThat(userAfterEmailChange.email()).isEqualTo("jane.doe@example.com");
     }
 
+    @Test
+    void hasChanges_ignoresTheLetterCaseOfIbanAndBic() {
+        final var userDto = storeUserWithSepaData("JUG-1");
+        login(userDto);
+        UI.getCurrent().navigate(ClubDeskEditView.class);
+
+        final var sepaIban = _get(TextField.class, spec -> spec.withLabel("IBAN"));
+        final var sepaBic = _get(TextField.class, spec -> spec.withLabel("BIC"));
+        final var saveButton = _get(Button.class, spec -> spec.withText("Submit changes"));
+
+        // IBAN and BIC are stored in upper case, so typing them in lower case is not a change
+        sepaIban.setValue("de02120300000000202051");
+        assertThat(saveButton.isEnabled()).isFalse();
+        sepaBic.setValue("byladem1001");
+        assertThat(saveButton.isEnabled()).isFalse();
+
+        sepaBic.setValue("COBADEFFXXX");
+        assertThat(saveButton.isEnabled()).isTrue();
+    }
+
+    @Test
+    void hasChanges_includesAGeneratedMandateReference() {
+        final var userDto = storeUserWithSepaData("");
+        login(userDto);
+        UI.getCurrent().navigate(ClubDeskEditView.class);
+
+        final var sepaAccountHolder = _get(TextField.class, spec -> spec.withLabel("Account holder"));
+        final var sepaMandateReference = _get(TextField.class, spec -> spec.withLabel("Mandate reference"));
+        final var saveButton = _get(Button.class, spec -> spec.withText("Submit changes"));
+        assertThat(sepaMandateReference.getValue()).isNotBlank();
+
+        // the mandate reference generated for the missing one is a change which has to be saved
+        sepaAccountHolder.setValue("John Doe ");
+        assertThat(saveButton.isEnabled()).isTrue();
+    }
+
+    private UserDto storeUserWithSepaData(final String sepaMandateReference) {
+        final var userDto = userService.storeUser(
+                new UserDto(null, null, null,
+                        "John Doe", "john.doe@example.com", UserRole.USER));
+        assertThat(userDto.id()).isNotNull();
+
+        clubDeskService.save(new ClubDeskDto(userDto.id(), null, null,
+                "John", "Doe", "Example Street 1", "", "12345", "Example City", Country.ofIso2("CH"),
+                "john.doe@example.com", "", "", "", "",
+                true, "John Doe", sepaMandateReference, "DE02120300000000202051", "BYLADEM1001",
+                "Java User Group Switzerland", true));
+        return userDto;
+    }
+
 }
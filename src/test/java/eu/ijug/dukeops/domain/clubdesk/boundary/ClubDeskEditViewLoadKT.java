@@ -0,0 +1,331 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.boundary;
+
+import com.github.mvysny.kaributesting.v10.pro.ConfirmDialogKt;
+import com.github.mvysny.kaributesting.v10.spring.MockSpringServlet;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.confirmdialog.ConfirmDialog;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.server.VaadinSession;
+import eu.ijug.dukeops.domain.authentication.control.ConfirmationService;
+import eu.ijug.dukeops.domain.clubdesk.control.ClubDeskService;
+import eu.ijug.dukeops.domain.clubdesk.entity.ClubDeskDto;
+import eu.ijug.dukeops.domain.clubdesk.entity.Country;
+import eu.ijug.dukeops.domain.user.control.UserService;
+import eu.ijug.dukeops.domain.user.entity.UserDto;
+import eu.ijug.dukeops.domain.user.entity.UserRole;
+import eu.ijug.dukeops.test.KaribuTest;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static com.github.mvysny.kaributesting.v10.LocatorJ._get;
+import static eu.ijug.dukeops.test.TestUtil.extractLinkFromText;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * <p>Load test harness which simulates many concurrent members updating their ClubDesk data.</p>
+ *
+ * <p>Every simulated session runs the complete journey on its own Karibu mock UI: request a login link,
+ * confirm it using the link received by GreenMail, open the {@link ClubDeskEditView} and save a changed
+ * address. The harness reports the p50/p95/p99 latency and the number of SQL statements of every step,
+ * and the heap retained by the Vaadin sessions. All sessions and their UIs are kept alive until the end of
+ * the run, as they would be on a server, and the retained heap is the difference of the used heap after a
+ * garbage collection before and after the run. All sessions share one mock servlet, which is initialized
+ * before the run, so the retained heap contains the sessions and their UIs, but not a servlet and Vaadin
+ * service per session.</p>
+ *
+ * <p>The harness is disabled unless the number of sessions is set, e.g.
+ * {@code -Ddukeops.load.sessions=2000 -Ddukeops.load.concurrency=100}. The report is logged and
+ * written to {@code target/load-report.md}.</p>
+ */
+@EnabledIfSystemProperty(named = "dukeops.load.sessions", matches = "\\d+")
+class ClubDeskEditViewLoadKT extends KaribuTest {
+
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(ClubDeskEditViewLoadKT.class);
+    private static final @NotNull Path REPORT_FILE = Path.of("target/load-report.md");
+    private static final @NotNull String QUERY_OBSERVATION = "dukeops.jooq.query";
+    private static final @NotNull ThreadLocal<AtomicLong> STATEMENTS = ThreadLocal.withInitial(AtomicLong::new);
+
+    private enum Step { LOGIN, CONFIRM, OPEN, SAVE }
+
+    @Autowired
+    private ClubDeskService clubDeskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ConfirmationService confirmationService;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    private final @NotNull StatementCounter statementCounter = new StatementCounter();
+
+    @AfterEach
+    void removeStatementCounter() {
+        // Micrometer can't remove a handler from a registry, the registry is shared with the other tests
+        statementCounter.disable();
+    }
+
+    @Test
+    void concurrentMembersUpdateTheirClubDeskData() throws Exception {
+        final var sessions = Integer.getInteger("dukeops.load.sessions");
+        final var concurrency = Integer.getInteger("dukeops.load.concurrency", 50);
+        observationRegistry.observationConfig().observationHandler(statementCounter);
+
+        final var members = new ArrayList<UserDto>(sessions);
+        for (int index = 0; index < sessions; index++) {
+            members.add(createMember(index));
+        }
+
+        final var latencies = new EnumMap<Step, Samples>(Step.class);
+        final var statements = new EnumMap<Step, Samples>(Step.class);
+        for (final var step : Step.values()) {
+            latencies.put(step, new Samples());
+            statements.put(step, new Samples());
+        }
+        final var liveSessions = new ConcurrentLinkedQueue<LiveSession>();
+
+        // initialize the shared servlet and its Vaadin service before the heap is measured
+        final var servlet = createServlet();
+        tearDownMockVaadin();
+        setupMockVaadin(servlet);
+
+        final var heapBefore = usedHeapAfterGc();
+        final var start = System.nanoTime();
+        try (var executor = Executors.newFixedThreadPool(concurrency)) {
+            final var journeys = new ArrayList<Future<?>>(sessions);
+            for (final var member : members) {
+                journeys.add(executor.submit(() -> runJourney(servlet, member, latencies, statements, liveSessions)));
+            }
+            for (final var journey : journeys) {
+                journey.get();
+            }
+        }
+        final var duration = System.nanoTime() - start;
+        final var retainedHeap = usedHeapAfterGc() - heapBefore;
+
+        final var report = createReport(sessions, concurrency, duration, latencies, statements, retainedHeap);
+        LOGGER.info("ClubDesk load test finished:\n{}", report);
+        writeReport(report);
+
+        assertThat(latencies.get(Step.SAVE).size()).isEqualTo(sessions);
+        assertThat(liveSessions).hasSize(sessions);
+        liveSessions.clear();
+    }
+
+    private @NotNull UserDto createMember(final int index) {
+        final var email = "load-%d@example.com".formatted(index);
+        final var user = userService.storeUser(
+                new UserDto(null, null, null, "Load Member " + index, email, UserRole.USER));
+        clubDeskService.save(new ClubDeskDto(user.id(), null, null,
+                "Load", "Member " + index, "Example Street 1", "", "8000", "Zürich", Country.ofIso2("CH"),
+                email, "", "", "", "",
+                false, "", "", "", "",
+                "Java User Group Switzerland", true));
+        return user;
+    }
+
+    private void runJourney(final @NotNull MockSpringServlet servlet,
+                            final @NotNull UserDto member,
+                            final @NotNull Map<Step, Samples> latencies,
+                            final @NotNull Map<Step, Samples> statements,
+                            final @NotNull Collection<LiveSession> liveSessions) {
+        setupMockVaadin(servlet);
+        try {
+            measure(Step.LOGIN, latencies, statements, () -> {
+                confirmationService.sendConfirmationMail(Locale.ENGLISH, member.email());
+                return null;
+            });
+            final var confirmationId = receiveConfirmationId(member.email());
+
+            final boolean confirmed = measure(Step.CONFIRM, latencies, statements,
+                    () -> confirmationService.confirmAndLogin(confirmationId));
+            assertThat(confirmed).isTrue();
+            login(member);
+
+            measure(Step.OPEN, latencies, statements, () -> {
+                UI.getCurrent().navigate(ClubDeskEditView.class);
+                return null;
+            });
+
+            measure(Step.SAVE, latencies, statements, () -> {
+                _get(TextField.class, spec -> spec.withLabel("Street and house number"))
+                        .setValue("Load Street " + member.id());
+                _get(Button.class, spec -> spec.withText("Submit changes")).click();
+                ConfirmDialogKt._fireConfirm(_get(ConfirmDialog.class));
+                return null;
+            });
+
+            liveSessions.add(new LiveSession(VaadinSession.getCurrent(), UI.getCurrent()));
+        } finally {
+            tearDownMockVaadin();
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private @NotNull String receiveConfirmationId(final @NotNull String email) {
+        final var messages = getGreenMail().getReceivedMessagesForDomain(email);
+        assertThat(messages).hasSize(1);
+        final var confirmationLink = extractLinkFromText(GreenMailUtil.getBody(messages[0]));
+        assertThat(confirmationLink).isNotNull();
+        final var confirmationId = UriComponentsBuilder.fromUriString(confirmationLink).build()
+                .getQueryParams().getFirst("id");
+        assertThat(confirmationId).isNotBlank();
+        return confirmationId;
+    }
+
+    private static <T> T measure(final @NotNull Step step,
+                                 final @NotNull Map<Step, Samples> latencies,
+                                 final @NotNull Map<Step, Samples> statements,
+                                 final @NotNull Supplier<T> action) {
+        final var counter = STATEMENTS.get();
+        counter.set(0);
+        final var start = System.nanoTime();
+        final var result = action.get();
+        latencies.get(step).add(System.nanoTime() - start);
+        statements.get(step).add(counter.get());
+        return result;
+    }
+
+    private static @NotNull String createReport(final int sessions,
+                                                final int concurrency,
+                                                final long duration,
+                                                final @NotNull Map<Step, Samples> latencies,
+                                                final @NotNull Map<Step, Samples> statements,
+                                                final long retainedHeap) {
+        final var report = new StringBuilder();
+        report.append("%d sessions, %d concurrent, %.1f s%n%n".formatted(sessions, concurrency, duration / 1e9));
+        report.append("| Step | p50 (ms) | p95 (ms) | p99 (ms) | SQL statements (avg) | SQL statements (max) |\n");
+        report.append("|------|---------:|---------:|---------:|---------------------:|---------------------:|\n");
+        for (final var step : Step.values()) {
+            final var latency = latencies.get(step).sorted();
+            final var statement = statements.get(step).sorted();
+            report.append("| %s | %.1f | %.1f | %.1f | %.1f | %d |%n".formatted(step.name().toLowerCase(Locale.ROOT),
+                    percentile(latency, 0.5) / 1e6, percentile(latency, 0.95) / 1e6, percentile(latency, 0.99) / 1e6,
+                    Arrays.stream(statement).average().orElse(0), percentile(statement, 1.0)));
+        }
+        report.append("%nHeap retained by the sessions (MiB): %.1f total, %.1f KiB per session%n".formatted(
+                retainedHeap / 1024.0 / 1024.0, retainedHeap / 1024.0 / sessions));
+        return report.toString();
+    }
+
+    private static long usedHeapAfterGc() {
+        final var memory = ManagementFactory.getMemoryMXBean();
+        for (int run = 0; run < 3; run++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static long percentile(final long @NotNull [] sorted, final double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        final var index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.clamp(index, 0, sorted.length - 1)];
+    }
+
+    private static void writeReport(final @NotNull String report) throws IOException {
+        Files.createDirectories(REPORT_FILE.getParent());
+        Files.writeString(REPORT_FILE, report);
+    }
+
+    /**
+     * <p>Thread-safe collection of measured values.</p>
+     */
+    private static final class Samples {
+
+        private final @NotNull ConcurrentLinkedQueue<Long> values = new ConcurrentLinkedQueue<>();
+
+        void add(final long value) {
+            values.add(value);
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        long @NotNull [] sorted() {
+            return values.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+
+    }
+
+    /**
+     * <p>Strong references to a Vaadin session and its UI, so both stay on the heap until the end of the run.</p>
+     */
+    private record LiveSession(@NotNull VaadinSession session, @NotNull UI ui) { }
+
+    /**
+     * <p>Counts the SQL statements executed by jOOQ on the current thread, using the observations
+     * created by the {@code JooqObservationListener}. Once disabled, it ignores all observations.</p>
+     */
+    private static final class StatementCounter implements ObservationHandler<Observation.Context> {
+
+        private volatile boolean enabled = true;
+
+        void disable() {
+            enabled = false;
+        }
+
+        @Override
+        public void onStart(final @NotNull Observation.Context context) {
+            if (QUERY_OBSERVATION.equals(context.getName())) {
+                STATEMENTS.get().incrementAndGet();
+            }
+        }
+
+        @Override
+        public boolean supportsContext(final @NotNull Observation.Context context) {
+            return enabled;
+        }
+
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.boundary;
+
+import com.vaadin.flow.server.streams.DownloadEvent;
+import eu.ijug.dukeops.domain.clubdesk.control.ClubDeskExportService;
+import eu.ijug.dukeops.domain.clubdesk.entity.Country;
+import eu.ijug.dukeops.domain.clubdesk.entity.ExportFilter;
+import eu.ijug.dukeops.infra.export.TableFormat;
+import eu.ijug.dukeops.infra.export.TableWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+final class ClubDeskExportHandlerTest {
+
+    private ClubDeskExportService clubDeskExportService;
+    private DownloadEvent event;
+    private ByteArrayOutputStream out;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        clubDeskExportService = mock(ClubDeskExportService.class);
+        when(clubDeskExportService.getExportName(Locale.GERMAN)).thenReturn("Mitglieder");
+        doAnswer(invocation -> {
+            invocation.<TableWriter>getArgument(2).writeRow(List.of("Name"));
+            return 1;
+        }).when(clubDeskExportService).export(any(), any(), any());
+
+        out = new ByteArrayOutputStream();
+        event = mock(DownloadEvent.class);
+        when(event.getOutputStream()).thenReturn(out);
+    }
+
+    @Test
+    void handleDownloadRequest_shouldStreamCsvWithAllRecords() throws Exception {
+        final var handler = new ClubDeskExportHandler(clubDeskExportService, TableFormat.CSV, Locale.GERMAN);
+
+        handler.handleDownloadRequest(event);
+
+        verify(event).setFileName("clubdesk-export.csv");
+        verify(event).setContentType("text/csv");
+        verify(clubDeskExportService).export(eq(ExportFilter.all()), eq(Locale.GERMAN), any());
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("\uFEFF\"Name\"\r\n");
+    }
+
+    @Test
+    void handleDownloadRequest_shouldStreamWorkbookWithSelectedFilter() throws Exception {
+        final var handler = new ClubDeskExportHandler(clubDeskExportService, TableFormat.XLSX, Locale.GERMAN);
+        final var filter = new ExportFilter("JUG CH", Country.ofIso2("CH"), true, null);
+
+        handler.setFilter(filter);
+        handler.handleDownloadRequest(event);
+
+        verify(event).setFileName("clubdesk-export.xlsx");
+        verify(event).setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        verify(clubDeskExportService).export(eq(filter), eq(Locale.GERMAN), any());
+        assertThat(out.toByteArray()).startsWith((byte) 'P', (byte) 'K');
+    }
+
+}
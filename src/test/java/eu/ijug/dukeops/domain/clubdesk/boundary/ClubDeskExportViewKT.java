@@ -0,0 +1,121 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.boundary;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Anchor;
+import com.vaadin.flow.component.html.Paragraph;
+import com.vaadin.flow.component.select.Select;
+import eu.ijug.dukeops.domain.clubdesk.control.ClubDeskExportService;
+import eu.ijug.dukeops.domain.clubdesk.entity.Country;
+import eu.ijug.dukeops.domain.dashboard.boundary.DashboardView;
+import eu.ijug.dukeops.test.KaribuTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+
+import static com.github.mvysny.kaributesting.v10.LocatorJ._get;
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class ClubDeskExportViewKT extends KaribuTest {
+
+    @Autowired
+    private ClubDeskExportService clubDeskExportService;
+
+    @BeforeEach
+    void setUpView() {
+        login(TEST_ADMIN);
+        UI.getCurrent().navigate(ClubDeskExportView.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void initialState_shouldShowFiltersWithoutSelection() {
+        final var view = _get(ClubDeskExportView.class);
+
+        final Select<String> javaUserGroup = _get(view, Select.class, spec -> spec.withLabel("Java User Group"));
+        final Select<Country> country = _get(view, Select.class, spec -> spec.withLabel("Country"));
+        final Select<Boolean> newsletter = _get(view, Select.class, spec -> spec.withLabel("Newsletter"));
+        final Select<Boolean> sepaEnabled = _get(view, Select.class, spec -> spec.withLabel("SEPA direct debit enabled"));
+
+        assertThat(javaUserGroup.getValue()).isNull();
+        assertThat(javaUserGroup.getEmptySelectionCaption()).isEqualTo("All");
+        assertThat(country.getValue()).isNull();
+        assertThat(country.getItemLabelGenerator().apply(Country.ofIso2("CH"))).isEqualTo("Switzerland");
+        assertThat(country.getItemLabelGenerator().apply(null)).isEmpty();
+        assertThat(newsletter.getValue()).isNull();
+        assertThat(newsletter.getItemLabelGenerator().apply(true)).isEqualTo("Yes");
+        assertThat(newsletter.getItemLabelGenerator().apply(false)).isEqualTo("No");
+        assertThat(sepaEnabled.getValue()).isNull();
+    }
+
+    @Test
+    void downloads_shouldBeOfferedAsCsvAndExcel() {
+        final var view = _get(ClubDeskExportView.class);
+
+        final var csvDownload = _get(view, Anchor.class, spec -> spec.withClasses("csv-download"));
+        assertThat(csvDownload.getText()).isEqualTo("Download CSV file");
+        assertThat(csvDownload.getHref()).isNotBlank();
+
+        final var xlsxDownload = _get(view, Anchor.class, spec -> spec.withClasses("xlsx-download"));
+        assertThat(xlsxDownload.getText()).isEqualTo("Download Excel file");
+        assertThat(xlsxDownload.getHref()).isNotBlank();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void changingFilters_shouldKeepTheSelection() {
+        final var view = _get(ClubDeskExportView.class);
+
+        final Select<Country> country = _get(view, Select.class, spec -> spec.withLabel("Country"));
+        final Select<Boolean> newsletter = _get(view, Select.class, spec -> spec.withLabel("Newsletter"));
+        country.setValue(Country.ofIso2("DE"));
+        newsletter.setValue(false);
+
+        assertThat(country.getValue()).isEqualTo(Country.ofIso2("DE"));
+        assertThat(newsletter.getValue()).isFalse();
+    }
+
+    @Test
+    void changes_shouldBeOfferedForTheFirstDownload() {
+        final var view = _get(ClubDeskExportView.class);
+
+        final var lastChangesExport = _get(view, Paragraph.class, spec -> spec.withClasses("last-changes-export"));
+        assertThat(lastChangesExport.getText())
+                .isEqualTo("No changes have been downloaded yet, the first download contains all members.");
+
+        final var changesDownload = _get(view, Anchor.class, spec -> spec.withClasses("changes-download"));
+        assertThat(changesDownload.getText()).isEqualTo("Download changes");
+        assertThat(changesDownload.getHref()).isNotBlank();
+    }
+
+    @Test
+    void changes_shouldShowTheLastDownload() throws Exception {
+        clubDeskExportService.exportChanges(new ByteArrayOutputStream());
+        UI.getCurrent().navigate(DashboardView.class);
+        UI.getCurrent().navigate(ClubDeskExportView.class);
+        final var view = _get(ClubDeskExportView.class);
+
+        final var lastChangesExport = _get(view, Paragraph.class, spec -> spec.withClasses("last-changes-export"));
+        assertThat(lastChangesExport.getText())
+                .matches("The last download contained the changes before \\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}\\.");
+    }
+
+}
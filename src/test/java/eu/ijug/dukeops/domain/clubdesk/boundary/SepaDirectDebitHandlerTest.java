@@ -0,0 +1,91 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.boundary;
+
+import com.vaadin.flow.server.streams.DownloadEvent;
+import eu.ijug.dukeops.domain.clubdesk.control.SepaDirectDebitService;
+import eu.ijug.dukeops.domain.clubdesk.entity.SepaCollection;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+final class SepaDirectDebitHandlerTest {
+
+    private static final SepaCollection COLLECTION = new SepaCollection(LocalDate.of(2026, 11, 2),
+            "Mitgliedsbeitrag 2026", BigDecimal.TEN, Map.of());
+
+    @Test
+    void handleDownloadRequest_shouldStreamTheDirectDebitFile() throws Exception {
+        final var sepaDirectDebitService = mock(SepaDirectDebitService.class);
+        final var out = new ByteArrayOutputStream();
+        final var event = mock(DownloadEvent.class);
+        when(event.getOutputStream()).thenReturn(out);
+
+        final var handler = new SepaDirectDebitHandler(sepaDirectDebitService);
+        handler.setCollection(COLLECTION);
+        handler.handleDownloadRequest(event);
+
+        verify(event).setFileName("pain008-2026-11-02.xml");
+        verify(event).setContentType("application/xml");
+        verify(sepaDirectDebitService).writeDirectDebit(COLLECTION, out);
+    }
+
+    @Test
+    void handleDownloadRequest_shouldFailWithoutCollection() {
+        final var sepaDirectDebitService = mock(SepaDirectDebitService.class);
+        final var event = mock(DownloadEvent.class);
+
+        final var handler = new SepaDirectDebitHandler(sepaDirectDebitService);
+        handler.setCollection(null);
+
+        assertThatThrownBy(() -> handler.handleDownloadRequest(event))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("The SEPA direct debit collection is incomplete");
+        verifyNoInteractions(sepaDirectDebitService, event);
+    }
+
+    @Test
+    void handleDownloadRequest_shouldWrapXmlErrors() throws Exception {
+        final var sepaDirectDebitService = mock(SepaDirectDebitService.class);
+        final var xmlError = new XMLStreamException("Broken pipe");
+        when(sepaDirectDebitService.writeDirectDebit(any(), any())).thenThrow(xmlError);
+        final var event = mock(DownloadEvent.class);
+        when(event.getOutputStream()).thenReturn(new ByteArrayOutputStream());
+
+        final var handler = new SepaDirectDebitHandler(sepaDirectDebitService);
+        handler.setCollection(COLLECTION);
+
+        assertThatThrownBy(() -> handler.handleDownloadRequest(event))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Unable to write the SEPA direct debit file")
+                .hasCause(xmlError);
+    }
+
+}
@@ -0,0 +1,221 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.boundary;
+
+import com.github.mvysny.kaributesting.v10.ButtonKt;
+import com.github.mvysny.kaributesting.v10.GridKt;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.datepicker.DatePicker;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.html.Anchor;
+import com.vaadin.flow.component.html.Paragraph;
+import com.vaadin.flow.component.textfield.BigDecimalField;
+import com.vaadin.flow.component.textfield.TextField;
+import eu.ijug.dukeops.domain.clubdesk.control.ClubDeskService;
+import eu.ijug.dukeops.domain.clubdesk.entity.Country;
+import eu.ijug.dukeops.domain.clubdesk.entity.ImportRecord;
+import eu.ijug.dukeops.test.KaribuTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.github.mvysny.kaributesting.v10.LocatorJ._find;
+import static com.github.mvysny.kaributesting.v10.LocatorJ._get;
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class SepaDirectDebitViewKT extends KaribuTest {
+
+    @Autowired
+    private ClubDeskService clubDeskService;
+
+    @BeforeEach
+    void setUpView() {
+        login(TEST_ADMIN);
+    }
+
+    @Test
+    void initialState_shouldProposeTheNextCollection() {
+        createMembers();
+        final var view = navigate();
+
+        final var today = LocalDate.now();
+        assertThat(_get(view, DatePicker.class, spec -> spec.withLabel("Collection date")).getValue())
+                .isEqualTo(today.with(TemporalAdjusters.firstDayOfNextMonth()));
+        assertThat(_get(view, TextField.class, spec -> spec.withLabel("Remittance information")).getValue())
+                .isEqualTo("Membership fee " + today.getYear());
+        assertThat(_get(view, BigDecimalField.class, spec -> spec.withLabel("Default amount (EUR)")).getValue())
+                .isNull();
+        assertThat(_find(view, BigDecimalField.class))
+                .extracting(BigDecimalField::getLabel)
+                .containsExactly("Default amount (EUR)", "JUG Berlin", "JUG CH");
+
+        assertThat(_get(view, Button.class, spec -> spec.withClasses("check-button")).isEnabled()).isFalse();
+        final var download = _get(view, Anchor.class, spec -> spec.withClasses("download"));
+        assertThat(download.getText()).isEqualTo("Download pain.008 file");
+        assertThat(download.isEnabled()).isFalse();
+        assertThat(_get(view, Paragraph.class, spec -> spec.withClasses("summary")).isVisible()).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void check_shouldShowTheSummaryAndTheRejectedMembers() {
+        createMembers();
+        final var view = navigate();
+
+        _get(view, BigDecimalField.class, spec -> spec.withLabel("Default amount (EUR)")).setValue(new BigDecimal("30"));
+        _get(view, BigDecimalField.class, spec -> spec.withLabel("JUG CH")).setValue(new BigDecimal("50"));
+        assertThat(_get(view, Anchor.class, spec -> spec.withClasses("download")).isEnabled()).isTrue();
+
+        ButtonKt._click(_get(view, Button.class, spec -> spec.withClasses("check-button")));
+
+        final var summary = _get(view, Paragraph.class, spec -> spec.withClasses("summary"));
+        assertThat(summary.isVisible()).isTrue();
+        assertThat(summary.getText()).isEqualTo("2 direct debits with a total of EUR 80.00.");
+        assertThat(_get(view, Paragraph.class, spec -> spec.withClasses("rejections-truncated")).isVisible()).isFalse();
+
+        final Grid<?> rejections = _get(view, Grid.class);
+        assertThat(rejections.isVisible()).isTrue();
+        assertThat(GridKt._size(rejections)).isEqualTo(3);
+        assertThat(List.of(GridKt._getFormattedRow(rejections, 0), GridKt._getFormattedRow(rejections, 1),
+                GridKt._getFormattedRow(rejections, 2)))
+                .containsExactlyInAnyOrder(
+                        List.of("Max Doe", "max@example.com", "The mandate reference is missing."),
+                        List.of("Erika Doe", "erika@example.com", "The IBAN is invalid."),
+                        List.of("Otto Doe", "otto@example.com", "The BIC is invalid."));
+
+        _get(view, TextField.class, spec -> spec.withLabel("Remittance information")).setValue("Membership fee");
+        assertThat(summary.isVisible()).isFalse();
+        assertThat(rejections.isVisible()).isFalse();
+    }
+
+    @Test
+    void check_withManyRejectedMembers_shouldOnlyListTheFirst() {
+        clubDeskService.saveImportRecords(IntStream.rangeClosed(1, 101)
+                .mapToObj(i -> member("Member" + i, "", true, "", "DE89370400440532013000", ""))
+                .toList());
+        final var view = navigate();
+
+        _get(view, BigDecimalField.class, spec -> spec.withLabel("Default amount (EUR)")).setValue(BigDecimal.TEN);
+        ButtonKt._click(_get(view, Button.class, spec -> spec.withClasses("check-button")));
+
+        final var truncated = _get(view, Paragraph.class, spec -> spec.withClasses("rejections-truncated"));
+        assertThat(truncated.isVisible()).isTrue();
+        assertThat(truncated.getText()).isEqualTo("101 members can't be included, the first 100 are listed below.");
+        assertThat(GridKt._size(_get(view, Grid.class))).isEqualTo(100);
+    }
+
+    @Test
+    void check_withoutMembers_shouldHideTheRejections() {
+        final var view = navigate();
+
+        _get(view, BigDecimalField.class, spec -> spec.withLabel("Default amount (EUR)")).setValue(BigDecimal.TEN);
+        ButtonKt._click(_get(view, Button.class, spec -> spec.withClasses("check-button")));
+
+        assertThat(_get(view, Paragraph.class, spec -> spec.withClasses("summary")).getText())
+                .isEqualTo("0 direct debits with a total of EUR 0.00.");
+        assertThat(_get(view, Grid.class).isVisible()).isFalse();
+    }
+
+    @Test
+    void incompleteCollection_shouldDisableTheDownload() {
+        final var view = navigate();
+        final var collectionDate = _get(view, DatePicker.class, spec -> spec.withLabel("Collection date"));
+        final var remittanceInformation = _get(view, TextField.class, spec -> spec.withLabel("Remittance information"));
+        final var defaultAmount = _get(view, BigDecimalField.class, spec -> spec.withLabel("Default amount (EUR)"));
+        final var download = _get(view, Anchor.class, spec -> spec.withClasses("download"));
+
+        defaultAmount.setValue(BigDecimal.TEN);
+        assertThat(download.isEnabled()).isTrue();
+
+        defaultAmount.setValue(BigDecimal.ZERO);
+        assertThat(download.isEnabled()).isFalse();
+        defaultAmount.setValue(BigDecimal.TEN);
+
+        remittanceInformation.setValue(" ");
+        assertThat(download.isEnabled()).isFalse();
+        remittanceInformation.setValue("Membership fee");
+
+        collectionDate.clear();
+        assertThat(download.isEnabled()).isFalse();
+    }
+
+    @Test
+    void invalidAmount_shouldBeMarkedAndDisableTheDownload() {
+        createMembers();
+        final var view = navigate();
+        final var defaultAmount = _get(view, BigDecimalField.class, spec -> spec.withLabel("Default amount (EUR)"));
+        final var categoryAmount = _get(view, BigDecimalField.class, spec -> spec.withLabel("JUG Berlin"));
+        final var download = _get(view, Anchor.class, spec -> spec.withClasses("download"));
+
+        defaultAmount.setValue(new BigDecimal("10.005"));
+        assertThat(defaultAmount.isInvalid()).isTrue();
+        assertThat(defaultAmount.getErrorMessage())
+                .isEqualTo("Enter an amount of at least 0.01 with at most two decimal places.");
+        assertThat(download.isEnabled()).isFalse();
+
+        defaultAmount.setValue(new BigDecimal("10.50"));
+        assertThat(defaultAmount.isInvalid()).isFalse();
+        assertThat(download.isEnabled()).isTrue();
+
+        categoryAmount.setValue(BigDecimal.ZERO);
+        assertThat(categoryAmount.isInvalid()).isTrue();
+        assertThat(download.isEnabled()).isFalse();
+
+        categoryAmount.setValue(new BigDecimal("-5"));
+        assertThat(categoryAmount.isInvalid()).isTrue();
+        assertThat(download.isEnabled()).isFalse();
+
+        categoryAmount.clear();
+        assertThat(categoryAmount.isInvalid()).isFalse();
+        assertThat(download.isEnabled()).isTrue();
+    }
+
+    private SepaDirectDebitView navigate() {
+        UI.getCurrent().navigate(SepaDirectDebitView.class);
+        return _get(SepaDirectDebitView.class);
+    }
+
+    private void createMembers() {
+        clubDeskService.saveImportRecords(List.of(
+                member("John", "JUG CH", true, "JUG-1", "CH9300762011623852957", "UBSWCHZH80A"),
+                member("Jane", "JUG Berlin", true, "JUG-2", "DE89370400440532013000", ""),
+                member("Max", "", true, "", "DE89370400440532013000", ""),
+                member("Erika", "JUG Berlin", true, "JUG-4", "DE00123", ""),
+                member("Otto", "", true, "JUG-5", "AT611904300234573201", "XXX"),
+                member("Lena", "JUG Hamburg", false, "", "", "")));
+    }
+
+    private static ImportRecord member(final String firstname,
+                                       final String jug,
+                                       final boolean sepaEnabled,
+                                       final String mandateReference,
+                                       final String iban,
+                                       final String bic) {
+        return new ImportRecord(firstname, "Doe", "Street 1", "", "6000", "Lucerne", Country.ofIso2("CH"),
+                firstname.toLowerCase() + "@example.com", "", "", "", "", sepaEnabled, "",
+                mandateReference, iban, bic, jug);
+    }
+
+}
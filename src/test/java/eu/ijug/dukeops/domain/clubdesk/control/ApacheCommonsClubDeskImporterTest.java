@@ -17,6 +17,7 @@
  */
 package eu.ijug.dukeops.domain.clubdesk.control;
 
+import eu.ijug.dukeops.test.TestUtil;
 import org.jspecify.annotations.NonNull;
 import org.junit.jupiter.api.Test;
 
@@ -47,6 +48,21 @@ final class ApacheCommonsClubDeskImporterTest {
         assertThat(records.getFirst().sepaEnabled()).isFalse();
     }
 
+    @Test
+    void parse_shouldEmitParseEvent() throws Exception {
+        final String csv = """
+                "E-Mail";"Vorname";"Nachname";"Adresse";"Adress-Zusatz";"PLZ";"Ort";"Land";"E-Mail Alternativ";"Matrix";"Mastodon";"LinkedIn";"SEPA-Lastschrift erlauben";"Mandatsreferenz";"Mandat Unterschriftsdatum";"Lastschriftart";"Letzter Lastschrifteinzug";"Kontoinhaber";"IBAN";"BIC";"Java User Group"
+                "john.doe@example.com";"John";"Doe";"";"";"";"";"";"";"";"";"";"Nein";"";"";"";"";"";"";"";""
+                "jane.doe@example.com";"Jane";"Doe";"";"";"";"";"";"";"";"";"";"Nein";"";"";"";"";"";"";"";""
+                """;
+
+        final var events = TestUtil.recordEvents(ClubDeskParseEvent.NAME, () -> importer.parse(Reader.of(csv)));
+
+        assertThat(events).hasSize(1);
+        assertThat(events.getFirst().getInt("rows")).isEqualTo(2);
+        assertThat(events.getFirst().getLong("characters")).isPositive().isLessThanOrEqualTo(csv.length());
+    }
+
     @Test
     void parse_shouldFailWhenRequiredEmailBlank() {
         final String csv = """
@@ -0,0 +1,190 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.control;
+
+import eu.ijug.dukeops.domain.clubdesk.entity.Country;
+import eu.ijug.dukeops.domain.clubdesk.entity.ImportRecord;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationProvider;
+import eu.ijug.dukeops.test.IntegrationTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.CLUBDESK_EXPORT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+final class ClubDeskExportServiceChangesIT extends IntegrationTest {
+
+    private static final ImportRecord JOHN = new ImportRecord("John", "Doe", "Street 1", "", "6000", "Lucerne",
+            Country.ofIso2("CH"), "john.doe@example.com", "", "", "", "", true, "John Doe", "JUG-1",
+            "CH9300762011623852957", "UBSWCHZH80A", "JUG CH");
+    private static final ImportRecord JANE = new ImportRecord("Jane", "Doe", "Mühlenstraße 2", "c/o Duke", "10115",
+            "Berlin", null, "jane.doe@example.com", "jane@example.org", "@jane:matrix.org", "@jane@mastodon.social",
+            "https://www.linkedin.com/in/jane", false, "", "", "", "", "JUG Berlin");
+
+    @Autowired
+    private ClubDeskExportService clubDeskExportService;
+
+    @Autowired
+    private ClubDeskService clubDeskService;
+
+    @Autowired
+    private ClubDeskImporter clubDeskImporter;
+
+    @Autowired
+    private DSLContext dsl;
+
+    @MockitoBean
+    private Clock clock;
+
+    @Test
+    void exportChanges_shouldRoundTripThroughTheClubDeskImporter() throws Exception {
+        setTime("2026-02-02T10:00:00Z");
+        clubDeskService.saveImportRecords(List.of(JOHN, JANE));
+        assertThat(clubDeskExportService.getLastChangesExport()).isEmpty();
+
+        setTime("2026-02-02T10:05:00.500Z");
+        final var out = new ByteArrayOutputStream();
+        assertThat(clubDeskExportService.exportChanges(out)).isEqualTo(2);
+
+        final var csv = out.toByteArray();
+        assertThat(new String(csv, StandardCharsets.ISO_8859_1))
+                .startsWith("\"E-Mail\";\"Vorname\";\"Nachname\";\"Adresse\";\"Adress-Zusatz\";\"PLZ\";\"Ort\";\"Land\";")
+                .contains("\"Schweiz\"", "\"Ja\"", "\"Nein\"", "\"Mühlenstraße 2\"");
+        assertThat(clubDeskImporter.parse(new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.ISO_8859_1)))
+                .containsExactlyInAnyOrder(JOHN, JANE);
+        assertThat(clubDeskExportService.getLastChangesExport())
+                .contains(LocalDateTime.parse("2026-02-02T10:04:00"));
+    }
+
+    @Test
+    void exportChanges_shouldOnlyContainRecordsChangedSinceTheLastExport() throws Exception {
+        setTime("2026-02-02T10:00:00Z");
+        clubDeskService.saveImportRecords(List.of(JOHN, JANE));
+        setTime("2026-02-02T10:05:00Z");
+        assertThat(clubDeskExportService.exportChanges(new ByteArrayOutputStream())).isEqualTo(2);
+
+        setTime("2026-02-02T10:06:00Z");
+        assertThat(clubDeskExportService.exportChanges(new ByteArrayOutputStream())).isZero();
+
+        setTime("2026-02-02T10:10:00Z");
+        final var moved = new ImportRecord("John", "Doe", "Street 99", "", "6003", "Lucerne",
+                Country.ofIso2("CH"), "john.doe@example.com", "", "", "", "", true, "John Doe", "JUG-1",
+                "CH9300762011623852957", "UBSWCHZH80A", "JUG CH");
+        clubDeskService.saveImportRecords(List.of(moved));
+
+        // changes during the last minute are part of the next export
+        setTime("2026-02-02T10:10:30Z");
+        final var out = new ByteArrayOutputStream();
+        assertThat(clubDeskExportService.exportChanges(out)).isZero();
+
+        setTime("2026-02-02T10:15:00Z");
+        final var changes = new ByteArrayOutputStream();
+        assertThat(clubDeskExportService.exportChanges(changes)).isEqualTo(1);
+        assertThat(clubDeskImporter.parse(new InputStreamReader(
+                new ByteArrayInputStream(changes.toByteArray()), StandardCharsets.ISO_8859_1)))
+                .containsExactly(moved);
+
+        assertThat(dsl.fetchCount(CLUBDESK_EXPORT)).isEqualTo(4);
+        assertThat(clubDeskExportService.getLastChangesExport())
+                .contains(LocalDateTime.parse("2026-02-02T10:14:00"));
+    }
+
+    @Test
+    void exportChanges_shouldNotContainRecordsImportedAgainWithoutChanges() throws Exception {
+        setTime("2026-02-02T10:00:00Z");
+        clubDeskService.saveImportRecords(List.of(JOHN, JANE));
+        setTime("2026-02-02T10:05:00Z");
+        assertThat(clubDeskExportService.exportChanges(new ByteArrayOutputStream())).isEqualTo(2);
+
+        setTime("2026-02-02T10:10:00Z");
+        clubDeskService.saveImportRecords(List.of(JOHN, JANE));
+
+        setTime("2026-02-02T10:15:00Z");
+        assertThat(clubDeskExportService.exportChanges(new ByteArrayOutputStream())).isZero();
+    }
+
+    @Test
+    void exportChanges_shouldSkipChangesCommittedLaterThanTheWatermarkLag() throws Exception {
+        setTime("2026-02-02T10:00:00Z");
+        clubDeskService.saveImportRecords(List.of(JOHN));
+        setTime("2026-02-02T10:05:00Z");
+        assertThat(clubDeskExportService.exportChanges(new ByteArrayOutputStream())).isEqualTo(1);
+
+        // a change timestamped at 10:03, but committed after the export with the watermark 10:04
+        setTime("2026-02-02T10:03:00Z");
+        clubDeskService.saveImportRecords(List.of(JANE));
+
+        setTime("2026-02-02T10:15:00Z");
+        assertThat(clubDeskExportService.exportChanges(new ByteArrayOutputStream())).isZero();
+        assertThat(clubDeskExportService.getLastChangesExport())
+                .contains(LocalDateTime.parse("2026-02-02T10:14:00"));
+    }
+
+    @Test
+    void constructor_shouldRejectWatermarkLagWhichIsNotPositive() {
+        for (final var watermarkLag : List.of(Duration.ZERO, Duration.ofMinutes(-1))) {
+            assertThatThrownBy(() -> new ClubDeskExportService(dsl, new TranslationProvider(), clock, watermarkLag,
+                    new SimpleMeterRegistry()))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("'dukeops.clubdesk.export.watermark-lag' must be positive");
+        }
+    }
+
+    @Test
+    void exportChanges_shouldNotStoreTheWatermarkIfTheFileCantBeWritten() {
+        setTime("2026-02-02T10:00:00Z");
+        clubDeskService.saveImportRecords(List.of(JOHN));
+
+        setTime("2026-02-02T10:05:00Z");
+        final var failing = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+        assertThatThrownBy(() -> clubDeskExportService.exportChanges(failing))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Connection reset");
+
+        assertThat(clubDeskExportService.getLastChangesExport()).isEmpty();
+    }
+
+    private void setTime(final String instant) {
+        when(clock.getZone()).thenReturn(ZoneId.of("UTC"));
+        when(clock.instant()).thenReturn(Instant.parse(instant));
+    }
+
+}
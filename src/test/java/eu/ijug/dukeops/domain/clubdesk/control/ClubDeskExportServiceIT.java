@@ -0,0 +1,160 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.control;
+
+import eu.ijug.dukeops.domain.clubdesk.entity.Country;
+import eu.ijug.dukeops.domain.clubdesk.entity.ExportFilter;
+import eu.ijug.dukeops.domain.clubdesk.entity.ImportRecord;
+import eu.ijug.dukeops.infra.export.TableWriter;
+import eu.ijug.dukeops.test.IntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.CLUBDESK;
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class ClubDeskExportServiceIT extends IntegrationTest {
+
+    @Autowired
+    private ClubDeskExportService clubDeskExportService;
+
+    @Autowired
+    private ClubDeskService clubDeskService;
+
+    @Autowired
+    private DSLContext dsl;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void createMembers() {
+        clubDeskService.saveImportRecords(List.of(
+                new ImportRecord("John", "Doe", "Street 1", "", "6000", "Lucerne", Country.ofIso2("CH"),
+                        "john.doe@example.com", "", "", "", "", true, "John Doe", "JUG-1",
+                        "CH9300762011623852957", "UBSWCHZH80A", "JUG CH"),
+                new ImportRecord("Jane", "Doe", "Strasse 2", "c/o Duke", "10115", "Berlin", Country.ofIso2("DE"),
+                        "jane.doe@example.com", "", "@jane:matrix.org", "", "", false, "", "",
+                        "", "", "JUG Berlin")));
+        dsl.update(CLUBDESK)
+                .set(CLUBDESK.NEWSLETTER, false)
+                .where(CLUBDESK.EMAIL.eq("jane.doe@example.com"))
+                .execute();
+    }
+
+    @Test
+    void export_withoutFilter_shouldWriteHeaderAndAllMembers() throws Exception {
+        final var writer = new RecordingTableWriter();
+
+        final var count = clubDeskExportService.export(ExportFilter.all(), Locale.ENGLISH, writer);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(writer.rows).hasSize(3);
+        assertThat(writer.rows.getFirst())
+                .hasSize(22)
+                .startsWith("Name", "First name", "Last name")
+                .endsWith("Newsletter", "Member since", "Last change");
+        assertThat(writer.flushedAfterRows).isEqualTo(1);
+        assertThat(writer.rows.subList(1, 3)).extracting(row -> row.get(8))
+                .containsExactlyInAnyOrder("john.doe@example.com", "jane.doe@example.com");
+        assertThat(meterRegistry.get("dukeops.clubdesk.export.records").counter().count()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void export_shouldLocalizeHeaderAndCountry() throws Exception {
+        final var writer = new RecordingTableWriter();
+
+        clubDeskExportService.export(new ExportFilter(null, Country.ofIso2("CH"), null, null), Locale.GERMAN, writer);
+
+        assertThat(writer.rows).hasSize(2);
+        assertThat(writer.rows.getFirst()).startsWith("Name", "Vorname", "Nachname");
+        final var row = writer.rows.get(1);
+        assertThat(row).startsWith("John Doe", "John", "Doe", "Street 1", "", "6000", "Lucerne", "Schweiz");
+        assertThat(row.get(13)).isEqualTo(true);
+        assertThat(row.get(16)).isEqualTo("CH9300762011623852957");
+        assertThat(row.get(18)).isEqualTo("JUG CH");
+        assertThat(row.get(19)).isEqualTo(true);
+        assertThat(row.get(20)).asString().matches("\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}");
+    }
+
+    @Test
+    void export_shouldApplyAllFilters() throws Exception {
+        assertThat(clubDeskExportService.export(new ExportFilter("JUG Berlin", null, null, null),
+                Locale.ENGLISH, new RecordingTableWriter())).isEqualTo(1);
+        assertThat(clubDeskExportService.export(new ExportFilter(null, null, false, null),
+                Locale.ENGLISH, new RecordingTableWriter())).isEqualTo(1);
+        assertThat(clubDeskExportService.export(new ExportFilter(null, null, null, true),
+                Locale.ENGLISH, new RecordingTableWriter())).isEqualTo(1);
+        assertThat(clubDeskExportService.export(new ExportFilter("JUG CH", Country.ofIso2("CH"), true, true),
+                Locale.ENGLISH, new RecordingTableWriter())).isEqualTo(1);
+        assertThat(clubDeskExportService.export(new ExportFilter("JUG CH", Country.ofIso2("DE"), null, null),
+                Locale.ENGLISH, new RecordingTableWriter())).isZero();
+    }
+
+    @Test
+    void export_shouldWriteEmptyCountry() throws Exception {
+        dsl.update(CLUBDESK)
+                .set(CLUBDESK.COUNTRY, (Country) null)
+                .where(CLUBDESK.EMAIL.eq("jane.doe@example.com"))
+                .execute();
+        final var writer = new RecordingTableWriter();
+
+        clubDeskExportService.export(new ExportFilter("JUG Berlin", null, null, null), Locale.ENGLISH, writer);
+
+        assertThat(writer.rows.get(1).get(7)).isEqualTo("");
+    }
+
+    @Test
+    void getExportName_shouldBeLocalized() {
+        assertThat(clubDeskExportService.getExportName(Locale.ENGLISH)).isEqualTo("Members");
+        assertThat(clubDeskExportService.getExportName(Locale.GERMAN)).isEqualTo("Mitglieder");
+    }
+
+    private static final class RecordingTableWriter implements TableWriter {
+
+        private final @NotNull List<List<Object>> rows = new ArrayList<>();
+        private int flushedAfterRows = -1;
+
+        @Override
+        public void writeRow(final @NotNull List<?> values) {
+            rows.add(new ArrayList<Object>(values));
+        }
+
+        @Override
+        public void flush() {
+            if (flushedAfterRows < 0) {
+                flushedAfterRows = rows.size();
+            }
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+
+    }
+
+}
@@ -22,6 +22,8 @@ import eu.ijug.dukeops.domain.clubdesk.entity.ImportRecord;
 import eu.ijug.dukeops.domain.user.control.UserService;
 import eu.ijug.dukeops.infra.communication.mail.MailService;
 import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.jooq.DSLContext;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -44,6 +46,8 @@ import static org.mockito.Mockito.when;
 
 final class ClubDeskServiceImportTest {
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @TempDir
     Path tempDir;
 
@@ -58,7 +62,7 @@ final class ClubDeskServiceImportTest {
         final var dsl = mock(DSLContext.class);
 
         final var service = new ClubDeskService(clubDeskRepository, clubDeskImporter, userService,
-                authenticationService, mailService, translationProvider, dsl);
+                authenticationService, mailService, translationProvider, dsl, meterRegistry, ObservationRegistry.NOOP);
 
         final var csv = tempDir.resolve("clubdesk.csv");
         Files.writeString(csv, "dummy", StandardCharsets.ISO_8859_1);
@@ -91,7 +95,7 @@ final class ClubDeskServiceImportTest {
         final var dsl = mock(DSLContext.class);
 
         final var service = new ClubDeskService(clubDeskRepository, clubDeskImporter, userService,
-                authenticationService, mailService, translationProvider, dsl);
+                authenticationService, mailService, translationProvider, dsl, meterRegistry, ObservationRegistry.NOOP);
 
         final var directoryAsFile = tempDir.toFile(); // is a directory, not a file
 
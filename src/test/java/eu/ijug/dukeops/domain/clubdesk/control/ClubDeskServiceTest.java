@@ -25,7 +25,13 @@ import eu.ijug.dukeops.domain.user.entity.UserDto;
 import eu.ijug.dukeops.domain.user.entity.UserRole;
 import eu.ijug.dukeops.infra.communication.mail.MailService;
 import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationProvider;
+import eu.ijug.dukeops.test.TestUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.tck.TestObservationRegistry;
+import io.micrometer.observation.tck.TestObservationRegistryAssert;
+import org.jooq.Configuration;
 import org.jooq.DSLContext;
+import org.jooq.TransactionalCallable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -39,9 +45,11 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.startsWith;
@@ -58,8 +66,12 @@ import static org.mockito.Mockito.when;
 
 final class ClubDeskServiceTest {
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TestObservationRegistry observationRegistry = TestObservationRegistry.create();
+
     private UserService userService;
     private ClubDeskRepository clubDeskRepository;
+    private DSLContext dsl;
     private ClubDeskService service;
 
     @BeforeEach
@@ -70,9 +82,11 @@ final class ClubDeskServiceTest {
         final var authenticationService = mock(AuthenticationService.class);
         final var mailService = mock(MailService.class);
         final var translationProvider = mock(TranslationProvider.class);
-        final var dsl = mock(DSLContext.class);
+        dsl = mock(DSLContext.class);
+        when(dsl.transactionResult(any(TransactionalCallable.class))).thenAnswer(invocation ->
+                invocation.<TransactionalCallable<?>>getArgument(0).run(mock(Configuration.class)));
         service = new ClubDeskService(clubDeskRepository, clubDeskImporter, userService,
-                authenticationService, mailService, translationProvider, dsl);
+                authenticationService, mailService, translationProvider, dsl, meterRegistry, observationRegistry);
     }
 
     @Test
@@ -80,6 +94,7 @@ final class ClubDeskServiceTest {
         final int saved = service.saveImportRecords(List.of());
         assertThat(saved).isZero();
         verifyNoInteractions(userService, clubDeskRepository);
+        assertThat(meterRegistry.get("dukeops.clubdesk.import").timer().count()).isZero();
     }
 
     @Test
@@ -96,7 +111,7 @@ final class ClubDeskServiceTest {
                 "JUG X"
         );
 
-        when(userService.getUserByEmail("john.doe@example.com")).thenReturn(Optional.empty());
+        when(userService.getUsersByEmails(List.of("john.doe@example.com"))).thenReturn(List.of());
 
         final UserDto createdUser = new UserDto(
                 testId,
@@ -106,24 +121,30 @@ final class ClubDeskServiceTest {
                 "john.doe@example.com",
                 UserRole.USER
         );
-        when(userService.storeUser(any(UserDto.class))).thenReturn(createdUser);
+        when(userService.storeUsers(anyList())).thenReturn(List.of(createdUser));
 
-        when(clubDeskRepository.upsert(any(ClubDeskDto.class)))
-                .thenAnswer(inv -> inv.getArgument(0, ClubDeskDto.class));
+        when(clubDeskRepository.upsertAll(anyList()))
+                .thenAnswer(inv -> inv.getArgument(0));
 
         final int saved = service.saveImportRecords(List.of(record));
 
         assertThat(saved).isEqualTo(1);
+        assertThat(meterRegistry.get("dukeops.clubdesk.import").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("dukeops.clubdesk.import.records").counter().count()).isEqualTo(1);
 
         // Verify user creation called once
-        verify(userService).getUserByEmail("john.doe@example.com");
-        verify(userService, times(1)).storeUser(any(UserDto.class));
+        verify(userService).getUsersByEmails(List.of("john.doe@example.com"));
+        verify(userService, times(1)).storeUsers(argThat(users -> users.size() == 1
+                && users.getFirst().id() == null
+                && users.getFirst().name().equals("John Doe")));
 
         // Verify repository upsert received expected values
-        final ArgumentCaptor<ClubDeskDto> captor = ArgumentCaptor.forClass(ClubDeskDto.class);
-        verify(clubDeskRepository).upsert(captor.capture());
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<ClubDeskDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(clubDeskRepository).upsertAll(captor.capture());
 
-        final ClubDeskDto dto = captor.getValue();
+        assertThat(captor.getValue()).hasSize(1);
+        final ClubDeskDto dto = captor.getValue().getFirst();
         assertThat(dto.id()).isEqualTo(testId);
         assertThat(dto.firstname()).isEqualTo("John");
         assertThat(dto.lastname()).isEqualTo("Doe");
@@ -156,25 +177,25 @@ final class ClubDeskServiceTest {
                 UserRole.USER
         );
 
-        when(userService.getUserByEmail("john.doe@example.com")).thenReturn(Optional.of(existingUser));
+        when(userService.getUsersByEmails(List.of("john.doe@example.com"))).thenReturn(List.of(existingUser));
 
-        // On update, service calls storeUser with same id/created/updated and new name
-        when(userService.storeUser(any(UserDto.class))).thenAnswer(inv -> inv.getArgument(0, UserDto.class));
+        // On update, service calls storeUsers with same id/created/updated and new name
+        when(userService.storeUsers(anyList())).thenAnswer(inv -> inv.getArgument(0));
 
-        when(clubDeskRepository.upsert(any(ClubDeskDto.class)))
-                .thenAnswer(inv -> inv.getArgument(0, ClubDeskDto.class));
+        when(clubDeskRepository.upsertAll(anyList()))
+                .thenAnswer(inv -> inv.getArgument(0));
 
         final int saved = service.saveImportRecords(List.of(record));
 
         assertThat(saved).isEqualTo(1);
 
-        // Expect: 1x getUserByEmail, 1x storeUser for name update (not create)
-        verify(userService, times(1)).getUserByEmail("john.doe@example.com");
-        verify(userService, times(1)).storeUser(argThat(u ->
-                testId.equals(u.id())
-                        && u.name().equals("John Doe")
-                        && u.email().equals("john.doe@example.com")
-                        && u.role() == UserRole.USER
+        // Expect: 1x getUsersByEmails, 1x storeUsers for name update (not create)
+        verify(userService, times(1)).getUsersByEmails(List.of("john.doe@example.com"));
+        verify(userService, times(1)).storeUsers(argThat(users -> users.size() == 1
+                && testId.equals(users.getFirst().id())
+                && users.getFirst().name().equals("John Doe")
+                && users.getFirst().email().equals("john.doe@example.com")
+                && users.getFirst().role() == UserRole.USER
         ));
     }
 
@@ -201,17 +222,81 @@ final class ClubDeskServiceTest {
                 UserRole.USER
         );
 
-        when(userService.getUserByEmail("john.doe@example.com")).thenReturn(Optional.of(existingUser));
-        when(clubDeskRepository.upsert(any(ClubDeskDto.class)))
-                .thenAnswer(inv -> inv.getArgument(0, ClubDeskDto.class));
+        when(userService.getUsersByEmails(List.of("john.doe@example.com"))).thenReturn(List.of(existingUser));
+        when(clubDeskRepository.upsertAll(anyList()))
+                .thenAnswer(inv -> inv.getArgument(0));
 
         final int saved = service.saveImportRecords(List.of(record));
 
         assertThat(saved).isEqualTo(1);
 
-        verify(userService, times(1)).getUserByEmail("john.doe@example.com");
+        verify(userService, times(1)).getUsersByEmails(List.of("john.doe@example.com"));
+        verify(userService, times(1)).storeUsers(List.of());
         verify(userService, never()).storeUser(any());
-        verify(clubDeskRepository, times(1)).upsert(any());
+        verify(clubDeskRepository, times(1)).upsertAll(anyList());
+    }
+
+    @Test
+    void saveImportRecords_shouldStoreEveryChunkInItsOwnTransaction() {
+        final var importRecords = IntStream.rangeClosed(1, 1001)
+                .mapToObj(i -> new ImportRecord(
+                        "John", "Doe " + i, "", "", "", "", null,
+                        "john.doe" + i + "@example.com", "", "", "", "",
+                        false, "", "", "", "", ""))
+                .toList();
+
+        when(userService.getUsersByEmails(anyList())).thenReturn(List.of());
+        when(userService.storeUsers(anyList())).thenAnswer(inv -> inv.<List<UserDto>>getArgument(0).stream()
+                .map(user -> new UserDto(UUID.randomUUID(), null, null, user.name(), user.email(), user.role()))
+                .toList());
+        when(clubDeskRepository.upsertAll(anyList()))
+                .thenAnswer(inv -> inv.getArgument(0));
+
+        final int saved = service.saveImportRecords(importRecords);
+
+        assertThat(saved).isEqualTo(1001);
+        assertThat(meterRegistry.get("dukeops.clubdesk.import").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("dukeops.clubdesk.import.records").counter().count()).isEqualTo(1001);
+        verify(dsl, times(2)).transactionResult(any(TransactionalCallable.class));
+        verify(clubDeskRepository).upsertAll(argThat(clubDesks -> clubDesks.size() == 1000));
+        verify(clubDeskRepository).upsertAll(argThat(clubDesks -> clubDesks.size() == 1));
+    }
+
+    @Test
+    void saveImportRecords_shouldCreateOneUserForRecordsWithSameEmail() {
+        final var testId = UUID.randomUUID();
+
+        final ImportRecord first = new ImportRecord(
+                "John", "Doe", "", "", "", "", null,
+                "john.doe@example.com", "", "", "", "",
+                false, "", "", "", "", "");
+        final ImportRecord second = new ImportRecord(
+                "John", "Doe", "", "", "", "", null,
+                "John.Doe@Example.com", "", "", "", "",
+                false, "", "", "", "", "");
+
+        final UserDto createdUser = new UserDto(
+                testId,
+                LocalDateTime.parse("2026-02-02T10:00:00"),
+                LocalDateTime.parse("2026-02-02T10:00:00"),
+                "John Doe",
+                "john.doe@example.com",
+                UserRole.USER
+        );
+        when(userService.getUsersByEmails(anyList())).thenReturn(List.of());
+        when(userService.storeUsers(anyList())).thenReturn(List.of(createdUser));
+        when(clubDeskRepository.upsertAll(anyList()))
+                .thenAnswer(inv -> inv.getArgument(0));
+
+        final int saved = service.saveImportRecords(List.of(first, second));
+
+        assertThat(saved).isEqualTo(2);
+        verify(userService, times(1)).storeUsers(argThat(users -> users.size() == 1));
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<ClubDeskDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(clubDeskRepository).upsertAll(captor.capture());
+        assertThat(captor.getValue()).extracting(ClubDeskDto::id).containsExactly(testId, testId);
     }
 
     @Test
@@ -225,7 +310,7 @@ final class ClubDeskServiceTest {
         final var dsl = mock(DSLContext.class);
 
         final var service = new ClubDeskService(repository, importer, userService,
-                authenticationService, mailService, translationProvider, dsl);
+                authenticationService, mailService, translationProvider, dsl, meterRegistry, observationRegistry);
 
         final var file = File.createTempFile("clubdesk", ".csv");
         file.deleteOnExit();
@@ -253,7 +338,7 @@ final class ClubDeskServiceTest {
         when(authenticationService.getLoggedInUser()).thenReturn(Optional.empty());
 
         final var service = new ClubDeskService(repository, importer, userService,
-                authenticationService, mailService, translationProvider, dsl);
+                authenticationService, mailService, translationProvider, dsl, meterRegistry, observationRegistry);
 
         final var result = service.getClubDeskForCurrentUser();
         assertThat(result).isEmpty();
@@ -275,7 +360,7 @@ final class ClubDeskServiceTest {
         when(authenticationService.getLoggedInUser()).thenReturn(Optional.of(userWithNoId));
 
         final var service = new ClubDeskService(repository, importer, userService,
-                authenticationService, mailService, translationProvider, dsl);
+                authenticationService, mailService, translationProvider, dsl, meterRegistry, observationRegistry);
 
         final var result = service.getClubDeskForCurrentUser();
         assertThat(result).isEmpty();
@@ -293,7 +378,7 @@ final class ClubDeskServiceTest {
         final var dsl = mock(DSLContext.class);
 
         final var service = new ClubDeskService(repository, importer, userService,
-                authenticationService, mailService, translationProvider, dsl);
+                authenticationService, mailService, translationProvider, dsl, meterRegistry, observationRegistry);
 
         final var id = UUID.randomUUID();
         final var clubDeskOriginal = new ClubDeskDto(id, null, null,
@@ -310,6 +395,11 @@ final class ClubDeskServiceTest {
         service.notifyOffice(clubDeskOriginal, clubDeskUpdated, Locale.ENGLISH);
 
         verifyNoInteractions(mailService);
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .hasObservationWithNameEqualTo("dukeops.clubdesk.notify")
+                .that()
+                .hasBeenStarted()
+                .hasBeenStopped();
     }
 
     @Test
@@ -323,7 +413,7 @@ final class ClubDeskServiceTest {
         final var dsl = mock(DSLContext.class);
 
         final var service = new ClubDeskService(repository, importer, userService,
-                authenticationService, mailService, translationProvider, dsl);
+                authenticationService, mailService, translationProvider, dsl, meterRegistry, observationRegistry);
 
         final var id = UUID.randomUUID();
         final var clubDeskOriginal = new ClubDeskDto(id, null, null,
@@ -358,6 +448,37 @@ final class ClubDeskServiceTest {
                 startsWith("Hello Jane Doe"));
 
         verifyNoMoreInteractions(mailService);
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .hasObservationWithNameEqualTo("dukeops.clubdesk.notify")
+                .that()
+                .hasContextualNameEqualTo("clubdesk notify")
+                .hasBeenStopped();
+    }
+
+    @Test
+    void save_shouldUpdateUserEmail_andEmitSaveEvent() throws Exception {
+        final var id = UUID.randomUUID();
+        final var clubDesk = new ClubDeskDto(id, null, null,
+                "John", "Doe", "", "", "", "", null,
+                "john.new@example.com", "", "", "", "",
+                false, "", "", "", "",
+                "", true);
+        final var user = new UserDto(id, null, null, "John Doe", "john.doe@example.com", UserRole.USER);
+        when(clubDeskRepository.upsert(clubDesk)).thenReturn(clubDesk);
+        when(userService.getUserById(id)).thenReturn(Optional.of(user));
+        when(userService.storeUser(any(UserDto.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        final var events = TestUtil.recordEvents(ClubDeskSaveEvent.NAME,
+                () -> assertThat(service.save(clubDesk)).isEqualTo(clubDesk));
+
+        assertThat(events).hasSize(1);
+        assertThat(events.getFirst().getBoolean("emailChanged")).isTrue();
+        verify(userService, times(2)).storeUser(argThat(updated -> updated.email().equals("john.new@example.com")));
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .hasObservationWithNameEqualTo("dukeops.clubdesk.save")
+                .that()
+                .hasContextualNameEqualTo("clubdesk save")
+                .hasBeenStopped();
     }
 
     @Test
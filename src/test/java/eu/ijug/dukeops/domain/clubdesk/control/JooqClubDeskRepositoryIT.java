@@ -33,7 +33,10 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.CLUBDESK;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -94,12 +97,115 @@ final class JooqClubDeskRepositoryIT extends IntegrationTest {
         assertThat(record.getFirstname()).isEqualTo("John");
     }
 
+    @Test
+    void upsert_shouldKeepUpdatedIfNothingChanged() {
+        final var userId = UUID.randomUUID();
+        userService.storeUser(new UserDto(userId, null, null,
+                "John Doe", "john.doe@example.com", UserRole.USER));
+
+        when(clock.getZone()).thenReturn(ZoneId.of("UTC"));
+        when(clock.instant()).thenReturn(Instant.parse("2026-02-02T10:00:00Z"));
+        clubDeskRepository.upsert(minimalDto(userId, null, null, "John", "Doe", "john.doe@example.com"));
+
+        when(clock.instant()).thenReturn(Instant.parse("2026-02-02T11:30:00Z"));
+        final var unchanged = clubDeskRepository.upsert(minimalDto(userId, null, null, "John", "Doe", "john.doe@example.com"));
+
+        assertThat(unchanged.created()).isEqualTo(LocalDateTime.of(2026, 2, 2, 10, 0, 0));
+        assertThat(unchanged.updated()).isEqualTo(LocalDateTime.of(2026, 2, 2, 10, 0, 0));
+        final var record = dsl.fetchOne(CLUBDESK, CLUBDESK.ID.eq(userId));
+        assertThat(record).isNotNull();
+        assertThat(record.getUpdated()).isEqualTo(LocalDateTime.of(2026, 2, 2, 10, 0, 0));
+    }
+
+    @Test
+    void upsertAll_shouldOnlyUpdateChangedRecords() {
+        final var changedId = UUID.randomUUID();
+        userService.storeUser(new UserDto(changedId, null, null,
+                "John Doe", "john.doe@example.com", UserRole.USER));
+        final var unchangedId = UUID.randomUUID();
+        userService.storeUser(new UserDto(unchangedId, null, null,
+                "Jane Doe", "jane.doe@example.com", UserRole.USER));
+
+        when(clock.getZone()).thenReturn(ZoneId.of("UTC"));
+        when(clock.instant()).thenReturn(Instant.parse("2026-02-02T10:00:00Z"));
+        clubDeskRepository.upsertAll(List.of(
+                minimalDto(changedId, null, null, "Jon", "Doe", "john.doe@example.com"),
+                minimalDto(unchangedId, null, null, "Jane", "Doe", "jane.doe@example.com")));
+
+        when(clock.instant()).thenReturn(Instant.parse("2026-02-02T11:30:00Z"));
+        final var stored = clubDeskRepository.upsertAll(List.of(
+                minimalDto(changedId, null, null, "John", "Doe", "john.doe@example.com"),
+                minimalDto(unchangedId, null, null, "Jane", "Doe", "jane.doe@example.com")));
+
+        assertThat(stored).extracting(ClubDeskDto::updated).containsExactly(
+                LocalDateTime.of(2026, 2, 2, 11, 30, 0), LocalDateTime.of(2026, 2, 2, 10, 0, 0));
+        assertThat(dsl.select(CLUBDESK.UPDATED).from(CLUBDESK).where(CLUBDESK.ID.eq(unchangedId)).fetchOne(CLUBDESK.UPDATED))
+                .isEqualTo(LocalDateTime.of(2026, 2, 2, 10, 0, 0));
+    }
+
+    @Test
+    void upsertAll_shouldInsertNewAndUpdateExistingRecordsInOneBatch() {
+        final var existingId = UUID.randomUUID();
+        userService.storeUser(new UserDto(existingId, null, null,
+                "John Doe", "john.doe@example.com", UserRole.USER));
+        final var newId = UUID.randomUUID();
+        userService.storeUser(new UserDto(newId, null, null,
+                "Jane Doe", "jane.doe@example.com", UserRole.USER));
+
+        when(clock.getZone()).thenReturn(ZoneId.of("UTC"));
+        when(clock.instant()).thenReturn(Instant.parse("2026-02-02T10:00:00Z"));
+        clubDeskRepository.upsert(minimalDto(existingId, null, null, "Jon", "Doe", "john.doe@example.com"));
+
+        when(clock.instant()).thenReturn(Instant.parse("2026-02-02T11:30:00Z"));
+        final var stored = clubDeskRepository.upsertAll(List.of(
+                minimalDto(existingId, null, null, "John", "Doe", "john.doe@example.com"),
+                minimalDto(newId, null, null, "Jane", "Doe", "jane.doe@example.com")));
+
+        assertThat(stored).extracting(ClubDeskDto::id).containsExactly(existingId, newId);
+        assertThat(stored).extracting(ClubDeskDto::created).containsExactly(
+                LocalDateTime.of(2026, 2, 2, 10, 0, 0), LocalDateTime.of(2026, 2, 2, 11, 30, 0));
+        assertThat(stored).extracting(ClubDeskDto::updated).containsOnly(LocalDateTime.of(2026, 2, 2, 11, 30, 0));
+
+        final var existingRecord = dsl.fetchOne(CLUBDESK, CLUBDESK.ID.eq(existingId));
+        assertThat(existingRecord).isNotNull();
+        assertThat(existingRecord.getCreated()).isEqualTo(LocalDateTime.of(2026, 2, 2, 10, 0, 0));
+        assertThat(existingRecord.getUpdated()).isEqualTo(LocalDateTime.of(2026, 2, 2, 11, 30, 0));
+        assertThat(existingRecord.getFirstname()).isEqualTo("John");
+
+        final var newRecord = dsl.fetchOne(CLUBDESK, CLUBDESK.ID.eq(newId));
+        assertThat(newRecord).isNotNull();
+        assertThat(newRecord.getCreated()).isEqualTo(LocalDateTime.of(2026, 2, 2, 11, 30, 0));
+        assertThat(newRecord.getFirstname()).isEqualTo("Jane");
+    }
+
+    @Test
+    void upsertAll_shouldStoreRecordsOfSeveralChunks() {
+        final var users = userService.storeUsers(IntStream.rangeClosed(1, 1001)
+                .mapToObj(i -> new UserDto(null, null, null, "User " + i, "user" + i + "@example.com", UserRole.USER))
+                .toList());
+
+        when(clock.getZone()).thenReturn(ZoneId.of("UTC"));
+        when(clock.instant()).thenReturn(Instant.parse("2026-02-02T10:00:00Z"));
+        final var stored = clubDeskRepository.upsertAll(users.stream()
+                .map(user -> minimalDto(Objects.requireNonNull(user.id()), null, null, user.name(), "Doe", user.email()))
+                .toList());
+
+        assertThat(stored).extracting(ClubDeskDto::id).containsExactlyElementsOf(users.stream().map(UserDto::id).toList());
+        assertThat(dsl.fetchCount(CLUBDESK)).isEqualTo(1001);
+    }
+
+    @Test
+    void upsertAll_shouldNotAccessDatabaseForEmptyList() {
+        assertThat(clubDeskRepository.upsertAll(List.of())).isEmpty();
+        assertThat(dsl.fetchCount(CLUBDESK)).isZero();
+    }
+
     private static @NotNull ClubDeskDto minimalDto(final @NotNull UUID userId,
                                                    final @Nullable LocalDateTime created,
                                                    final @Nullable LocalDateTime updated,
                                                    final @NotNull String firstname,
                                                    @SuppressWarnings("SameParameterValue") final @NotNull String lastname,
-                                                   @SuppressWarnings("SameParameterValue") final @NotNull String email) {
+                                                   final @NotNull String email) {
         return new ClubDeskDto(
                 userId,
 
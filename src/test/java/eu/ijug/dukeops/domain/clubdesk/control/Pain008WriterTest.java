@@ -0,0 +1,73 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.control;
+
+import eu.ijug.dukeops.domain.clubdesk.entity.SepaCollection;
+import eu.ijug.dukeops.domain.clubdesk.entity.SepaCreditor;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class Pain008WriterTest {
+
+    @Test
+    void formatAmount_shouldUseTwoDecimals() {
+        assertThat(Pain008Writer.formatAmount(new BigDecimal("30"))).isEqualTo("30.00");
+        assertThat(Pain008Writer.formatAmount(new BigDecimal("12.345"))).isEqualTo("12.35");
+        assertThat(Pain008Writer.formatAmount(new BigDecimal("1E+3"))).isEqualTo("1000.00");
+    }
+
+    @Test
+    void truncate_shouldCutTooLongTexts() {
+        assertThat(Pain008Writer.truncate("DukeOps", 7)).isEqualTo("DukeOps");
+        assertThat(Pain008Writer.truncate("DukeOps", 4)).isEqualTo("Duke");
+    }
+
+    @Test
+    void writer_shouldWriteAWellFormedDocument() throws Exception {
+        final var creditor = new SepaCreditor("iJUG e. V.", "DE02120300000000202051", "", "DE98ZZZ09999999999");
+        final var collection = new SepaCollection(LocalDate.of(2026, 11, 2), "x".repeat(200), BigDecimal.TEN, Map.of());
+        final var out = new ByteArrayOutputStream();
+
+        try (var writer = new Pain008Writer(out)) {
+            writer.writeHeader("DUKEOPS-20261019120000", LocalDateTime.of(2026, 10, 19, 12, 0, 0, 123_000_000),
+                    creditor, collection, 1, BigDecimal.TEN);
+            writer.writeTransaction("JUG-1", LocalDate.of(2020, 1, 1), BigDecimal.TEN, "D".repeat(100),
+                    "CH9300762011623852957", "UBSWCHZH80A", collection.remittanceInformation());
+        }
+
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\"?>")
+                .contains("<Document xmlns=\"" + Pain008Writer.NAMESPACE + "\"><CstmrDrctDbtInitn><GrpHdr>")
+                .contains("<CreDtTm>2026-10-19T12:00:00</CreDtTm>")
+                .contains("<CdtrAgt><FinInstnId><Othr><Id>NOTPROVIDED</Id></Othr></FinInstnId></CdtrAgt>")
+                .contains("<DbtrAgt><FinInstnId><BICFI>UBSWCHZH80A</BICFI></FinInstnId></DbtrAgt>")
+                .contains("<InstdAmt Ccy=\"EUR\">10.00</InstdAmt>")
+                .contains("<Dbtr><Nm>" + "D".repeat(70) + "</Nm></Dbtr>")
+                .contains("<Ustrd>" + "x".repeat(140) + "</Ustrd>")
+                .endsWith("</DrctDbtTxInf></PmtInf></CstmrDrctDbtInitn></Document>");
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.control;
+
+import eu.ijug.dukeops.domain.clubdesk.entity.Country;
+import eu.ijug.dukeops.domain.clubdesk.entity.ImportRecord;
+import eu.ijug.dukeops.domain.clubdesk.entity.SepaCollection;
+import eu.ijug.dukeops.domain.clubdesk.entity.SepaRejection;
+import eu.ijug.dukeops.test.IntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class SepaDirectDebitServiceIT extends IntegrationTest {
+
+    private static final SepaCollection COLLECTION = new SepaCollection(LocalDate.of(2026, 11, 2),
+            "Mitgliedsbeitrag 2026", new BigDecimal("30"), Map.of("JUG CH", new BigDecimal("50.5")));
+
+    @Autowired
+    private SepaDirectDebitService sepaDirectDebitService;
+
+    @Autowired
+    private ClubDeskService clubDeskService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void createMembers() {
+        clubDeskService.saveImportRecords(List.of(
+                member("John", "JUG CH", true, "John Doe Account", "JUG-1", "CH93 0076 2011 6238 5295 7", "UBSWCHZH80A"),
+                member("Jane", "JUG Berlin", true, "", "JUG-2", "de89370400440532013000", ""),
+                member("Max", "", true, "", "", "DE89370400440532013000", ""),
+                member("Erika", "JUG Berlin", true, "", "JUG-4", "DE00123", ""),
+                member("Otto", "JUG Wien", true, "", "JUG-5", "AT611904300234573201", "XXX"),
+                member("Lena", "JUG Hamburg", false, "", "", "", "")));
+    }
+
+    @Test
+    void getCategories_shouldReturnTheJavaUserGroupsOfMembersPayingBySepa() {
+        assertThat(sepaDirectDebitService.getCategories())
+                .containsExactly("JUG Berlin", "JUG CH", "JUG Wien");
+    }
+
+    @Test
+    void check_shouldCalculateTheTotalsAndRejectInvalidMembers() {
+        final var summary = sepaDirectDebitService.check(COLLECTION);
+
+        assertThat(summary.transactions()).isEqualTo(2);
+        assertThat(summary.controlSum()).isEqualTo(new BigDecimal("80.50"));
+        assertThat(summary.rejectedMembers()).isEqualTo(3);
+        assertThat(summary.rejections()).containsExactlyInAnyOrder(
+                new SepaRejection("Max Doe", "max@example.com", SepaRejection.Reason.MISSING_MANDATE_REFERENCE),
+                new SepaRejection("Erika Doe", "erika@example.com", SepaRejection.Reason.INVALID_IBAN),
+                new SepaRejection("Otto Doe", "otto@example.com", SepaRejection.Reason.INVALID_BIC));
+    }
+
+    @Test
+    void check_shouldOnlyKeepTheFirstRejections() {
+        clubDeskService.saveImportRecords(IntStream.rangeClosed(1, 100)
+                .mapToObj(i -> member("Member" + i, "", true, "", "", "DE89370400440532013000", ""))
+                .toList());
+
+        final var summary = sepaDirectDebitService.check(COLLECTION);
+
+        assertThat(summary.transactions()).isEqualTo(2);
+        assertThat(summary.rejectedMembers()).isEqualTo(103);
+        assertThat(summary.rejections()).hasSize(100);
+    }
+
+    @Test
+    void writeDirectDebit_shouldWriteAPain008File() throws Exception {
+        final var counter = meterRegistry.get("dukeops.sepa.transactions").counter();
+        final var before = counter.count();
+
+        final var out = new ByteArrayOutputStream();
+        final var summary = sepaDirectDebitService.writeDirectDebit(COLLECTION, out);
+        assertThat(summary.transactions()).isEqualTo(2);
+        assertThat(counter.count()).isEqualTo(before + 2);
+
+        final var document = parse(out.toByteArray());
+        assertThat(document.getDocumentElement().getNamespaceURI()).isEqualTo(Pain008Writer.NAMESPACE);
+        final var groupHeader = element(document.getDocumentElement(), "GrpHdr");
+        assertThat(text(groupHeader, "MsgId")).matches("DUKEOPS-\\d{14}");
+        assertThat(text(groupHeader, "NbOfTxs")).isEqualTo("2");
+        assertThat(text(groupHeader, "CtrlSum")).isEqualTo("80.50");
+
+        final var paymentInformation = element(document.getDocumentElement(), "PmtInf");
+        assertThat(text(paymentInformation, "ReqdColltnDt")).isEqualTo("2026-11-02");
+        assertThat(text(element(paymentInformation, "CdtrAcct"), "IBAN")).isEqualTo("DE02120300000000202051");
+        assertThat(text(element(paymentInformation, "CdtrAgt"), "BICFI")).isEqualTo("BYLADEM1001");
+        assertThat(text(element(element(paymentInformation, "CdtrSchmeId"), "Othr"), "Id")).isEqualTo("DE98ZZZ09999999999");
+
+        final var transactions = paymentInformation.getElementsByTagNameNS(Pain008Writer.NAMESPACE, "DrctDbtTxInf");
+        assertThat(transactions.getLength()).isEqualTo(2);
+        for (int index = 0; index < transactions.getLength(); index++) {
+            final var transaction = (Element) transactions.item(index);
+            assertThat(text(transaction, "Ustrd")).isEqualTo("Mitgliedsbeitrag 2026");
+            switch (text(transaction, "EndToEndId")) {
+                case "JUG-1" -> {
+                    assertThat(text(transaction, "InstdAmt")).isEqualTo("50.50");
+                    assertThat(text(element(transaction, "Dbtr"), "Nm")).isEqualTo("John Doe Account");
+                    assertThat(text(transaction, "IBAN")).isEqualTo("CH9300762011623852957");
+                    assertThat(text(transaction, "BICFI")).isEqualTo("UBSWCHZH80A");
+                }
+                case "JUG-2" -> {
+                    assertThat(text(transaction, "InstdAmt")).isEqualTo("30.00");
+                    assertThat(text(element(transaction, "Dbtr"), "Nm")).isEqualTo("Jane Doe");
+                    assertThat(text(transaction, "IBAN")).isEqualTo("DE89370400440532013000");
+                    assertThat(text(element(transaction, "DbtrAgt"), "Id")).isEqualTo("NOTPROVIDED");
+                }
+                default -> throw new AssertionError("Unexpected transaction " + text(transaction, "EndToEndId"));
+            }
+            assertThat(text(transaction, "DtOfSgntr")).isEqualTo(LocalDate.now().toString());
+        }
+    }
+
+    private static ImportRecord member(final String firstname,
+                                       final String jug,
+                                       final boolean sepaEnabled,
+                                       final String accountHolder,
+                                       final String mandateReference,
+                                       final String iban,
+                                       final String bic) {
+        return new ImportRecord(firstname, "Doe", "Street 1", "", "6000", "Lucerne", Country.ofIso2("CH"),
+                firstname.toLowerCase() + "@example.com", "", "", "", "", sepaEnabled, accountHolder,
+                mandateReference, iban, bic, jug);
+    }
+
+    private static Document parse(final byte[] xml) throws Exception {
+        final var factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml));
+    }
+
+    private static Element element(final Element parent,
+                                   final String name) {
+        return (Element) parent.getElementsByTagNameNS(Pain008Writer.NAMESPACE, name).item(0);
+    }
+
+    private static String text(final Element parent,
+                               final String name) {
+        return element(parent, name).getTextContent();
+    }
+
+}
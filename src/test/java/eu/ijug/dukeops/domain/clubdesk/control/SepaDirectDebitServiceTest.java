@@ -0,0 +1,52 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.control;
+
+import eu.ijug.dukeops.domain.clubdesk.entity.SepaCollection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+final class SepaDirectDebitServiceTest {
+
+    @Test
+    void writeDirectDebit_shouldFailWithoutCreditor() {
+        final var dsl = mock(DSLContext.class);
+        final var service = new SepaDirectDebitService(dsl, Clock.systemUTC(), new SimpleMeterRegistry(),
+                "iJUG e. V.", "", "", "");
+        final var collection = new SepaCollection(LocalDate.of(2026, 11, 2), "Mitgliedsbeitrag 2026",
+                BigDecimal.TEN, Map.of());
+        final var out = new ByteArrayOutputStream();
+
+        assertThatThrownBy(() -> service.writeDirectDebit(collection, out))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("The SEPA creditor is not configured");
+        verifyNoInteractions(dsl);
+    }
+
+}
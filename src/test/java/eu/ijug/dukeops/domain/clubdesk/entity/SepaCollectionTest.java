@@ -0,0 +1,68 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SepaCollectionTest {
+
+    private static final LocalDate COLLECTION_DATE = LocalDate.of(2026, 11, 2);
+
+    @Test
+    void testIsValidAmount() {
+        assertThat(SepaCollection.isValidAmount(new BigDecimal("0.01"))).isTrue();
+        assertThat(SepaCollection.isValidAmount(new BigDecimal("30"))).isTrue();
+        assertThat(SepaCollection.isValidAmount(new BigDecimal("50.50"))).isTrue();
+        assertThat(SepaCollection.isValidAmount(new BigDecimal("50.500"))).isTrue();
+        assertThat(SepaCollection.isValidAmount(new BigDecimal("50.505"))).isFalse();
+        assertThat(SepaCollection.isValidAmount(new BigDecimal("0.009"))).isFalse();
+        assertThat(SepaCollection.isValidAmount(BigDecimal.ZERO)).isFalse();
+        assertThat(SepaCollection.isValidAmount(new BigDecimal("-10"))).isFalse();
+    }
+
+    @Test
+    void testInvalidDefaultAmount() {
+        assertThatThrownBy(() -> new SepaCollection(COLLECTION_DATE, "Mitgliedsbeitrag 2026", BigDecimal.ZERO, Map.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid amount '0'");
+    }
+
+    @Test
+    void testInvalidCategoryAmount() {
+        final var amounts = Map.of("JUG CH", new BigDecimal("50.505"));
+        assertThatThrownBy(() -> new SepaCollection(COLLECTION_DATE, "Mitgliedsbeitrag 2026", BigDecimal.TEN, amounts))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid amount '50.505'");
+    }
+
+    @Test
+    void testAmountFor() {
+        final var collection = new SepaCollection(COLLECTION_DATE, "Mitgliedsbeitrag 2026", BigDecimal.TEN,
+                Map.of("JUG CH", new BigDecimal("50.50")));
+        assertThat(collection.amountFor("JUG CH")).isEqualTo(new BigDecimal("50.50"));
+        assertThat(collection.amountFor("JUG Berlin")).isEqualTo(BigDecimal.TEN);
+    }
+
+}
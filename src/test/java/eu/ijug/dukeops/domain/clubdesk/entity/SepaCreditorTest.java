@@ -0,0 +1,38 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.domain.clubdesk.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SepaCreditorTest {
+
+    @Test
+    void testIsConfigured() {
+        assertThat(new SepaCreditor("iJUG e. V.", "DE02120300000000202051", "", "DE98ZZZ09999999999").isConfigured())
+                .isTrue();
+        assertThat(new SepaCreditor(" ", "DE02120300000000202051", "BYLADEM1001", "DE98ZZZ09999999999").isConfigured())
+                .isFalse();
+        assertThat(new SepaCreditor("iJUG e. V.", "", "BYLADEM1001", "DE98ZZZ09999999999").isConfigured())
+                .isFalse();
+        assertThat(new SepaCreditor("iJUG e. V.", "DE02120300000000202051", "BYLADEM1001", "").isConfigured())
+                .isFalse();
+    }
+
+}
@@ -17,6 +17,7 @@
  */
 package eu.ijug.dukeops.domain.user.control;
 
+import eu.ijug.dukeops.domain.authentication.control.AuthenticationService;
 import eu.ijug.dukeops.domain.user.entity.UserDto;
 import eu.ijug.dukeops.domain.user.entity.UserRole;
 import eu.ijug.dukeops.test.KaribuTest;
@@ -24,6 +25,8 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class UserServiceKT extends KaribuTest {
@@ -31,6 +34,9 @@ class UserServiceKT extends KaribuTest {
     @Autowired
     private @NotNull UserService userService;
 
+    @Autowired
+    private @NotNull AuthenticationService authenticationService;
+
     @Test
     @SuppressWarnings("java:S5961")
     void crud() {
@@ -68,4 +74,52 @@ class UserServiceKT extends KaribuTest {
         assertThat(userService.getAllUsers().size()).isEqualTo(originalUserCount);
     }
 
+    @Test
+    void bulk() {
+        assertThat(userService.storeUsers(List.of())).isEmpty();
+        assertThat(userService.getUsersByEmails(List.of())).isEmpty();
+
+        final var storedUsers = userService.storeUsers(List.of(
+                new UserDto(null, null, null, "First Bulk User", "first.bulk@example.com", UserRole.USER),
+                new UserDto(null, null, null, "Second Bulk User", "second.bulk@example.com", UserRole.USER)));
+        assertThat(storedUsers).extracting(UserDto::email)
+                .containsExactly("first.bulk@example.com", "second.bulk@example.com");
+        assertThat(storedUsers).allSatisfy(user -> {
+            assertThat(user.id()).isNotNull();
+            assertThat(user.created()).isNotNull();
+        });
+
+        final var foundUsers = userService.getUsersByEmails(List.of(
+                "first.bulk@example.com", "second.bulk@example.com", "first.bulk@example.com", "unknown@example.com"));
+        assertThat(foundUsers).containsExactlyInAnyOrderElementsOf(storedUsers);
+
+        final var firstUser = storedUsers.getFirst();
+        final var renamedUsers = userService.storeUsers(List.of(
+                new UserDto(firstUser.id(), firstUser.created(), firstUser.updated(),
+                        "Renamed Bulk User", firstUser.email(), firstUser.role())));
+        assertThat(renamedUsers).singleElement().satisfies(user -> {
+            assertThat(user.id()).isEqualTo(firstUser.id());
+            assertThat(user.created()).isEqualTo(firstUser.created());
+        });
+        assertThat(userService.getUserByEmail("first.bulk@example.com").orElseThrow().name())
+                .isEqualTo("Renamed Bulk User");
+        assertThat(userService.getAllUsers()).extracting(UserDto::email)
+                .containsOnlyOnce("first.bulk@example.com", "second.bulk@example.com");
+    }
+
+    @Test
+    void refreshesPrincipalOfLoggedInUser() {
+        final var user = userService.storeUser(new UserDto(null, null, null,
+                "Principal User", "principal@example.com", UserRole.USER));
+        login(user);
+        assertThat(authenticationService.getLoggedInUser()).contains(user);
+
+        final var changedUser = userService.storeUser(new UserDto(user.id(), user.created(), user.updated(),
+                "Renamed Principal User", user.email(), UserRole.ADMIN));
+        assertThat(authenticationService.getLoggedInUser()).contains(changedUser);
+
+        assertThat(userService.deleteUser(changedUser)).isTrue();
+        assertThat(authenticationService.getLoggedInUser()).isEmpty();
+    }
+
 }
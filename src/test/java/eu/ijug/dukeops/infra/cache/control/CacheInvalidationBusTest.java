@@ -0,0 +1,207 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.cache.control;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.ijug.dukeops.infra.cache.entity.CacheInvalidationDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheInvalidationBusTest {
+
+    private CacheInvalidationBus thisNode;
+    private CacheInvalidationBus otherNode;
+    private Cache<UUID, String> thisCache;
+    private Cache<UUID, String> otherCache;
+
+    @BeforeEach
+    void setUp() {
+        final var transport = new InMemoryCacheInvalidationTransport();
+        thisNode = new CacheInvalidationBus(transport);
+        otherNode = new CacheInvalidationBus(transport);
+        thisCache = Caffeine.newBuilder().build();
+        otherCache = Caffeine.newBuilder().build();
+        thisNode.register("test", thisCache, UUID::fromString);
+        otherNode.register("test", otherCache, UUID::fromString);
+        thisNode.synchronize();
+        otherNode.synchronize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evictsKeysOnAllNodes() {
+        final var changed = UUID.randomUUID();
+        final var unchanged = UUID.randomUUID();
+        fill(changed, unchanged);
+
+        thisNode.evict("test", changed);
+        assertThat(thisCache.asMap()).containsOnlyKeys(unchanged);
+        assertThat(otherCache.asMap()).containsOnlyKeys(changed, unchanged);
+
+        thisNode.synchronize();
+        otherNode.synchronize();
+        assertThat(otherCache.asMap()).containsOnlyKeys(unchanged);
+    }
+
+    @Test
+    void evictsAllEntriesOnAllNodes() {
+        fill(UUID.randomUUID(), UUID.randomUUID());
+
+        thisNode.evictAll("test");
+        thisNode.synchronize();
+        otherNode.synchronize();
+
+        assertThat(thisCache.asMap()).isEmpty();
+        assertThat(otherCache.asMap()).isEmpty();
+    }
+
+    @Test
+    void batchesEvictionsPerCache() {
+        final var sender = mock(CacheInvalidationTransport.class);
+        final var bus = new CacheInvalidationBus(sender);
+        bus.register("test", Caffeine.newBuilder().build(), UUID::fromString);
+        bus.register("other", Caffeine.newBuilder().build(), UUID::fromString);
+        final var first = UUID.randomUUID();
+        final var second = UUID.randomUUID();
+
+        bus.evict("test", first);
+        bus.evict("test", List.of(second));
+        bus.evict("test", List.of());
+        bus.evict("other", List.of(first));
+        bus.synchronize();
+
+        verify(sender).publish(any(), argThat(invalidations ->
+                Set.copyOf(invalidations).equals(Set.of(
+                        new CacheInvalidationDto("test", Set.of(first.toString(), second.toString())),
+                        new CacheInvalidationDto("other", Set.of(first.toString()))))));
+    }
+
+    @Test
+    void evictsWholeCacheForLargeBatches() {
+        final var sender = mock(CacheInvalidationTransport.class);
+        final var bus = new CacheInvalidationBus(sender);
+        bus.register("test", Caffeine.newBuilder().build(), key -> key);
+
+        bus.evict("test", IntStream.rangeClosed(0, CacheInvalidationBus.MAX_KEYS).boxed().toList());
+        bus.evict("test", "ignored");
+        bus.synchronize();
+
+        verify(sender).publish(any(), eq(
+                List.of(new CacheInvalidationDto("test", Set.of()))));
+    }
+
+    @Test
+    void evictsAfterCommit() {
+        final var changed = UUID.randomUUID();
+        fill(changed);
+
+        TransactionSynchronizationManager.initSynchronization();
+        thisNode.evict("test", changed);
+        assertThat(thisCache.asMap()).containsOnlyKeys(changed);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(thisCache.asMap()).isEmpty();
+    }
+
+    @Test
+    void retriesFailedPublish() {
+        final var sender = mock(CacheInvalidationTransport.class);
+        when(sender.receive(any())).thenReturn(List.of());
+        doThrow(new IllegalStateException("Database down")).when(sender).publish(any(), anyList());
+        final var bus = new CacheInvalidationBus(sender);
+        bus.register("test", Caffeine.newBuilder().build(), key -> key);
+
+        bus.evict("test", "key");
+        bus.synchronize();
+        bus.synchronize();
+
+        verify(sender, times(2)).publish(any(),
+                eq(List.of(new CacheInvalidationDto("test", Set.of("key")))));
+    }
+
+    @Test
+    void ignoresUnknownCaches() {
+        final var key = UUID.randomUUID();
+        fill(key);
+
+        otherNode.evict("unknown", key);
+        otherNode.synchronize();
+        thisNode.synchronize();
+
+        assertThat(thisCache.asMap()).containsOnlyKeys(key);
+        assertThat(otherCache.asMap()).containsOnlyKeys(key);
+    }
+
+    @Test
+    void doesNotPublishEvictionsOfUnknownCaches() {
+        final var sender = mock(CacheInvalidationTransport.class);
+        final var bus = new CacheInvalidationBus(sender);
+
+        TransactionSynchronizationManager.initSynchronization();
+        bus.evict("unknown", "key");
+        bus.evictAll("unknown");
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+        bus.synchronize();
+
+        verify(sender, never()).publish(any(), anyList());
+    }
+
+    @Test
+    void rejectsDuplicateCache() {
+        final var cache = Caffeine.newBuilder().<String, String>build();
+        assertThatThrownBy(() -> thisNode.register("test", cache, key -> key))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Duplicate cache 'test'");
+    }
+
+    private void fill(final UUID... keys) {
+        for (final var key : keys) {
+            thisCache.put(key, "this");
+            otherCache.put(key, "other");
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.cache.control;
+
+import eu.ijug.dukeops.infra.cache.entity.CacheInvalidationDto;
+import eu.ijug.dukeops.test.IntegrationTest;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.CACHE_INVALIDATION;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcCacheInvalidationTransportIT extends IntegrationTest {
+
+    private static final Instant NOW = Instant.parse("2026-02-02T10:00:00Z");
+
+    @Autowired
+    private DSLContext dsl;
+
+    private JdbcCacheInvalidationTransport transport;
+    private UUID thisNode;
+    private UUID otherNode;
+
+    @BeforeEach
+    void setUp() {
+        transport = new JdbcCacheInvalidationTransport(dsl, Clock.fixed(NOW, ZoneOffset.UTC));
+        thisNode = UUID.randomUUID();
+        otherNode = UUID.randomUUID();
+    }
+
+    @Test
+    void receivesInvalidationsOfOtherNodesOnly() {
+        transport.publish(otherNode, List.of(new CacheInvalidationDto("test", Set.of("before"))));
+        assertThat(transport.receive(thisNode)).isEmpty();
+        assertThat(transport.receive(otherNode)).isEmpty();
+
+        final var keys = new CacheInvalidationDto("test", Set.of("first", "second"));
+        final var all = new CacheInvalidationDto("other", Set.of());
+        transport.publish(otherNode, List.of(keys, all));
+        transport.publish(thisNode, List.of(new CacheInvalidationDto("test", Set.of("own"))));
+        transport.publish(thisNode, List.of());
+
+        assertThat(transport.receive(thisNode)).containsExactlyInAnyOrder(keys, all);
+        assertThat(transport.receive(thisNode)).isEmpty();
+        assertThat(transport.receive(otherNode)).containsExactly(new CacheInvalidationDto("test", Set.of("own")));
+    }
+
+    @Test
+    void startsAtEndOfEmptyTable() {
+        assertThat(transport.receive(thisNode)).isEmpty();
+
+        final var invalidation = new CacheInvalidationDto("test", Set.of("key"));
+        transport.publish(otherNode, List.of(invalidation));
+
+        assertThat(transport.receive(thisNode)).containsExactly(invalidation);
+    }
+
+    @Test
+    void receivesLateInvalidationsWithinOverlapOnce() {
+        assertThat(transport.receive(thisNode)).isEmpty();
+
+        final var late = new CacheInvalidationDto("test", Set.of("late"));
+        new JdbcCacheInvalidationTransport(dsl, Clock.fixed(NOW.minus(Duration.ofSeconds(5)), ZoneOffset.UTC))
+                .publish(otherNode, List.of(late));
+        final var tooLate = new CacheInvalidationDto("test", Set.of("too late"));
+        new JdbcCacheInvalidationTransport(dsl, Clock.fixed(NOW.minus(Duration.ofSeconds(15)), ZoneOffset.UTC))
+                .publish(otherNode, List.of(tooLate));
+
+        assertThat(transport.receive(thisNode)).containsExactly(late);
+        assertThat(transport.receive(thisNode)).isEmpty();
+    }
+
+    @Test
+    void deletesOldInvalidations() {
+        transport.publish(thisNode, List.of(new CacheInvalidationDto("test", Set.of("old"))));
+        final var laterTransport = new JdbcCacheInvalidationTransport(dsl,
+                Clock.fixed(NOW.plus(Duration.ofMinutes(30)), ZoneOffset.UTC));
+        laterTransport.publish(thisNode, List.of(new CacheInvalidationDto("test", Set.of("new"))));
+
+        new JdbcCacheInvalidationTransport(dsl, Clock.fixed(NOW.plus(Duration.ofMinutes(61)), ZoneOffset.UTC))
+                .deleteOldInvalidations();
+
+        assertThat(dsl.select(CACHE_INVALIDATION.CACHE_KEYS).from(CACHE_INVALIDATION).fetch(CACHE_INVALIDATION.CACHE_KEYS))
+                .containsExactly("new");
+    }
+
+}
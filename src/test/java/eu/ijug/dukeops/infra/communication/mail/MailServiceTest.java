@@ -18,6 +18,10 @@
 package eu.ijug.dukeops.infra.communication.mail;
 
 import eu.ijug.dukeops.infra.config.AppConfig;
+import eu.ijug.dukeops.test.TestUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.tck.TestObservationRegistry;
+import io.micrometer.observation.tck.TestObservationRegistryAssert;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import nl.altindag.log.LogCaptor;
@@ -40,6 +44,8 @@ class MailServiceTest {
     private MailConfig mailConfig;
     private JavaMailSenderImpl mailSender;
     private MailService mailService;
+    private SimpleMeterRegistry meterRegistry;
+    private TestObservationRegistry observationRegistry;
 
     @BeforeEach
     void setUp() {
@@ -52,7 +58,9 @@ class MailServiceTest {
         mailSender = mock(JavaMailSenderImpl.class);
         when(mailSender.createMimeMessage()).thenCallRealMethod();
 
-        mailService = new MailService(appConfig, mailSender);
+        meterRegistry = new SimpleMeterRegistry();
+        observationRegistry = TestObservationRegistry.create();
+        mailService = new MailService(appConfig, mailSender, meterRegistry, observationRegistry);
     }
 
     @Test
@@ -82,6 +90,15 @@ class MailServiceTest {
         assertThat(mimeMessage.getReplyTo()[0].toString()).isEqualTo("reply-to@example.com");
         assertThat(mimeMessage.getSubject()).isEqualTo("Test Subject");
         assertThat(mimeMessage.getContent()).isEqualTo("Test Text");
+
+        assertThat(meterRegistry.get("dukeops.mail.send").tag("result", "sent").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("dukeops.mail.send").tag("result", "failed").timer().count()).isZero();
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .hasSingleObservationThat()
+                .hasNameEqualTo("dukeops.mail.delivery")
+                .hasLowCardinalityKeyValue("result", "sent")
+                .doesNotHaveError()
+                .hasBeenStopped();
     }
 
     @Test
@@ -131,6 +148,33 @@ class MailServiceTest {
         }
 
         assertThat(mimeMessageRef.get()).isNull();
+
+        assertThat(meterRegistry.get("dukeops.mail.send").tag("result", "sent").timer().count()).isZero();
+        assertThat(meterRegistry.get("dukeops.mail.send").tag("result", "failed").timer().count()).isEqualTo(1);
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .hasSingleObservationThat()
+                .hasNameEqualTo("dukeops.mail.delivery")
+                .hasLowCardinalityKeyValue("result", "failed")
+                .hasError()
+                .hasBeenStopped();
+    }
+
+    @Test
+    void sendMailShouldEmitSendEvents() throws Exception {
+        when(mailConfig.replyTo()).thenReturn("");
+        doAnswer(_ -> null).doThrow(new RuntimeException("Test Exception"))
+                .when(mailSender).send(any(MimeMessage.class));
+
+        final var events = TestUtil.recordEvents(MailSendEvent.NAME, () -> {
+            mailService.sendMail("test@example.com", "Test Subject", "Test Text");
+            mailService.sendMail("test@example.com", "Test Subject", "Another Text");
+        });
+
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).getInt("characters")).isEqualTo(9);
+        assertThat(events.get(0).getBoolean("sent")).isTrue();
+        assertThat(events.get(1).getInt("characters")).isEqualTo(12);
+        assertThat(events.get(1).getBoolean("sent")).isFalse();
     }
 
 }
@@ -0,0 +1,125 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.diff;
+
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationKey;
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static java.util.Locale.ENGLISH;
+import static java.util.Locale.GERMAN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecordDiffTest {
+
+    private record Sample(String name, Boolean active, Locale language) { }
+
+    private RecordDiff<Sample> recordDiff;
+
+    @BeforeEach
+    void setUp() {
+        recordDiff = RecordDiff.<Sample>builder(new TranslationProvider())
+                .field("name", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_FIRSTNAME, Sample::name)
+                .field("active", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_SEPA_ENABLED, Sample::active)
+                .field("language", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_COUNTRY, Sample::language,
+                        (value, locale) -> ((Locale) value).getDisplayName(locale))
+                .build();
+    }
+
+    @Test
+    void identicalRecordsHaveNoChanges() {
+        final var sample = new Sample("Duke", true, ENGLISH);
+
+        assertThat(recordDiff.hasChanges(sample, new Sample("Duke", true, ENGLISH))).isFalse();
+        final var changeSet = recordDiff.compare(sample, new Sample("Duke", true, ENGLISH));
+        assertThat(changeSet.isEmpty()).isTrue();
+        assertThat(recordDiff.render(changeSet, ENGLISH)).isEmpty();
+    }
+
+    @Test
+    void changedFieldsAreCollectedInDeclarationOrder() {
+        final var original = new Sample("Duke", true, ENGLISH);
+        final var updated = new Sample("Jane", true, GERMAN);
+
+        assertThat(recordDiff.hasChanges(original, updated)).isTrue();
+        assertThat(recordDiff.compare(original, updated).changes()).containsExactly(
+                new FieldChange("name", "Duke", "Jane"),
+                new FieldChange("language", ENGLISH, GERMAN));
+    }
+
+    @Test
+    void renderUsesLabelsAndFormatters() {
+        final var changeSet = recordDiff.compare(
+                new Sample("Duke", true, ENGLISH),
+                new Sample("Jane", false, GERMAN));
+
+        assertThat(recordDiff.render(changeSet, ENGLISH)).isEqualTo("""
+                First name: Duke → Jane
+                SEPA direct debit enabled: yes → no
+                Country: English → German""");
+    }
+
+    @Test
+    void renderEmptyValuesInGerman() {
+        final var changeSet = recordDiff.compare(
+                new Sample(null, null, ENGLISH),
+                new Sample(" ", true, null));
+
+        assertThat(recordDiff.render(changeSet, GERMAN)).isEqualTo("""
+                Vorname: [leer] → [leer]
+                SEPA-Lastschrift erlaubt: [leer] → ja
+                Land: Englisch → [leer]""");
+    }
+
+    @Test
+    void renderFormatterReturningNullAsEmpty() {
+        final var diff = RecordDiff.<Sample>builder(new TranslationProvider())
+                .field("name", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_FIRSTNAME, Sample::name,
+                        (_, _) -> null)
+                .build();
+        final var changeSet = diff.compare(new Sample("Duke", null, null), new Sample("Jane", null, null));
+
+        assertThat(diff.render(changeSet, ENGLISH)).isEqualTo("First name: [empty] → [empty]");
+    }
+
+    @Test
+    void renderUnknownFieldThrowsException() {
+        final var changeSet = new ChangeSet(List.of(new FieldChange("unknown", "a", "b")));
+
+        assertThatThrownBy(() -> recordDiff.render(changeSet, ENGLISH))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown field 'unknown'");
+    }
+
+    @Test
+    void duplicateFieldNamesAreRejected() {
+        final var builder = RecordDiff.<Sample>builder(new TranslationProvider())
+                .field("name", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_FIRSTNAME, Sample::name)
+                .field("name", TranslationKey.DOMAIN_CLUBDESK_BOUNDARY_CLUB_DESK_EDIT_VIEW_LABEL_LASTNAME, Sample::name);
+
+        assertThatThrownBy(builder::build)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Duplicate field 'name'");
+    }
+
+}
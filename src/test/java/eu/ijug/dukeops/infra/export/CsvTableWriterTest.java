@@ -0,0 +1,90 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvTableWriterTest {
+
+    @Test
+    void writeRow_shouldQuoteAllValuesAndStartWithByteOrderMark() throws Exception {
+        final var out = new ByteArrayOutputStream();
+
+        try (var writer = new CsvTableWriter(out, StandardCharsets.UTF_8)) {
+            writer.writeRow(List.of("Name", "City"));
+            writer.writeRow(Arrays.asList("Duke \"the\" Mascot", null, true, 42));
+        }
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "\uFEFF\"Name\";\"City\"\r\n\"Duke \"\"the\"\" Mascot\";;\"true\";\"42\"\r\n");
+    }
+
+    @Test
+    void writeRow_shouldEscapeFormulas() throws Exception {
+        final var out = new ByteArrayOutputStream();
+
+        try (var writer = new CsvTableWriter(out, StandardCharsets.ISO_8859_1)) {
+            writer.writeRow(List.of("=1+2", "+41 44", "-Duke", "@SUM(A1)", "\tTab", "\rReturn", "Duke-Mascot", "", -42));
+        }
+
+        assertThat(out.toString(StandardCharsets.ISO_8859_1)).isEqualTo(
+                "\"'=1+2\";\"'+41 44\";\"'-Duke\";\"'@SUM(A1)\";\"'\tTab\";\"'\rReturn\";\"Duke-Mascot\";\"\";\"-42\"\r\n");
+    }
+
+    @Test
+    void writeRow_shouldNotEscapeFormulasIfDisabled() throws Exception {
+        final var out = new ByteArrayOutputStream();
+
+        try (var writer = new CsvTableWriter(out, StandardCharsets.ISO_8859_1, false)) {
+            writer.writeRow(List.of("@duke:matrix.org", "-Duke"));
+        }
+
+        assertThat(out.toString(StandardCharsets.ISO_8859_1)).isEqualTo("\"@duke:matrix.org\";\"-Duke\"\r\n");
+    }
+
+    @Test
+    void flush_shouldWriteRowsImmediately() throws Exception {
+        final var out = new ByteArrayOutputStream();
+
+        try (var writer = new CsvTableWriter(out, StandardCharsets.UTF_8)) {
+            writer.writeRow(List.of("Name"));
+            assertThat(out.size()).isZero();
+            writer.flush();
+            assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("\uFEFF\"Name\"\r\n");
+        }
+    }
+
+    @Test
+    void writeRow_shouldEncodeWithoutByteOrderMarkInOtherCharsets() throws Exception {
+        final var out = new ByteArrayOutputStream();
+
+        try (var writer = new CsvTableWriter(out, StandardCharsets.ISO_8859_1)) {
+            writer.writeRow(List.of("Zürich", "Kraków"));
+        }
+
+        assertThat(out.toByteArray()).isEqualTo("\"Zürich\";\"Krak?w\"\r\n".getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.export;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TableFormatTest {
+
+    @Test
+    void csv_shouldOpenCsvWriter() throws Exception {
+        try (var writer = TableFormat.CSV.open(new ByteArrayOutputStream(), "Members")) {
+            assertThat(writer).isInstanceOf(CsvTableWriter.class);
+        }
+        assertThat(TableFormat.CSV.contentType()).isEqualTo("text/csv");
+        assertThat(TableFormat.CSV.extension()).isEqualTo("csv");
+    }
+
+    @Test
+    void xlsx_shouldOpenXlsxWriter() throws Exception {
+        try (var writer = TableFormat.XLSX.open(new ByteArrayOutputStream(), "Members")) {
+            assertThat(writer).isInstanceOf(XlsxTableWriter.class);
+        }
+        assertThat(TableFormat.XLSX.contentType())
+                .isEqualTo("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        assertThat(TableFormat.XLSX.extension()).isEqualTo("xlsx");
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class XlsxTableWriterTest {
+
+    @Test
+    void close_shouldWriteWorkbookWithAllParts() throws Exception {
+        final var out = new ByteArrayOutputStream();
+
+        try (var writer = new XlsxTableWriter(out, "Mitglieder")) {
+            writer.writeRow(List.of("Name", "Newsletter", "Amount"));
+            writer.writeRow(Arrays.asList("Duke & <Friends>", true, 42));
+            writer.writeRow(Arrays.asList(null, false, 12.5));
+        }
+
+        final var entries = unzip(out.toByteArray());
+        assertThat(entries).containsOnlyKeys("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml",
+                "xl/_rels/workbook.xml.rels", "xl/worksheets/sheet1.xml");
+        assertThat(entries.get("xl/workbook.xml")).contains("<sheet name=\"Mitglieder\" sheetId=\"1\" r:id=\"rId1\"/>");
+        assertThat(entries.get("xl/worksheets/sheet1.xml"))
+                .startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>")
+                .contains("<row r=\"1\"><c r=\"A1\" t=\"inlineStr\"><is><t xml:space=\"preserve\">Name</t></is></c>")
+                .contains("<c r=\"A2\" t=\"inlineStr\"><is><t xml:space=\"preserve\">Duke &amp; &lt;Friends&gt;</t></is></c>")
+                .contains("<c r=\"B2\" t=\"b\"><v>1</v></c><c r=\"C2\"><v>42</v></c></row>")
+                .contains("<row r=\"3\"><c r=\"B3\" t=\"b\"><v>0</v></c><c r=\"C3\"><v>12.5</v></c></row>")
+                .endsWith("</sheetData></worksheet>");
+    }
+
+    @Test
+    void flush_shouldWriteFixedPartsBeforeTheLastRow() throws Exception {
+        final var out = new ByteArrayOutputStream();
+
+        try (var writer = new XlsxTableWriter(out, "Members")) {
+            writer.writeRow(List.of("Name"));
+            writer.flush();
+            assertThat(out.toString(StandardCharsets.ISO_8859_1)).contains("xl/workbook.xml");
+        }
+    }
+
+    @Test
+    void flush_shouldWriteTheCompressedRows() throws Exception {
+        final var out = new ByteArrayOutputStream();
+
+        try (var writer = new XlsxTableWriter(out, "Members")) {
+            writer.writeRow(List.of("Duke"));
+            writer.flush();
+            assertThat(readFlushedSheet(out.toByteArray()))
+                    .endsWith("<row r=\"1\"><c r=\"A1\" t=\"inlineStr\"><is><t xml:space=\"preserve\">Duke</t></is></c></row>");
+
+            writer.writeRow(List.of("Mascot"));
+            writer.flush();
+            assertThat(readFlushedSheet(out.toByteArray())).endsWith("Mascot</t></is></c></row>");
+        }
+
+        assertThat(unzip(out.toByteArray()).get("xl/worksheets/sheet1.xml"))
+                .contains("Duke</t>", "Mascot</t>")
+                .endsWith("</sheetData></worksheet>");
+    }
+
+    @Test
+    void constructor_shouldRejectInvalidSheetName() {
+        final var out = new ByteArrayOutputStream();
+
+        assertThatThrownBy(() -> new XlsxTableWriter(out, "Members/2026"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid sheet name 'Members/2026'");
+        assertThat(out.size()).isZero();
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0, A", "25, Z", "26, AA", "51, AZ", "701, ZZ", "702, AAA"})
+    void columnName_shouldUseSpreadsheetNotation(final int index, final String expected) {
+        assertThat(XlsxTableWriter.columnName(index)).isEqualTo(expected);
+    }
+
+    @Test
+    void escape_shouldEscapeMarkupAndDropInvalidControlCharacters() {
+        assertThat(XlsxTableWriter.escape("a&b<c>d\"e")).isEqualTo("a&amp;b&lt;c&gt;d&quot;e");
+        assertThat(XlsxTableWriter.escape("line\tone\r\nline\u0000two\u001F")).isEqualTo("line\tone\r\nlinetwo");
+        assertThat(XlsxTableWriter.escape("Zürich")).isEqualTo("Zürich");
+    }
+
+    private static Map<String, String> unzip(final byte[] bytes) throws Exception {
+        final var entries = new LinkedHashMap<String, String>();
+        try (var zip = new ZipInputStream(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
+            for (var entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    private static String readFlushedSheet(final byte[] bytes) throws Exception {
+        final var sheet = new ByteArrayOutputStream();
+        try (var zip = new ZipInputStream(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
+            for (var entry = zip.getNextEntry(); !entry.getName().equals("xl/worksheets/sheet1.xml"); entry = zip.getNextEntry()) {
+                zip.readAllBytes();
+            }
+            final var buffer = new byte[1024];
+            for (int length = zip.read(buffer); length > 0; length = zip.read(buffer)) {
+                sheet.write(buffer, 0, length);
+            }
+        } catch (final EOFException _) {
+            // the sheet ends with the last flushed row
+        }
+        return sheet.toString(StandardCharsets.UTF_8);
+    }
+
+}
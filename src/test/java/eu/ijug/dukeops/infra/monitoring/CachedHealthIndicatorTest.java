@@ -0,0 +1,201 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.monitoring;
+
+import nl.altindag.log.LogCaptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.boot.health.contributor.Status;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CachedHealthIndicatorTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+    private static final Duration REFRESH_INTERVAL = Duration.ofSeconds(30);
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Test
+    void isOutOfServiceUntilFirstCheck() {
+        final var indicator = createIndicator(() -> Health.up().build(), Runnable::run, CLOCK);
+
+        final var health = indicator.health();
+        assertThat(health.getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(health.getDetails()).containsEntry("reason", "not checked yet");
+    }
+
+    @Test
+    void servesResultOfLastCheck() {
+        final var result = new AtomicReference<>(Health.up().withDetail("database", "MariaDB").build());
+        final var indicator = createIndicator(result::get, Runnable::run, CLOCK);
+
+        try (var logCaptor = LogCaptor.forClass(CachedHealthIndicator.class)) {
+            indicator.refresh();
+            assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+            assertThat(indicator.health().getDetails())
+                    .containsEntry("database", "MariaDB")
+                    .containsEntry("checkedAt", "2026-03-01T12:00:00Z");
+
+            indicator.refresh();
+            result.set(Health.down().build());
+            assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+
+            indicator.refresh();
+            assertThat(indicator.health().getStatus()).isEqualTo(Status.DOWN);
+
+            assertThat(logCaptor.getInfoLogs()).containsExactly(
+                    "Health check 'test' changed from OUT_OF_SERVICE to UP.",
+                    "Health check 'test' changed from UP to DOWN.");
+        }
+    }
+
+    @Test
+    void reportsFailingCheckAsDown() {
+        final var indicator = createIndicator(() -> {
+            throw new IllegalStateException("Simulated failure");
+        }, Runnable::run, CLOCK);
+
+        indicator.refresh();
+
+        final var health = indicator.health();
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(health.getDetails())
+                .containsEntry("error", "java.lang.IllegalStateException: Simulated failure")
+                .containsEntry("checkedAt", "2026-03-01T12:00:00Z");
+    }
+
+    @Test
+    void skipsRefreshWhileCheckIsRunning() {
+        final var pendingTasks = new ArrayList<Runnable>();
+        final var indicator = createIndicator(() -> Health.up().build(), pendingTasks::add, CLOCK);
+
+        try (var logCaptor = LogCaptor.forClass(CachedHealthIndicator.class)) {
+            indicator.refresh();
+            indicator.refresh();
+            assertThat(pendingTasks).hasSize(1);
+            assertThat(logCaptor.getWarnLogs()).containsExactly(
+                    "Health check 'test' is still running, skipping this refresh.");
+
+            pendingTasks.removeFirst().run();
+            assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+
+            indicator.refresh();
+            assertThat(pendingTasks).hasSize(1);
+        }
+    }
+
+    @Test
+    void reportsHangingCheckAsDownAfterTimeout() {
+        final var release = new CountDownLatch(1);
+        final var calls = new AtomicInteger();
+        final var indicator = new CachedHealthIndicator("test", () -> {
+            if (calls.incrementAndGet() == 1) {
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Health.up().build();
+            }
+            return Health.outOfService().build();
+        }, task -> Thread.ofVirtual().start(task), CLOCK, REFRESH_INTERVAL, Duration.ofMillis(100));
+
+        try (var logCaptor = LogCaptor.forClass(CachedHealthIndicator.class)) {
+            indicator.refresh();
+            await().atMost(Duration.ofSeconds(5))
+                    .until(() -> indicator.health().getStatus().equals(Status.DOWN));
+            assertThat(indicator.health().getDetails())
+                    .containsEntry("error", "Check did not finish within PT0.1S")
+                    .containsEntry("checkedAt", "2026-03-01T12:00:00Z");
+
+            // the hanging check is not started a second time
+            indicator.refresh();
+            assertThat(calls).hasValue(1);
+
+            // the result of the hanging check arrives too late and is discarded
+            release.countDown();
+            await().atMost(Duration.ofSeconds(5)).until(() -> {
+                indicator.refresh();
+                return calls.get() == 2;
+            });
+            await().atMost(Duration.ofSeconds(5))
+                    .until(() -> indicator.health().getStatus().equals(Status.OUT_OF_SERVICE));
+            assertThat(logCaptor.getInfoLogs()).containsExactly(
+                    "Health check 'test' changed from OUT_OF_SERVICE to DOWN.",
+                    "Health check 'test' changed from DOWN to OUT_OF_SERVICE.");
+        }
+    }
+
+    @Test
+    void reportsOutdatedResultAsDown() {
+        final var clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        final var indicator = createIndicator(() -> Health.up().build(), Runnable::run, clock);
+        indicator.refresh();
+
+        // three refresh intervals plus the timeout
+        when(clock.instant()).thenReturn(NOW.plusSeconds(100));
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(101));
+        final var health = indicator.health();
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(health.getDetails())
+                .containsEntry("error", "Last check is older than PT1M40S")
+                .containsEntry("lastStatus", "UP")
+                .containsEntry("checkedAt", "2026-03-01T12:00:00Z");
+
+        indicator.refresh();
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void rejectsInvalidDurations() {
+        assertThatThrownBy(() -> new CachedHealthIndicator("test", () -> Health.up().build(), Runnable::run, CLOCK,
+                Duration.ZERO, TIMEOUT))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("'dukeops.health.refresh-interval' must be positive");
+        assertThatThrownBy(() -> new CachedHealthIndicator("test", () -> Health.up().build(), Runnable::run, CLOCK,
+                REFRESH_INTERVAL, Duration.ofSeconds(-1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("'dukeops.health.timeout' must be positive");
+    }
+
+    private static CachedHealthIndicator createIndicator(final HealthIndicator check,
+                                                         final Executor executor,
+                                                         final Clock clock) {
+        return new CachedHealthIndicator("test", check, executor, clock, REFRESH_INTERVAL, TIMEOUT);
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.monitoring;
+
+import jakarta.mail.MessagingException;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.health.contributor.Status;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HealthConfigTest {
+
+    private static final Duration REFRESH_INTERVAL = Duration.ofSeconds(30);
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final HealthConfig healthConfig = new HealthConfig();
+
+    @Test
+    void databaseIsUpWithValidConnection() throws SQLException {
+        final var dataSource = mockDataSource(true);
+
+        final var health = HealthConfig.checkDatabase(dataSource);
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails()).containsEntry("database", "MariaDB");
+    }
+
+    @Test
+    void databaseIsDownWithInvalidConnection() throws SQLException {
+        final var dataSource = mockDataSource(false);
+
+        final var health = HealthConfig.checkDatabase(dataSource);
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(health.getDetails())
+                .containsEntry("database", "MariaDB")
+                .containsEntry("error", "Connection is not valid");
+    }
+
+    @Test
+    void databaseIsDownWithoutConnection() throws SQLException {
+        final var dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        final var health = HealthConfig.checkDatabase(dataSource);
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(health.getDetails()).containsEntry("error", "java.sql.SQLException: Connection refused");
+    }
+
+    @Test
+    void mailIsUpWithReachableRelay() {
+        final var mailSender = mockMailSender();
+
+        final var health = HealthConfig.checkMail(mailSender);
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails()).containsEntry("location", "mail.example.com:25");
+    }
+
+    @Test
+    void mailIsDownWithUnreachableRelay() throws MessagingException {
+        final var mailSender = mockMailSender();
+        doThrow(new MessagingException("Connection timed out")).when(mailSender).testConnection();
+
+        final var health = HealthConfig.checkMail(mailSender);
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(health.getDetails())
+                .containsEntry("location", "mail.example.com:25")
+                .containsEntry("error", "jakarta.mail.MessagingException: Connection timed out");
+    }
+
+    @Test
+    void runsChecksOnVirtualThreads() throws Exception {
+        final var checkThread = new AtomicReference<Thread>();
+        final var checked = new CountDownLatch(1);
+        final var dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(_ -> {
+            checkThread.set(Thread.currentThread());
+            checked.countDown();
+            throw new SQLException("Connection refused");
+        });
+
+        final var indicator = healthConfig.dbHealthIndicator(dataSource, Clock.systemUTC(), REFRESH_INTERVAL, TIMEOUT);
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        indicator.refresh();
+
+        assertThat(checked.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(checkThread.get().isVirtual()).isTrue();
+        assertThat(checkThread.get().getName()).isEqualTo("health-check");
+    }
+
+    @Test
+    void createsMailHealthIndicator() {
+        final var indicator = healthConfig.mailHealthIndicator(mockMailSender(), Clock.systemUTC(), REFRESH_INTERVAL, TIMEOUT);
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+    }
+
+    private static DataSource mockDataSource(final boolean valid) throws SQLException {
+        final var metaData = mock(DatabaseMetaData.class);
+        when(metaData.getDatabaseProductName()).thenReturn("MariaDB");
+        final var connection = mock(Connection.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(connection.isValid(anyInt())).thenReturn(valid);
+        final var dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+
+    private static JavaMailSenderImpl mockMailSender() {
+        final var mailSender = mock(JavaMailSenderImpl.class);
+        when(mailSender.getHost()).thenReturn("mail.example.com");
+        when(mailSender.getPort()).thenReturn(25);
+        return mailSender;
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.monitoring;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrometheusAuthorizationManagerTest {
+
+    private static final @NotNull Authentication ANONYMOUS = new AnonymousAuthenticationToken("key", "anonymous",
+            AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+    private static final @NotNull Authentication ADMIN = new TestingAuthenticationToken("admin", null, "ROLE_ADMIN");
+    private static final @NotNull Authentication USER = new TestingAuthenticationToken("user", null, "ROLE_USER");
+
+    private final PrometheusAuthorizationManager authorizationManager = new PrometheusAuthorizationManager("s3cr3t");
+
+    @Test
+    void grantsAccessWithToken() {
+        assertThat(isGranted(authorizationManager, ANONYMOUS, "Bearer s3cr3t")).isTrue();
+    }
+
+    @Test
+    void deniesAccessWithWrongToken() {
+        assertThat(isGranted(authorizationManager, ANONYMOUS, "Bearer wrong")).isFalse();
+        assertThat(isGranted(authorizationManager, ANONYMOUS, "Basic s3cr3t")).isFalse();
+        assertThat(isGranted(authorizationManager, ANONYMOUS, null)).isFalse();
+    }
+
+    @Test
+    void grantsAccessToAdministratorsOnly() {
+        assertThat(isGranted(authorizationManager, ADMIN, null)).isTrue();
+        assertThat(isGranted(authorizationManager, USER, null)).isFalse();
+    }
+
+    @Test
+    void deniesTokenIfNoneIsConfigured() {
+        final var withoutToken = new PrometheusAuthorizationManager(" ");
+        assertThat(isGranted(withoutToken, ANONYMOUS, "Bearer  ")).isFalse();
+        assertThat(isGranted(withoutToken, ADMIN, null)).isTrue();
+    }
+
+    private static boolean isGranted(final @NotNull PrometheusAuthorizationManager authorizationManager,
+                                     final @NotNull Authentication authentication,
+                                     final @Nullable String authorization) {
+        final var request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        final var result = authorizationManager.authorize(() -> authentication, new RequestAuthorizationContext(request));
+        return result != null && result.isGranted();
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.monitoring;
+
+import eu.ijug.dukeops.infra.persistence.jooq.JooqObservationListener;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TracingConfigTest {
+
+    private final TracingConfig tracingConfig = new TracingConfig();
+
+    @Test
+    void providesJooqObservationListener() {
+        final var provider = tracingConfig.jooqObservationListenerProvider(ObservationRegistry.NOOP);
+        assertThat(provider.provide()).isInstanceOf(JooqObservationListener.class);
+    }
+
+    @Test
+    void providesLoggingSpanExporter() {
+        try (var exporter = tracingConfig.loggingSpanExporter()) {
+            assertThat(exporter).isInstanceOf(LoggingSpanExporter.class);
+        }
+    }
+
+}
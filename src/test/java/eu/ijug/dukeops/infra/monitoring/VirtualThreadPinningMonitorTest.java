@@ -0,0 +1,115 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VirtualThreadPinningMonitor monitor =
+            new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(20));
+
+    @Test
+    void startsAndStopsRecordingStream() {
+        assertThat(monitor.isRunning()).isFalse();
+
+        monitor.start();
+        monitor.start();
+        assertThat(monitor.isRunning()).isTrue();
+
+        monitor.stop();
+        monitor.stop();
+        assertThat(monitor.isRunning()).isFalse();
+    }
+
+    @Test
+    void classifiesByInnermostKnownFrame() {
+        assertThat(VirtualThreadPinningMonitor.classify(stackTrace(
+                "java.net.Socket", "org.mariadb.jdbc.client.impl.StandardClient", "org.jooq.impl.AbstractQuery")))
+                .isEqualTo("mariadb");
+        assertThat(VirtualThreadPinningMonitor.classify(stackTrace(
+                "java.lang.Object", "org.jooq.impl.AbstractQuery")))
+                .isEqualTo("jooq");
+        assertThat(VirtualThreadPinningMonitor.classify(stackTrace("jakarta.mail.Transport")))
+                .isEqualTo("mail");
+        assertThat(VirtualThreadPinningMonitor.classify(stackTrace("org.eclipse.angus.mail.smtp.SMTPTransport")))
+                .isEqualTo("mail");
+        assertThat(VirtualThreadPinningMonitor.classify(stackTrace("java.lang.Thread")))
+                .isEqualTo("other");
+        assertThat(VirtualThreadPinningMonitor.classify(null))
+                .isEqualTo("other");
+    }
+
+    @Test
+    void recordsPinnedThreadPerComponent() {
+        final var mariadbTrace = stackTrace("org.mariadb.jdbc.client.socket.impl.SocketUtility");
+        monitor.onPinned(event(mariadbTrace, Duration.ofMillis(30)));
+        monitor.onPinned(event(mariadbTrace, Duration.ofMillis(50)));
+        monitor.onPinned(event(null, Duration.ofMillis(25)));
+
+        final var mariadb = meterRegistry.get("dukeops.threads.pinned").tag("component", "mariadb").timer();
+        assertThat(mariadb.count()).isEqualTo(2);
+        assertThat(mariadb.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(80);
+        assertThat(meterRegistry.get("dukeops.threads.pinned").tag("component", "other").timer().count())
+                .isEqualTo(1);
+    }
+
+    private static RecordedEvent event(final RecordedStackTrace stackTrace, final Duration duration) {
+        final var event = mock(RecordedEvent.class);
+        when(event.getStackTrace()).thenReturn(stackTrace);
+        when(event.getDuration()).thenReturn(duration);
+        return event;
+    }
+
+    private static RecordedStackTrace stackTrace(final String... typeNames) {
+        final var frames = Arrays.stream(typeNames)
+                .map(VirtualThreadPinningMonitorTest::frame)
+                .toList();
+        final var stackTrace = mock(RecordedStackTrace.class);
+        when(stackTrace.getFrames()).thenReturn(frames);
+        return stackTrace;
+    }
+
+    private static RecordedFrame frame(final String typeName) {
+        final var type = mock(RecordedClass.class);
+        when(type.getName()).thenReturn(typeName);
+        final var method = mock(RecordedMethod.class);
+        when(method.getType()).thenReturn(type);
+        when(method.getName()).thenReturn("run");
+        final var frame = mock(RecordedFrame.class);
+        when(frame.getMethod()).thenReturn(method);
+        when(frame.getLineNumber()).thenReturn(42);
+        return frame;
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.persistence.jooq;
+
+import io.micrometer.observation.tck.TestObservationRegistry;
+import io.micrometer.observation.tck.TestObservationRegistryAssert;
+import org.jetbrains.annotations.Nullable;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteType;
+import org.jooq.exception.DataAccessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JooqObservationListenerTest {
+
+    private TestObservationRegistry observationRegistry;
+    private JooqObservationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        observationRegistry = TestObservationRegistry.create();
+        listener = new JooqObservationListener(observationRegistry);
+    }
+
+    @Test
+    void observesStatementWithSql() {
+        final var ctx = mockContext(ExecuteType.READ, "select * from user where id = ?", null);
+
+        listener.executeStart(ctx);
+        listener.executeEnd(ctx);
+
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .hasSingleObservationThat()
+                .hasNameEqualTo("dukeops.jooq.query")
+                .hasContextualNameEqualTo("jooq read")
+                .hasLowCardinalityKeyValue("db.operation", "read")
+                .hasHighCardinalityKeyValue("db.statement", "select * from user where id = ?")
+                .doesNotHaveError()
+                .hasBeenStopped();
+    }
+
+    @Test
+    void observesBatchWithoutSql() {
+        final var ctx = mockContext(ExecuteType.BATCH, null, null);
+
+        listener.executeStart(ctx);
+        listener.executeEnd(ctx);
+
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .hasSingleObservationThat()
+                .hasLowCardinalityKeyValue("db.operation", "batch")
+                .doesNotHaveHighCardinalityKeyValueWithKey("db.statement")
+                .hasBeenStopped();
+    }
+
+    @Test
+    void recordsException() {
+        final var exception = new DataAccessException("Simulated database error");
+        final var ctx = mockContext(ExecuteType.WRITE, "delete from user", exception);
+
+        listener.executeStart(ctx);
+        listener.exception(ctx);
+
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .hasSingleObservationThat()
+                .hasLowCardinalityKeyValue("db.operation", "write")
+                .hasError(exception)
+                .hasBeenStopped();
+    }
+
+    @Test
+    void stopsObservationOnExceptionWithoutCause() {
+        final var ctx = mockContext(ExecuteType.WRITE, "delete from user", null);
+
+        listener.executeStart(ctx);
+        listener.exception(ctx);
+
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .hasSingleObservationThat()
+                .doesNotHaveError()
+                .hasBeenStopped();
+    }
+
+    @Test
+    void ignoresStatementsWhichHaveNotBeenStarted() {
+        final var ctx = mockContext(ExecuteType.READ, "select 1", new DataAccessException("Connection refused"));
+
+        listener.executeEnd(ctx);
+        listener.exception(ctx);
+
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .doesNotHaveAnyObservation();
+    }
+
+    private static ExecuteContext mockContext(final ExecuteType type,
+                                              final @Nullable String sql,
+                                              final @Nullable DataAccessException exception) {
+        final Map<Object, Object> data = new HashMap<>();
+        final var ctx = mock(ExecuteContext.class);
+        when(ctx.type()).thenReturn(type);
+        when(ctx.sql()).thenReturn(sql);
+        when(ctx.exception()).thenReturn(exception);
+        when(ctx.data()).thenReturn(data);
+        when(ctx.data(any(), any())).thenAnswer(invocation ->
+                data.put(invocation.getArgument(0), invocation.getArgument(1)));
+        return ctx;
+    }
+
+}
@@ -19,6 +19,7 @@ package eu.ijug.dukeops.infra.persistence.jooq;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import eu.ijug.dukeops.test.KaribuTest;
+import eu.ijug.dukeops.test.TestUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jooq.DSLContext;
 import org.jooq.Record;
@@ -27,6 +28,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.lang.reflect.Field;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
@@ -35,6 +37,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static eu.ijug.dukeops.infra.persistence.jooq.generated.Tables.USER;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -62,7 +65,7 @@ class UniqueIdGeneratorKT extends KaribuTest {
     }
 
     @Test
-    void skipsIdIfAlreadyExistsInDatabase() {
+    void skipsIdIfAlreadyExistsInDatabase() throws Exception {
         // Arrange
         final UUID freshId = UUID.randomUUID();
 
@@ -77,13 +80,19 @@ class UniqueIdGeneratorKT extends KaribuTest {
         final UniqueIdGenerator generator = new UniqueIdGenerator(dsl, supplier);
 
         // Act
-        final UUID result = generator.getUniqueID(USER);
+        final var resultRef = new AtomicReference<UUID>();
+        final var events = TestUtil.recordEvents(IdGenerationEvent.NAME,
+                () -> resultRef.set(generator.getUniqueID(USER)));
 
         // Assert
-        assertThat(result).isEqualTo(freshId);
+        assertThat(resultRef.get()).isEqualTo(freshId);
         assertThat(callCount.get())
                 .as("Supplier should have been called twice due to database hit")
                 .isEqualTo(2);
+        assertThat(events).hasSize(1);
+        assertThat(events.getFirst().getString("table")).isEqualTo(USER.getName());
+        assertThat(events.getFirst().getInt("attempts")).isEqualTo(2);
+        assertThat(events.getFirst().getDuration("lockWait")).isGreaterThanOrEqualTo(Duration.ZERO);
     }
 
     @Test
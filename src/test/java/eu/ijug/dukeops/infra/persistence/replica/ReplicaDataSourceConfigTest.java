@@ -0,0 +1,157 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.persistence.replica;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReplicaDataSourceConfigTest {
+
+    private final ReplicaDataSourceConfig config = new ReplicaDataSourceConfig();
+
+    private DataSource primaryDataSource;
+    private DataSource replicaDataSource;
+    private ReplicaLagMonitor replicaLagMonitor;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primaryDataSource = mock(DataSource.class);
+        when(primaryDataSource.getConnection()).thenReturn(mock(Connection.class));
+        replicaDataSource = mock(DataSource.class);
+        when(replicaDataSource.getConnection()).thenReturn(mock(Connection.class));
+        replicaLagMonitor = mock(ReplicaLagMonitor.class);
+        dataSource = config.dataSource(primaryDataSource, replicaDataSource, replicaLagMonitor);
+    }
+
+    @Test
+    void writableConnectionsUsePrimary() throws SQLException {
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(true);
+
+        try (var connection = dataSource.getConnection()) {
+            connection.createStatement();
+        }
+
+        verify(primaryDataSource).getConnection();
+        verify(replicaDataSource, never()).getConnection();
+    }
+
+    @Test
+    void readOnlyConnectionsUseReplica() throws SQLException {
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(true);
+
+        try (var connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            connection.createStatement();
+        }
+
+        verify(replicaDataSource).getConnection();
+        verify(primaryDataSource, never()).getConnection();
+    }
+
+    @Test
+    void readOnlyConnectionsFallBackToPrimaryWhileReplicaLags() throws SQLException {
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(false);
+
+        try (var connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            connection.createStatement();
+        }
+
+        verify(primaryDataSource).getConnection();
+        verify(replicaDataSource, never()).getConnection();
+    }
+
+    @Test
+    void createsConnectionPools() {
+        try (var primary = config.primaryDataSource("jdbc:mariadb://primary/dukeops", "duke", "secret");
+             var replica = config.replicaDataSource("jdbc:mariadb://replica/dukeops", "reader", "hidden")) {
+            assertThat(primary.getPoolName()).isEqualTo("dukeops-primary");
+            assertThat(primary.getJdbcUrl()).isEqualTo("jdbc:mariadb://primary/dukeops");
+            assertThat(primary.getUsername()).isEqualTo("duke");
+            assertThat(primary.getPassword()).isEqualTo("secret");
+            assertThat(primary.isReadOnly()).isFalse();
+
+            assertThat(replica.getPoolName()).isEqualTo("dukeops-replica");
+            assertThat(replica.getJdbcUrl()).isEqualTo("jdbc:mariadb://replica/dukeops");
+            assertThat(replica.getUsername()).isEqualTo("reader");
+            assertThat(replica.getPassword()).isEqualTo("hidden");
+            assertThat(replica.isReadOnly()).isTrue();
+        }
+    }
+
+    @Test
+    void bindsPoolSettingsOfEachPool() {
+        new ApplicationContextRunner()
+                .withUserConfiguration(ConfigurationPropertiesBinding.class, ReplicaDataSourceConfig.class)
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withPropertyValues(
+                        "spring.datasource.url=jdbc:mariadb://primary/dukeops",
+                        "spring.datasource.username=duke",
+                        "spring.datasource.password=secret",
+                        "spring.datasource.hikari.maximum-pool-size=20",
+                        "spring.datasource.hikari.connection-timeout=5000",
+                        "dukeops.datasource.replica.url=jdbc:mariadb://replica/dukeops",
+                        "dukeops.datasource.replica.hikari.maximum-pool-size=5")
+                .run(context -> {
+                    final var primary = context.getBean("primaryDataSource", HikariDataSource.class);
+                    assertThat(primary.getPoolName()).isEqualTo("dukeops-primary");
+                    assertThat(primary.getJdbcUrl()).isEqualTo("jdbc:mariadb://primary/dukeops");
+                    assertThat(primary.getMaximumPoolSize()).isEqualTo(20);
+                    assertThat(primary.getConnectionTimeout()).isEqualTo(5000);
+
+                    final var replica = context.getBean("replicaDataSource", HikariDataSource.class);
+                    assertThat(replica.getPoolName()).isEqualTo("dukeops-replica");
+                    assertThat(replica.getJdbcUrl()).isEqualTo("jdbc:mariadb://replica/dukeops");
+                    assertThat(replica.getUsername()).isEqualTo("duke");
+                    assertThat(replica.getMaximumPoolSize()).isEqualTo(5);
+                    assertThat(replica.getConnectionTimeout()).isEqualTo(new HikariConfig().getConnectionTimeout());
+                    assertThat(replica.isReadOnly()).isTrue();
+                });
+    }
+
+    @Test
+    void createsReplicaLagMonitor() {
+        final var monitor = config.replicaLagMonitor(replicaDataSource, new SimpleMeterRegistry(), Duration.ofSeconds(10));
+        assertThat(monitor.isReplicaUsable()).isFalse();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableConfigurationProperties
+    static class ConfigurationPropertiesBinding {
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.persistence.replica;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.altindag.log.LogCaptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaLagMonitorTest {
+
+    private DataSource dataSource;
+    private ResultSet resultSet;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = mock(DataSource.class);
+        final var connection = mock(Connection.class);
+        final var statement = mock(Statement.class);
+        resultSet = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("SHOW REPLICA STATUS")).thenReturn(resultSet);
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new ReplicaLagMonitor(dataSource, meterRegistry, Duration.ofSeconds(10));
+    }
+
+    @Test
+    void replicaIsNotUsedBeforeFirstCheck() {
+        assertThat(monitor.isReplicaUsable()).isFalse();
+        assertThat(lag()).isNaN();
+    }
+
+    @Test
+    void replicaIsUsedWhileLagIsWithinLimit() throws SQLException {
+        replicaStatus(10L);
+
+        try (var logCaptor = LogCaptor.forClass(ReplicaLagMonitor.class)) {
+            monitor.checkReplicaLag();
+            monitor.checkReplicaLag();
+
+            assertThat(logCaptor.getInfoLogs()).containsExactly(
+                    "Replica database is up to date, sending read-only access to the replica.");
+        }
+        assertThat(monitor.isReplicaUsable()).isTrue();
+        assertThat(lag()).isEqualTo(10);
+    }
+
+    @Test
+    void primaryIsUsedWhileReplicaLagsTooFarBehind() throws SQLException {
+        replicaStatus(0L);
+        monitor.checkReplicaLag();
+        assertThat(monitor.isReplicaUsable()).isTrue();
+
+        replicaStatus(11L);
+        try (var logCaptor = LogCaptor.forClass(ReplicaLagMonitor.class)) {
+            monitor.checkReplicaLag();
+
+            assertThat(logCaptor.getWarnLogs()).containsExactly("Sending read-only access to the primary database, "
+                    + "because the replica can't be used: it lags 11 seconds behind");
+        }
+        assertThat(monitor.isReplicaUsable()).isFalse();
+        assertThat(lag()).isEqualTo(11);
+
+        replicaStatus(2L);
+        monitor.checkReplicaLag();
+        assertThat(monitor.isReplicaUsable()).isTrue();
+    }
+
+    @Test
+    void primaryIsUsedWhileReplicationIsNotRunning() throws SQLException {
+        replicaStatus(null);
+
+        try (var logCaptor = LogCaptor.forClass(ReplicaLagMonitor.class)) {
+            monitor.checkReplicaLag();
+
+            assertThat(logCaptor.getWarnLogs()).containsExactly("Sending read-only access to the primary database, "
+                    + "because the replica can't be used: replication is not running");
+        }
+        assertThat(monitor.isReplicaUsable()).isFalse();
+        assertThat(lag()).isNaN();
+    }
+
+    @Test
+    void primaryIsUsedIfDatabaseIsNoReplica() throws SQLException {
+        when(resultSet.next()).thenReturn(false);
+
+        monitor.checkReplicaLag();
+
+        assertThat(monitor.isReplicaUsable()).isFalse();
+        assertThat(lag()).isNaN();
+    }
+
+    @Test
+    void primaryIsUsedIfReplicaIsNotReachable() throws SQLException {
+        replicaStatus(0L);
+        monitor.checkReplicaLag();
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        try (var logCaptor = LogCaptor.forClass(ReplicaLagMonitor.class)) {
+            monitor.checkReplicaLag();
+
+            assertThat(logCaptor.getWarnLogs()).containsExactly("Sending read-only access to the primary database, "
+                    + "because the replica can't be used: it is not reachable: Connection refused");
+        }
+        assertThat(monitor.isReplicaUsable()).isFalse();
+        assertThat(lag()).isNaN();
+    }
+
+    @Test
+    void rejectsNegativeMaxLag() {
+        final var maxLag = Duration.ofSeconds(-1);
+        assertThatThrownBy(() -> new ReplicaLagMonitor(dataSource, meterRegistry, maxLag))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("'dukeops.datasource.replica.max-lag' must not be negative");
+    }
+
+    private void replicaStatus(final Long lag) throws SQLException {
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong("Seconds_Behind_Master")).thenReturn(lag == null ? 0L : lag);
+        when(resultSet.wasNull()).thenReturn(lag == null);
+    }
+
+    private double lag() {
+        return meterRegistry.get("dukeops.datasource.replica.lag").gauge().value();
+    }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CountingOutputStreamTest {
+
+    @Test
+    void countsWrittenBytes() {
+        final var out = new CountingOutputStream();
+        out.write(42);
+        out.write(new byte[10], 2, 5);
+        assertThat(out.getCount()).isEqualTo(6);
+    }
+
+    @Test
+    void rejectsInvalidRange() {
+        final var out = new CountingOutputStream();
+        assertThatThrownBy(() -> out.write(new byte[10], 8, 5))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThat(out.getCount()).isZero();
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import com.vaadin.flow.server.VaadinSession;
+import eu.ijug.dukeops.domain.authentication.entity.UserPrincipal;
+import eu.ijug.dukeops.test.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@TestPropertySource(properties = "dukeops.session.store=jdbc")
+final class JdbcSessionConfigIT extends IntegrationTest {
+
+    private static final String SECURITY_CONTEXT = "SPRING_SECURITY_CONTEXT";
+    private static final String VAADIN_SESSION = "com.vaadin.flow.server.VaadinSession.springServlet";
+    private static final String VAADIN_LOCK = "com.vaadin.flow.server.VaadinSession.lock.springServlet";
+
+    @Autowired
+    private SessionRepository<?> sessionRepository;
+
+    @Autowired
+    private NodeLocalSessionAttributes nodeLocalSessionAttributes;
+
+    @Test
+    void storesSessionsInDatabase() {
+        assertRoundTrip(sessionRepository);
+    }
+
+    private <S extends Session> void assertRoundTrip(final SessionRepository<S> repository) {
+        final List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(TEST_ADMIN.role().getRole()));
+        final var principal = new UserPrincipal(TEST_ADMIN, authorities);
+        final var securityContext = new SecurityContextImpl(
+                new PreAuthenticatedAuthenticationToken(principal, null, authorities));
+        final var vaadinSession = mock(VaadinSession.class);
+        final var lock = new ReentrantLock();
+
+        final var session = repository.createSession();
+        session.setAttribute(SECURITY_CONTEXT, securityContext);
+        session.setAttribute(VAADIN_SESSION, vaadinSession);
+        session.setAttribute(VAADIN_LOCK, lock);
+        repository.save(session);
+
+        final var loaded = repository.findById(session.getId());
+        assertThat(loaded).isNotNull();
+        final SecurityContext loadedContext = loaded.getAttribute(SECURITY_CONTEXT);
+        assertThat(loadedContext).isNotNull();
+        assertThat(loadedContext.getAuthentication()).isNotNull();
+        assertThat(loadedContext.getAuthentication().getPrincipal())
+                .isInstanceOfSatisfying(UserPrincipal.class,
+                        user -> assertThat(user.getUser()).isEqualTo(TEST_ADMIN));
+        assertThat((Object) loaded.getAttribute(VAADIN_SESSION)).isSameAs(vaadinSession);
+        assertThat((Object) loaded.getAttribute(VAADIN_LOCK)).isSameAs(lock);
+        assertThat(nodeLocalSessionAttributes.size()).isEqualTo(2);
+
+        repository.deleteById(session.getId());
+        assertThat(repository.findById(session.getId())).isNull();
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import eu.ijug.dukeops.domain.authentication.entity.UserPrincipal;
+import eu.ijug.dukeops.domain.user.entity.UserDto;
+import eu.ijug.dukeops.test.IntegrationTest;
+import jakarta.servlet.http.HttpSession;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.web.context.HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY;
+
+@TestPropertySource(properties = "dukeops.session.store=jdbc")
+final class JdbcSessionRegistryIT extends IntegrationTest {
+
+    @Autowired
+    private SessionRepository<?> sessionRepository;
+
+    @Autowired
+    private SessionRegistry sessionRegistry;
+
+    @Test
+    void readsSessionsOfAllNodesFromDatabase() {
+        assertThat(sessionRegistry).isInstanceOf(JdbcSessionRegistry.class);
+        assertThat(sessionRegistry.getSessionCount()).isZero();
+        assertThat(sessionRegistry.getStoredBytes()).hasValue(0);
+
+        final var adminSession = createSession(sessionRepository, TEST_ADMIN, Instant.now());
+        final var userSession = createSession(sessionRepository, TEST_USER, Instant.now());
+        final var anonymousSession = createSession(sessionRepository, null, Instant.now());
+        createSession(sessionRepository, TEST_USER, Instant.now().minus(Duration.ofDays(1)));
+
+        assertThat(sessionRegistry.getSessionCount()).isEqualTo(3);
+        assertThat(sessionRegistry.getSessions(0, 10))
+                .extracting(HttpSession::getId)
+                .containsExactlyElementsOf(Stream.of(adminSession, userSession, anonymousSession).sorted().toList());
+        assertThat(sessionRegistry.getSessions(1, 1))
+                .extracting(HttpSession::getId)
+                .containsExactly(Stream.of(adminSession, userSession, anonymousSession).sorted().toList().get(1));
+        assertThat(sessionRegistry.getStoredBytes()).hasValueSatisfying(bytes -> assertThat(bytes).isPositive());
+        assertThat(sessionRegistry.findByPrincipalNames(Set.of(TEST_USER.email())))
+                .extracting(HttpSession::getId)
+                .containsExactly(userSession);
+        assertThat(sessionRegistry.findByPrincipalNames(Set.of(TEST_ADMIN.email(), TEST_USER.email())))
+                .extracting(HttpSession::getId)
+                .containsExactlyInAnyOrder(adminSession, userSession);
+        assertThat(sessionRegistry.findByPrincipalNames(Set.of())).isEmpty();
+    }
+
+    @Test
+    void changesAreSavedToDatabase() {
+        final var sessionId = createSession(sessionRepository, TEST_USER, Instant.now());
+        final var session = sessionRegistry.getSessions(0, 1).getFirst();
+
+        session.setAttribute("name", "Duke");
+        assertThat((Object) sessionRepository.findById(sessionId).getAttribute("name")).isEqualTo("Duke");
+
+        session.invalidate();
+        assertThat(sessionRepository.findById(sessionId)).isNull();
+        assertThat(sessionRegistry.getSessionCount()).isZero();
+    }
+
+    private static <S extends Session> @NotNull String createSession(final @NotNull SessionRepository<S> repository,
+                                                                     final @Nullable UserDto user,
+                                                                     final @NotNull Instant lastAccessed) {
+        final var context = SecurityContextHolder.createEmptyContext();
+        if (user != null) {
+            final List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(user.role().getRole()));
+            context.setAuthentication(new PreAuthenticatedAuthenticationToken(
+                    new UserPrincipal(user, authorities), null, authorities));
+        }
+        final var session = repository.createSession();
+        session.setAttribute(SPRING_SECURITY_CONTEXT_KEY, context);
+        session.setLastAccessedTime(lastAccessed);
+        repository.save(session);
+        return session.getId();
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NodeLocalSessionAttributesTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private NodeLocalSessionAttributes attributes;
+
+    @BeforeEach
+    void setUp() {
+        attributes = new NodeLocalSessionAttributes(Duration.ofMinutes(30), nanos::get);
+    }
+
+    @Test
+    void detectsNodeLocalValues() {
+        assertThat(NodeLocalSessionAttributes.isNodeLocal(mock(VaadinSession.class))).isTrue();
+        assertThat(NodeLocalSessionAttributes.isNodeLocal(new ReentrantLock())).isTrue();
+        assertThat(NodeLocalSessionAttributes.isNodeLocal("SPRING_SECURITY_CONTEXT")).isFalse();
+        assertThat(NodeLocalSessionAttributes.isNodeLocal(null)).isFalse();
+    }
+
+    @Test
+    void registersEveryInstanceOnce() {
+        final var lock1 = new ReentrantLock();
+        final var lock2 = new ReentrantLock();
+
+        final var key1 = attributes.register(lock1);
+        final var key2 = attributes.register(lock2);
+
+        assertThat(attributes.register(lock1)).isEqualTo(key1);
+        assertThat(key2).isNotEqualTo(key1);
+        assertThat(attributes.resolve(key1)).isSameAs(lock1);
+        assertThat(attributes.resolve(key2)).isSameAs(lock2);
+        assertThat(attributes.size()).isEqualTo(2);
+    }
+
+    @Test
+    void unknownKeyResolvesToNull() {
+        assertThat(attributes.resolve("unknown")).isNull();
+    }
+
+    @Test
+    void accessKeepsValueAlive() {
+        final var lock = new ReentrantLock();
+        final var key = attributes.register(lock);
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(20));
+        assertThat(attributes.resolve(key)).isSameAs(lock);
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(20));
+        assertThat(attributes.resolve(key)).isSameAs(lock);
+    }
+
+    @Test
+    void expiredVaadinSessionIsDestroyed() {
+        final var service = mock(VaadinService.class);
+        final var session = mock(VaadinSession.class);
+        when(session.getService()).thenReturn(service);
+        final var lock = new ReentrantLock();
+        final var sessionKey = attributes.register(session);
+        final var lockKey = attributes.register(lock);
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(31));
+        assertThat(attributes.size()).isZero();
+
+        verify(service).fireSessionDestroy(session);
+        assertThat(attributes.resolve(sessionKey)).isNull();
+        assertThat(attributes.resolve(lockKey)).isNull();
+        assertThat(attributes.register(lock)).isNotEqualTo(lockKey);
+    }
+
+    @Test
+    void expiredVaadinSessionWithoutServiceIsReleased() {
+        final var session = mock(VaadinSession.class);
+        final var key = attributes.register(session);
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(31));
+        assertThat(attributes.size()).isZero();
+
+        assertThat(attributes.resolve(key)).isNull();
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpSessionEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.web.context.HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY;
+
+class ServletSessionRegistryTest {
+
+    @Test
+    void tracksSessionsFromCreationUntilDestruction() {
+        final var registry = new ServletSessionRegistry();
+        final var session1 = mockSession("1");
+        final var session2 = mockSession("2");
+
+        registry.sessionCreated(new HttpSessionEvent(session1));
+        registry.sessionCreated(new HttpSessionEvent(session2));
+        assertThat(registry.getSessionCount()).isEqualTo(2);
+        assertThat(registry.getSessions(0, 10)).containsExactly(session1, session2);
+
+        registry.sessionDestroyed(new HttpSessionEvent(session1));
+        assertThat(registry.getSessionCount()).isEqualTo(1);
+        assertThat(registry.getSessions(0, 10)).containsExactly(session2);
+    }
+
+    @Test
+    void returnsSessionsPageByPageOrderedById() {
+        final var registry = new ServletSessionRegistry();
+        final var session1 = mockSession("1");
+        final var session2 = mockSession("2");
+        final var session3 = mockSession("3");
+        registry.sessionCreated(new HttpSessionEvent(session3));
+        registry.sessionCreated(new HttpSessionEvent(session1));
+        registry.sessionCreated(new HttpSessionEvent(session2));
+
+        assertThat(registry.getSessions(0, 2)).containsExactly(session1, session2);
+        assertThat(registry.getSessions(2, 2)).containsExactly(session3);
+        assertThat(registry.getSessions(4, 2)).isEmpty();
+        assertThat(registry.getStoredBytes()).isEmpty();
+    }
+
+    private static HttpSession mockSession(final String id) {
+        final var session = mock(HttpSession.class);
+        when(session.getId()).thenReturn(id);
+        return session;
+    }
+
+    @Test
+    void findsSessionsByPrincipalName() {
+        final var registry = new ServletSessionRegistry();
+        final var session1 = createSession("duke@example.com");
+        final var session2 = createSession("duke@example.com");
+        final var otherSession = createSession("other@example.com");
+        final var anonymousSession = mock(HttpSession.class);
+        when(anonymousSession.getAttribute(SPRING_SECURITY_CONTEXT_KEY)).thenReturn(SecurityContextHolder.createEmptyContext());
+        final var sessionWithoutContext = mock(HttpSession.class);
+        final var invalidatedSession = mock(HttpSession.class);
+        when(invalidatedSession.getAttribute(SPRING_SECURITY_CONTEXT_KEY)).thenThrow(new IllegalStateException("invalidated"));
+        for (final var session : List.of(session1, session2, otherSession, anonymousSession, sessionWithoutContext,
+                invalidatedSession)) {
+            registry.sessionCreated(new HttpSessionEvent(session));
+        }
+
+        assertThat(registry.findByPrincipalNames(Set.of("duke@example.com")))
+                .containsExactlyInAnyOrder(session1, session2);
+        assertThat(registry.findByPrincipalNames(Set.of("duke@example.com", "other@example.com")))
+                .containsExactlyInAnyOrder(session1, session2, otherSession);
+        assertThat(registry.findByPrincipalNames(Set.of())).isEmpty();
+    }
+
+    private static HttpSession createSession(final String principalName) {
+        final var context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new PreAuthenticatedAuthenticationToken(principalName, null, List.of()));
+        final var session = mock(HttpSession.class);
+        when(session.getAttribute(SPRING_SECURITY_CONTEXT_KEY)).thenReturn(context);
+        return session;
+    }
+
+}
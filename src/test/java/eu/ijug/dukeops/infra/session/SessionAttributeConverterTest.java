@@ -0,0 +1,67 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import com.vaadin.flow.server.VaadinSession;
+import eu.ijug.dukeops.domain.user.entity.UserDto;
+import eu.ijug.dukeops.domain.user.entity.UserRole;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class SessionAttributeConverterTest {
+
+    private final NodeLocalSessionAttributes attributes = new NodeLocalSessionAttributes(Duration.ofMinutes(30));
+    private final SessionAttributeConverter converter =
+            new SessionAttributeConverter(attributes, getClass().getClassLoader());
+
+    @Test
+    void serializableValueRoundTrip() {
+        final var user = new UserDto(UUID.randomUUID(), null, null, "Test User", "test@example.com", UserRole.USER);
+
+        final var bytes = converter.serialize(user);
+
+        assertThat(converter.deserialize(bytes)).isEqualTo(user);
+    }
+
+    @Test
+    void nodeLocalValueIsStoredAsReference() {
+        final var session = mock(VaadinSession.class);
+        final var lock = new ReentrantLock();
+
+        assertThat(converter.deserialize(converter.serialize(session))).isSameAs(session);
+        assertThat(converter.deserialize(converter.serialize(lock))).isSameAs(lock);
+        assertThat(attributes.size()).isEqualTo(2);
+    }
+
+    @Test
+    void referenceFromOtherNodeResolvesToNull() {
+        final var otherNode = new SessionAttributeConverter(
+                new NodeLocalSessionAttributes(Duration.ofMinutes(30)), getClass().getClassLoader());
+
+        final var bytes = otherNode.serialize(mock(VaadinSession.class));
+
+        assertThat(converter.deserialize(bytes)).isNull();
+    }
+
+}
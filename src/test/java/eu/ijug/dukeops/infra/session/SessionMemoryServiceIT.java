@@ -0,0 +1,74 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import eu.ijug.dukeops.test.IntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "dukeops.session.store=jdbc")
+final class SessionMemoryServiceIT extends IntegrationTest {
+
+    @Autowired
+    private SessionRepository<?> sessionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SessionsEndpoint sessionsEndpoint;
+
+    @Test
+    void reportsSessionsOfTheSharedSessionStore() {
+        final var sessionId = createSession(sessionRepository, "Duke");
+        createSession(sessionRepository, "Java");
+
+        assertThat(meterRegistry.get("dukeops.sessions.active").gauge().value()).isEqualTo(2);
+
+        final var report = sessionsEndpoint.sessions(null, null);
+        assertThat(report.sessionCount()).isEqualTo(2);
+        assertThat(report.totalBytes()).isPositive();
+        assertThat(report.sessions()).hasSize(2)
+                .allSatisfy(footprint -> assertThat(footprint.attributes()).containsOnlyKeys("name"));
+
+        final var page = sessionsEndpoint.sessions(1, 1);
+        assertThat(page.sessionCount()).isEqualTo(2);
+        assertThat(page.totalBytes()).isEqualTo(report.totalBytes());
+        assertThat(page.sessions()).hasSize(1);
+        assertThat(meterRegistry.get("dukeops.sessions.memory").gauge().value()).isEqualTo(report.totalBytes());
+
+        sessionRepository.deleteById(sessionId);
+        assertThat(meterRegistry.get("dukeops.sessions.active").gauge().value()).isEqualTo(1);
+    }
+
+    private static <S extends Session> @NotNull String createSession(final @NotNull SessionRepository<S> repository,
+                                                                     final @NotNull String name) {
+        final var session = repository.createSession();
+        session.setAttribute("name", name);
+        repository.save(session);
+        return session.getId();
+    }
+
+}
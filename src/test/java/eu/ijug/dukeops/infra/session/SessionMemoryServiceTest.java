@@ -0,0 +1,193 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import com.vaadin.flow.component.HasElement;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.internal.UIInternals;
+import com.vaadin.flow.server.VaadinSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpSessionEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SessionMemoryServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private ServletSessionRegistry sessionRegistry;
+    private SimpleMeterRegistry meterRegistry;
+    private SessionMemoryService service;
+
+    @BeforeEach
+    void setUp() {
+        sessionRegistry = new ServletSessionRegistry();
+        meterRegistry = new SimpleMeterRegistry();
+        service = new SessionMemoryService(sessionRegistry, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void emptyReportWithoutSessions() {
+        final var report = service.createReport(0, 10);
+
+        assertThat(report.sampled()).isEqualTo(NOW);
+        assertThat(report.page()).isZero();
+        assertThat(report.pageSize()).isEqualTo(10);
+        assertThat(report.sessionCount()).isZero();
+        assertThat(report.totalBytes()).isZero();
+        assertThat(report.averageBytes()).isZero();
+        assertThat(report.views()).isEmpty();
+        assertThat(report.sessions()).isEmpty();
+    }
+
+    @Test
+    void reportBreaksDownAttributesAndViews() {
+        final var view = new Span("Duke");
+        final var vaadinSession = mockVaadinSession(view);
+
+        final var session = mockSession("1");
+        when(session.getAttributeNames()).thenAnswer(_ -> Collections.enumeration(List.of("name", "vaadin")));
+        when(session.getAttribute("name")).thenReturn("Duke");
+        when(session.getAttribute("vaadin")).thenReturn(vaadinSession);
+        when(session.getLastAccessedTime()).thenReturn(NOW.toEpochMilli());
+        sessionRegistry.sessionCreated(new HttpSessionEvent(session));
+
+        final var smallSession = mockSession("2");
+        when(smallSession.getAttributeNames()).thenAnswer(_ -> Collections.emptyEnumeration());
+        sessionRegistry.sessionCreated(new HttpSessionEvent(smallSession));
+
+        final var report = service.createReport(0, 10);
+
+        assertThat(report.sessionCount()).isEqualTo(2);
+        assertThat(report.views()).containsOnlyKeys(Span.class.getName());
+        assertThat(report.views().get(Span.class.getName())).isPositive();
+
+        final var footprint = report.sessions().getFirst();
+        assertThat(footprint.lastAccessed()).isEqualTo(NOW);
+        assertThat(footprint.attributes()).containsOnlyKeys("name", "vaadin");
+        assertThat(footprint.attributes().get("name")).isPositive();
+        assertThat(footprint.totalBytes())
+                .isEqualTo(footprint.attributes().values().stream().mapToLong(Long::longValue).sum())
+                .isEqualTo(report.totalBytes());
+        assertThat(footprint.views()).isEqualTo(report.views());
+        assertThat(report.sessions().getLast().totalBytes()).isZero();
+        assertThat(report.averageBytes()).isEqualTo(report.totalBytes() / 2);
+
+        final var lock = inOrder(vaadinSession);
+        lock.verify(vaadinSession).lock();
+        lock.verify(vaadinSession).unlock();
+    }
+
+    @Test
+    void reportBreaksDownOnlyTheRequestedPage() {
+        for (var id = 1; id <= 3; id++) {
+            final var session = mockSession(String.valueOf(id));
+            when(session.getAttributeNames()).thenAnswer(_ -> Collections.enumeration(List.of("name")));
+            when(session.getAttribute("name")).thenReturn("Duke");
+            sessionRegistry.sessionCreated(new HttpSessionEvent(session));
+        }
+
+        final var firstPage = service.createReport(0, 2);
+        final var secondPage = service.createReport(1, 2);
+
+        assertThat(firstPage.sessionCount()).isEqualTo(3);
+        assertThat(firstPage.sessions()).hasSize(2);
+        assertThat(secondPage.sessionCount()).isEqualTo(3);
+        assertThat(secondPage.sessions()).singleElement()
+                .satisfies(footprint -> assertThat(footprint.totalBytes() * 3).isEqualTo(secondPage.totalBytes()));
+        assertThat(secondPage.totalBytes()).isEqualTo(firstPage.totalBytes());
+        assertThat(service.createReport(2, 2).sessions()).isEmpty();
+    }
+
+    @Test
+    void totalIsTakenFromTheSessionStoreIfAvailable() {
+        final var storeRegistry = mock(SessionRegistry.class);
+        when(storeRegistry.getSessionCount()).thenReturn(4);
+        when(storeRegistry.getStoredBytes()).thenReturn(OptionalLong.of(4000));
+        when(storeRegistry.getSessions(0, 10)).thenReturn(List.of());
+        final var storeService = new SessionMemoryService(storeRegistry, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        final var report = storeService.createReport(0, 10);
+
+        assertThat(report.sessionCount()).isEqualTo(4);
+        assertThat(report.totalBytes()).isEqualTo(4000);
+        assertThat(report.averageBytes()).isEqualTo(1000);
+        verify(storeRegistry).getSessions(0, 10);
+        verify(storeRegistry, never()).getSessions(0, 1000);
+    }
+
+    @Test
+    void invalidatedSessionsAreSkipped() {
+        final var session = mockSession("1");
+        when(session.getAttributeNames()).thenThrow(new IllegalStateException("invalidated"));
+        sessionRegistry.sessionCreated(new HttpSessionEvent(session));
+
+        final var report = service.createReport(0, 10);
+
+        assertThat(report.totalBytes()).isZero();
+        assertThat(report.sessions()).isEmpty();
+    }
+
+    @Test
+    void metricsArePublished() {
+        final var session = mockSession("1");
+        when(session.getAttributeNames()).thenReturn(Collections.enumeration(List.of("name")));
+        when(session.getAttribute("name")).thenReturn("Duke");
+        sessionRegistry.sessionCreated(new HttpSessionEvent(session));
+
+        assertThat(meterRegistry.get("dukeops.sessions.active").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("dukeops.sessions.memory").gauge().value()).isZero();
+
+        service.sample();
+
+        assertThat(meterRegistry.get("dukeops.sessions.memory").gauge().value()).isPositive();
+    }
+
+    private static HttpSession mockSession(final String id) {
+        final var session = mock(HttpSession.class);
+        when(session.getId()).thenReturn(id);
+        return session;
+    }
+
+    private static VaadinSession mockVaadinSession(final HasElement view) {
+        final var internals = mock(UIInternals.class);
+        when(internals.getActiveRouterTargetsChain()).thenReturn(List.of(view));
+        final var ui = mock(UI.class);
+        when(ui.getInternals()).thenReturn(internals);
+        final var vaadinSession = mock(VaadinSession.class);
+        when(vaadinSession.getUIs()).thenReturn(List.of(ui));
+        return vaadinSession;
+    }
+
+}
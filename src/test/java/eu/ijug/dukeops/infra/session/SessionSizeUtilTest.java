@@ -0,0 +1,86 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Span;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionSizeUtilTest {
+
+    private record Holder(Object value) implements Serializable { }
+
+    private static final class Failing implements Serializable {
+        @Serial
+        private void writeObject(final ObjectOutputStream out) throws IOException {
+            throw new IOException("not today");
+        }
+    }
+
+    @Test
+    void nullHasNoSize() {
+        assertThat(SessionSizeUtil.estimateSize(null)).isZero();
+        assertThat(SessionSizeUtil.estimateViewSize(null)).isZero();
+    }
+
+    @Test
+    void sizeGrowsWithData() {
+        final var small = new ArrayList<>(List.of("Duke"));
+        final var large = new ArrayList<String>();
+        for (int i = 0; i < 1_000; i++) {
+            large.add("Duke " + i);
+        }
+
+        assertThat(SessionSizeUtil.estimateSize(small)).isPositive();
+        assertThat(SessionSizeUtil.estimateSize(large)).isGreaterThan(SessionSizeUtil.estimateSize(small) * 100);
+    }
+
+    @Test
+    void nonSerializableObjectsAreSkipped() {
+        assertThat(SessionSizeUtil.estimateSize(new Holder(new Object())))
+                .isEqualTo(SessionSizeUtil.estimateSize(new Holder(null)));
+    }
+
+    @Test
+    void failingSerializationHasNoSize() {
+        assertThat(SessionSizeUtil.estimateSize(new Failing())).isZero();
+    }
+
+    @Test
+    void viewSizeDoesNotIncludeTheRestOfTheUi() {
+        final var ui = new UI();
+        final var view = new Span("Duke");
+        ui.add(view);
+        final var viewSize = SessionSizeUtil.estimateViewSize(view);
+
+        ui.add(new Span("x".repeat(100_000)));
+
+        assertThat(viewSize).isPositive();
+        assertThat(SessionSizeUtil.estimateViewSize(view)).isEqualTo(viewSize);
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SessionsEndpointTest {
+
+    @Test
+    void returnsFirstPageByDefault() {
+        final var report = new SessionReport(Instant.now(), 0, 0, 0, 0, 100, Map.of(), List.of());
+        final var service = mock(SessionMemoryService.class);
+        when(service.createReport(0, SessionsEndpoint.DEFAULT_PAGE_SIZE)).thenReturn(report);
+
+        assertThat(new SessionsEndpoint(service).sessions(null, null)).isSameAs(report);
+    }
+
+    @Test
+    void returnsRequestedPage() {
+        final var report = new SessionReport(Instant.now(), 0, 0, 0, 2, 10, Map.of(), List.of());
+        final var service = mock(SessionMemoryService.class);
+        when(service.createReport(2, 10)).thenReturn(report);
+
+        assertThat(new SessionsEndpoint(service).sessions(2, 10)).isSameAs(report);
+    }
+
+    @Test
+    void rejectsInvalidPages() {
+        final var endpoint = new SessionsEndpoint(mock(SessionMemoryService.class));
+
+        assertThatThrownBy(() -> endpoint.sessions(-1, null)).isInstanceOf(InvalidEndpointRequestException.class);
+        assertThatThrownBy(() -> endpoint.sessions(null, 0)).isInstanceOf(InvalidEndpointRequestException.class);
+        assertThatThrownBy(() -> endpoint.sessions(null, SessionsEndpoint.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(InvalidEndpointRequestException.class);
+    }
+
+}
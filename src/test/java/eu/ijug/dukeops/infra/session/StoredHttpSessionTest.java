@@ -0,0 +1,89 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.session;
+
+import jakarta.servlet.ServletContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.session.MapSession;
+import org.springframework.session.MapSessionRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class StoredHttpSessionTest {
+
+    // the repository skips expired sessions, so the session has to be accessed recently
+    private static final Instant ACCESSED = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    private static final Instant CREATED = ACCESSED.minus(Duration.ofMinutes(5));
+
+    private MapSessionRepository repository;
+    private ServletContext servletContext;
+    private StoredHttpSession<MapSession> httpSession;
+
+    @BeforeEach
+    void setUp() {
+        repository = new MapSessionRepository(new ConcurrentHashMap<>());
+        servletContext = mock(ServletContext.class);
+
+        final var session = repository.createSession();
+        session.setCreationTime(CREATED);
+        session.setLastAccessedTime(ACCESSED);
+        session.setAttribute("name", "Duke");
+        repository.save(session);
+        httpSession = new StoredHttpSession<>(repository, repository.findById(session.getId()), servletContext);
+    }
+
+    @Test
+    void readsTheStoredSession() {
+        assertThat(httpSession.getId()).isNotBlank();
+        assertThat(httpSession.getCreationTime()).isEqualTo(CREATED.toEpochMilli());
+        assertThat(httpSession.getLastAccessedTime()).isEqualTo(ACCESSED.toEpochMilli());
+        assertThat(httpSession.getServletContext()).isSameAs(servletContext);
+        assertThat(httpSession.getMaxInactiveInterval()).isEqualTo(MapSession.DEFAULT_MAX_INACTIVE_INTERVAL.toSeconds());
+        assertThat(httpSession.getAttribute("name")).isEqualTo("Duke");
+        assertThat(Collections.list(httpSession.getAttributeNames())).containsExactly("name");
+        assertThat(httpSession.isNew()).isFalse();
+    }
+
+    @Test
+    void savesEveryChange() {
+        httpSession.setAttribute("role", "admin");
+        assertThat((Object) repository.findById(httpSession.getId()).getAttribute("role")).isEqualTo("admin");
+
+        httpSession.removeAttribute("name");
+        assertThat((Object) repository.findById(httpSession.getId()).getAttribute("name")).isNull();
+
+        httpSession.setMaxInactiveInterval(60);
+        assertThat(repository.findById(httpSession.getId()).getMaxInactiveInterval()).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void invalidateDeletesTheSession() {
+        httpSession.invalidate();
+
+        assertThat(repository.findById(httpSession.getId())).isNull();
+    }
+
+}
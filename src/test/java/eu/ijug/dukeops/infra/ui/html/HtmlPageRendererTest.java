@@ -0,0 +1,72 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.ui.html;
+
+import eu.ijug.dukeops.infra.ui.vaadin.i18n.TranslationProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HtmlPageRendererTest {
+
+    private final HtmlPageRenderer pageRenderer = new HtmlPageRenderer(new TranslationProvider());
+
+    @Test
+    void renderPageWithLayout() {
+        final var page = pageRenderer.render(Locale.GERMAN, "test-view", "<Title>", "<p>Content</p>");
+
+        assertThat(page)
+                .startsWith("<!DOCTYPE html>")
+                .contains("<html lang=\"de\">")
+                .contains("<title>&lt;Title&gt; – DukeOps</title>")
+                .contains("<link rel=\"stylesheet\" href=\"/css/styles.css\">")
+                .contains("localStorage.getItem('dark-mode')")
+                .contains("<h1>DukeOps</h1>")
+                .contains("<a href=\"/login\">Anmelden</a>")
+                .contains(">Impressum</a>")
+                .contains("<main id=\"test-view\">\n<p>Content</p>");
+    }
+
+    @Test
+    void messageEscapesTitleAndRendersMarkdown() {
+        assertThat(pageRenderer.message("A & B", "Go to the [dashboard](/)."))
+                .isEqualTo("<h3>A &amp; B</h3>\n<p>Go to the <a href=\"/\">dashboard</a>.</p>\n");
+    }
+
+    @Test
+    void markdownEscapesRawHtml() {
+        assertThat(pageRenderer.markdown("<script>alert(1)</script>"))
+                .doesNotContain("<script>")
+                .contains("&lt;script&gt;");
+    }
+
+    @Test
+    void escapedUserInputStaysLiteralInLinks() {
+        final var input = "\"](javascript:alert(1))\"@example.com";
+        final var escaped = HtmlPageRenderer.escapeMarkdown(input);
+
+        assertThat(escaped).isEqualTo("\\\"\\]\\(javascript\\:alert\\(1\\)\\)\\\"\\@example\\.com");
+        assertThat(pageRenderer.markdown("[%s](mailto:%s)".formatted(escaped, escaped)))
+                .doesNotContain("href=\"javascript:")
+                .contains("](javascript:alert(1))");
+        assertThat(HtmlPageRenderer.escapeMarkdown("user")).isEqualTo("user");
+    }
+
+}
@@ -19,10 +19,12 @@ package eu.ijug.dukeops.infra.ui.vaadin.control;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.page.Page;
 import org.junit.jupiter.api.Test;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 final class NavigatorTest {
 
@@ -36,6 +38,17 @@ final class NavigatorTest {
         verify(ui).navigate(target);
     }
 
+    @Test
+    void redirectShouldSetPageLocation() {
+        final var ui = mock(UI.class);
+        final var page = mock(Page.class);
+        when(ui.getPage()).thenReturn(page);
+
+        new Navigator().redirect(ui, "/login");
+
+        verify(page).setLocation("/login");
+    }
+
     private static final class DummyView extends Component { }
 
 }
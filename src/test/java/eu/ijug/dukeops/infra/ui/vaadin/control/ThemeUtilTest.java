@@ -20,6 +20,7 @@ package eu.ijug.dukeops.infra.ui.vaadin.control;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.page.ColorScheme;
 import com.vaadin.flow.component.page.Page;
+import com.vaadin.flow.server.VaadinSession;
 import eu.ijug.dukeops.infra.ui.vaadin.control.LocalStorageUtil;
 import eu.ijug.dukeops.infra.ui.vaadin.control.ThemeUtil;
 import org.junit.jupiter.api.BeforeEach;
@@ -36,6 +37,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 class ThemeUtilTest {
@@ -139,4 +141,77 @@ class ThemeUtilTest {
         }
     }
 
+    @Test
+    void testToggleDarkModeStoresPreferenceInSession() {
+        final var session = mock(VaadinSession.class);
+        when(uiMock.getSession()).thenReturn(session);
+
+        try (MockedStatic<LocalStorageUtil> _ = mockStatic(LocalStorageUtil.class)) {
+            when(page.getColorScheme()).thenReturn(ColorScheme.Value.LIGHT);
+
+            ThemeUtil.toggleDarkMode(uiMock);
+
+            verify(session).setAttribute("dark-mode", true);
+        }
+    }
+
+    @Test
+    void testInitializeDarkModeStoresLocalStoragePreferenceInSession() {
+        final var session = mock(VaadinSession.class);
+        when(uiMock.getSession()).thenReturn(session);
+
+        try (MockedStatic<LocalStorageUtil> mockedLocalStorage = mockStatic(LocalStorageUtil.class)) {
+            mockedLocalStorage.when(() -> LocalStorageUtil.getBoolean(any(), eq("dark-mode"), anyBoolean(), any())
+            ).thenAnswer(invocation -> {
+                final var callback = invocation.<Consumer<Boolean>>getArgument(3);
+                callback.accept(true);
+                return null;
+            });
+
+            when(page.getColorScheme()).thenReturn(ColorScheme.Value.LIGHT);
+
+            ThemeUtil.initializeDarkMode(uiMock);
+
+            verify(session).setAttribute("dark-mode", true);
+            verify(page).setColorScheme(ColorScheme.Value.DARK);
+        }
+    }
+
+    @Test
+    void testInitializeDarkModeUsesSessionWithoutRoundTrip() {
+        final var session = mock(VaadinSession.class);
+        when(uiMock.getSession()).thenReturn(session);
+        when(session.getAttribute("dark-mode")).thenReturn(true);
+
+        try (MockedStatic<LocalStorageUtil> mockedLocalStorage = mockStatic(LocalStorageUtil.class)) {
+            when(page.getColorScheme()).thenReturn(ColorScheme.Value.LIGHT);
+
+            ThemeUtil.initializeDarkMode(uiMock);
+
+            verify(page).setColorScheme(ColorScheme.Value.DARK);
+            mockedLocalStorage.verifyNoInteractions();
+        }
+    }
+
+    @Test
+    void testInitializeDarkModeKeepsLightModeFromSession() {
+        final var session = mock(VaadinSession.class);
+        when(uiMock.getSession()).thenReturn(session);
+        when(session.getAttribute("dark-mode")).thenReturn(false);
+
+        try (MockedStatic<LocalStorageUtil> mockedLocalStorage = mockStatic(LocalStorageUtil.class)) {
+            ThemeUtil.initializeDarkMode(uiMock);
+
+            verifyNoInteractions(page);
+            mockedLocalStorage.verifyNoInteractions();
+        }
+    }
+
+    @Test
+    void testBootstrapScriptReadsDarkModePreference() {
+        assertThat(ThemeUtil.BOOTSTRAP_SCRIPT)
+                .contains("localStorage.getItem('dark-mode')")
+                .contains("document.documentElement.style.colorScheme = 'dark'");
+    }
+
 }
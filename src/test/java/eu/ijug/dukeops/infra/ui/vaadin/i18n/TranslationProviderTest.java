@@ -17,6 +17,8 @@
  */
 package eu.ijug.dukeops.infra.ui.vaadin.i18n;
 
+import eu.ijug.dukeops.test.TestUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -120,6 +122,44 @@ class TranslationProviderTest {
                 .isEqualTo("Test message in English");
     }
 
+    @Test
+    void testTypedKey() {
+        assertThat(translationProvider.getTranslation(TranslationKey.TEST_SIMPLE_MESSAGE, GERMAN))
+                .isEqualTo("Testmeldung auf Deutsch");
+        assertThat(translationProvider.getTranslation(TranslationKey.TEST_PLACEHOLDER, ENGLISH, "foobar"))
+                .isEqualTo("This is a placeholder: foobar");
+    }
+
+    @Test
+    void testObjectKey() {
+        final Object typedKey = TranslationKey.TEST_SIMPLE_MESSAGE;
+        assertThat(translationProvider.getTranslation(typedKey, GERMAN))
+                .isEqualTo("Testmeldung auf Deutsch");
+        final Object stringKey = new StringBuilder("test.simpleMessage");
+        assertThat(translationProvider.getTranslation(stringKey, ENGLISH))
+                .isEqualTo("Test message in English");
+    }
+
+    @Test
+    void testTypedKeyMatchesBundleKey() {
+        assertThat(TranslationKey.fromKey("test.simpleMessage")).isEqualTo(TranslationKey.TEST_SIMPLE_MESSAGE);
+        assertThat(TranslationKey.TEST_SIMPLE_MESSAGE.key()).isEqualTo("test.simpleMessage");
+        assertThat(TranslationKey.TEST_SIMPLE_MESSAGE).hasToString("test.simpleMessage");
+        assertThat(TranslationKey.fromKey("test.missingTranslation")).isNull();
+    }
+
+    @Test
+    void testAllKeysAreTranslated() {
+        for (final var translationKey : TranslationKey.values()) {
+            for (final var locale : translationProvider.getProvidedLocales()) {
+                assertThat(translationProvider.getTranslation(translationKey, locale))
+                        .as("%s in %s", translationKey.key(), locale)
+                        .isNotBlank()
+                        .doesNotStartWith("!");
+            }
+        }
+    }
+
     @Test
     void testMissingTranslation() {
         assertThat(translationProvider.getTranslation("test.missingTranslation", ENGLISH))
@@ -128,4 +168,34 @@ class TranslationProviderTest {
                 .isEqualTo("!de: test.missingTranslation");
     }
 
+    @Test
+    void testLookupMetrics() {
+        final var meterRegistry = new SimpleMeterRegistry();
+        translationProvider.bindTo(meterRegistry);
+
+        translationProvider.getTranslation(TranslationKey.TEST_SIMPLE_MESSAGE, ENGLISH);
+        translationProvider.getTranslation(TranslationKey.TEST_SIMPLE_MESSAGE, GERMAN);
+        translationProvider.getTranslation(TranslationKey.TEST_PLACEHOLDER, ENGLISH, "foobar");
+        translationProvider.getTranslation("test.missingTranslation", ENGLISH);
+
+        assertThat(meterRegistry.get("dukeops.translation.lookups").tag("type", "plain")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("dukeops.translation.lookups").tag("type", "formatted")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("dukeops.translation.lookups").tag("type", "missing")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testFormatEvent() throws Exception {
+        final var events = TestUtil.recordEvents(TranslationFormatEvent.NAME, () -> {
+            translationProvider.getTranslation(TranslationKey.TEST_SIMPLE_MESSAGE, GERMAN);
+            translationProvider.getTranslation(TranslationKey.TEST_PLACEHOLDER, Locale.forLanguageTag("de-CH"), "foobar");
+        });
+
+        assertThat(events).hasSize(1);
+        assertThat(events.getFirst().getString("key")).isEqualTo("test.placeholder");
+        assertThat(events.getFirst().getString("locale")).isEqualTo("DE");
+    }
+
 }
@@ -0,0 +1,47 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.ui.vaadin.init;
+
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UIMetricsInitializerTest {
+
+    @Test
+    void shouldCountOpenUisUntilDetached() {
+        final var meterRegistry = new SimpleMeterRegistry();
+        final var initializer = new UIMetricsInitializer(meterRegistry);
+        final var gauge = meterRegistry.get("dukeops.vaadin.uis.active").gauge();
+        assertThat(gauge.value()).isZero();
+
+        final var firstUi = new UI();
+        final var secondUi = new UI();
+        initializer.initialize(firstUi);
+        initializer.initialize(secondUi);
+        assertThat(gauge.value()).isEqualTo(2);
+
+        ComponentUtil.fireEvent(firstUi, new DetachEvent(firstUi));
+        assertThat(gauge.value()).isEqualTo(1);
+    }
+
+}
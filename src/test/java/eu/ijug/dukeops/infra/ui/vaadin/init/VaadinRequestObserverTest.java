@@ -0,0 +1,125 @@
+/*
+ * DukeOps - iJUG Self-Service Portal
+ * Copyright (C) Marcus Fihlon and the individual contributors to DukeOps.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package eu.ijug.dukeops.infra.ui.vaadin.init;
+
+import com.vaadin.flow.server.ServiceInitEvent;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.shared.ApplicationConstants;
+import io.micrometer.observation.tck.TestObservationRegistry;
+import io.micrometer.observation.tck.TestObservationRegistryAssert;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VaadinRequestObserverTest {
+
+    private TestObservationRegistry observationRegistry;
+    private VaadinRequestObserver observer;
+    private VaadinResponse response;
+
+    @BeforeEach
+    void setUp() {
+        observationRegistry = TestObservationRegistry.create();
+        observer = new VaadinRequestObserver(observationRegistry);
+        response = mock(VaadinResponse.class);
+    }
+
+    @Test
+    void registersItselfAsRequestInterceptor() {
+        final var event = mock(ServiceInitEvent.class);
+        observer.serviceInit(event);
+        verify(event).addVaadinRequestInterceptor(observer);
+    }
+
+    @ParameterizedTest
+    @CsvSource(nullValues = "null", value = {
+            "uidl, uidl",
+            "heartbeat, heartbeat",
+            "null, page",
+            "unknown, other"
+    })
+    void observesRequest(final @Nullable String requestType, final String expectedType) {
+        final var request = mockRequest(requestType);
+
+        observer.requestStart(request, response);
+        assertThat(observationRegistry.getCurrentObservation()).isNotNull();
+        observer.requestEnd(request, response, null);
+        assertThat(observationRegistry.getCurrentObservation()).isNull();
+
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .hasSingleObservationThat()
+                .hasNameEqualTo("dukeops.vaadin.request")
+                .hasContextualNameEqualTo("vaadin " + expectedType)
+                .hasLowCardinalityKeyValue("type", expectedType)
+                .doesNotHaveError()
+                .hasBeenStopped();
+    }
+
+    @Test
+    void recordsException() {
+        final var request = mockRequest("uidl");
+        final var exception = new IllegalStateException("Simulated error");
+
+        observer.requestStart(request, response);
+        observer.handleException(request, response, null, exception);
+        observer.requestEnd(request, response, null);
+
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .hasSingleObservationThat()
+                .hasError(exception)
+                .hasBeenStopped();
+    }
+
+    @Test
+    void ignoresRequestsWhichHaveNotBeenStarted() {
+        final var request = mockRequest("uidl");
+
+        observer.handleException(request, response, null, new IllegalStateException("Simulated error"));
+        observer.requestEnd(request, response, null);
+
+        TestObservationRegistryAssert.assertThat(observationRegistry)
+                .doesNotHaveAnyObservation();
+    }
+
+    private static VaadinRequest mockRequest(final @Nullable String requestType) {
+        final Map<String, Object> attributes = new HashMap<>();
+        final var request = mock(VaadinRequest.class);
+        when(request.getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER)).thenReturn(requestType);
+        when(request.getAttribute(anyString())).thenAnswer(invocation -> attributes.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> attributes.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(request).setAttribute(anyString(), any());
+        doAnswer(invocation -> attributes.remove(invocation.<String>getArgument(0)))
+                .when(request).removeAttribute(anyString());
+        return request;
+    }
+
+}
@@ -33,6 +33,8 @@ class NavigationBarBT extends BrowserTest {
     @Test
     @SuppressWarnings("java:S2925") // suppress warning about Thread.sleep, as this is a test for UI interaction
     void toggleDarkMode() throws InterruptedException {
+        login(TEST_USER);
+
         final var page = getPage();
         page.navigate(LinkUtil.getBaseUrl());
         page.waitForSelector(PAGE_NAME_SELECTOR);
@@ -68,7 +70,7 @@ class NavigationBarBT extends BrowserTest {
 
         assertSoftly(softly -> {
             softly.assertThat(page.locator(".navigation-bar a[href='']").isVisible()).isFalse();
-            softly.assertThat(page.locator(".navigation-bar a[href='login']").isVisible()).isTrue();
+            softly.assertThat(page.locator(".navigation-bar a[href='/login']").isVisible()).isTrue();
             softly.assertThat(page.locator(".navigation-bar a[href='logout']").isVisible()).isFalse();
             softly.assertThat(page.locator(".navigation-bar a[href='https://www.ijug.eu/impressum']").isVisible()).isTrue();
         });
@@ -85,7 +87,7 @@ class NavigationBarBT extends BrowserTest {
 
         assertSoftly(softly -> {
             softly.assertThat(page.locator(".navigation-bar a[href='']").isVisible()).isTrue();
-            softly.assertThat(page.locator(".navigation-bar a[href='login']").isVisible()).isFalse();
+            softly.assertThat(page.locator(".navigation-bar a[href='/login']").isVisible()).isFalse();
             softly.assertThat(page.locator(".navigation-bar a[href='/logout']").isVisible()).isTrue();
             softly.assertThat(page.locator(".navigation-bar a[href='https://www.ijug.eu/impressum']").isVisible()).isTrue();
         });
@@ -34,7 +34,7 @@ class NavigationBarTest {
         when(signal.isAuthenticated()).thenThrow(new IllegalStateException("session closed"));
 
         final var dashboard = mock(RouterLink.class);
-        final var login = mock(RouterLink.class);
+        final var login = mock(Anchor.class);
         final var logout = mock(Anchor.class);
 
         NavigationBar.updateAuthenticationVisibility(signal, dashboard, login, logout);
@@ -50,7 +50,7 @@ class NavigationBarTest {
         when(signal.isAuthenticated()).thenReturn(false);
 
         final var dashboard = mock(RouterLink.class);
-        final var login = mock(RouterLink.class);
+        final var login = mock(Anchor.class);
         final var logout = mock(Anchor.class);
 
         NavigationBar.updateAuthenticationVisibility(signal, dashboard, login, logout);
@@ -66,7 +66,7 @@ class NavigationBarTest {
         when(signal.isAuthenticated()).thenReturn(true);
 
         final var dashboard = mock(RouterLink.class);
-        final var login = mock(RouterLink.class);
+        final var login = mock(Anchor.class);
         final var logout = mock(Anchor.class);
 
         NavigationBar.updateAuthenticationVisibility(signal, dashboard, login, logout);
@@ -20,7 +20,7 @@ package eu.ijug.dukeops.infra.ui.vaadin.layout;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.html.H1;
 import com.vaadin.flow.component.html.H2;
-import eu.ijug.dukeops.domain.authentication.boundary.LoginView;
+import eu.ijug.dukeops.SecurityConfig;
 import eu.ijug.dukeops.domain.authentication.control.AuthenticationService;
 import eu.ijug.dukeops.domain.dashboard.boundary.DashboardView;
 import eu.ijug.dukeops.infra.ui.vaadin.control.Navigator;
@@ -28,6 +28,7 @@ import org.junit.jupiter.api.Test;
 
 import static eu.ijug.dukeops.test.TestUtil.findComponent;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -76,7 +77,7 @@ class PageHeaderTest {
         final var header = new PageHeader("x", null, authenticationService, navigator);
         header.handleLogoClick(ui, authenticationService, navigator);
 
-        verify(navigator).navigate(ui, LoginView.class);
+        verify(navigator).redirect(ui, SecurityConfig.LOGIN_URL);
         verify(navigator, never()).navigate(eq(ui), eq(DashboardView.class));
     }
 
@@ -91,7 +92,7 @@ class PageHeaderTest {
         header.handleLogoClick(ui, authenticationService, navigator);
 
         verify(navigator).navigate(ui, DashboardView.class);
-        verify(navigator, never()).navigate(eq(ui), eq(LoginView.class));
+        verify(navigator, never()).redirect(eq(ui), anyString());
     }
 
 }
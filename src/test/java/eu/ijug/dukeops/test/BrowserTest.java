@@ -47,9 +47,12 @@ public abstract class BrowserTest extends IntegrationTest {
 
     protected static final @NotNull String PAGE_NAME_SELECTOR = "h1:has-text('DukeOps')";
 
-    protected static final @NotNull String LOGIN_SELECTOR = "a[href='login']";
+    protected static final @NotNull String LOGIN_SELECTOR = "a[href='/login']";
     protected static final @NotNull String LOGOUT_SELECTOR = "a[href='logout']";
     protected static final @NotNull String CONFIRMATION_SUCCESSFUL_SELECTOR = "h3:has-text('Confirmation Successful')";
+    protected static final @NotNull String EMAIL_INPUT_SELECTOR = "input[name='email']";
+    protected static final @NotNull String REQUEST_LOGIN_LINK_BUTTON_SELECTOR = "button:has-text('Request Login Link')";
+    protected static final @NotNull String CONFIRM_LOGIN_BUTTON_SELECTOR = "button:has-text('Log in')";
 
     private static final @NotNull Path SCREENSHOT_DIR = Path.of("target/playwright-screenshots");
     private static final @NotNull DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmssSSS");
@@ -162,11 +165,11 @@ public abstract class BrowserTest extends IntegrationTest {
         LOGGER.info("Logging in user with email: {}", user.email());
 
         // fill in email address
-        final var emailInput = page.locator("vaadin-email-field").locator("input");
+        final var emailInput = page.locator(EMAIL_INPUT_SELECTOR);
         emailInput.fill(user.email());
 
         // click on the request email button
-        page.locator("vaadin-button:has-text('Request Login Link')").click();
+        page.locator(REQUEST_LOGIN_LINK_BUTTON_SELECTOR).click();
 
         // wait for the confirmation email
         final var confirmationMessage = getEmailBySubject("Please confirm your email address");
@@ -180,6 +183,7 @@ public abstract class BrowserTest extends IntegrationTest {
         // open the confirmation link
         page.navigate(confirmationLink);
         page.waitForURL("**/confirm**");
+        page.locator(CONFIRM_LOGIN_BUTTON_SELECTOR).click();
         page.waitForSelector(CONFIRMATION_SUCCESSFUL_SELECTOR);
         LOGGER.info("Confirmation successful for user with email: {}", user.email());
     }
@@ -26,7 +26,6 @@ import com.vaadin.flow.component.UI;
 import com.vaadin.flow.router.RouterLayout;
 import com.vaadin.flow.server.VaadinServletRequest;
 import eu.ijug.dukeops.SecurityConfig;
-import eu.ijug.dukeops.domain.authentication.boundary.LoginView;
 import eu.ijug.dukeops.domain.authentication.control.AuthenticationService;
 import eu.ijug.dukeops.domain.authentication.entity.UserPrincipal;
 import eu.ijug.dukeops.domain.user.entity.UserDto;
@@ -52,6 +51,8 @@ import java.util.Locale;
  */
 public abstract class KaribuTest extends IntegrationTest {
 
+    private static final @NotNull Function0<UI> UI_FACTORY = UI::new;
+
     private static Routes routes;
 
     @Autowired
@@ -67,9 +68,28 @@ public abstract class KaribuTest extends IntegrationTest {
 
     @BeforeEach
     public void setupMockVaadin() {
-        final Function0<UI> uiFactory = UI::new;
-        final var servlet = new MockSpringServlet(routes, applicationContext, uiFactory);
-        MockVaadin.setup(uiFactory, servlet);
+        setupMockVaadin(createServlet());
+    }
+
+    /**
+     * <p>Creates a new mock servlet serving the discovered routes with the beans of the Spring context.</p>
+     *
+     * @return the new mock servlet, initialized by the first call of {@link #setupMockVaadin(MockSpringServlet)}
+     */
+    protected @NotNull MockSpringServlet createServlet() {
+        return new MockSpringServlet(routes, applicationContext, UI_FACTORY);
+    }
+
+    /**
+     * <p>Sets up a new Vaadin session with a new UI for the current thread using the given servlet.</p>
+     *
+     * <p>Sessions set up with the same servlet share one Vaadin service, like all sessions of a real
+     * server do.</p>
+     *
+     * @param servlet the mock servlet to create the session with
+     */
+    protected void setupMockVaadin(final @NotNull MockSpringServlet servlet) {
+        MockVaadin.setup(UI_FACTORY, servlet);
         UI.getCurrent().setLocale(Locale.ENGLISH);
     }
 
@@ -20,9 +20,13 @@ package eu.ijug.dukeops.test;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.html.Anchor;
 import com.vaadin.flow.router.RouterLink;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.file.Files;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
@@ -251,6 +255,50 @@ public final class TestUtil {
                 .orElseThrow();
     }
 
+    /**
+     * <p>Runs the given action while recording the JFR event with the given name and returns the events
+     * recorded on the current thread.</p>
+     *
+     * @param eventName the name of the JFR event to record
+     * @param action the action which should emit the events
+     * @return the recorded events, in the order they were committed
+     * @throws Exception if the action fails or the recording cannot be written or read
+     */
+    public static @NotNull List<RecordedEvent> recordEvents(final @NotNull String eventName,
+                                                            final @NotNull ThrowingRunnable action) throws Exception {
+        final var file = Files.createTempFile("dukeops-", ".jfr");
+        try (var recording = new Recording()) {
+            recording.enable(eventName).withoutThreshold();
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            // the dump also contains the events of other recordings and threads running at the same time
+            final var threadId = Thread.currentThread().threadId();
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(eventName))
+                    .filter(event -> event.getThread() != null && event.getThread().getJavaThreadId() == threadId)
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * <p>An action which may throw a checked exception.</p>
+     */
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+
+        /**
+         * <p>Runs the action.</p>
+         *
+         * @throws Exception if the action fails
+         */
+        void run() throws Exception;
+
+    }
+
     private TestUtil() {
         throw new IllegalStateException("Utility class");
     }